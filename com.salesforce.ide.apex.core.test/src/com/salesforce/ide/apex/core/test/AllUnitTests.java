@@ -27,6 +27,7 @@ public class AllUnitTests extends SimpleTestSuite {
     public AllUnitTests() {
         logStart(getClass().getName());
         addTest(new com.salesforce.ide.apex.internal.core.AllUnitTests());
+        addTest(new com.salesforce.ide.apex.internal.core.db.AllUnitTests());
         addTest(new com.salesforce.ide.apex.ui.AllUnitTests());
     }
 }
@@ -10,8 +10,20 @@
  ******************************************************************************/
 package com.salesforce.ide.apex.internal.core;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.junit.Test;
 
+import com.google.common.collect.Lists;
+
+import apex.jorje.semantic.compiler.SourceFile;
 import junit.framework.TestCase;
 
 /**
@@ -54,4 +66,29 @@ public class CompilerServiceTest_unit extends TestCase {
         
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void testReadSourceFilesInParallelKeepsOrder() throws CoreException {
+        List<IFile> files = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            files.add(mockFile("/project/src/classes/Class" + i + ".cls", "public class Class" + i + " {\r\n}"));
+        }
+
+        List<SourceFile> sources = CompilerService.INSTANCE.readSourceFiles(files, 4);
+
+        assertEquals(files.size(), sources.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals("/project/src/classes/Class" + i + ".cls", sources.get(i).getKnownName());
+            assertEquals("public class Class" + i + " {\n}", sources.get(i).getBody());
+        }
+    }
+
+    private static IFile mockFile(String path, String body) throws CoreException {
+        IFile file = mock(IFile.class);
+        IPath fullPath = mock(IPath.class);
+        when(fullPath.toOSString()).thenReturn(path);
+        when(file.getFullPath()).thenReturn(fullPath);
+        when(file.getContents()).thenReturn(new ByteArrayInputStream(body.getBytes()));
+        return file;
+    }
 }
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.apex.internal.core.db;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.google.common.collect.Sets;
+
+import apex.jorje.ide.db.api.GraphHandleProvider;
+import apex.jorje.ide.db.api.operation.GraphOperations;
+import apex.jorje.ide.db.impl.StandardGraphDatabaseService;
+import junit.framework.TestCase;
+
+/**
+ * @author nchen
+ *
+ */
+public class DependencyIndexTest_unit extends TestCase {
+    private GraphHandleProvider handle;
+    private GraphOperations graph;
+    private DependencyIndex index;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        File location = new File(Files.createTempDirectory("dependencyIndex").toFile(), "graph");
+        handle = () -> location.getAbsolutePath();
+        graph = StandardGraphDatabaseService.INSTANCE.getOrCreateNoTx(handle);
+        index = new DependencyIndex(graph);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        graph.shutdown();
+        StandardGraphDatabaseService.INSTANCE.drop(handle);
+        super.tearDown();
+    }
+
+    public void testTypeReferences() throws Exception {
+        index.addTypeReference("/p/A.cls", "A", "Foo");
+        index.addTypeReference("/p/B.cls", "B", "Foo");
+        index.addTypeReference("/p/B.cls", "B", "Bar");
+
+        assertEquals(Sets.newHashSet("A", "B"), index.findReferencingTypes("Foo"));
+        assertEquals(Sets.newHashSet("/p/A.cls", "/p/B.cls"), index.findReferencingSources("Foo"));
+        assertEquals(Sets.newHashSet("/p/B.cls"), index.findReferencingSources("Bar"));
+        assertEquals(Sets.newHashSet("/p/A.cls", "/p/B.cls"), index.findReferencingSources(Arrays.asList("Foo", "Bar")));
+        assertTrue(index.findReferencingTypes("Baz").isEmpty());
+    }
+
+    public void testMethodReferences() throws Exception {
+        index.addMethodReference("/p/A.cls", "A", "Foo", "save");
+        index.addMethodReference("/p/B.cls", "B", "Foo", "close");
+
+        assertEquals(Collections.singleton("A"), index.findCallers("Foo", "save"));
+        assertEquals(Collections.singleton("B"), index.findCallers("Foo", "close"));
+        assertTrue(index.findCallers("Foo", "delete").isEmpty());
+        // a call is a reference to the type as well
+        assertEquals(Sets.newHashSet("A", "B"), index.findReferencingTypes("Foo"));
+    }
+
+    public void testNamesAreCaseInsensitive() throws Exception {
+        index.addMethodReference("/p/A.cls", "A", "FOO", "Save");
+
+        assertEquals(Collections.singleton("A"), index.findCallers("foo", "SAVE"));
+        assertEquals(Collections.singleton("/p/A.cls"), index.findReferencingSources("Foo"));
+    }
+
+    public void testSelfReferencesAreSkipped() throws Exception {
+        index.addTypeReference("/p/A.cls", "A", "a");
+        index.addMethodReference("/p/A.cls", "A", "A", "run");
+
+        assertTrue(index.findReferencingTypes("A").isEmpty());
+        assertTrue(index.findCallers("A", "run").isEmpty());
+    }
+
+    public void testDefinedTypes() throws Exception {
+        index.addType("/p/A.cls", "A");
+        index.addType("/p/A.cls", "A.Inner");
+        index.addTypeReference("/p/A.cls", "A.Inner", "Foo");
+        index.addType("/p/B.cls", "B");
+
+        assertEquals(Sets.newHashSet("A", "A.Inner"), index.findDefinedTypes("/p/A.cls"));
+        assertEquals(Collections.singleton("B"), index.findDefinedTypes("/p/B.cls"));
+        // the definitions themselves refer to nothing
+        assertEquals(Collections.singleton("A.Inner"), index.findReferencingTypes("Foo"));
+    }
+
+    public void testRemoveSource() throws Exception {
+        index.addType("/p/A.cls", "A");
+        index.addTypeReference("/p/A.cls", "A", "Foo");
+        index.addMethodReference("/p/A.cls", "A", "Foo", "save");
+        index.addTypeReference("/p/B.cls", "B", "Foo");
+
+        index.removeSource("/p/A.cls");
+
+        assertTrue(index.findDefinedTypes("/p/A.cls").isEmpty());
+        assertTrue(index.findCallers("Foo", "save").isEmpty());
+        assertEquals(Collections.singleton("B"), index.findReferencingTypes("Foo"));
+
+        // and the source can be recorded again after its next build
+        index.addTypeReference("/p/A.cls", "A", "Foo");
+        assertEquals(Sets.newHashSet("A", "B"), index.findReferencingTypes("Foo"));
+    }
+
+    public void testIndexSurvivesReopening() throws Exception {
+        index.addMethodReference("/p/A.cls", "A", "Foo", "save");
+        graph.shutdown();
+
+        graph = StandardGraphDatabaseService.INSTANCE.getOrCreateNoTx(handle);
+        index = new DependencyIndex(graph);
+        assertEquals(Collections.singleton("A"), index.findCallers("Foo", "save"));
+    }
+}
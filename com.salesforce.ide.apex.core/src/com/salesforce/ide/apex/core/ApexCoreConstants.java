@@ -18,5 +18,13 @@ public final class ApexCoreConstants {
 	private ApexCoreConstants() {
 	}
 
+	public static final String PLUGIN_ID = "com.salesforce.ide.apex.core";
+
 	public static final String APEX_JORJE_BUILDER_ID = "com.salesforce.ide.apex.core.builder.jorje";
+
+	/**
+	 * Project preference for the number of threads used to read sources during a build. Defaults to the number of
+	 * available processors; 1 reads them serially.
+	 */
+	public static final String COMPILER_THREADS_PREFERENCE = "compilerThreads";
 }
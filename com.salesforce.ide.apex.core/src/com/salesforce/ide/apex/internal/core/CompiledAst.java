@@ -0,0 +1,52 @@
+/*******************************************************************************
+* Copyright (c) 2016 Salesforce.com, inc..
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+* 
+* Contributors:
+*     Salesforce.com, inc. - initial API and implementation
+*******************************************************************************/
+package com.salesforce.ide.apex.internal.core;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import apex.jorje.semantic.ast.visitor.AdditionalPassScope;
+import apex.jorje.semantic.ast.visitor.AstVisitor;
+import apex.jorje.semantic.compiler.ApexCompiler;
+import apex.jorje.semantic.compiler.CodeUnit;
+import apex.jorje.services.exception.CompilationException;
+
+/**
+ * The result of compiling a source once. Visitors can be run over it as many times as needed, which is the same as
+ * passing them to the compiler as the additional pass visitor but without parsing again.
+ * 
+ * @author nchen
+ *
+ */
+public final class CompiledAst {
+    private final ApexCompiler compiler;
+    private final List<CodeUnit> units;
+
+    CompiledAst(ApexCompiler compiler, List<CodeUnit> units) {
+        this.compiler = compiler;
+        this.units = ImmutableList.copyOf(units);
+    }
+
+    public ApexCompiler getCompiler() {
+        return compiler;
+    }
+
+    public List<CompilationException> getErrors() {
+        return compiler.getErrors();
+    }
+
+    public void accept(AstVisitor<AdditionalPassScope> visitor) {
+        for (CodeUnit unit : units) {
+            unit.additionalValidate(visitor);
+        }
+    }
+}
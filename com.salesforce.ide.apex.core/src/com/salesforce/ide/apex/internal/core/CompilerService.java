@@ -17,6 +17,8 @@ import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
@@ -137,6 +139,20 @@ public class CompilerService {
         return visitAstsFromFiles(ImmutableList.of(resource), visitor, compilerStage);
     }
 
+    /**
+     * Compiles the source once so that any number of visitors can be run over the result afterwards, see
+     * {@link CompiledAst#accept(AstVisitor)}.
+     */
+    public CompiledAst compileString(String source) {
+        AstVisitor<AdditionalPassScope> noop = new AstVisitor<AdditionalPassScope>();
+        SourceFile sourceFile = SourceFile.builder().setBody(canonicalizeString(source)).build();
+        CompilationInput compilationUnit = createCompilationInput(ImmutableList.of(sourceFile), noop);
+        ApexCompiler compiler = ApexCompiler.builder().setInput(compilationUnit).build();
+        List<CodeUnit> units = compiler.compile(CompilerStage.POST_TYPE_RESOLVE);
+        callAdditionalPassVisitor(compiler);
+        return new CompiledAst(compiler, units);
+    }
+
     public ApexCompiler visitAstsFromStrings(List<String> sources, AstVisitor<AdditionalPassScope> visitor, CompilerStage compilerStage) {
         List<SourceFile> sourceFiles =
             sources.stream().map(s -> SourceFile.builder().setBody(canonicalizeString(s)).build()).collect(Collectors.toList());
@@ -145,11 +161,46 @@ public class CompilerService {
     }
 
     public ApexCompiler visitAstsFromFiles(List<IFile> resources, AstVisitor<AdditionalPassScope> visitor, CompilerStage compilerStage) {
-        List<SourceFile> sourceFiles = resources.stream().map(RESOURCE_TO_SOURCE).collect(Collectors.toList());
+        return visitAstsFromFiles(resources, visitor, compilerStage, 1);
+    }
+
+    /**
+     * Same as {@link #visitAstsFromFiles(List, AstVisitor, CompilerStage)} but reads the sources on a pool of the given
+     * size. The sources keep their order, and are still compiled together since type resolution needs all of them.
+     */
+    public ApexCompiler visitAstsFromFiles(
+        List<IFile> resources,
+        AstVisitor<AdditionalPassScope> visitor,
+        CompilerStage compilerStage,
+        int parallelism
+    ) {
+        List<SourceFile> sourceFiles = readSourceFiles(resources, parallelism);
         CompilationInput compilationUnit = createCompilationInput(sourceFiles, visitor);
         return compile(compilationUnit, visitor, compilerStage);
     }
 
+    public List<SourceFile> readSourceFiles(List<IFile> resources, int parallelism) {
+        if (parallelism <= 1 || resources.size() <= 1) {
+            return resources.stream().map(RESOURCE_TO_SOURCE).collect(Collectors.toList());
+        }
+
+        // A parallel stream started from inside a pool runs on that pool rather than on the common one
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool
+                .submit(() -> resources.parallelStream().map(RESOURCE_TO_SOURCE).collect(Collectors.<SourceFile> toList()))
+                .get();
+        } catch (ExecutionException e) {
+            logger.warn("Failed to read sources in parallel, reading them serially instead", e.getCause());
+            return resources.stream().map(RESOURCE_TO_SOURCE).collect(Collectors.toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return resources.stream().map(RESOURCE_TO_SOURCE).collect(Collectors.toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private ApexCompiler compile(
         CompilationInput compilationInput,
         AstVisitor<AdditionalPassScope> visitor,
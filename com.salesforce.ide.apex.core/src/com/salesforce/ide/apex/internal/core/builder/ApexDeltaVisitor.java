@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.apex.internal.core.builder;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+import com.google.common.collect.Lists;
+import com.salesforce.ide.core.factories.ComponentFactory;
+import com.salesforce.ide.core.internal.context.ContainerDelegate;
+import com.salesforce.ide.core.internal.utils.Constants;
+
+/**
+ * Traverses a resource delta and collects the Apex files (classes and triggers) that were added, changed or removed
+ * since the last build.
+ *
+ * @author nchen
+ *
+ */
+class ApexDeltaVisitor implements IResourceDeltaVisitor {
+    private final List<IFile> changedFiles = Lists.newArrayList();
+    private final List<IFile> removedFiles = Lists.newArrayList();
+    private final String classExtension;
+    private final String triggerExtension;
+
+    ApexDeltaVisitor() {
+        ComponentFactory componentFactory = ContainerDelegate.getInstance().getFactoryLocator().getComponentFactory();
+        classExtension = componentFactory.getComponentByComponentType("ApexClass").getFileExtension();
+        triggerExtension = componentFactory.getComponentByComponentType("ApexTrigger").getFileExtension();
+    }
+
+    @Override
+    public boolean visit(IResourceDelta delta) throws CoreException {
+        IResource resource = delta.getResource();
+        switch (resource.getType()) {
+        case IResource.FILE:
+            if (isApexFile(resource)) {
+                collect(delta, (IFile) resource);
+            }
+            return false;
+        case IResource.FOLDER:
+            // Only traverse resources that are not inside the Referenced Packages folder
+            return !resource.getName().equals(Constants.REFERENCED_PACKAGE_FOLDER_NAME);
+        case IResource.PROJECT:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private void collect(IResourceDelta delta, IFile file) {
+        switch (delta.getKind()) {
+        case IResourceDelta.ADDED:
+            changedFiles.add(file);
+            break;
+        case IResourceDelta.REMOVED:
+            removedFiles.add(file);
+            break;
+        case IResourceDelta.CHANGED:
+            // Marker and property changes do not affect the model
+            if ((delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+                changedFiles.add(file);
+            }
+            break;
+        default:
+        }
+    }
+
+    private boolean isApexFile(IResource resource) {
+        return resource.getName().endsWith(classExtension) || resource.getName().endsWith(triggerExtension);
+    }
+
+    public List<IFile> getChangedFiles() {
+        return changedFiles;
+    }
+
+    public List<IFile> getRemovedFiles() {
+        return removedFiles;
+    }
+
+    public boolean isEmpty() {
+        return changedFiles.isEmpty() && removedFiles.isEmpty();
+    }
+}
@@ -10,14 +10,25 @@
 *******************************************************************************/
 package com.salesforce.ide.apex.internal.core.builder;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 
+import com.google.common.collect.Sets;
+import com.salesforce.ide.apex.core.ApexCoreConstants;
 import com.salesforce.ide.apex.internal.core.CompilerService;
 import com.salesforce.ide.apex.internal.core.db.EclipseGraphHandleProvider;
 
@@ -28,6 +39,11 @@ import apex.jorje.semantic.compiler.CompilerStage;
 /**
  * Builder that uses the Jorje compiler to calculate metadata about your source code.
  * 
+ * Incremental builds only recompile the files in the resource delta, along with the types that extend or implement
+ * them and the types that refer to them, as recorded in the dependency index. The types that referred to a deleted
+ * source are recompiled too, so that their references are checked again. Their superclasses and interfaces are
+ * compiled as well so that references resolve, but are not saved again.
+ * 
  * @author nchen
  */
 public class JorjeBuilder extends IncrementalProjectBuilder {
@@ -38,6 +54,7 @@ public class JorjeBuilder extends IncrementalProjectBuilder {
             fullBuild(getProject());
             break;
         case INCREMENTAL_BUILD:
+        case AUTO_BUILD:
             partialBuild(getProject());
             break;
         default:
@@ -58,12 +75,76 @@ public class JorjeBuilder extends IncrementalProjectBuilder {
         
         ModelBuilder modelBuilder = new ModelBuilder(project);
         try {
-            CompilerService.INSTANCE.visitAstsFromFiles(visitor.getFiles(), modelBuilder, CompilerStage.POST_TYPE_RESOLVE);
+            CompilerService.INSTANCE.visitAstsFromFiles(
+                visitor.getFiles(),
+                modelBuilder,
+                CompilerStage.POST_TYPE_RESOLVE,
+                getCompilerThreads(project));
         } finally {
             modelBuilder.done();
         }
     }
     
-    private void partialBuild(IProject project) throws CoreException {}
-    
+    private void partialBuild(IProject project) throws CoreException {
+        IResourceDelta delta = getDelta(project);
+        if (delta == null || !StandardGraphDatabaseService.INSTANCE.exists(new EclipseGraphHandleProvider(project))) {
+            fullBuild(project);
+            return;
+        }
+
+        ApexDeltaVisitor visitor = new ApexDeltaVisitor();
+        delta.accept(visitor);
+        if (visitor.isEmpty()) {
+            return;
+        }
+
+        Set<String> changed = toKnownNames(visitor.getChangedFiles());
+        Set<String> removed = toKnownNames(visitor.getRemovedFiles());
+
+        ModelBuilder modelBuilder = new ModelBuilder(project);
+        try {
+            Set<String> sourcesToSave = Sets.newLinkedHashSet(changed);
+            sourcesToSave.addAll(modelBuilder.findDependentSources(Sets.union(changed, removed)));
+            // Looked up before the sources are cleared, so callers of deleted or renamed types are found as well
+            sourcesToSave.addAll(modelBuilder.findReferencingSources(Sets.union(changed, removed)));
+            sourcesToSave.removeAll(removed);
+
+            Set<String> sourcesToCompile = Sets.newLinkedHashSet(sourcesToSave);
+            sourcesToCompile.addAll(modelBuilder.findAncestorSources(sourcesToSave));
+
+            // Types that already exist are not overwritten, so clear out everything that is about to be saved
+            for (String knownName : Sets.union(sourcesToSave, removed)) {
+                modelBuilder.removeSource(knownName);
+            }
+
+            List<IFile> files = toFiles(project.getWorkspace().getRoot(), sourcesToCompile);
+            if (!files.isEmpty()) {
+                modelBuilder.saveOnly(sourcesToSave);
+                CompilerService.INSTANCE.visitAstsFromFiles(
+                    files,
+                    modelBuilder,
+                    CompilerStage.POST_TYPE_RESOLVE,
+                    getCompilerThreads(project));
+            }
+        } finally {
+            modelBuilder.done();
+        }
+    }
+
+    private static int getCompilerThreads(IProject project) {
+        int defaultThreads = Runtime.getRuntime().availableProcessors();
+        IEclipsePreferences node = new ProjectScope(project).getNode(ApexCoreConstants.PLUGIN_ID);
+        return node != null ? node.getInt(ApexCoreConstants.COMPILER_THREADS_PREFERENCE, defaultThreads) : defaultThreads;
+    }
+
+    private static Set<String> toKnownNames(List<IFile> files) {
+        return files.stream().map(f -> f.getFullPath().toOSString()).collect(Collectors.toCollection(Sets::newLinkedHashSet));
+    }
+
+    private static List<IFile> toFiles(IWorkspaceRoot root, Set<String> knownNames) {
+        return knownNames.stream()
+            .map(n -> root.getFile(Path.fromOSString(n)))
+            .filter(IResource::exists)
+            .collect(Collectors.toList());
+    }
 }
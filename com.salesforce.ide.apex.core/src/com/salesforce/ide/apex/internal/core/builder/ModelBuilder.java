@@ -10,35 +10,122 @@
  ******************************************************************************/
 package com.salesforce.ide.apex.internal.core.builder;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 import org.eclipse.core.resources.IProject;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.salesforce.ide.apex.internal.core.db.DependencyIndex;
 import com.salesforce.ide.apex.internal.core.db.EclipseGraphHandleProvider;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Vertex;
 
 import apex.jorje.ide.db.api.GraphDatabaseService;
 import apex.jorje.ide.db.api.operation.GraphOperations;
 import apex.jorje.ide.db.api.repository.TypeInfoRepository;
 import apex.jorje.ide.db.impl.StandardGraphDatabaseService;
+import apex.jorje.ide.db.impl.serialization.Keys;
+import apex.jorje.data.ast.Identifier;
+import apex.jorje.data.ast.TypeRef;
+import apex.jorje.semantic.compiler.SourceFile;
 import apex.jorje.semantic.ast.compilation.UserClass;
 import apex.jorje.semantic.ast.compilation.UserEnum;
 import apex.jorje.semantic.ast.compilation.UserInterface;
 import apex.jorje.semantic.ast.compilation.UserTrigger;
+import apex.jorje.semantic.ast.expression.MethodCallExpression;
+import apex.jorje.semantic.ast.expression.NewObjectExpression;
+import apex.jorje.semantic.ast.member.Field;
+import apex.jorje.semantic.ast.member.Method;
+import apex.jorje.semantic.ast.member.Parameter;
+import apex.jorje.semantic.ast.member.Property;
+import apex.jorje.semantic.ast.statement.VariableDeclaration;
 import apex.jorje.semantic.ast.visitor.AdditionalPassScope;
 import apex.jorje.semantic.ast.visitor.AstVisitor;
+import apex.jorje.semantic.symbol.member.variable.FieldInfo;
+import apex.jorje.semantic.symbol.type.TypeInfo;
 
 /**
  * Builds the model for the local compilation units.
  * 
+ * When restricted with {@link #saveOnly(Set)}, only the types defined in those sources are saved. The other units in
+ * the compilation are only there so that references to them can be resolved.
+ * 
+ * While visiting, the references from each saved type to other types and their methods are recorded in the
+ * {@link DependencyIndex}, replacing whatever was recorded for the same source by a previous build. Method bodies are
+ * not bound to symbols at this stage, so the receiver of a call is resolved here: a local variable, parameter or field
+ * stands for its declared type, anything else is taken to be a type name.
+ * 
  * @author nchen
  * 
  */
 public class ModelBuilder extends AstVisitor<AdditionalPassScope> {
+	private static final String SOURCE_FILE_KNOWN_NAME_KEY =
+			SourceFile.class.getSimpleName() + "." + Keys.SourceFile.KNOWN_NAME;
+	private static final String THIS = "this";
+	private static final String SUPER = "super";
+
 	private final GraphOperations graph;
 	private final TypeInfoRepository typeInfoRepo;
+	private final DependencyIndex dependencies;
+	private final Set<String> indexedSources = Sets.newHashSet();
+	private final Deque<TypeScope> enclosingTypes = new ArrayDeque<>();
+	private Set<String> sourcesToSave;
+
+	/**
+	 * The variables visible while visiting a type, by lower case name, along with the calls whose receiver isn't
+	 * resolved yet. Fields may be declared after the methods that use them, so those calls wait for the end of the type.
+	 * A variable maps to null if its type can't be named, e.g. an array.
+	 */
+	private static final class TypeScope {
+		final TypeInfo type;
+		final Map<String, String> fields = Maps.newHashMap();
+		Map<String, String> locals = Maps.newHashMap();
+		final List<Call> unresolvedCalls = Lists.newArrayList();
+
+		TypeScope(TypeInfo type) {
+			this.type = type;
+		}
+	}
+
+	private static final class Call {
+		final String source;
+		final String referencingType;
+		final List<Identifier> qualifier;
+		final String methodName;
+
+		Call(String source, String referencingType, List<Identifier> qualifier, String methodName) {
+			this.source = source;
+			this.referencingType = referencingType;
+			this.qualifier = qualifier;
+			this.methodName = methodName;
+		}
+
+		String getReceiver() {
+			return normalize(qualifier.get(0).value);
+		}
+	}
 
 	public ModelBuilder(IProject project) {
 		GraphDatabaseService service = StandardGraphDatabaseService.INSTANCE;
 		graph = service.getOrCreateNoTx(new EclipseGraphHandleProvider(project));
 		typeInfoRepo = new TypeInfoRepository(graph);
+		dependencies = new DependencyIndex(graph);
+	}
+
+	/**
+	 * Restricts the types that are saved to those defined in the given sources.
+	 */
+	public void saveOnly(Set<String> knownNames) {
+		this.sourcesToSave = knownNames;
 	}
 
 	public void done() {
@@ -46,43 +133,317 @@ public class ModelBuilder extends AstVisitor<AdditionalPassScope> {
 		graph.shutdown();
 	}
 
+	/**
+	 * Removes all the types that were defined in the given source, including inner types, as well as the source
+	 * itself. This has to happen before a changed source is saved again since types that already exist are not
+	 * overwritten.
+	 */
+	public void removeSource(String knownName) {
+		Optional<Vertex> source = graph.findOne(SOURCE_FILE_KNOWN_NAME_KEY, knownName);
+		if (source.isPresent()) {
+			for (Vertex type : Lists.newArrayList(source.get().getVertices(Direction.IN, Keys.TypeInfo.SOURCE))) {
+				graph.removeVertex(type);
+			}
+			graph.removeVertex(source.get());
+		}
+		dependencies.removeSource(knownName);
+	}
+
+	/**
+	 * @return the sources of all the types that directly or transitively extend or implement a type defined in one of
+	 *         the given sources. The given sources are not included.
+	 */
+	public Set<String> findDependentSources(Collection<String> knownNames) {
+		return traverseSources(knownNames, Direction.IN, Keys.TypeInfo.SUPER_TYPE, Keys.TypeInfo.IMMEDIATE_INTERFACES);
+	}
+
+	/**
+	 * @return the sources of all the superclasses and interfaces of the types defined in the given sources. The given
+	 *         sources are not included.
+	 */
+	public Set<String> findAncestorSources(Collection<String> knownNames) {
+		return traverseSources(knownNames, Direction.OUT, Keys.TypeInfo.SUPER_TYPE, Keys.TypeInfo.ALL_INTERFACES);
+	}
+
+	/**
+	 * @return the sources of the types that refer to a type defined in one of the given sources, as recorded in the
+	 *         {@link DependencyIndex}. The given sources are not included.
+	 */
+	public Set<String> findReferencingSources(Collection<String> knownNames) {
+		Set<String> types = Sets.newHashSet();
+		for (String knownName : knownNames) {
+			types.addAll(dependencies.findDefinedTypes(knownName));
+		}
+		Set<String> found = Sets.newLinkedHashSet(dependencies.findReferencingSources(types));
+		found.removeAll(knownNames);
+		return found;
+	}
+
+	private Set<String> traverseSources(Collection<String> knownNames, Direction direction, String... labels) {
+		Set<String> visited = Sets.newHashSet(knownNames);
+		Set<String> found = Sets.newLinkedHashSet();
+		Deque<String> pending = new ArrayDeque<>(knownNames);
+		while (!pending.isEmpty()) {
+			Optional<Vertex> source = graph.findOne(SOURCE_FILE_KNOWN_NAME_KEY, pending.pop());
+			if (!source.isPresent()) {
+				continue;
+			}
+			for (Vertex type : source.get().getVertices(Direction.IN, Keys.TypeInfo.SOURCE)) {
+				for (Vertex related : type.getVertices(direction, labels)) {
+					for (Vertex relatedSource : related.getVertices(Direction.OUT, Keys.TypeInfo.SOURCE)) {
+						String relatedName = relatedSource.getProperty(Keys.SourceFile.KNOWN_NAME);
+						if (relatedName != null && visited.add(relatedName)) {
+							found.add(relatedName);
+							pending.push(relatedName);
+						}
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	private boolean shouldSave(TypeInfo type) {
+		return sourcesToSave == null || sourcesToSave.contains(getKnownName(type));
+	}
+
+	private void save(TypeInfo type) {
+		if (shouldSave(type)) {
+			typeInfoRepo.save(type);
+		}
+	}
+
+	private static String getKnownName(TypeInfo type) {
+		SourceFile source = type.getCodeUnitDetails().getSource();
+		return source != null ? source.getKnownName() : null;
+	}
+
+	private void enterType(TypeInfo type) {
+		enclosingTypes.push(new TypeScope(type));
+		String knownName = getKnownName(type);
+		if (knownName != null && shouldSave(type)) {
+			if (indexedSources.add(knownName)) {
+				// Start from a clean slate for sources that were indexed by a previous build
+				dependencies.removeSource(knownName);
+			}
+			dependencies.addType(knownName, type.getApexName());
+		}
+		type.getCodeUnitDetails().getSuperTypeRef().ifPresent(this::addTypeReference);
+		type.getCodeUnitDetails().getInterfaceTypeRefs().forEach(this::addTypeReference);
+	}
+
+	private void exitType() {
+		TypeScope scope = enclosingTypes.pop();
+		TypeScope outer = enclosingTypes.peek();
+		for (Call call : scope.unresolvedCalls) {
+			if (scope.fields.containsKey(call.getReceiver())) {
+				addMethodReference(call, scope.fields.get(call.getReceiver()));
+			} else if (outer != null) {
+				// the static fields of the outer type are visible as well
+				outer.unresolvedCalls.add(call);
+			} else {
+				dependencies.addMethodReference(call.source, call.referencingType, join(call.qualifier),
+					call.methodName);
+			}
+		}
+		save(scope.type);
+	}
+
+	private boolean isIndexing() {
+		TypeScope current = enclosingTypes.peek();
+		return current != null && getKnownName(current.type) != null && shouldSave(current.type);
+	}
+
+	private void addTypeReference(TypeRef typeRef) {
+		if (typeRef instanceof TypeRef.ClassTypeRef) {
+			TypeRef.ClassTypeRef classTypeRef = (TypeRef.ClassTypeRef) typeRef;
+			addTypeReference(classTypeRef.className);
+			// the implicit void return type of a method has neither a name nor type arguments
+			if (classTypeRef.typeArguments != null) {
+				classTypeRef.typeArguments.ifPresent(arguments -> arguments.forEach(this::addTypeReference));
+			}
+		} else if (typeRef instanceof TypeRef.ArrayTypeRef) {
+			addTypeReference(((TypeRef.ArrayTypeRef) typeRef).heldType);
+		}
+	}
+
+	private void addTypeReference(List<Identifier> names) {
+		if (!isIndexing() || names == null || names.isEmpty()) {
+			return;
+		}
+		TypeInfo current = enclosingTypes.peek().type;
+		dependencies.addTypeReference(getKnownName(current), current.getApexName(), join(names));
+		if (names.size() > 1) {
+			// Outer.Inner also depends on Outer
+			dependencies.addTypeReference(getKnownName(current), current.getApexName(), names.get(0).value);
+		}
+	}
+
+	private void addMethodReference(List<Identifier> qualifier, String methodName) {
+		if (!isIndexing() || qualifier.isEmpty() || methodName == null) {
+			return;
+		}
+		TypeScope scope = enclosingTypes.peek();
+		Call call = new Call(getKnownName(scope.type), scope.type.getApexName(), qualifier, methodName);
+		if (THIS.equals(call.getReceiver()) || SUPER.equals(call.getReceiver())) {
+			return;
+		}
+		if (scope.locals.containsKey(call.getReceiver())) {
+			addMethodReference(call, scope.locals.get(call.getReceiver()));
+		} else {
+			scope.unresolvedCalls.add(call);
+		}
+	}
+
+	// the receiver is a variable of the given type
+	private void addMethodReference(Call call, String variableType) {
+		// for a.b.m() the type of b isn't known here
+		if (variableType != null && call.qualifier.size() == 1) {
+			dependencies.addMethodReference(call.source, call.referencingType, variableType, call.methodName);
+		}
+	}
+
+	private void addVariable(Map<String, String> variables, String name, TypeRef typeRef) {
+		if (name != null) {
+			variables.put(normalize(name), getTypeName(typeRef));
+		}
+	}
+
+	private static String getTypeName(TypeRef typeRef) {
+		return typeRef instanceof TypeRef.ClassTypeRef ? join(((TypeRef.ClassTypeRef) typeRef).className) : null;
+	}
+
+	private static String normalize(String name) {
+		return name.toLowerCase(Locale.ENGLISH);
+	}
+
+	private static String join(List<Identifier> names) {
+		StringBuilder joined = new StringBuilder();
+		for (Identifier name : names) {
+			if (joined.length() > 0) {
+				joined.append('.');
+			}
+			joined.append(name.value);
+		}
+		return joined.toString();
+	}
+
+	/**
+	 * Traverse everything so that the references inside of method bodies are seen as well.
+	 */
+	@Override
+	protected boolean defaultVisit() {
+		return true;
+	}
+
 	@Override
 	public boolean visit(UserClass node, AdditionalPassScope scope) {
+		enterType(node.getDefiningType());
 		return true;
 	}
 
 	@Override
 	public boolean visit(UserEnum node, AdditionalPassScope scope) {
+		enterType(node.getDefiningType());
 		return true;
 	}
 
 	@Override
 	public boolean visit(UserInterface node, AdditionalPassScope scope) {
+		enterType(node.getDefiningType());
 		return true;
 	}
 
 	@Override
 	public boolean visit(UserTrigger node, AdditionalPassScope scope) {
+		enterType(node.getDefiningType());
+		return true;
+	}
+
+	@Override
+	public boolean visit(Field node, AdditionalPassScope scope) {
+		addTypeReference(node.getTypeRef());
+		if (!enclosingTypes.isEmpty() && node.getFieldInfo() != null) {
+			addVariable(enclosingTypes.peek().fields, node.getFieldInfo().getName(), node.getTypeRef());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(Property node, AdditionalPassScope scope) {
+		FieldInfo field = node.getFieldInfo();
+		if (!enclosingTypes.isEmpty() && field != null && field.getName() != null) {
+			enclosingTypes.peek().fields.put(normalize(field.getName()),
+				field.getType() != null ? field.getType().getApexName() : null);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(Method node, AdditionalPassScope scope) {
+		addTypeReference(node.getReturnTypeRef());
+		if (!enclosingTypes.isEmpty()) {
+			enclosingTypes.peek().locals = Maps.newHashMap();
+		}
+		return true;
+	}
+
+	@Override
+	public void visitEnd(Method node, AdditionalPassScope scope) {
+		if (!enclosingTypes.isEmpty()) {
+			enclosingTypes.peek().locals = Maps.newHashMap();
+		}
+	}
+
+	@Override
+	public boolean visit(Parameter node, AdditionalPassScope scope) {
+		addTypeReference(node.getTypeRef());
+		if (!enclosingTypes.isEmpty() && node.getName() != null) {
+			addVariable(enclosingTypes.peek().locals, node.getName().value, node.getTypeRef());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(VariableDeclaration node, AdditionalPassScope scope) {
+		addTypeReference(node.getTypeNameUsed());
+		if (!enclosingTypes.isEmpty() && node.getLocalInfo() != null) {
+			addVariable(enclosingTypes.peek().locals, node.getLocalInfo().getName(), node.getTypeNameUsed());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean visit(NewObjectExpression node, AdditionalPassScope scope) {
+		addTypeReference(node.getTypeRef());
+		return true;
+	}
+
+	@Override
+	public boolean visit(MethodCallExpression node, AdditionalPassScope scope) {
+		if (node.getReferenceExpression() != null) {
+			addMethodReference(node.getReferenceExpression().getJadtIdentifiers(), node.getMethodName());
+		}
 		return true;
 	}
 
 	@Override
 	public void visitEnd(UserClass node, AdditionalPassScope scope) {
-		typeInfoRepo.save(node.getDefiningType());
+		exitType();
 	}
 
 	@Override
 	public void visitEnd(UserEnum node, AdditionalPassScope scope) {
-		typeInfoRepo.save(node.getDefiningType());
+		exitType();
 	}
 
 	@Override
 	public void visitEnd(UserInterface node, AdditionalPassScope scope) {
-		typeInfoRepo.save(node.getDefiningType());
+		exitType();
 	}
 
 	@Override
 	public void visitEnd(UserTrigger node, AdditionalPassScope scope) {
-		typeInfoRepo.save(node.getDefiningType());
+		exitType();
 	}
 }
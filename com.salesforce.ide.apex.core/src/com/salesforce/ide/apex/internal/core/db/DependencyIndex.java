@@ -0,0 +1,180 @@
+/*******************************************************************************
+* Copyright (c) 2016 Salesforce.com, inc..
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Salesforce.com, inc. - initial API and implementation
+*******************************************************************************/
+package com.salesforce.ide.apex.internal.core.db;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.tinkerpop.blueprints.Vertex;
+
+import apex.jorje.ide.db.api.operation.GraphOperations;
+import apex.jorje.ide.db.impl.serialization.Keys;
+
+/**
+ * Reverse dependency index between Apex types, stored in the same per-project graph as the type model.
+ *
+ * Each reference from a user type to another type (or to a method on another type) is kept as a small vertex with
+ * indexed properties, so "who depends on X" is a single index lookup. References are recorded by name since the
+ * builder does not run the full validation stage; names are stored lower case because Apex is case insensitive.
+ *
+ * @author nchen
+ *
+ */
+public final class DependencyIndex {
+    static final String VERTEX_CLASS = "TypeReference";
+    static final String SOURCE = "source";
+    static final String REFERENCING_TYPE = "referencingType";
+    static final String REFERENCED_TYPE = "referencedType";
+    static final String REFERENCED_MEMBER = "referencedMember";
+
+    private static final String MEMBER_SEPARATOR = "#";
+
+    private final GraphOperations graph;
+    private final Set<String> recorded = Sets.newHashSet();
+
+    public DependencyIndex(GraphOperations graph) {
+        this.graph = graph;
+        initializeSchema();
+    }
+
+    private void initializeSchema() {
+        OSchema schema = graph.getRawGraph().getMetadata().getSchema();
+        if (schema.existsClass(VERTEX_CLASS)) {
+            return;
+        }
+        OClass vertexClass = schema.createClass(VERTEX_CLASS, schema.getClass("V"));
+        for (String property : new String[] { SOURCE, REFERENCING_TYPE, REFERENCED_TYPE, REFERENCED_MEMBER }) {
+            vertexClass.createProperty(property, OType.STRING);
+        }
+        for (String property : new String[] { SOURCE, REFERENCED_TYPE, REFERENCED_MEMBER }) {
+            vertexClass.createIndex(indexKey(property), OClass.INDEX_TYPE.NOTUNIQUE, property);
+        }
+    }
+
+    /**
+     * Records that the type is defined in the given source, so that it's known even if it refers to nothing.
+     */
+    public void addType(String source, String typeName) {
+        if (!recorded.add(source + '|' + typeName)) {
+            return;
+        }
+        Vertex vertex = graph.addVertex(Keys.CLASS_PREFIX + VERTEX_CLASS);
+        vertex.setProperty(SOURCE, source);
+        vertex.setProperty(REFERENCING_TYPE, typeName);
+    }
+
+    /**
+     * Records that the referencing type, defined in the given source, refers to the referenced type.
+     */
+    public void addTypeReference(String source, String referencingType, String referencedType) {
+        add(source, referencingType, referencedType, null);
+    }
+
+    /**
+     * Records that the referencing type, defined in the given source, calls a method on the referenced type.
+     */
+    public void addMethodReference(String source, String referencingType, String referencedType, String methodName) {
+        add(source, referencingType, referencedType, memberKey(referencedType, methodName));
+    }
+
+    private void add(String source, String referencingType, String referencedType, String referencedMember) {
+        String type = normalize(referencedType);
+        if (type.equals(normalize(referencingType))
+                || !recorded.add(source + '|' + referencingType + '|' + type + '|' + referencedMember)) {
+            return;
+        }
+        Vertex vertex = graph.addVertex(Keys.CLASS_PREFIX + VERTEX_CLASS);
+        vertex.setProperty(SOURCE, source);
+        vertex.setProperty(REFERENCING_TYPE, referencingType);
+        vertex.setProperty(REFERENCED_TYPE, type);
+        if (referencedMember != null) {
+            vertex.setProperty(REFERENCED_MEMBER, referencedMember);
+        }
+    }
+
+    /**
+     * Removes every reference that was recorded for the types defined in the given source.
+     */
+    public void removeSource(String source) {
+        for (Vertex vertex : Lists.newArrayList(graph.getVertices(indexKey(SOURCE), source))) {
+            graph.removeVertex(vertex);
+        }
+        recorded.removeIf(key -> key.startsWith(source + '|'));
+    }
+
+    /**
+     * @return the names of the types that refer to the given type in any way, including calls to its methods.
+     */
+    public Set<String> findReferencingTypes(String typeName) {
+        return collect(indexKey(REFERENCED_TYPE), normalize(typeName), REFERENCING_TYPE);
+    }
+
+    /**
+     * @return the sources that contain types referring to the given type in any way.
+     */
+    public Set<String> findReferencingSources(String typeName) {
+        return collect(indexKey(REFERENCED_TYPE), normalize(typeName), SOURCE);
+    }
+
+    /**
+     * @return the sources that contain types referring to any of the given types.
+     */
+    public Set<String> findReferencingSources(Collection<String> typeNames) {
+        Set<String> found = Sets.newTreeSet();
+        for (String typeName : typeNames) {
+            found.addAll(findReferencingSources(typeName));
+        }
+        return found;
+    }
+
+    /**
+     * @return the names of the types defined in the given source, as recorded by the last build of it.
+     */
+    public Set<String> findDefinedTypes(String source) {
+        return collect(indexKey(SOURCE), source, REFERENCING_TYPE);
+    }
+
+    /**
+     * @return the names of the types that call the given method on the given type.
+     */
+    public Set<String> findCallers(String typeName, String methodName) {
+        return collect(indexKey(REFERENCED_MEMBER), memberKey(typeName, methodName), REFERENCING_TYPE);
+    }
+
+    private Set<String> collect(String key, String value, String property) {
+        Set<String> found = Sets.newTreeSet();
+        for (Vertex vertex : graph.getVertices(key, value)) {
+            String name = vertex.getProperty(property);
+            if (name != null) {
+                found.add(name);
+            }
+        }
+        return found;
+    }
+
+    private static String indexKey(String property) {
+        return VERTEX_CLASS + "." + property;
+    }
+
+    private static String memberKey(String typeName, String memberName) {
+        return normalize(typeName) + MEMBER_SEPARATOR + normalize(memberName);
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+}
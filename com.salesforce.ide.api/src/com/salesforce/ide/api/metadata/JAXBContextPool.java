@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.api.metadata;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Shares one JAXBContext per metadata class, since creating a context is far more expensive than the parsing it's
+ * used for. Marshallers and unmarshallers aren't thread-safe, so each thread reuses its own, reset to their defaults
+ * whenever they're handed out.
+ *
+ * The unmarshal methods read through a StAX stream reader created straight on the given stream, so the document isn't
+ * copied into a DOM or wrapped in a SAX source first, and external entities are never resolved. The object they return
+ * still holds the whole document.
+ *
+ * @author nchen
+ */
+public final class JAXBContextPool {
+    private static final Logger logger = Logger.getLogger(JAXBContextPool.class);
+
+    private static final ConcurrentMap<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Map<Class<?>, Marshaller>> marshallers =
+            ThreadLocal.withInitial(() -> new HashMap<>());
+    private static final ThreadLocal<Map<Class<?>, Unmarshaller>> unmarshallers =
+            ThreadLocal.withInitial(() -> new HashMap<>());
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private JAXBContextPool() {}
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    public static JAXBContext getContext(Class<?> type) throws JAXBException {
+        JAXBContext context = contexts.get(type);
+        if (context == null) {
+            // created outside of the map, so classes being added don't wait on each other
+            context = JAXBContext.newInstance(type);
+            JAXBContext existing = contexts.putIfAbsent(type, context);
+            if (existing != null) {
+                context = existing;
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Created JAXB context for '" + type.getName() + "'");
+            }
+        }
+        return context;
+    }
+
+    /**
+     * @return this thread's marshaller for the class; not to be kept or handed to other threads
+     */
+    public static Marshaller getMarshaller(Class<?> type) throws JAXBException {
+        Map<Class<?>, Marshaller> pool = marshallers.get();
+        Marshaller marshaller = pool.get(type);
+        if (marshaller == null) {
+            marshaller = getContext(type).createMarshaller();
+            pool.put(type, marshaller);
+        }
+
+        marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.FALSE);
+        marshaller.setSchema(null);
+        marshaller.setEventHandler(null);
+        marshaller.setListener(null);
+        return marshaller;
+    }
+
+    /**
+     * @return this thread's unmarshaller for the class; not to be kept or handed to other threads
+     */
+    public static Unmarshaller getUnmarshaller(Class<?> type) throws JAXBException {
+        Map<Class<?>, Unmarshaller> pool = unmarshallers.get();
+        Unmarshaller unmarshaller = pool.get(type);
+        if (unmarshaller == null) {
+            unmarshaller = getContext(type).createUnmarshaller();
+            pool.put(type, unmarshaller);
+        }
+
+        unmarshaller.setSchema(null);
+        unmarshaller.setEventHandler(null);
+        unmarshaller.setListener(null);
+        return unmarshaller;
+    }
+
+    public static <T> T unmarshal(Class<T> type, File file) throws JAXBException, IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return unmarshal(getUnmarshaller(type), type, in);
+        }
+    }
+
+    /**
+     * Reads the document with the given unmarshaller, e.g. one that has been set up to validate.
+     */
+    public static <T> T unmarshal(Unmarshaller unmarshaller, Class<T> type, InputStream in) throws JAXBException {
+        try {
+            return unmarshal(unmarshaller, type, inputFactory.createXMLStreamReader(in));
+        } catch (XMLStreamException e) {
+            throw new JAXBException(e);
+        }
+    }
+
+    public static <T> T unmarshal(Class<T> type, Reader reader) throws JAXBException {
+        return unmarshal(getUnmarshaller(type), type, reader);
+    }
+
+    public static <T> T unmarshal(Unmarshaller unmarshaller, Class<T> type, Reader reader) throws JAXBException {
+        try {
+            return unmarshal(unmarshaller, type, inputFactory.createXMLStreamReader(reader));
+        } catch (XMLStreamException e) {
+            throw new JAXBException(e);
+        }
+    }
+
+    private static <T> T unmarshal(Unmarshaller unmarshaller, Class<T> type, XMLStreamReader reader)
+            throws JAXBException {
+        try {
+            return unmarshaller.unmarshal(reader, type).getValue();
+        } finally {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                logger.debug("Unable to close XML stream reader", e);
+            }
+        }
+    }
+}
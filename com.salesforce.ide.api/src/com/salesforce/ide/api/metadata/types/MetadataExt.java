@@ -15,14 +15,12 @@ import java.io.StringWriter;
 import java.net.URL;
 
 import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.ValidationEventHandler;
 import javax.xml.namespace.QName;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 
@@ -31,6 +29,7 @@ import org.w3c.dom.Node;
 
 import com.salesforce.ide.api.ForceIdeAPIPlugin;
 import com.salesforce.ide.api.internal.utils.ApiConstants;
+import com.salesforce.ide.api.metadata.JAXBContextPool;
 
 public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata {
 
@@ -50,7 +49,7 @@ public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public String getXMLString() throws JAXBException {
         // prepare body and save component
-        Marshaller marshaller = JAXBContext.newInstance(getClass()).createMarshaller();
+        Marshaller marshaller = JAXBContextPool.getMarshaller(getClass());
 
         if (marshaller == null) {
             logger.error("Unable to get marshaller for class '" + getClass().getName() + "'");
@@ -79,7 +78,7 @@ public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata
         }
 
         // prepare body and save component
-        Unmarshaller unmarshaller = JAXBContext.newInstance(getClass()).createUnmarshaller();
+        Unmarshaller unmarshaller = JAXBContextPool.getUnmarshaller(getClass());
 
         if (unmarshaller == null) {
             logger.error("Unable to get unmarshaller for class '" + getClass().getName() + "'");
@@ -90,10 +89,7 @@ public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata
             logger.debug("Unmarshalling the following content for class '" + getClass().getName() + "':\n" + xmlString);
         }
 
-        JAXBElement<MetadataExt> metadataExt =
-                (JAXBElement<MetadataExt>) unmarshaller.unmarshal(new StreamSource(new StringReader(xmlString)),
-                    getClass());
-        return metadataExt.getValue();
+        return JAXBContextPool.unmarshal(unmarshaller, getClass(), new StringReader(xmlString));
     }
 
     @SuppressWarnings("unchecked")
@@ -105,7 +101,7 @@ public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata
         }
 
         // prepare body and save component
-        Unmarshaller unmarshaller = JAXBContext.newInstance(getClass()).createUnmarshaller();
+        Unmarshaller unmarshaller = JAXBContextPool.getUnmarshaller(getClass());
 
         if (unmarshaller == null) {
             logger.error("Unable to get unmarshaller for class '" + getClass().getName() + "'");
@@ -122,11 +118,7 @@ public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata
             logger.debug("Unmarshalling the following content for class '" + getClass().getName() + "':\n" + xmlString);
         }
 
-        JAXBElement<MetadataExt> metadataExt =
-                (JAXBElement<MetadataExt>) unmarshaller.unmarshal(new StreamSource(new StringReader(xmlString)),
-                    getClass());
-
-        return metadataExt.getValue();
+        return JAXBContextPool.unmarshal(unmarshaller, getClass(), new StringReader(xmlString));
     }
 
     @SuppressWarnings("unchecked")
@@ -137,7 +129,7 @@ public class MetadataExt extends com.salesforce.ide.api.metadata.types.Metadata
         }
 
         // prepare body and save component
-        Unmarshaller unmarshaller = JAXBContext.newInstance(getClass()).createUnmarshaller();
+        Unmarshaller unmarshaller = JAXBContextPool.getUnmarshaller(getClass());
 
         if (unmarshaller == null) {
             logger.error("Unable to get unmarshaller for class '" + getClass().getName() + "'");
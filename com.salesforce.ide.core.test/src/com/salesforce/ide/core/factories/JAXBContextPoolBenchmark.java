@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.factories;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.transform.stream.StreamSource;
+
+import com.salesforce.ide.api.metadata.JAXBContextPool;
+import com.salesforce.ide.api.metadata.types.ApexClass;
+
+/**
+ * Times parsing 10,000 -meta.xml files through {@link JAXBContextPool} against creating a new context per file, as
+ * every parse used to do. Not part of the unit suites, as the result depends on the machine; run its main method by
+ * hand.
+ *
+ * @author nchen
+ */
+public class JAXBContextPoolBenchmark {
+    private static final int FILE_COUNT = 10000;
+    // only a sample is parsed with a new context each, since each one takes long
+    private static final int UNPOOLED_FILE_COUNT = 100;
+
+    private static final String APEX_CLASS_META =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<ApexClass xmlns=\"http://soap.sforce.com/2006/04/metadata\">\n"
+                    + "    <apiVersion>%d.0</apiVersion>\n"
+                    + "    <status>Active</status>\n"
+                    + "</ApexClass>\n";
+
+    public static void main(String[] args) throws Exception {
+        File directory = Files.createTempDirectory("meta").toFile();
+        try {
+            List<File> files = new ArrayList<>(FILE_COUNT);
+            for (int i = 0; i < FILE_COUNT; i++) {
+                File file = new File(directory, "Class" + i + ".cls-meta.xml");
+                Files.write(file.toPath(),
+                    String.format(APEX_CLASS_META, 30 + i % 10).getBytes(StandardCharsets.UTF_8));
+                files.add(file);
+            }
+
+            long start = System.nanoTime();
+            for (File file : files.subList(0, UNPOOLED_FILE_COUNT)) {
+                JAXBContext.newInstance(ApexClass.class).createUnmarshaller()
+                        .unmarshal(new StreamSource(file), ApexClass.class).getValue();
+            }
+            long unpooledMicros = (System.nanoTime() - start) / 1000;
+
+            start = System.nanoTime();
+            double apiVersions = 0;
+            for (File file : files) {
+                apiVersions += JAXBContextPool.unmarshal(ApexClass.class, file).getApiVersion();
+            }
+            long pooledMicros = (System.nanoTime() - start) / 1000;
+
+            if (apiVersions != FILE_COUNT * 34.5) {
+                throw new IllegalStateException("Unexpected sum of api versions: " + apiVersions);
+            }
+            System.out.println("Parsing " + UNPOOLED_FILE_COUNT + " -meta.xml files took " + unpooledMicros
+                    + " us with a new context each, parsing " + FILE_COUNT + " took " + pooledMicros
+                    + " us with the pool");
+        } finally {
+            for (File child : directory.listFiles()) {
+                child.delete();
+            }
+            directory.delete();
+        }
+    }
+}
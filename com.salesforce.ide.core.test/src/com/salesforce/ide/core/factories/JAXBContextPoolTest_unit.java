@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.factories;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+
+import junit.framework.TestCase;
+
+import com.salesforce.ide.api.metadata.JAXBContextPool;
+import com.salesforce.ide.api.metadata.types.ApexClass;
+
+public class JAXBContextPoolTest_unit extends TestCase {
+
+    private static final String APEX_CLASS_META =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<ApexClass xmlns=\"http://soap.sforce.com/2006/04/metadata\">\n"
+                    + "    <apiVersion>%d.0</apiVersion>\n"
+                    + "    <status>Active</status>\n"
+                    + "</ApexClass>\n";
+
+    private File directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("meta").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (File child : directory.listFiles()) {
+            child.delete();
+        }
+        directory.delete();
+        super.tearDown();
+    }
+
+    public void testContextIsShared() throws Exception {
+        assertSame(JAXBContextPool.getContext(ApexClass.class), JAXBContextPool.getContext(ApexClass.class));
+        assertSame(JAXBContextPool.getUnmarshaller(ApexClass.class),
+            JAXBContextPool.getUnmarshaller(ApexClass.class));
+    }
+
+    public void testPooledMarshallerIsReset() throws Exception {
+        Marshaller marshaller = JAXBContextPool.getMarshaller(ApexClass.class);
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+        marshaller = JAXBContextPool.getMarshaller(ApexClass.class);
+        assertEquals(Boolean.FALSE, marshaller.getProperty(Marshaller.JAXB_FRAGMENT));
+    }
+
+    public void testRoundTrip() throws Exception {
+        ApexClass apexClass =
+                JAXBContextPool.unmarshal(ApexClass.class, new StringReader(String.format(APEX_CLASS_META, 37)));
+        assertEquals(37.0, apexClass.getApiVersion());
+
+        StringWriter writer = new StringWriter();
+        JAXBContextPool.getMarshaller(ApexClass.class).marshal(
+            new JAXBElement<>(new QName("http://soap.sforce.com/2006/04/metadata", "ApexClass"), ApexClass.class,
+                    apexClass), writer);
+        ApexClass roundTripped = JAXBContextPool.unmarshal(ApexClass.class, new StringReader(writer.toString()));
+        assertEquals(apexClass.getApiVersion(), roundTripped.getApiVersion());
+        assertEquals(apexClass.getStatus(), roundTripped.getStatus());
+    }
+
+    public void testUnmarshalFile() throws Exception {
+        File file = new File(directory, "Foo.cls-meta.xml");
+        Files.write(file.toPath(), String.format(APEX_CLASS_META, 37).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(37.0, JAXBContextPool.unmarshal(ApexClass.class, file).getApiVersion());
+    }
+}
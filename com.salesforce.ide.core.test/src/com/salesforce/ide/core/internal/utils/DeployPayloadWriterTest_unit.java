@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.internal.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import junit.framework.TestCase;
+
+public class DeployPayloadWriterTest_unit extends TestCase {
+
+    private static final String BODY = "public class Foo {\n    // \u00fcn\u00efcode\n}\n";
+
+    public void testDuplicatesAreWrittenOnce() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DeployPayloadWriter payload = new DeployPayloadWriter(bos, Deflater.DEFAULT_COMPRESSION)) {
+            assertTrue(payload.add("classes/Foo.cls", BODY));
+            assertFalse(payload.add("classes/Foo.cls", BODY));
+            assertFalse(payload.add("classes/Foo.cls", "public class Bar {}"));
+            assertTrue(payload.add("classes/Bar.cls", BODY));
+            assertEquals(2, payload.getDuplicateCount());
+            assertEquals(2, payload.getStats().getNumEntries());
+        }
+
+        List<String> names = readEntryNames(bos.toByteArray());
+        assertEquals(2, names.size());
+        assertTrue(names.contains("classes/Foo.cls"));
+        assertTrue(names.contains("classes/Bar.cls"));
+    }
+
+    public void testChecksumOfWrittenBody() throws Exception {
+        File file = File.createTempFile("Foo", ".cls");
+        try {
+            Files.write(file.toPath(), BODY.getBytes(StandardCharsets.UTF_8));
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (DeployPayloadWriter payload = new DeployPayloadWriter(bos, Deflater.DEFAULT_COMPRESSION)) {
+                assertNull(payload.getChecksum("classes/Foo.cls"));
+                payload.add("classes/Foo.cls", file);
+
+                // editing the file afterwards doesn't change what was written
+                Files.write(file.toPath(), "public class Foo {}".getBytes(StandardCharsets.UTF_8));
+                CRC32 crc = new CRC32();
+                byte[] written = BODY.getBytes(StandardCharsets.UTF_8);
+                crc.update(written, 0, written.length);
+                assertEquals(Long.valueOf(crc.getValue()), payload.getChecksum("classes/Foo.cls"));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    public void testFoldersAreAddedRecursively() throws Exception {
+        File folder = Files.createTempDirectory("bundle").toFile();
+        File cmp = new File(folder, "Foo.cmp");
+        File controller = new File(folder, "FooController.js");
+        try {
+            Files.write(cmp.toPath(), "<aura:component/>".getBytes(StandardCharsets.UTF_8));
+            Files.write(controller.toPath(), "({})".getBytes(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (DeployPayloadWriter payload = new DeployPayloadWriter(bos, Deflater.BEST_SPEED)) {
+                assertTrue(payload.add("aura/Foo", folder));
+                assertFalse(payload.add("aura/Foo/Foo.cmp", cmp));
+            }
+
+            List<String> names = readEntryNames(bos.toByteArray());
+            assertEquals(3, names.size());
+            assertTrue(names.contains("aura/Foo/"));
+            assertTrue(names.contains("aura/Foo/Foo.cmp"));
+            assertTrue(names.contains("aura/Foo/FooController.js"));
+        } finally {
+            cmp.delete();
+            controller.delete();
+            folder.delete();
+        }
+    }
+
+    public void testCompressionLevel() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            body.append(BODY);
+        }
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        DeployPayloadWriter storedPayload = new DeployPayloadWriter(stored, Deflater.NO_COMPRESSION);
+        storedPayload.add("classes/Foo.cls", body.toString());
+        storedPayload.close();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeployPayloadWriter payload = new DeployPayloadWriter(compressed, Deflater.BEST_COMPRESSION)) {
+            payload.add("classes/Foo.cls", body.toString());
+        }
+
+        assertEquals(stored.size(), storedPayload.getBytesWritten());
+        assertTrue(compressed.size() * 10 < stored.size());
+        assertEquals(body.toString(), readEntry(compressed.toByteArray(), "classes/Foo.cls"));
+    }
+
+    private static List<String> readEntryNames(byte[] zip) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    private static String readEntry(byte[] zip, String name) throws Exception {
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()) {
+                if (name.equals(entry.getName())) {
+                    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int len;
+                    while ((len = zis.read(buffer)) >= 0) {
+                        bos.write(buffer, 0, len);
+                    }
+                    return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+}
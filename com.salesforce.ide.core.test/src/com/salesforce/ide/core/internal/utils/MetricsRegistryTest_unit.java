@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.internal.utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class MetricsRegistryTest_unit extends TestCase {
+
+    private MetricsRegistry metrics;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        metrics = new MetricsRegistry();
+    }
+
+    public void testConcurrentRecordingIsNotLost() throws Exception {
+        final int threads = 8;
+        final int recordsPerThread = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < recordsPerThread; j++) {
+                        metrics.timer("deploy").record(1, TimeUnit.MILLISECONDS);
+                        metrics.increment(MetricsRegistry.REMOTE_CALLS);
+                        metrics.add(MetricsRegistry.BYTES_SENT, 10);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(threads * recordsPerThread, metrics.timer("deploy").getCount());
+        assertEquals(threads * recordsPerThread, metrics.getCount(MetricsRegistry.REMOTE_CALLS));
+        assertEquals(threads * recordsPerThread * 10L, metrics.getCount(MetricsRegistry.BYTES_SENT));
+        assertEquals(threads * recordsPerThread, metrics.timer("deploy").getTotalMillis(), 0.001);
+    }
+
+    public void testPercentilesAreWithinBucketWidth() throws Exception {
+        MetricsRegistry.Timer timer = metrics.timer("retrieve");
+        for (int i = 1; i <= 1000; i++) {
+            timer.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(500, timer.getPercentileMillis(50), 500 * 0.125);
+        assertEquals(950, timer.getPercentileMillis(95), 950 * 0.125);
+        assertEquals(990, timer.getPercentileMillis(99), 990 * 0.125);
+        assertEquals(1000, timer.getMaxMillis(), 0.001);
+        assertEquals(500.5, timer.getMeanMillis(), 0.001);
+        assertTrue(timer.getPercentileMillis(100) <= timer.getMaxMillis());
+        assertEquals(0, metrics.timer("none").getPercentileMillis(99), 0);
+    }
+
+    public void testBucketsCoverTheirValues() throws Exception {
+        for (long micros = 0; micros < 100000; micros += 7) {
+            int bucket = MetricsRegistry.Timer.bucket(micros);
+            assertTrue(micros < MetricsRegistry.Timer.upperBoundMicros(bucket));
+            assertTrue(bucket == 0 || micros >= MetricsRegistry.Timer.upperBoundMicros(bucket - 1));
+        }
+    }
+
+    public void testExportCsv() throws Exception {
+        metrics.timer("MetadataStubExt.deploy").record(20, TimeUnit.MILLISECONDS);
+        metrics.increment(MetricsRegistry.REMOTE_RETRIES);
+
+        File file = File.createTempFile("metrics", ".csv");
+        try {
+            metrics.exportCsv(file);
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertEquals("type,name,count,total,mean,p50,p95,p99,max", lines.get(0));
+            assertTrue(lines.get(1), lines.get(1).startsWith("timer,MetadataStubExt.deploy,1,20.000,20.000,"));
+            assertEquals("counter," + MetricsRegistry.REMOTE_RETRIES + ",1,,,,,,", lines.get(2));
+        } finally {
+            file.delete();
+        }
+    }
+}
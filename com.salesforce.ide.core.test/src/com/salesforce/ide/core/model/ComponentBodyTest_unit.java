@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.model;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFile;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class ComponentBodyTest_unit extends TestCase {
+
+    public void testContentIsReadOnDemandAndReused() throws Exception {
+        byte[] content = "public class Foo {}".getBytes("UTF-8");
+        IFile file = createFile(content, 1L);
+        ComponentBody body = new ComponentBody(file);
+        assertFalse(body.isLoaded());
+        verify(file, times(0)).getContents();
+
+        assertTrue(Arrays.equals(content, body.getContent()));
+        assertTrue(Arrays.equals(content, body.getContent()));
+        assertTrue(body.isLoaded());
+        verify(file, times(1)).getContents();
+    }
+
+    public void testChangedFileIsReadAgain() throws Exception {
+        IFile file = createFile("a".getBytes("UTF-8"), 1L);
+        ComponentBody body = new ComponentBody(file);
+        long before = body.getChecksum(-1);
+        assertEquals("a", new String(body.getContent(), "UTF-8"));
+
+        when(file.getContents()).thenAnswer(contents("bb".getBytes("UTF-8")));
+        when(file.getModificationStamp()).thenReturn(2L);
+        assertEquals("bb", new String(body.getContent(), "UTF-8"));
+        assertFalse(before == body.getChecksum(-1));
+        assertEquals(crc("bb".getBytes("UTF-8")), body.getChecksum(-1));
+    }
+
+    public void testChecksumDoesNotHoldContent() throws Exception {
+        byte[] content = new byte[100000];
+        Arrays.fill(content, (byte) 'x');
+        IFile file = createFile(content, 1L);
+        ComponentBody body = new ComponentBody(file);
+
+        assertEquals(crc(content), body.getChecksum(-1));
+        assertEquals(crc(content), body.getChecksum(-1));
+        assertFalse(body.isLoaded());
+        verify(file, times(1)).getContents();
+    }
+
+    public void testKnownChecksumOfSavedFileIsNotReadBack() throws Exception {
+        byte[] content = "public class Foo {}".getBytes("UTF-8");
+        IFile file = createFile(content, 1L);
+        ComponentBody body = new ComponentBody(file, crc(content));
+
+        assertEquals(crc(content), body.getChecksum(-1));
+        assertFalse(body.isLoaded());
+        verify(file, times(0)).getContents();
+
+        assertTrue(Arrays.equals(content, body.getContent()));
+    }
+
+    public void testMissingFile() throws Exception {
+        IFile file = createFile(new byte[0], 1L);
+        when(file.exists()).thenReturn(false);
+        ComponentBody body = new ComponentBody(file);
+        assertNull(body.getContent());
+        assertEquals(-1, body.getChecksum(-1));
+    }
+
+    private static IFile createFile(byte[] content, long stamp) throws Exception {
+        IFile file = mock(IFile.class);
+        when(file.exists()).thenReturn(true);
+        when(file.getModificationStamp()).thenReturn(stamp);
+        when(file.getContents()).thenAnswer(contents(content));
+        return file;
+    }
+
+    private static Answer<InputStream> contents(final byte[] content) {
+        return new Answer<InputStream>() {
+            @Override
+            public InputStream answer(InvocationOnMock invocation) {
+                return new ByteArrayInputStream(content);
+            }
+        };
+    }
+
+    private static long crc(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.model;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.salesforce.ide.core.internal.utils.Utils;
+import com.sforce.soap.metadata.FileProperties;
+import com.sforce.soap.metadata.ManageableState;
+
+public class ComponentFilePropertiesTest_unit extends TestCase {
+
+    public void testAllPropertiesAreApplied() throws Exception {
+        FileProperties fileProperties = createFileProperties(1);
+        Component component = new Component();
+        component.setFileProperties(fileProperties);
+
+        assertProperties(fileProperties, component);
+        assertEquals(ManageableState.unmanaged.name(), component.getState());
+    }
+
+    public void testSubclassSettersAreApplied() throws Exception {
+        final List<Object> fullNames = new ArrayList<>();
+        Component component = new ApexTrigger() {
+            @Override
+            public void setFullName(String fullName) {
+                fullNames.add(fullName);
+                super.setFullName(fullName);
+            }
+        };
+        FileProperties fileProperties = createFileProperties(2);
+        component.setFileProperties(fileProperties);
+
+        assertProperties(fileProperties, component);
+        assertEquals(1, fullNames.size());
+        assertEquals(fileProperties.getFullName(), fullNames.get(0));
+    }
+
+    public void testSameResultAsReflection() throws Exception {
+        FileProperties fileProperties = createFileProperties(3);
+        Component mapped = new Component();
+        mapped.setFileProperties(fileProperties);
+        Component reflected = new Component();
+        setByReflection(reflected, fileProperties);
+
+        assertEquals(reflected.getId(), mapped.getId());
+        assertEquals(reflected.getFileName(), mapped.getFileName());
+        assertEquals(reflected.getFullName(), mapped.getFullName());
+        assertEquals(reflected.getNamespacePrefix(), mapped.getNamespacePrefix());
+        assertEquals(reflected.getCreatedDate(), mapped.getCreatedDate());
+        assertEquals(reflected.getLastModifiedById(), mapped.getLastModifiedById());
+    }
+
+    // how FileProperties used to be applied, property by property
+    private static void setByReflection(Component component, FileProperties fileProperties) throws Exception {
+        for (String propertyName : Utils.getProperties(FileProperties.class)) {
+            component.setProperty(propertyName, Utils.getPropertyValue(fileProperties, propertyName));
+        }
+    }
+
+    private static void assertProperties(FileProperties expected, Component component) {
+        assertEquals(expected.getId(), component.getId());
+        assertEquals(expected.getFileName().substring(expected.getFileName().lastIndexOf('/') + 1),
+            component.getFileName());
+        assertEquals(expected.getFullName(), component.getFullName());
+        assertEquals(expected.getNamespacePrefix(), component.getNamespacePrefix());
+        assertEquals(expected.getCreatedById(), component.getCreatedById());
+        assertEquals(expected.getCreatedByName(), component.getCreatedByName());
+        assertEquals(expected.getCreatedDate(), component.getCreatedDate());
+        assertEquals(expected.getLastModifiedById(), component.getLastModifiedById());
+        assertEquals(expected.getLastModifiedByName(), component.getLastModifiedByName());
+        assertEquals(expected.getLastModifiedDate(), component.getLastModifiedDate());
+    }
+
+    private static FileProperties createFileProperties(int i) {
+        Calendar date = Calendar.getInstance();
+        date.setTimeInMillis(1450000000000L + i);
+
+        FileProperties fileProperties = new FileProperties();
+        fileProperties.setId(String.format("01p%012d", i));
+        fileProperties.setType("ApexClass");
+        fileProperties.setFileName("classes/Class" + i + ".cls");
+        fileProperties.setFullName("Class" + i);
+        fileProperties.setNamespacePrefix("ns");
+        fileProperties.setCreatedById("005000000000001");
+        fileProperties.setCreatedByName("Admin User");
+        fileProperties.setCreatedDate(date);
+        fileProperties.setLastModifiedById("005000000000002");
+        fileProperties.setLastModifiedByName("Other User");
+        fileProperties.setLastModifiedDate(date);
+        fileProperties.setManageableState(ManageableState.unmanaged);
+        return fileProperties;
+    }
+}
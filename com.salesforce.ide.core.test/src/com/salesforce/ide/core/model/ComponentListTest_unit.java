@@ -10,6 +10,8 @@
  ******************************************************************************/
 package com.salesforce.ide.core.model;
 
+import java.util.Arrays;
+
 import com.salesforce.ide.core.factories.ComponentFactory;
 import com.salesforce.ide.core.internal.context.ContainerDelegate;
 import com.salesforce.ide.core.internal.utils.Constants;
@@ -25,6 +27,125 @@ public class ComponentListTest_unit extends TestCase {
 		assertEquals(1, componentList.size());
 	}
 
+	public void testLookupsFollowAddAndRemove() throws Exception {
+		ComponentList componentList = new ComponentList();
+		Component foo = newApexClass("Foo", "01p000000000001");
+		Component bar = newApexClass("Bar", "01p000000000002");
+		componentList.add(foo);
+		componentList.add(bar);
+
+		assertSame(foo, componentList.getComponentByFilePath("classes/Foo.cls"));
+		assertSame(bar, componentList.getComponentByFileName("bar.CLS"));
+		assertSame(bar, componentList.getComponentById("01P000000000002"));
+		assertSame(foo, componentList.getComponentByNameType("Foo", Constants.APEX_CLASS));
+		assertSame(foo, componentList.getComponentBySourceRelativeFilePath("src/classes/Foo.cls"));
+
+		assertTrue(componentList.remove(newApexClass("Foo", null)));
+		assertNull(componentList.getComponentByFilePath("classes/Foo.cls"));
+		assertFalse(componentList.contains(foo));
+		assertSame(bar, componentList.getComponentByFilePath("classes/Bar.cls"));
+
+		assertTrue(componentList.removeByFilePath("classes/Bar.cls"));
+		assertTrue(componentList.isEmpty());
+		assertNull(componentList.getComponentById("01p000000000002"));
+	}
+
+	public void testDuplicateKeysResolveToFirstComponent() throws Exception {
+		ComponentList componentList = new ComponentList();
+		Component first = newApexClass("Foo", null);
+		Component second = newApexClass("Foo", null);
+		second.setComponentType(Constants.APEX_TRIGGER);
+		componentList.add(first);
+		componentList.add(second);
+
+		assertSame(first, componentList.getComponentByFilePath("classes/Foo.cls"));
+		componentList.remove(first);
+		assertSame(second, componentList.getComponentByFilePath("classes/Foo.cls"));
+	}
+
+	public void testCaseInsensitiveFilePath() throws Exception {
+		ComponentList componentList = new ComponentList();
+		Component foo = newApexClass("Foo", null);
+		componentList.add(foo);
+		assertNull(componentList.getComponentByFilePath("classes/foo.cls"));
+
+		foo.setCaseSensitive(false);
+		componentList.sort();
+		assertSame(foo, componentList.getComponentByFilePath("classes/foo.cls"));
+	}
+
+	public void testContainsAgreesWithEqualsWhenPathsDifferInCase() throws Exception {
+		ComponentList componentList = new ComponentList();
+		Component lowerCase = newApexClass("foo", null);
+		Component upperCase = newApexClass("Foo", null);
+		componentList.add(lowerCase);
+		componentList.add(upperCase);
+
+		for (boolean caseSensitive : new boolean[] { true, false }) {
+			for (String name : new String[] { "foo", "Foo", "FOO" }) {
+				Component probe = newApexClass(name, null);
+				probe.setCaseSensitive(caseSensitive);
+				assertEquals(name, isEqualToAny(componentList, probe), componentList.contains(probe));
+			}
+		}
+
+		// the component behind the first case insensitive match is still found
+		assertTrue(componentList.remove(newApexClass("Foo", null)));
+		assertEquals(1, componentList.size());
+		assertSame(lowerCase, componentList.get(0));
+	}
+
+	public void testAddAllLatestReplacesEarlierComponents() throws Exception {
+		Component foo = newApexClass("Foo", null);
+		Component bar = newApexClass("Bar", null);
+		Component fooAgain = newApexClass("Foo", null);
+		ComponentList first = new ComponentList();
+		first.add(foo, false);
+		first.add(bar, false);
+		ComponentList second = new ComponentList();
+		second.add(fooAgain, false);
+
+		ComponentList merged = new ComponentList().addAllLatest(Arrays.asList(first, second));
+		assertEquals(2, merged.size());
+		assertSame(bar, merged.get(0));
+		assertSame(fooAgain, merged.get(1));
+		assertSame(fooAgain, merged.get(foo));
+	}
+
+	public void testLookupsOnLargeList() throws Exception {
+		ComponentList componentList = new ComponentList();
+		for (int i = 0; i < 10000; i++) {
+			componentList.add(newApexClass("Class" + i, null));
+		}
+		assertEquals(10000, componentList.size());
+
+		for (int i = 0; i < 10000; i += 2) {
+			assertTrue(componentList.removeByFilePath("classes/Class" + i + ".cls"));
+		}
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(i % 2 == 1, componentList.hasComponentByFilePath("classes/Class" + i + ".cls"));
+		}
+	}
+
+	private static boolean isEqualToAny(ComponentList componentList, Component probe) {
+		for (Component component : componentList) {
+			if (probe.equals(component)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Component newApexClass(String name, String id) {
+		Component component = new Component();
+		component.setComponentType(Constants.APEX_CLASS);
+		component.setName(name);
+		component.setFileName(name + ".cls");
+		component.setFilePath("src/classes/" + name + ".cls");
+		component.setId(id);
+		return component;
+	}
+
 	@Override
 	protected void setUp() throws Exception {
 		super.setUp();
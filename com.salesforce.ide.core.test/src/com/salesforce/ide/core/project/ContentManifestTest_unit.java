@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+import junit.framework.TestCase;
+
+public class ContentManifestTest_unit extends TestCase {
+
+    private static final String PATH = "src/classes/Foo.cls";
+
+    private File directory;
+    private File file;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("manifest").toFile();
+        file = new File(directory, "Foo.cls");
+        write("public class Foo {}");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (File child : directory.listFiles()) {
+            child.delete();
+        }
+        directory.delete();
+        super.tearDown();
+    }
+
+    public void testChecksumMatchesBodyChecksum() throws Exception {
+        ContentManifest manifest = new ContentManifest(null);
+
+        assertEquals(crc("public class Foo {}"), manifest.getChecksum(PATH, file));
+        assertEquals(ContentManifest.UNKNOWN_CHECKSUM, manifest.getChecksum(PATH, new File(directory, "None.cls")));
+    }
+
+    public void testUnchangedFileIsNotReread() throws Exception {
+        ContentManifest manifest = new ContentManifest(null);
+        long checksum = manifest.getChecksum(PATH, file);
+
+        // same size and modification time: the recorded checksum is trusted
+        long modified = file.lastModified();
+        write("public class Bar {}");
+        assertTrue(file.setLastModified(modified));
+        assertEquals(checksum, manifest.getChecksum(PATH, file));
+
+        // until a resource delta says otherwise
+        manifest.invalidate(PATH);
+        assertEquals(crc("public class Bar {}"), manifest.getChecksum(PATH, file));
+
+        write("public class Foo { }");
+        assertEquals(crc("public class Foo { }"), manifest.getChecksum(PATH, file));
+    }
+
+    public void testHasLocalChanged() throws Exception {
+        ContentManifest manifest = new ContentManifest(null);
+        assertTrue(manifest.hasLocalChanged(PATH, file));
+
+        manifest.setServerChecksum(PATH, crc("public class Foo {}"));
+        assertFalse(manifest.hasLocalChanged(PATH, file));
+
+        write("public class Foo { }");
+        assertTrue(manifest.hasLocalChanged(PATH, file));
+
+        manifest.move(PATH, "src/classes/Bar.cls");
+        assertEquals(ContentManifest.UNKNOWN_CHECKSUM, manifest.getServerChecksum(PATH));
+        assertEquals(ContentManifest.UNKNOWN_CHECKSUM, manifest.getServerChecksum("src/classes/Bar.cls"));
+        assertEquals(1, manifest.size());
+
+        manifest.remove("src/classes/Bar.cls");
+        assertEquals(0, manifest.size());
+    }
+
+    public void testSaveAndLoad() throws Exception {
+        File store = new File(directory, "project.manifest");
+        ContentManifest manifest = new ContentManifest(store);
+        long checksum = manifest.getChecksum(PATH, file);
+        manifest.setServerChecksum(PATH, 42);
+        manifest.save();
+        assertFalse(manifest.isDirty());
+
+        ContentManifest loaded = new ContentManifest(store);
+        assertEquals(1, loaded.size());
+        assertEquals(42, loaded.getServerChecksum(PATH));
+        assertEquals(checksum, loaded.getChecksum(PATH, file));
+        assertFalse(loaded.isDirty());
+
+        loaded.delete();
+        assertFalse(store.exists());
+        assertEquals(0, new ContentManifest(store).size());
+    }
+
+    private void write(String content) throws Exception {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long crc(String content) {
+        CRC32 checksum = new CRC32();
+        checksum.update(content.getBytes(StandardCharsets.UTF_8));
+        return checksum.getValue();
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+
+/**
+ * Times applying 2,000 compile error markers, 10 on each of 200 files, one workspace operation at a time and in one
+ * {@link MarkerUtils#batch(MarkerUtils.MarkerUpdates)}. The workspace is mocked, so this measures the overhead of the
+ * marker updates rather than the cost of workspace operations and resource change events, which batching saves on
+ * top. Not part of the unit suites, as the result depends on the machine; run its main method by hand.
+ *
+ * @author nchen
+ */
+public class MarkerUtilsBenchmark {
+    private static final int FILE_COUNT = 200;
+    private static final int ERRORS_PER_FILE = 10;
+    private static final int RUNS = 5;
+
+    private final AtomicInteger operations = new AtomicInteger();
+    private final List<IFile> files = new ArrayList<>(FILE_COUNT);
+
+    public static void main(String[] args) throws Exception {
+        new MarkerUtilsBenchmark().run();
+    }
+
+    private MarkerUtilsBenchmark() throws Exception {
+        // Stands in for the workspace: runs operations right away and counts them
+        IWorkspace workspace = mock(IWorkspace.class);
+        when(workspace.getRuleFactory()).thenReturn(mock(IResourceRuleFactory.class));
+        when(workspace.run(any(IWorkspaceRunnable.class), any(ISchedulingRule.class), anyInt(),
+            any(IProgressMonitor.class))).thenAnswer(invocation -> {
+                operations.incrementAndGet();
+                ((IWorkspaceRunnable) invocation.getArguments()[0]).run(null);
+                return null;
+            });
+
+        IProject project = mock(IProject.class);
+        for (int i = 0; i < FILE_COUNT; i++) {
+            IFile file = mock(IFile.class);
+            when(file.exists()).thenReturn(true);
+            when(file.getProject()).thenReturn(project);
+            when(file.getWorkspace()).thenReturn(workspace);
+            when(file.getFullPath()).thenReturn(new Path("/project/src/classes/Class" + i + ".cls"));
+            when(file.getProjectRelativePath()).thenReturn(new Path("src/classes/Class" + i + ".cls"));
+            when(file.findMarkers(anyString(), anyBoolean(), anyInt())).thenReturn(new IMarker[0]);
+            when(file.createMarker(anyString())).thenReturn(mock(IMarker.class));
+            files.add(file);
+        }
+    }
+
+    private void run() {
+        for (int run = 0; run < RUNS; run++) {
+            operations.set(0);
+            long start = System.nanoTime();
+            applyCompileErrors();
+            long unbatchedMicros = (System.nanoTime() - start) / 1000;
+            int unbatchedOperations = operations.getAndSet(0);
+
+            start = System.nanoTime();
+            MarkerUtils.getInstance().batch(() -> applyCompileErrors());
+            long batchedMicros = (System.nanoTime() - start) / 1000;
+            int batchedOperations = operations.get();
+
+            System.out.println("Applying " + FILE_COUNT * ERRORS_PER_FILE + " markers took " + unbatchedMicros
+                    + " us in " + unbatchedOperations + " workspace operations one by one and " + batchedMicros
+                    + " us in " + batchedOperations + " as a batch");
+        }
+    }
+
+    private void applyCompileErrors() {
+        for (IFile file : files) {
+            MarkerUtils.getInstance().clearCompileMarkers(file);
+            for (int i = 0; i < ERRORS_PER_FILE; i++) {
+                MarkerUtils.getInstance().applyCompileErrorMarker(file, i + 1, 1, 2, "Error " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+
+import junit.framework.TestCase;
+
+public class MarkerUtilsTest_unit extends TestCase {
+
+    private static final int FILE_COUNT = 20;
+    private static final int ERRORS_PER_FILE = 10;
+
+    private IWorkspace workspace;
+    private IProject project;
+    private List<IFile> files;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        // Stands in for the workspace: runs operations right away and counts them
+        workspace = mock(IWorkspace.class);
+        when(workspace.getRuleFactory()).thenReturn(mock(IResourceRuleFactory.class));
+        when(workspace.run(any(IWorkspaceRunnable.class), any(ISchedulingRule.class), anyInt(),
+            any(IProgressMonitor.class))).thenAnswer(invocation -> {
+                ((IWorkspaceRunnable) invocation.getArguments()[0]).run(null);
+                return null;
+            });
+
+        project = mock(IProject.class);
+        files = new ArrayList<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            IFile file = mock(IFile.class);
+            when(file.exists()).thenReturn(true);
+            when(file.getProject()).thenReturn(project);
+            when(file.getWorkspace()).thenReturn(workspace);
+            when(file.getFullPath()).thenReturn(new Path("/project/src/classes/Class" + i + ".cls"));
+            when(file.getProjectRelativePath()).thenReturn(new Path("src/classes/Class" + i + ".cls"));
+            when(file.findMarkers(anyString(), anyBoolean(), anyInt())).thenReturn(new IMarker[0]);
+            when(file.createMarker(anyString())).thenReturn(mock(IMarker.class));
+            files.add(file);
+        }
+    }
+
+    public void testBatchAppliesAllMarkersInOneWorkspaceOperation() throws Exception {
+        applyCompileErrors();
+        verify(workspace, times(FILE_COUNT * ERRORS_PER_FILE)).run(any(IWorkspaceRunnable.class),
+            any(ISchedulingRule.class), anyInt(), any(IProgressMonitor.class));
+
+        workspace = resetWorkspace();
+        MarkerUtils.getInstance().batch(() -> applyCompileErrors());
+
+        verify(workspace, times(1)).run(any(IWorkspaceRunnable.class), any(ISchedulingRule.class), anyInt(),
+            any(IProgressMonitor.class));
+        for (IFile file : files) {
+            verify(file, times(2 * ERRORS_PER_FILE)).createMarker(MarkerUtils.MARKER_COMPILE_ERROR);
+        }
+    }
+
+    public void testBatchCoalescesClearsAndApplies() throws Exception {
+        IFile file = files.get(0);
+        MarkerUtils.getInstance().batch(() -> {
+            // clearing before each warning only leaves the last one
+            for (int i = 0; i < ERRORS_PER_FILE; i++) {
+                MarkerUtils.getInstance().clearCodeCoverageWarningMarkersFor(file);
+                MarkerUtils.getInstance().applyCodeCoverageWarningMarker(file, "Warning " + i);
+            }
+            MarkerUtils.getInstance().applyDirty(file);
+            MarkerUtils.getInstance().applyDirty(file);
+            MarkerUtils.getInstance().clearSaveMarkers(file);
+            MarkerUtils.getInstance().clearSaveMarkers(file);
+        });
+
+        verify(file, times(1)).createMarker(MarkerUtils.MARKER_CODE_COVERAGE_WARNING);
+        verify(file, times(1)).createMarker(MarkerUtils.MARKER_DIRTY);
+        verify(file, times(1)).findMarkers(MarkerUtils.MARKER_CODE_COVERAGE_WARNING, true, IResource.DEPTH_ZERO);
+        verify(file, times(1)).findMarkers(MarkerUtils.MARKER_SAVE_ERROR, true, IResource.DEPTH_ZERO);
+        verify(file, never()).createMarker(MarkerUtils.MARKER_SAVE_ERROR);
+    }
+
+    public void testCreateAfterClearOfSupertypeIsKept() throws Exception {
+        IFile file = files.get(0);
+        MarkerUtils.getInstance().batch(() -> {
+            MarkerUtils.getInstance().applyDirty(file);
+            // deletes the dirty marker too, as dirty markers are problem markers
+            MarkerUtils.getInstance().clearAll(file);
+            MarkerUtils.getInstance().applyDirty(file);
+        });
+
+        verify(file, times(2)).createMarker(MarkerUtils.MARKER_DIRTY);
+        verify(file, times(1)).findMarkers(MarkerUtils.MARKER_PROBLEM, true, IResource.DEPTH_ZERO);
+    }
+
+    private void applyCompileErrors() {
+        for (IFile file : files) {
+            for (int i = 0; i < ERRORS_PER_FILE; i++) {
+                MarkerUtils.getInstance().applyCompileErrorMarker(file, i + 1, 1, 2, "Error " + i);
+            }
+        }
+    }
+
+    private IWorkspace resetWorkspace() throws Exception {
+        IWorkspace previous = workspace;
+        IWorkspace next = mock(IWorkspace.class);
+        when(next.getRuleFactory()).thenReturn(previous.getRuleFactory());
+        when(next.run(any(IWorkspaceRunnable.class), any(ISchedulingRule.class), anyInt(),
+            any(IProgressMonitor.class))).thenAnswer(invocation -> {
+                ((IWorkspaceRunnable) invocation.getArguments()[0]).run(null);
+                return null;
+            });
+        for (IFile file : files) {
+            when(file.getWorkspace()).thenReturn(next);
+        }
+        return next;
+    }
+}
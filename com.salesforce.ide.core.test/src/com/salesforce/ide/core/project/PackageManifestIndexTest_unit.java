@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IProject;
+import org.w3c.dom.Document;
+
+import com.salesforce.ide.api.metadata.types.Package;
+import com.salesforce.ide.api.metadata.types.PackageTypeMembers;
+
+public class PackageManifestIndexTest_unit extends TestCase {
+
+    private File manifestFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        manifestFile = File.createTempFile("package", ".xml");
+        Files.write(manifestFile.toPath(), "<Package/>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        manifestFile.delete();
+        super.tearDown();
+    }
+
+    public void testQueries() throws Exception {
+        PackageManifestIndex index = new PackageManifestIndex(createPackage(), 0, 0);
+
+        assertEquals(Arrays.asList("*"), index.getMembers("ApexClass"));
+        assertTrue(index.isWildCardUsed("ApexClass"));
+        assertFalse(index.hasExplicitMember("ApexClass"));
+
+        assertEquals(Arrays.asList("*", "Account"), index.getMembers("CustomObject"));
+        assertTrue(index.isWildCardUsed("CustomObject"));
+        assertTrue(index.hasExplicitMember("CustomObject"));
+
+        assertEquals(Arrays.asList("Foo"), index.getMembers("ApexPage"));
+        assertFalse(index.isWildCardUsed("ApexPage"));
+        assertTrue(index.hasExplicitMember("ApexPage"));
+
+        assertTrue(index.getMembers("ApexTrigger").isEmpty());
+        assertFalse(index.isWildCardUsed("ApexTrigger"));
+        assertFalse(index.hasExplicitMember("ApexTrigger"));
+    }
+
+    public void testChangesToCopiesDontLeak() throws Exception {
+        Package source = createPackage();
+        PackageManifestIndex index = new PackageManifestIndex(source, 0, 0);
+        source.getTypes().get(2).getMembers().add("Bar");
+
+        Package copy = index.getPackageManifest();
+        assertEquals("unpackaged", copy.getFullName());
+        assertEquals("37.0", copy.getVersion());
+        assertEquals(3, copy.getTypes().size());
+        copy.getTypes().get(2).getMembers().add("Baz");
+        copy.getTypes().clear();
+
+        assertEquals(Arrays.asList("Foo"), index.getMembers("ApexPage"));
+        assertEquals(Arrays.asList("Foo"), index.getPackageManifest().getTypes().get(2).getMembers());
+    }
+
+    public void testDocumentIsCopied() throws Exception {
+        PackageManifestIndex index = new PackageManifestIndex(createPackage(), 0, 0);
+        assertNull(index.getDocument());
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        document.appendChild(document.createElement("Package"));
+        index.setDocument(document);
+        document.getDocumentElement().appendChild(document.createElement("types"));
+
+        Document copy = index.getDocument();
+        assertNotSame(document, copy);
+        assertFalse(copy.getDocumentElement().hasChildNodes());
+        copy.getDocumentElement().appendChild(copy.createElement("types"));
+        assertFalse(index.getDocument().getDocumentElement().hasChildNodes());
+    }
+
+    public void testStaleIndexIsDropped() throws Exception {
+        IProject project = mock(IProject.class);
+        when(project.getName()).thenReturn("stale");
+        PackageManifestTracker tracker = new PackageManifestTracker();
+
+        PackageManifestIndex index =
+                new PackageManifestIndex(createPackage(), manifestFile.lastModified(), manifestFile.length());
+        tracker.putIndex(project, index);
+        assertSame(index, tracker.getIndex(project, manifestFile));
+
+        Files.write(manifestFile.toPath(), "<Package></Package>".getBytes(StandardCharsets.UTF_8));
+        assertNull(tracker.getIndex(project, manifestFile));
+
+        index = new PackageManifestIndex(createPackage(), manifestFile.lastModified(), manifestFile.length());
+        tracker.putIndex(project, index);
+        tracker.invalidate(project);
+        assertNull(tracker.getIndex(project, manifestFile));
+    }
+
+    private static Package createPackage() {
+        Package packageManifest = new Package();
+        packageManifest.setFullName("unpackaged");
+        packageManifest.setVersion("37.0");
+        packageManifest.getTypes().add(createType("ApexClass", "*"));
+        packageManifest.getTypes().add(createType("CustomObject", "*", "Account"));
+        packageManifest.getTypes().add(createType("ApexPage", "Foo"));
+        return packageManifest;
+    }
+
+    private static PackageTypeMembers createType(String name, String... members) {
+        PackageTypeMembers type = new PackageTypeMembers();
+        type.setName(name);
+        type.getMembers().addAll(Arrays.asList(members));
+        return type;
+    }
+}
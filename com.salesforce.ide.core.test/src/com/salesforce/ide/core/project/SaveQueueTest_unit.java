@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.model.Component;
+import com.salesforce.ide.core.model.ComponentList;
+
+public class SaveQueueTest_unit extends TestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        System.clearProperty(Constants.SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS);
+        super.tearDown();
+    }
+
+    public void testSavesWithinWindowAreBuiltTogether() throws Exception {
+        IProject project = mock(IProject.class);
+        when(project.getName()).thenReturn("SaveQueueTest");
+        when(project.isAccessible()).thenReturn(true);
+        // the project is the rule of the flush job, which has to contain and conflict with itself
+        when(project.contains(project)).thenReturn(true);
+        when(project.isConflicting(project)).thenReturn(true);
+        RecordingController controller = new RecordingController();
+
+        Component foo = createApexClass("Foo");
+        Component bar = createApexClass("Bar");
+        Component baz = createApexClass("Baz");
+        Component fooAgain = createApexClass("Foo");
+
+        SaveQueue queue = new SaveQueue();
+        queue.submit(controller, project, createList(foo, bar), 60000);
+        queue.submit(controller, project, createList(baz), 60000);
+        queue.submit(controller, project, createList(fooAgain), 60000);
+        assertEquals(3, queue.getDepth(project));
+        assertTrue(controller.builds.isEmpty());
+
+        // rather than waiting the window out
+        Job job = queue.getBatch(project).job;
+        job.wakeUp();
+        job.join();
+
+        assertEquals(1, controller.builds.size());
+        ComponentList built = controller.builds.get(0);
+        assertEquals(3, built.size());
+        assertSame(bar, built.get(0));
+        assertSame(baz, built.get(1));
+        assertSame(fooAgain, built.get(2));
+        assertEquals(0, queue.getDepth(project));
+    }
+
+    public void testConfiguredWindow() throws Exception {
+        assertEquals(SaveQueue.DEFAULT_WINDOW_MILLIS, SaveQueue.getConfiguredWindow());
+
+        System.setProperty(Constants.SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS, "0");
+        assertEquals(0, SaveQueue.getConfiguredWindow());
+
+        System.setProperty(Constants.SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS, " 1000 ");
+        assertEquals(1000, SaveQueue.getConfiguredWindow());
+
+        System.setProperty(Constants.SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS, "-1");
+        assertEquals(SaveQueue.DEFAULT_WINDOW_MILLIS, SaveQueue.getConfiguredWindow());
+
+        System.setProperty(Constants.SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS, "soon");
+        assertEquals(SaveQueue.DEFAULT_WINDOW_MILLIS, SaveQueue.getConfiguredWindow());
+    }
+
+    private static ComponentList createList(Component... components) {
+        ComponentList componentList = new ComponentList();
+        for (Component component : components) {
+            componentList.add(component, false);
+        }
+        return componentList;
+    }
+
+    private static Component createApexClass(String name) {
+        Component component = new Component();
+        component.setComponentType(Constants.APEX_CLASS);
+        component.setName(name);
+        component.setFileName(name + ".cls");
+        component.setFilePath("src/classes/" + name + ".cls");
+        return component;
+    }
+
+    private static class RecordingController extends BuilderController {
+        final List<ComponentList> builds = new ArrayList<>();
+
+        @Override
+        void buildNow(ComponentList saveComponentList, IProject project, IProgressMonitor monitor) {
+            builds.add(saveComponentList);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import junit.framework.TestCase;
+
+public class AsyncPollerTest_unit extends TestCase {
+    private static final long DELAY = 50;
+
+    private AsyncPoller poller;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        poller = new AsyncPoller();
+    }
+
+    public void testPollCompletesOnceCheckReturnsOutcome() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        List<Integer> rounds = Collections.synchronizedList(new ArrayList<Integer>());
+
+        CompletableFuture<String> future = poller.poll(() -> checks.incrementAndGet() == 3 ? "done" : null, round -> {
+            rounds.add(round);
+            return DELAY;
+        });
+
+        assertEquals("done", AsyncPoller.await(future, new NullProgressMonitor()));
+        assertEquals(3, checks.get());
+        assertEquals(Arrays.asList(1, 2, 3), rounds);
+    }
+
+    public void testFailedCheckFailsFuture() throws Exception {
+        CompletableFuture<String> future = poller.poll(() -> {
+            throw new IllegalStateException("boom");
+        }, round -> 0);
+
+        try {
+            AsyncPoller.await(future, null);
+            fail("Expected the check's failure");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    public void testAwaitCancelsPollingWhenMonitorIsCanceled() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        CompletableFuture<String> future = poller.poll(() -> {
+            checks.incrementAndGet();
+            monitor.setCanceled(true);
+            return null;
+        }, round -> round == 1 ? 0 : DELAY * 20);
+
+        try {
+            AsyncPoller.await(future, monitor);
+            fail("Expected the wait to be canceled");
+        } catch (MonitorCanceledException e) {
+            assertTrue(future.isCancelled());
+        }
+
+        Thread.sleep(DELAY * 30);
+        assertEquals(1, checks.get());
+    }
+
+    public void testOperationsOfSameCheckAreBatched() throws Exception {
+        StatusCheck check = new StatusCheck();
+        check.finishAfter.put("a", 1);
+        check.finishAfter.put("b", 2);
+        check.finishAfter.put("c", 2);
+
+        CompletableFuture<String> a = poller.poll(check, "a", round -> DELAY);
+        CompletableFuture<String> b = poller.poll(check, "b", round -> DELAY);
+        CompletableFuture<String> c = poller.poll(check, "c", round -> DELAY);
+
+        assertEquals("a", a.get(5, TimeUnit.SECONDS));
+        assertEquals("b", b.get(5, TimeUnit.SECONDS));
+        assertEquals("c", c.get(5, TimeUnit.SECONDS));
+        // all three were due together, then only the two that were still running
+        assertEquals(Arrays.asList(set("a", "b", "c"), set("b", "c")), check.calls);
+    }
+
+    private static Set<String> set(String... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    // Stands in for a query of several ids: each id is done after being checked a given number of times
+    private static class StatusCheck implements AsyncPoller.BatchCheck<String> {
+        final Map<String, Integer> finishAfter = new HashMap<>();
+        final Map<String, Integer> checks = new HashMap<>();
+        final List<Set<String>> calls = Collections.synchronizedList(new ArrayList<Set<String>>());
+
+        @Override
+        public synchronized Map<String, String> check(Set<String> ids) {
+            calls.add(new HashSet<>(ids));
+            Map<String, String> statuses = new HashMap<>();
+            for (String id : ids) {
+                checks.merge(id, 1, Integer::sum);
+                statuses.put(id, checks.get(id) >= finishAfter.get(id) ? id : "queued");
+            }
+            return statuses;
+        }
+
+        @Override
+        public boolean isDone(String status) {
+            return !"queued".equals(status);
+        }
+    }
+}
@@ -10,6 +10,22 @@
  ******************************************************************************/
 package com.salesforce.ide.core.remote;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sforce.soap.partner.wsc.DescribeSObjectResult;
+import com.sforce.soap.partner.wsc.PartnerConnection;
+import com.sforce.ws.ConnectionException;
+
 import junit.framework.TestCase;
 
 public class ConnectionTest_unit extends TestCase{
@@ -22,4 +38,55 @@ public class ConnectionTest_unit extends TestCase{
         assertEquals("foo",c.getMetadataConnectorConfig().getServiceEndpoint());
         assertTrue(c.getMetadataConnectorConfig().getMessagerHandlers().hasNext());
     }
+
+    public void testDescribeSObjectsRunsBatchesConcurrentlyAndKeepsOrder() throws Exception {
+        final AtomicInteger callsInFlight = new AtomicInteger();
+        final AtomicInteger maxCallsInFlight = new AtomicInteger();
+        final AtomicInteger firstBatchCalls = new AtomicInteger();
+        // the first call is held until a second one is in flight, which never happens if the calls are issued serially
+        final CountDownLatch twoCallsInFlight = new CountDownLatch(2);
+        final AtomicBoolean overlapped = new AtomicBoolean();
+
+        // The first call drops its connection once
+        PartnerConnection partnerConnection = mock(PartnerConnection.class);
+        when(partnerConnection.describeSObjects(any(String[].class))).thenAnswer(invocation -> {
+            String[] types = (String[]) invocation.getArguments()[0];
+            maxCallsInFlight.accumulateAndGet(callsInFlight.incrementAndGet(), Math::max);
+            try {
+                twoCallsInFlight.countDown();
+                if (twoCallsInFlight.await(10, TimeUnit.SECONDS)) {
+                    overlapped.set(true);
+                }
+                if ("Type0".equals(types[0]) && firstBatchCalls.getAndIncrement() == 0) {
+                    throw new ConnectionException("Connection reset");
+                }
+                DescribeSObjectResult[] results = new DescribeSObjectResult[types.length];
+                for (int i = 0; i < types.length; i++) {
+                    results[i] = new DescribeSObjectResult();
+                    results[i].setName(types[i]);
+                }
+                return results;
+            } finally {
+                callsInFlight.decrementAndGet();
+            }
+        });
+        Connection c = spy(new Connection());
+        doReturn(partnerConnection).when(c).createSessionPartnerConnection(anyBoolean());
+
+        String[] types = new String[1050];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = "Type" + i;
+        }
+        long operations = Connection.getDescribeStats().getCumulativeOperationCount();
+        DescribeSObjectResult[] results = c.describeSObjects(types, false);
+
+        assertEquals(types.length, results.length);
+        for (int i = 0; i < types.length; i++) {
+            assertEquals(types[i], results[i].getName());
+        }
+        assertEquals(2, firstBatchCalls.get());
+        assertTrue(overlapped.get());
+        assertTrue(maxCallsInFlight.get() <= Connection.MAX_CONCURRENT_CALLS);
+        assertEquals(operations + 1, Connection.getDescribeStats().getCumulativeOperationCount());
+    }
 }
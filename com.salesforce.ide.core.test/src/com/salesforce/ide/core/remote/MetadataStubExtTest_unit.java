@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import com.salesforce.ide.core.remote.metadata.FileMetadataExt;
+import com.sforce.soap.metadata.DescribeMetadataObject;
+import com.sforce.soap.metadata.DescribeMetadataResult;
+import com.sforce.soap.metadata.FileProperties;
+import com.sforce.soap.metadata.ListMetadataQuery;
+import com.sforce.soap.metadata.MetadataConnection;
+import com.sforce.ws.SoapFaultException;
+
+import junit.framework.TestCase;
+
+public class MetadataStubExtTest_unit extends TestCase {
+    private static final int TYPE_COUNT = 24;
+    private static final String BAD_TYPE = "Type7";
+
+    private final AtomicInteger callsInFlight = new AtomicInteger();
+    private final AtomicInteger maxCallsInFlight = new AtomicInteger();
+    // the first call is held until a second one is in flight, which never happens if the calls are issued serially
+    private final CountDownLatch twoCallsInFlight = new CountDownLatch(2);
+    private final AtomicBoolean overlapped = new AtomicBoolean();
+
+    private MetadataStubExt metadataStubExt;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        // Stands in for the server: every listMetadata call returns one file per queried type
+        MetadataConnection metadataConnection = mock(MetadataConnection.class);
+        when(metadataConnection.describeMetadata(anyDouble())).thenReturn(describeAllTypes());
+        when(metadataConnection.listMetadata(any(ListMetadataQuery[].class), anyDouble())).thenAnswer(invocation -> {
+            ListMetadataQuery[] queries = (ListMetadataQuery[]) invocation.getArguments()[0];
+            maxCallsInFlight.accumulateAndGet(callsInFlight.incrementAndGet(), Math::max);
+            try {
+                twoCallsInFlight.countDown();
+                if (twoCallsInFlight.await(10, TimeUnit.SECONDS)) {
+                    overlapped.set(true);
+                }
+                FileProperties[] properties = new FileProperties[queries.length];
+                for (int i = 0; i < queries.length; i++) {
+                    if (BAD_TYPE.equals(queries[i].getType())) {
+                        throw mock(SoapFaultException.class);
+                    }
+                    properties[i] = new FileProperties();
+                    properties[i].setType(queries[i].getType());
+                }
+                return properties;
+            } finally {
+                callsInFlight.decrementAndGet();
+            }
+        });
+
+        Connection connection = mock(Connection.class);
+        SalesforceEndpoints endpoints = mock(SalesforceEndpoints.class);
+        when(endpoints.getDefaultApiVersion()).thenReturn("39.0");
+        when(connection.getSalesforceEndpoints()).thenReturn(endpoints);
+        when(connection.getConcurrentCalls()).thenReturn(new Semaphore(Connection.MAX_CONCURRENT_CALLS));
+
+        metadataStubExt = new MetadataStubExt();
+        metadataStubExt.setConnection(connection);
+        metadataStubExt.setMetadataConnection(metadataConnection);
+    }
+
+    public void testListMetadataRunsBatchesConcurrentlyAndKeepsOrder() throws Exception {
+        FileProperties[] properties = metadataStubExt.listMetadata(queries(), new NullProgressMonitor());
+
+        assertEquals(TYPE_COUNT - 1, properties.length);
+        int expected = 0;
+        for (FileProperties property : properties) {
+            if (BAD_TYPE.equals("Type" + expected)) {
+                expected++;
+            }
+            assertEquals("Type" + expected++, property.getType());
+        }
+        assertTrue(overlapped.get());
+        assertTrue(maxCallsInFlight.get() <= Connection.MAX_CONCURRENT_CALLS);
+    }
+
+    public void testListMetadataStreamsIntoFileMetadata() throws Exception {
+        FileMetadataExt fileMetadataExt = new FileMetadataExt();
+        metadataStubExt.listMetadata(queries(), fileMetadataExt, new NullProgressMonitor());
+
+        assertEquals(TYPE_COUNT - 1, fileMetadataExt.getFilePropertiesCount());
+        assertEquals("Type0", fileMetadataExt.getFileProperties()[0].getType());
+        assertEquals("Type" + (TYPE_COUNT - 1), fileMetadataExt.getFileProperties()[TYPE_COUNT - 2].getType());
+    }
+
+    public void testListMetadataReportsProgressPerType() throws Exception {
+        IProgressMonitor monitor = mock(IProgressMonitor.class);
+        metadataStubExt.listMetadata(queries(), new FileMetadataExt(), monitor);
+
+        // the type that fails is skipped, but still counts as done
+        verify(monitor, times(TYPE_COUNT)).worked(1);
+    }
+
+    private static ListMetadataQuery[] queries() {
+        ListMetadataQuery[] queries = new ListMetadataQuery[TYPE_COUNT];
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            queries[i] = new ListMetadataQuery();
+            queries[i].setType("Type" + i);
+        }
+        return queries;
+    }
+
+    private static DescribeMetadataResult describeAllTypes() {
+        DescribeMetadataObject[] objects = new DescribeMetadataObject[TYPE_COUNT];
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            objects[i] = new DescribeMetadataObject();
+            objects[i].setXmlName("Type" + i);
+            objects[i].setChildXmlNames(new String[0]);
+        }
+        DescribeMetadataResult result = new DescribeMetadataResult();
+        result.setMetadataObjects(objects);
+        return result;
+    }
+}
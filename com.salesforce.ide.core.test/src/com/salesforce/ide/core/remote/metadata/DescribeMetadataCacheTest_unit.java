@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote.metadata;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import com.salesforce.ide.core.remote.Connection;
+import com.salesforce.ide.core.remote.MetadataStubExt;
+import com.salesforce.ide.core.services.MetadataService;
+import com.sforce.soap.metadata.DescribeMetadataObject;
+import com.sforce.soap.metadata.DescribeMetadataResult;
+
+import junit.framework.TestCase;
+
+public class DescribeMetadataCacheTest_unit extends TestCase {
+    private static final String ORG_ID = "00D000000000001";
+    private static final long TIME_TO_LIVE = 60000;
+
+    private File directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("describemetadata").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        new DescribeMetadataCache(directory, TIME_TO_LIVE).invalidate(ORG_ID);
+        directory.delete();
+        super.tearDown();
+    }
+
+    public void testDescribeSurvivesRestart() throws Exception {
+        new DescribeMetadataCache(directory, TIME_TO_LIVE).put(ORG_ID, "39.0", describe());
+
+        DescribeMetadataCache cache = new DescribeMetadataCache(directory, TIME_TO_LIVE);
+        DescribeMetadataResult cached = cache.get(ORG_ID, "39.0");
+
+        assertNotNull(cached);
+        assertTrue(cached.isPartialSaveAllowed());
+        assertEquals("ApexClass", cached.getMetadataObjects()[0].getXmlName());
+        assertEquals("classes", cached.getMetadataObjects()[0].getDirectoryName());
+        assertNull(cache.get(ORG_ID, "38.0"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    public void testExpiredAndInvalidatedDescribesAreDropped() throws Exception {
+        DescribeMetadataCache expiring = new DescribeMetadataCache(directory, 0);
+        expiring.put(ORG_ID, "39.0", describe());
+        Thread.sleep(10);
+        assertNull(expiring.get(ORG_ID, "39.0"));
+        assertFalse(new File(directory, ORG_ID + "_39.0.describemetadata").exists());
+
+        DescribeMetadataCache cache = new DescribeMetadataCache(directory, TIME_TO_LIVE);
+        cache.put(ORG_ID, "39.0", describe());
+        cache.put(ORG_ID, "38.0", describe());
+        cache.invalidate(ORG_ID);
+        assertNull(cache.get(ORG_ID, "39.0"));
+        assertNull(new DescribeMetadataCache(directory, TIME_TO_LIVE).get(ORG_ID, "38.0"));
+    }
+
+    public void testMetadataServiceDescribesOrgOnce() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.getOrgId()).thenReturn(ORG_ID);
+        MetadataStubExt metadataStubExt = mock(MetadataStubExt.class);
+        when(metadataStubExt.getConnection()).thenReturn(connection);
+        when(metadataStubExt.getApiVersion()).thenReturn(39.0);
+        when(metadataStubExt.describeMetadata()).thenReturn(describe());
+
+        MetadataService metadataService = new MetadataService();
+        metadataService.setDescribeMetadataCache(new DescribeMetadataCache(directory, TIME_TO_LIVE));
+        assertTrue(metadataService.getDescribeMetadata(metadataStubExt, null).isPartialSaveAllowed());
+        assertTrue(metadataService.getDescribeMetadata(metadataStubExt, null).isPartialSaveAllowed());
+        verify(metadataStubExt, times(1)).describeMetadata();
+
+        metadataService.invalidateDescribeMetadata(connection);
+        metadataService.getDescribeMetadata(metadataStubExt, null);
+        verify(metadataStubExt, times(2)).describeMetadata();
+    }
+
+    private static DescribeMetadataResult describe() {
+        DescribeMetadataObject apexClass = new DescribeMetadataObject();
+        apexClass.setXmlName("ApexClass");
+        apexClass.setDirectoryName("classes");
+        apexClass.setSuffix("cls");
+        apexClass.setMetaFile(true);
+        apexClass.setChildXmlNames(new String[0]);
+        DescribeMetadataResult describe = new DescribeMetadataResult();
+        describe.setPartialSaveAllowed(true);
+        describe.setOrganizationNamespace("");
+        describe.setMetadataObjects(new DescribeMetadataObject[] { apexClass });
+        return describe;
+    }
+}
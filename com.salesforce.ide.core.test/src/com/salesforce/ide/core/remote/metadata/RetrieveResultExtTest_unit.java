@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote.metadata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.sforce.soap.metadata.RetrieveResult;
+
+import junit.framework.TestCase;
+
+public class RetrieveResultExtTest_unit extends TestCase {
+
+    private static final int RESOURCE_COUNT = 8;
+    private static final int RESOURCE_SIZE = 1024 * 1024;
+
+    private byte[] zip;
+    private RetrieveResult retrieveResult;
+    private RetrieveResultExt retrieveResultExt;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        zip = createZip();
+        retrieveResult = new RetrieveResult();
+        retrieveResult.setZipFile(zip);
+        retrieveResultExt = new RetrieveResultExt(retrieveResult);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        retrieveResultExt.dispose();
+        super.tearDown();
+    }
+
+    public void testSpillZipFileDropsZipFromResult() throws Exception {
+        File zipFile = retrieveResultExt.spillZipFile();
+
+        assertNotNull(zipFile);
+        assertEquals(zip.length, zipFile.length());
+        assertNull(retrieveResult.getZipFile());
+        assertEquals(zip.length, retrieveResultExt.getZipFileSize());
+        assertSame(zipFile, retrieveResultExt.spillZipFile());
+        assertTrue(Arrays.equals(zip, retrieveResultExt.getZipFile()));
+    }
+
+    public void testEntriesAreFoundBeforeAndAfterSpilling() throws Exception {
+        assertEquals(RESOURCE_COUNT + 1, retrieveResultExt.getZipFileCount());
+        assertTrue(retrieveResultExt.containsFilePath("unpackaged/staticresources/resource3.resource"));
+
+        retrieveResultExt.spillZipFile();
+
+        assertEquals(RESOURCE_COUNT + 1, retrieveResultExt.getZipFileCount());
+        assertTrue(retrieveResultExt.containsFilePath("unpackaged/staticresources/resource3.resource"));
+        assertTrue(retrieveResultExt.containsFilePath("UNPACKAGED/package.xml", true));
+        assertFalse(retrieveResultExt.containsFilePath("UNPACKAGED/package.xml"));
+        assertFalse(retrieveResultExt.containsFilePath("unpackaged/staticresources"));
+    }
+
+    public void testFilePathsAreListedBeforeAndAfterSpilling() throws Exception {
+        List<String> filePaths = retrieveResultExt.getFilePaths();
+        assertEquals(RESOURCE_COUNT + 1, filePaths.size());
+        assertTrue(filePaths.contains("unpackaged/package.xml"));
+        assertFalse(filePaths.contains("unpackaged/staticresources/"));
+
+        retrieveResultExt.spillZipFile();
+
+        assertEquals(filePaths, retrieveResultExt.getFilePaths());
+    }
+
+    public void testDisposeDeletesSpilledZipFile() throws Exception {
+        File zipFile = retrieveResultExt.spillZipFile();
+        retrieveResultExt.dispose();
+
+        assertFalse(zipFile.exists());
+        assertEquals(0, retrieveResultExt.getZipFileSize());
+    }
+
+    private static byte[] createZip() throws Exception {
+        Random random = new Random(42);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            zos.putNextEntry(new ZipEntry("unpackaged/staticresources/"));
+            zos.closeEntry();
+            for (int i = 0; i < RESOURCE_COUNT; i++) {
+                byte[] resource = new byte[RESOURCE_SIZE];
+                random.nextBytes(resource);
+                zos.putNextEntry(new ZipEntry("unpackaged/staticresources/resource" + i + ".resource"));
+                zos.write(resource);
+                zos.closeEntry();
+            }
+            zos.putNextEntry(new ZipEntry("unpackaged/package.xml"));
+            zos.write("<Package/>".getBytes("UTF-8"));
+            zos.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote.registries;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.salesforce.ide.core.remote.Connection;
+import com.salesforce.ide.core.remote.SalesforceEndpoints;
+import com.sforce.soap.partner.wsc.DescribeGlobalSObjectResult;
+import com.sforce.soap.partner.wsc.DescribeSObjectResult;
+import com.sforce.soap.partner.wsc.Field;
+
+import junit.framework.TestCase;
+
+public class DescribeObjectCacheFileTest_unit extends TestCase {
+    private static final String PROJECT_NAME = "describeCacheProject";
+
+    private File directory;
+    private List<String> describedTypes;
+    private DescribeGlobalSObjectResult[] sobjects;
+    private Connection connection;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("describe").toFile();
+        describedTypes = new ArrayList<>();
+        sobjects =
+                new DescribeGlobalSObjectResult[] { sobject("Account", false), sobject("Contact", false),
+                        sobject("Invoice__c", true) };
+
+        // Stands in for the server: describes whatever it is asked for and remembers what that was
+        connection = mock(Connection.class);
+        SalesforceEndpoints endpoints = mock(SalesforceEndpoints.class);
+        when(endpoints.getDefaultApiVersion()).thenReturn("39.0");
+        when(connection.getSalesforceEndpoints()).thenReturn(endpoints);
+        when(connection.getOrgId()).thenReturn("00D000000000001");
+        when(connection.describeGlobalSObjects(anyBoolean())).thenAnswer(invocation -> sobjects);
+        when(connection.describeSObjects(any(String[].class), anyBoolean())).thenAnswer(invocation -> {
+            String[] types = (String[]) invocation.getArguments()[0];
+            describedTypes.addAll(Arrays.asList(types));
+            DescribeSObjectResult[] results = new DescribeSObjectResult[types.length];
+            for (int i = 0; i < types.length; i++) {
+                results[i] = describe(types[i], "Label of " + types[i]);
+            }
+            return results;
+        });
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        new DescribeObjectCacheFile(directory, "00D000000000001", "39.0").delete();
+        directory.delete();
+        newRegistry().remove(PROJECT_NAME);
+        super.tearDown();
+    }
+
+    public void testSaveAndReadRoundTrip() throws Exception {
+        DescribeObjectCacheFile cacheFile = new DescribeObjectCacheFile(directory, "00D000000000001", "39.0");
+        assertFalse(cacheFile.load());
+
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        fingerprints.put("Account", "a");
+        fingerprints.put("Contact", "c");
+        Map<String, DescribeSObjectResult> describes = new LinkedHashMap<>();
+        describes.put("Account", describe("Account", "Account"));
+        describes.put("Contact", describe("Contact", "Contact"));
+        cacheFile.save(fingerprints, describes);
+
+        DescribeObjectCacheFile reloaded = new DescribeObjectCacheFile(directory, "00D000000000001", "39.0");
+        assertTrue(reloaded.load());
+        assertEquals(Arrays.asList("Account", "Contact"), new ArrayList<>(reloaded.getNames()));
+        assertEquals("c", reloaded.getFingerprint("Contact"));
+        assertTrue(reloaded.getDescribedAt("Contact") > 0);
+        assertTrue(reloaded.isCurrent("Contact", "c", 60000));
+        assertFalse(reloaded.isCurrent("Contact", "c2", 60000));
+        assertFalse(reloaded.isCurrent("Contact", "c", 0));
+        DescribeSObjectResult contact = reloaded.read("Contact");
+        assertEquals("Contact", contact.getName());
+        assertEquals("Name", contact.getFields()[0].getName());
+        assertEquals(80, contact.getFields()[0].getLength());
+
+        // Rewriting with one fresh describe keeps the other one as it was
+        fingerprints.put("Contact", "c2");
+        reloaded.save(fingerprints, Collections.singletonMap("Contact", describe("Contact", "Person")));
+        assertEquals("Account", reloaded.read("Account").getLabel());
+        assertEquals("Person", reloaded.read("Contact").getLabel());
+        assertEquals("c2", reloaded.getFingerprint("Contact"));
+    }
+
+    public void testIgnoresFileInUnknownFormat() throws Exception {
+        DescribeObjectCacheFile cacheFile = new DescribeObjectCacheFile(directory, "00D000000000001", "39.0");
+        Files.write(cacheFile.getFile().toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        assertFalse(cacheFile.load());
+        assertTrue(cacheFile.getNames().isEmpty());
+    }
+
+    public void testRegistryOnlyDescribesNewChangedAndCustomTypes() throws Exception {
+        Map<String, DescribeSObjectResult> describeCache =
+                newRegistry().loadDescribeCaches(connection, PROJECT_NAME);
+        assertEquals(3, describeCache.size());
+        assertEquals(Arrays.asList("Account", "Contact", "Invoice__c"), describedTypes);
+
+        // As after a restart: Contact changed, Lead is new, Account is unchanged
+        describedTypes.clear();
+        sobjects[1].setLabel("Person");
+        sobjects = Arrays.copyOf(sobjects, 4);
+        sobjects[3] = sobject("Lead", false);
+        DescribeObjectRegistry registry = newRegistry();
+        registry.remove(PROJECT_NAME);
+        describeCache = registry.loadDescribeCaches(connection, PROJECT_NAME);
+
+        assertEquals(4, describeCache.size());
+        assertEquals("Label of Account", describeCache.get("Account").getLabel());
+        assertEquals(Arrays.asList("Contact", "Invoice__c", "Lead"), describedTypes);
+    }
+
+    public void testRegistryDecodesCachedDescribesOnFirstUse() throws Exception {
+        newRegistry().loadDescribeCaches(connection, PROJECT_NAME);
+        describedTypes.clear();
+
+        DescribeObjectRegistry registry = newRegistry();
+        registry.remove(PROJECT_NAME);
+        DescribeCache describeCache = (DescribeCache) registry.loadDescribeCaches(connection, PROJECT_NAME);
+
+        assertEquals(3, describeCache.size());
+        assertTrue(describeCache.isPending("Account"));
+        assertTrue(describeCache.isPending("Contact"));
+        assertFalse(describeCache.isPending("Invoice__c"));
+
+        assertEquals("Label of Account", registry.getCachedDescribe(connection, PROJECT_NAME, "Account").getLabel());
+        assertFalse(describeCache.isPending("Account"));
+        assertTrue(describeCache.isPending("Contact"));
+        assertEquals(Arrays.asList("Invoice__c"), describedTypes);
+    }
+
+    public void testRegistryDescribesAgainAfterMaximumAge() throws Exception {
+        newRegistry().loadDescribeCaches(connection, PROJECT_NAME);
+        describedTypes.clear();
+
+        DescribeObjectRegistry registry = newRegistry(0);
+        registry.remove(PROJECT_NAME);
+        registry.loadDescribeCaches(connection, PROJECT_NAME);
+
+        assertEquals(Arrays.asList("Account", "Contact", "Invoice__c"), describedTypes);
+    }
+
+    public void testRegistryRefreshIgnoresDescribesOnDisk() throws Exception {
+        newRegistry().loadDescribeCaches(connection, PROJECT_NAME);
+        describedTypes.clear();
+
+        DescribeObjectRegistry registry = newRegistry();
+        registry.remove(PROJECT_NAME);
+        Map<String, DescribeSObjectResult> describeCache =
+                registry.loadDescribeCaches(connection, PROJECT_NAME, true);
+
+        assertEquals(3, describeCache.size());
+        assertEquals(Arrays.asList("Account", "Contact", "Invoice__c"), describedTypes);
+    }
+
+    private DescribeObjectRegistry newRegistry() {
+        return newRegistry(60000);
+    }
+
+    private DescribeObjectRegistry newRegistry(final long maxAgeMillis) {
+        DescribeObjectRegistry registry = new DescribeObjectRegistry() {
+            @Override
+            protected File getDescribeCacheDirectory() {
+                return directory;
+            }
+
+            @Override
+            protected long getDescribeCacheMaxAgeMillis() {
+                return maxAgeMillis;
+            }
+        };
+        registry.setExcludedTypes(Collections.<String> emptyList());
+        return registry;
+    }
+
+    private static DescribeGlobalSObjectResult sobject(String name, boolean custom) {
+        DescribeGlobalSObjectResult sobject = new DescribeGlobalSObjectResult();
+        sobject.setName(name);
+        sobject.setLabel(name);
+        sobject.setCustom(custom);
+        return sobject;
+    }
+
+    private static DescribeSObjectResult describe(String name, String label) {
+        Field field = new Field();
+        field.setName("Name");
+        field.setLength(80);
+        DescribeSObjectResult describe = new DescribeSObjectResult();
+        describe.setName(name);
+        describe.setLabel(label);
+        describe.setFields(new Field[] { field });
+        return describe;
+    }
+}
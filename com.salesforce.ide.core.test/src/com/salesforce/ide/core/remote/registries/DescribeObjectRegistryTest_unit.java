@@ -40,7 +40,7 @@ public class DescribeObjectRegistryTest_unit extends TestCase {
 						someProjectName, false);
 		assertNotNull(result);
 		verify(registry, times(0)).loadDescribeCaches(eq(connection),
-				eq(someProjectName));
+				eq(someProjectName), anyBoolean());
 		assertEquals(0, result.size());
 		assertFalse(result.contains("obj__kav"));
 	}
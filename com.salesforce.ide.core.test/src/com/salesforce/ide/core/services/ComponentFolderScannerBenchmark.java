@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.services;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.resources.IFolder;
+
+import com.salesforce.ide.core.factories.FactoryException;
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.model.Component;
+import com.salesforce.ide.core.model.ComponentList;
+
+/**
+ * Times scanning a synthetic workspace of 10,000 Apex classes in 20 folders one folder after another and with
+ * {@link ComponentFolderScanner}. Not part of the unit suites, as the result depends on the machine; run its main
+ * method by hand.
+ *
+ * @author nchen
+ */
+public class ComponentFolderScannerBenchmark {
+    private static final int FOLDER_COUNT = 20;
+    private static final int FILES_PER_FOLDER = 500;
+    private static final int RUNS = 5;
+
+    private final File workspace;
+
+    public ComponentFolderScannerBenchmark(File workspace) {
+        this.workspace = workspace;
+    }
+
+    public static void main(String[] args) throws Exception {
+        File workspace = Files.createTempDirectory("workspace").toFile();
+        try {
+            new ComponentFolderScannerBenchmark(workspace).run();
+        } finally {
+            delete(workspace);
+        }
+    }
+
+    private void run() throws Exception {
+        List<IFolder> folders = createWorkspace();
+
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            List<ComponentList> sequential = new ArrayList<>(FOLDER_COUNT);
+            for (IFolder folder : folders) {
+                sequential.add(scanDirectory(folder));
+            }
+            long sequentialMicros = (System.nanoTime() - start) / 1000;
+
+            start = System.nanoTime();
+            List<ComponentList> concurrent = ComponentFolderScanner.scan(folders, folder -> scanDirectory(folder));
+            long concurrentMicros = (System.nanoTime() - start) / 1000;
+
+            checkSameComponents(sequential, concurrent);
+            System.out.println("Scanning " + FOLDER_COUNT * FILES_PER_FOLDER + " files in " + FOLDER_COUNT
+                    + " folders took " + sequentialMicros + " us one folder after another and " + concurrentMicros
+                    + " us on " + ComponentFolderScanner.SCAN_THREADS + " threads");
+        }
+    }
+
+    private List<IFolder> createWorkspace() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            body.append("    public static String method").append(i).append("() { return 'value'; }\n");
+        }
+
+        List<IFolder> folders = new ArrayList<>(FOLDER_COUNT);
+        for (int i = 0; i < FOLDER_COUNT; i++) {
+            File directory = new File(workspace, "type" + i);
+            directory.mkdir();
+            for (int j = 0; j < FILES_PER_FOLDER; j++) {
+                Files.write(new File(directory, "Class" + j + ".cls").toPath(),
+                    ("public class Class" + j + " {\n" + body + "}\n").getBytes(StandardCharsets.UTF_8));
+            }
+            IFolder folder = mock(IFolder.class);
+            when(folder.getName()).thenReturn("type" + i);
+            folders.add(folder);
+        }
+        return folders;
+    }
+
+    // reads every file as building a component from it would
+    private ComponentList scanDirectory(IFolder folder) throws FactoryException {
+        ComponentList componentList = new ComponentList();
+        File directory = new File(workspace, folder.getName());
+        for (int j = 0; j < FILES_PER_FOLDER; j++) {
+            File file = new File(directory, "Class" + j + ".cls");
+            try {
+                byte[] content = Files.readAllBytes(file.toPath());
+                CRC32 crc = new CRC32();
+                crc.update(content, 0, content.length);
+
+                Component component = new Component();
+                component.setComponentType(Constants.APEX_CLASS);
+                component.setName(folder.getName() + "/" + file.getName());
+                component.setFilePath("src/classes/" + file.getName());
+                component.setFullName(Long.toHexString(crc.getValue()));
+                componentList.add(component);
+            } catch (Exception e) {
+                throw new FactoryException(e);
+            }
+        }
+        return componentList;
+    }
+
+    private static void checkSameComponents(List<ComponentList> expected, List<ComponentList> actual) {
+        for (int i = 0; i < FOLDER_COUNT; i++) {
+            for (int j = 0; j < FILES_PER_FOLDER; j++) {
+                Component expectedComponent = expected.get(i).get(j);
+                Component actualComponent = actual.get(i).get(j);
+                if (!expectedComponent.getName().equals(actualComponent.getName())
+                        || !expectedComponent.getFullName().equals(actualComponent.getFullName())) {
+                    throw new IllegalStateException("Concurrent scan differs at " + expectedComponent.getName());
+                }
+            }
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.services;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFolder;
+
+import com.salesforce.ide.core.factories.FactoryException;
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.model.Component;
+import com.salesforce.ide.core.model.ComponentList;
+
+public class ComponentFolderScannerTest_unit extends TestCase {
+
+    public void testResultsAreInFolderOrder() throws Exception {
+        List<IFolder> folders = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            folders.add(createFolder("folder" + i));
+        }
+
+        // earlier folders take longest, so they finish last
+        List<ComponentList> results = ComponentFolderScanner.scan(folders, folder -> {
+            int index = Integer.parseInt(folder.getName().substring("folder".length()));
+            try {
+                Thread.sleep(10 * (8 - index));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return folder.getName().equals("folder3") ? null : createComponentList(folder.getName());
+        });
+
+        assertEquals(8, results.size());
+        for (int i = 0; i < 8; i++) {
+            if (i == 3) {
+                assertNull(results.get(i));
+            } else {
+                assertEquals("folder" + i, results.get(i).get(0).getName());
+            }
+        }
+    }
+
+    public void testFailureIsRethrown() throws Exception {
+        List<IFolder> folders = new ArrayList<>();
+        folders.add(createFolder("good"));
+        folders.add(createFolder("bad"));
+        try {
+            ComponentFolderScanner.scan(folders, folder -> {
+                if (folder.getName().equals("bad")) {
+                    throw new FactoryException("Unable to scan " + folder.getName());
+                }
+                return createComponentList(folder.getName());
+            });
+            fail("Expected failure of folder 'bad'");
+        } catch (FactoryException e) {
+            assertEquals("Unable to scan bad", e.getMessage());
+        }
+    }
+
+    private static ComponentList createComponentList(String name) {
+        ComponentList componentList = new ComponentList();
+        componentList.add(createComponent(name));
+        return componentList;
+    }
+
+    private static Component createComponent(String name) {
+        Component component = new Component();
+        component.setComponentType(Constants.APEX_CLASS);
+        component.setName(name);
+        component.setFilePath("src/classes/" + name);
+        return component;
+    }
+
+    private static IFolder createFolder(String name) {
+        IFolder folder = mock(IFolder.class);
+        when(folder.getName()).thenReturn(name);
+        return folder;
+    }
+}
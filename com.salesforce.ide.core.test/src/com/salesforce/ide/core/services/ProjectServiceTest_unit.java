@@ -18,7 +18,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import junit.framework.TestCase;
 
@@ -29,15 +33,18 @@ import org.mockito.Matchers;
 import org.mockito.Mockito;
 
 import com.salesforce.ide.core.model.ApexCodeLocation;
+import com.salesforce.ide.core.model.Component;
 import com.salesforce.ide.core.model.ProjectPackageList;
 import com.salesforce.ide.core.remote.MetadataStubExt;
 import com.salesforce.ide.core.remote.metadata.DeployResultExt;
+import com.salesforce.ide.core.remote.metadata.FileMetadataExt;
 import com.salesforce.ide.core.remote.metadata.RetrieveResultExt;
 import com.salesforce.ide.core.remote.metadata.RunTestsResultExt;
 import com.sforce.soap.metadata.AsyncResult;
 import com.sforce.soap.metadata.DeployMessage;
 import com.sforce.soap.metadata.DeployResult;
 import com.sforce.soap.metadata.DeployStatus;
+import com.sforce.soap.metadata.FileProperties;
 import com.sforce.soap.metadata.RetrieveResult;
 import com.sforce.soap.metadata.RetrieveStatus;
 
@@ -156,4 +163,46 @@ public class ProjectServiceTest_unit extends TestCase {
         assertTrue(deployResultAdapter.retrieveRealTimeStatusUpdatesIfAny()
                 .contains("Deploy status: InProgress (1/10)"));
     }
+
+    public void testGetRemotelyChangedFilePaths() throws Exception {
+        Calendar retrieved = Calendar.getInstance();
+        Calendar modified = (Calendar) retrieved.clone();
+        modified.add(Calendar.MINUTE, 5);
+
+        Component unchanged = component("classes/Unchanged.cls", false, retrieved, "005A");
+        Component unchangedMetadata = component("classes/Unchanged.cls-meta.xml", true, retrieved, "005A");
+        Component modifiedLater = component("classes/ModifiedLater.cls", false, retrieved, "005A");
+        Component modifiedBySomeoneElse = component("classes/ModifiedBySomeoneElse.cls", false, retrieved, "005A");
+        Component deletedRemotely = component("classes/Deleted.cls", false, retrieved, "005A");
+        Component neverRetrieved = component("classes/New.cls", false, null, null);
+
+        FileMetadataExt fileMetadataExt = new FileMetadataExt(fileProperties("classes/Unchanged.cls", retrieved, "005A"),
+            fileProperties("classes/ModifiedLater.cls", modified, "005A"),
+            fileProperties("classes/ModifiedBySomeoneElse.cls", retrieved, "005B"),
+            fileProperties("classes/New.cls", retrieved, "005A"));
+
+        Set<String> changed = ProjectService.getRemotelyChangedFilePaths(Arrays.asList(unchanged, unchangedMetadata,
+            modifiedLater, modifiedBySomeoneElse, deletedRemotely, neverRetrieved), fileMetadataExt);
+
+        assertEquals(new HashSet<>(Arrays.asList("classes/ModifiedLater.cls", "classes/ModifiedBySomeoneElse.cls",
+            "classes/Deleted.cls", "classes/New.cls")), changed);
+    }
+
+    private static Component component(String filePath, boolean metadataInstance, Calendar lastModifiedDate,
+            String lastModifiedById) {
+        Component component = mock(Component.class);
+        when(component.getMetadataFilePath()).thenReturn(filePath);
+        when(component.isMetadataInstance()).thenReturn(metadataInstance);
+        when(component.getLastModifiedDate()).thenReturn(lastModifiedDate);
+        when(component.getLastModifiedById()).thenReturn(lastModifiedById);
+        return component;
+    }
+
+    private static FileProperties fileProperties(String fileName, Calendar lastModifiedDate, String lastModifiedById) {
+        FileProperties fileProperties = new FileProperties();
+        fileProperties.setFileName(fileName);
+        fileProperties.setLastModifiedDate(lastModifiedDate);
+        fileProperties.setLastModifiedById(lastModifiedById);
+        return fileProperties;
+    }
 }
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.services;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.salesforce.ide.core.model.ComponentList;
+import com.salesforce.ide.core.remote.AsyncPoller;
+import com.salesforce.ide.core.remote.ForceRemoteException;
+import com.salesforce.ide.core.remote.ToolingStubExt;
+import com.sforce.soap.tooling.DeleteResult;
+
+public class ToolingContainerSessionTest_unit extends TestCase {
+
+    public void testBackoffFollowsRequestDuration() throws Exception {
+        ToolingContainerSession session = new ToolingContainerSession(1000);
+        AsyncPoller.Backoff backoff = session.getBackoff();
+        assertEquals(1000, backoff.getDelay(1));
+        assertEquals(1500, backoff.getDelay(2));
+        assertEquals(ToolingContainerSession.MAX_POLL_INTERVAL, backoff.getDelay(10));
+
+        for (int i = 0; i < 20; i++) {
+            session.recordDuration(200);
+        }
+        assertEquals(200, session.getBackoff().getDelay(1));
+
+        for (int i = 0; i < 20; i++) {
+            session.recordDuration(10);
+        }
+        assertEquals(ToolingContainerSession.MIN_POLL_INTERVAL, session.getBackoff().getDelay(1));
+    }
+
+    public void testQueuedSavesAreDrainedTogether() throws Exception {
+        ToolingContainerSession session = new ToolingContainerSession(1000);
+        ComponentList first = new ComponentList();
+        ComponentList second = new ComponentList();
+        session.enqueue(first);
+        session.enqueue(second);
+
+        List<ToolingContainerSession.PendingSave> saves = session.drain();
+        assertEquals(2, saves.size());
+        assertSame(first, saves.get(0).list);
+        assertSame(second, saves.get(1).list);
+        assertTrue(session.drain().isEmpty());
+
+        // a single save is sent as is
+        assertSame(first, ToolingContainerSession.merge(saves.subList(0, 1)));
+    }
+
+    public void testFailedCleanUpDropsContainer() throws Exception {
+        ToolingStubExt stub = mock(ToolingStubExt.class);
+        when(stub.delete(any(String[].class))).thenThrow(new ForceRemoteException("gone"));
+
+        ToolingContainerSession session = new ToolingContainerSession(1000);
+        session.setContainerId("1dc000000000001");
+        session.addMember("401000000000001");
+        session.cleanUpMembers(stub);
+        session.awaitCleanUp();
+
+        verify(stub).delete(new String[] { "401000000000001" });
+        assertNull(session.getContainerId());
+    }
+
+    public void testCleanUpKeepsContainer() throws Exception {
+        DeleteResult deleted = new DeleteResult();
+        deleted.setSuccess(true);
+        ToolingStubExt stub = mock(ToolingStubExt.class);
+        when(stub.delete(any(String[].class))).thenReturn(new DeleteResult[] { deleted });
+
+        ToolingContainerSession session = new ToolingContainerSession(1000);
+        session.setContainerId("1dc000000000001");
+        session.addMember("401000000000001");
+        session.cleanUpMembers(stub);
+        session.awaitCleanUp();
+
+        assertEquals("1dc000000000001", session.getContainerId());
+    }
+}
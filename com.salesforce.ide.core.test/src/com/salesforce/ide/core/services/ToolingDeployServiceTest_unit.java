@@ -49,7 +49,7 @@ public class ToolingDeployServiceTest_unit extends TestCase {
                 queryResult.setRecords(new SObject[] { containerAsyncRequest });
                 return queryResult;
             }
-        }, new NullProgressMonitor(), "BOGUS", car);
+        }, new NullProgressMonitor(), car);
         assertEquals("Should be completed", ContainerAsyncRequestState.Completed, result.getState());
     }
 
@@ -83,7 +83,7 @@ public class ToolingDeployServiceTest_unit extends TestCase {
             public SaveResult[] update(SObject[] sObjects) throws ForceRemoteException {
                 return new SaveResult[] { new SaveResult() };
             }
-        }, monitor, "BOGUS", car);
+        }, monitor, car);
         assertEquals("Should be aborted", ContainerAsyncRequestState.Aborted, result.getState());
 
     }
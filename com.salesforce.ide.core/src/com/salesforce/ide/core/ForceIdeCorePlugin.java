@@ -28,8 +28,11 @@ import org.osgi.framework.BundleContext;
 import com.salesforce.ide.core.internal.context.ContainerDelegate;
 import com.salesforce.ide.core.internal.preferences.PreferenceManager;
 import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.StopWatch;
 import com.salesforce.ide.core.internal.utils.Utils;
+import com.salesforce.ide.core.project.ContentManifestTracker;
+import com.salesforce.ide.core.project.PackageManifestTracker;
 import com.salesforce.ide.core.project.ProjectAddEvaluator;
 import com.salesforce.ide.core.project.ProjectDeletePreparator;
 
@@ -105,9 +108,13 @@ public class ForceIdeCorePlugin extends AbstractUIPlugin {
             projectAddEvaluator.dispose();
         }
 
+        ContentManifestTracker.getInstance().dispose();
+        PackageManifestTracker.getInstance().dispose();
+
         if (logger != null && logger.isDebugEnabled()) {
             logStats();
         }
+        exportMetrics();
         ContainerDelegate.getInstance().dispose();
 
         super.stop(context);
@@ -125,6 +132,12 @@ public class ForceIdeCorePlugin extends AbstractUIPlugin {
         // evaluate added projects for builder skipping
         projectAddEvaluator = new ProjectAddEvaluator();
 
+        // track file hashes for conflict and change detection
+        ContentManifestTracker.getInstance().start();
+
+        // keep parsed package.xml files until they change
+        PackageManifestTracker.getInstance().start();
+
         System.out.println("Initiated '" + PLUGIN_ID + "' plugin, version " + getBundleVersion());
     }
 
@@ -297,5 +310,20 @@ public class ForceIdeCorePlugin extends AbstractUIPlugin {
     // S T A T S
     public static void logStats() {
         logger.debug(PLUGIN_ID + " plugin profiling result:\n" + stopWatch.prettyPrint());
+        logger.debug(PLUGIN_ID + " plugin metrics:\n" + MetricsRegistry.getInstance().prettyPrint());
+    }
+
+    // keeps the session's metrics in the state location for a look after the fact
+    private void exportMetrics() {
+        if (MetricsRegistry.getInstance().isEmpty()) {
+            return;
+        }
+
+        try {
+            MetricsRegistry.getInstance().exportCsv(getStateLocation().append(MetricsRegistry.EXPORT_FILE_NAME)
+                    .toFile());
+        } catch (Exception e) {
+            logger.warn("Unable to export metrics: " + e.getMessage());
+        }
     }
 }
@@ -10,21 +10,19 @@
  ******************************************************************************/
 package com.salesforce.ide.core.factories;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IResource;
 
+import com.salesforce.ide.api.metadata.JAXBContextPool;
 import com.salesforce.ide.api.metadata.types.MetadataExt;
 import com.salesforce.ide.core.internal.factories.ApplicationContextFactory;
 import com.salesforce.ide.core.internal.utils.Constants;
@@ -1006,11 +1004,11 @@ public class ComponentFactory extends ApplicationContextFactory {
         IFile componentFile = component.getFileResource();
 
         MetadataExt metadataExt = component.getDefaultMetadataExtInstance();
-        Unmarshaller unmarshaller = JAXBContext.newInstance(metadataExt.getClass()).createUnmarshaller();
-        JAXBElement<? extends MetadataExt> root =
-                unmarshaller.unmarshal(new StreamSource(componentFile.getRawLocation().toFile()), metadataExt
-                        .getClass());
-        return root.getValue();
+        try {
+            return JAXBContextPool.unmarshal(metadataExt.getClass(), componentFile.getRawLocation().toFile());
+        } catch (IOException e) {
+            throw new JAXBException(e);
+        }
     }
 
     private Component getComponentBean(String id) {
@@ -23,6 +23,7 @@ import com.salesforce.ide.core.remote.Connection;
 import com.salesforce.ide.core.remote.ForceConnectionException;
 import com.salesforce.ide.core.remote.InsufficientPermissionsException;
 import com.salesforce.ide.core.remote.SalesforceEndpoints;
+import com.salesforce.ide.core.remote.metadata.DescribeMetadataCache;
 import com.salesforce.ide.core.remote.registries.DescribeObjectRegistry;
 import com.salesforce.ide.core.remote.registries.MergeFieldsRegistry;
 
@@ -92,6 +93,9 @@ public class ConnectionFactory extends BaseFactory {
         if (forceProject.getProject() != null && Utils.isNotEmpty(forceProject.getProject().getName())) {
             describeObjectRegistry.remove(forceProject.getProject().getName());
         }
+        if (obsoleteConnection != null) {
+            DescribeMetadataCache.getInstance().invalidate(obsoleteConnection.getOrgId());
+        }
 
         return obsoleteConnection != null ? true : false;
     }
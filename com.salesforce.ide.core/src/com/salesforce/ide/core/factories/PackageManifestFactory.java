@@ -11,7 +11,6 @@
 package com.salesforce.ide.core.factories;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -22,10 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
 
 import org.apache.log4j.Logger;
 import org.apache.xerces.parsers.DOMParser;
@@ -37,15 +33,19 @@ import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import com.salesforce.ide.api.metadata.JAXBContextPool;
 import com.salesforce.ide.api.metadata.types.Package;
 import com.salesforce.ide.api.metadata.types.PackageTypeMembers;
 import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.model.Component;
 import com.salesforce.ide.core.model.ComponentList;
 import com.salesforce.ide.core.model.ProjectPackage;
 import com.salesforce.ide.core.model.ProjectPackageList;
 import com.salesforce.ide.core.project.ForceProjectException;
+import com.salesforce.ide.core.project.PackageManifestIndex;
+import com.salesforce.ide.core.project.PackageManifestTracker;
 import com.salesforce.ide.core.remote.Connection;
 import com.salesforce.ide.core.remote.ForceException;
 import com.salesforce.ide.core.services.RetrieveException;
@@ -103,25 +103,53 @@ public class PackageManifestFactory extends BaseFactory {
             logger.debug("Getting manifest in project '" + project.getName() + "'");
         }
 
+        PackageManifestIndex index = getPackageManifestIndex(project);
+        return index != null ? index.getPackageManifest() : null;
+    }
+
+    /**
+     * Gets the indexed package manifest of the project, parsing package.xml only if it changed since it was last
+     * parsed.
+     *
+     * @param project
+     * @return the index, or null if the project has no package.xml
+     * @throws FactoryException
+     */
+    public PackageManifestIndex getPackageManifestIndex(IProject project) throws FactoryException {
+        if (project == null) {
+            throw new IllegalArgumentException("Project cannot be null");
+        }
+
         // find manifest file for package
         IFile manfiestFile = getPackageManifestFile(project);
+        if (manfiestFile == null || !manfiestFile.exists() || manfiestFile.getRawLocation() == null) {
+            return null;
+        }
 
-        // generate package object by parsing package file
-        Package packageManifest = null;
+        File file = manfiestFile.getRawLocation().toFile();
+        PackageManifestTracker tracker = PackageManifestTracker.getInstance();
+        PackageManifestIndex index = tracker.getIndex(project, file);
+        if (index != null) {
+            MetricsRegistry.getInstance().increment(MetricsRegistry.PACKAGE_MANIFEST_CACHE_HITS);
+            return index;
+        }
+        MetricsRegistry.getInstance().increment(MetricsRegistry.PACKAGE_MANIFEST_CACHE_MISSES);
 
-        if (manfiestFile != null && manfiestFile.exists()) {
-            if (logger.isDebugEnabled()) {
-                logger.debug("Found existing existing package manifest.");
-            }
-            try {
-                packageManifest = parsePackageManifest(manfiestFile.getRawLocation().toFile());
-            } catch (Exception e) {
-                logger.error("Unable to create package manifest", e);
-                throw new FactoryException(e);
-            }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found existing existing package manifest.");
+        }
 
+        // stamp before parsing, so a change while parsing makes the index stale
+        long lastModified = file.lastModified();
+        long length = file.length();
+        try {
+            index = new PackageManifestIndex(parsePackageManifest(file), lastModified, length);
+        } catch (Exception e) {
+            logger.error("Unable to create package manifest", e);
+            throw new FactoryException(e);
         }
-        return packageManifest;
+        tracker.putIndex(project, index);
+        return index;
     }
 
     /**
@@ -250,6 +278,19 @@ public class PackageManifestFactory extends BaseFactory {
 
     public Document getPackageManifestDOMDocument(IProject project) throws FactoryException {
         IFile packageManifestFile = getPackageManifestFile(project);
+
+        // only reuse a document parsed from the file as it is now
+        PackageManifestIndex index = null;
+        if (packageManifestFile != null && packageManifestFile.getRawLocation() != null) {
+            index =
+                    PackageManifestTracker.getInstance().getIndex(project,
+                        packageManifestFile.getRawLocation().toFile());
+            Document document = index != null ? index.getDocument() : null;
+            if (document != null) {
+                return document;
+            }
+        }
+
         Document document = null;
         try {
             InputSource content = new InputSource(packageManifestFile.getContents());
@@ -271,6 +312,10 @@ public class PackageManifestFactory extends BaseFactory {
             throw new FactoryException("Unable to create DOM document from path "
                     + packageManifestFile.getProjectRelativePath().toPortableString(), ioe);
         }
+
+        if (index != null) {
+            index.setDocument(document);
+        }
         return document;
     }
 
@@ -948,15 +993,14 @@ public class PackageManifestFactory extends BaseFactory {
                     + packageManifestFile.getAbsolutePath() + "'");
         }
 
-        Unmarshaller unmarshaller =
-                javax.xml.bind.JAXBContext.newInstance(com.salesforce.ide.api.metadata.types.Package.class).createUnmarshaller();
-        // using FileInputStream to avoid file path containing special char, ex. #
-        StreamSource streamSource = new StreamSource(new FileInputStream(packageManifestFile));
-        JAXBElement<com.salesforce.ide.api.metadata.types.Package> root =
-                unmarshaller.unmarshal(streamSource, com.salesforce.ide.api.metadata.types.Package.class);
-
-        Package packageManifest = root.getValue();
-        return packageManifest;
+        // read through a stream, which also copes with file paths containing special chars, ex. #
+        try {
+            return JAXBContextPool.unmarshal(Package.class, packageManifestFile);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new JAXBException(e);
+        }
     }
 
     public com.sforce.soap.metadata.Package convert(Package packageManifest) {
@@ -1062,6 +1106,11 @@ public class PackageManifestFactory extends BaseFactory {
      * @throws FactoryException
      */
     public boolean isWildCardUsedForComponentType(IProject project, String componentType) throws FactoryException {
+        PackageManifestIndex index = getPackageManifestIndex(project);
+        if (index != null) {
+            return index.isWildCardUsed(componentType);
+        }
+
         Package packageManifest =
                 getPackageManifestFactory().getPackageManifest(project, Constants.DEFAULT_PACKAGED_NAME);
         PackageTypeMembers packageTypeMembers = getPackageType(packageManifest, componentType, false);
@@ -1084,12 +1133,18 @@ public class PackageManifestFactory extends BaseFactory {
      * @throws FactoryException
      */
     public List<String> getFilePathsForComponentType(IProject project, String componentType) throws FactoryException {
-        Package packageManifest =
-                getPackageManifestFactory().getPackageManifest(project, Constants.DEFAULT_PACKAGED_NAME);
-        PackageTypeMembers packageTypeMembers = getPackageType(packageManifest, componentType, false);
+        PackageManifestIndex index = getPackageManifestIndex(project);
+        List<String> members;
+        if (index != null) {
+            members = index.getMembers(componentType);
+        } else {
+            Package packageManifest =
+                    getPackageManifestFactory().getPackageManifest(project, Constants.DEFAULT_PACKAGED_NAME);
+            members = getPackageType(packageManifest, componentType, false).getMembers();
+        }
         Component componentInfo = getComponentFactory().getComponentByComponentType(componentType);
         List<String> filePathListForComponentType = new ArrayList<>();
-        for (String member : packageTypeMembers.getMembers()) {
+        for (String member : members) {
             if ("*".equals(member)) {
                 continue;
             }
@@ -1120,6 +1175,11 @@ public class PackageManifestFactory extends BaseFactory {
      * @throws FactoryException
      */
     public boolean hasExplicitMemberForComponentType(IProject project, String componentType) throws FactoryException {
+        PackageManifestIndex index = getPackageManifestIndex(project);
+        if (index != null) {
+            return index.hasExplicitMember(componentType);
+        }
+
         Package packageManifest =
                 getPackageManifestFactory().getPackageManifest(project, Constants.DEFAULT_PACKAGED_NAME);
         PackageTypeMembers packageTypeMembers = getPackageType(packageManifest, componentType, false);
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.salesforce.ide.core.factories;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
@@ -74,7 +75,7 @@ public class ProjectPackageFactory extends BaseFactory {
         return projectPackageList;
     }
 
-    public ProjectPackageList getProjectPackageListInstance(IProject project, byte[] zipFile,
+    public ProjectPackageList getProjectPackageListInstance(IProject project, File zipFile,
             FileMetadataExt fileMetadataHandler) throws InterruptedException, IOException {
         if (fileMetadataHandler == null) {
             throw new IllegalArgumentException("Project and/or FileMetadataExt cannot be null");
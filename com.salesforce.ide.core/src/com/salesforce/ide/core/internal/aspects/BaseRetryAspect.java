@@ -20,6 +20,7 @@ import com.salesforce.ide.core.factories.ConnectionFactory;
 import com.salesforce.ide.core.factories.MetadataFactory;
 import com.salesforce.ide.core.factories.ToolingFactory;
 import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.remote.Connection;
 import com.salesforce.ide.core.remote.ForceConnectionException;
@@ -91,10 +92,13 @@ public abstract class BaseRetryAspect implements Ordered {
     public void evaluateLoginException(ForceConnectionException ex, JoinPoint joinPoint) throws InvalidLoginException,
             ForceConnectionException {
     	
-        if (connectsViaSessionId(ex))
+        if (connectsViaSessionId(ex)) {
+            countRetry();
         	return;
+        }
 
         if (isLoginExceptionRetryable(ex, joinPoint) || isConnectionExceptionRetryable(ex, joinPoint)) {
+            countRetry();
             return;
         }
 
@@ -132,6 +136,7 @@ public abstract class BaseRetryAspect implements Ordered {
         if (!isConnectionExceptionRetryable(ex, joinPoint)) {
             throw ex;
         }
+        countRetry();
     }
 
     private boolean isConnectionExceptionRetryable(ForceConnectionException ex, JoinPoint joinPoint) {
@@ -165,6 +170,7 @@ public abstract class BaseRetryAspect implements Ordered {
     public void evaluateOperationsException(ForceConnectionException ex, JoinPoint joinPoint)
             throws ForceConnectionException {
         if (isConnectionExceptionRetryable(ex, joinPoint) || isOperationsExceptionRetryable(ex, joinPoint)) {
+            countRetry();
             return;
         }
 
@@ -194,6 +200,11 @@ public abstract class BaseRetryAspect implements Ordered {
         if (!isExceptionRetryable(ex, joinPoint)) {
             throw ex;
         }
+        countRetry();
+    }
+
+    private static void countRetry() {
+        MetricsRegistry.getInstance().increment(MetricsRegistry.REMOTE_RETRIES);
     }
 
     private boolean isExceptionRetryable(Exception ex, JoinPoint joinPoint) {
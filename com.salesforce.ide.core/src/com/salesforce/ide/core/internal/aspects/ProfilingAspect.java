@@ -12,10 +12,11 @@ package com.salesforce.ide.core.internal.aspects;
 
 import org.apache.log4j.Logger;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.core.Ordered;
 
-import com.salesforce.ide.core.ForceIdeCorePlugin;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 
-public class ProfilingAspect {
+public class ProfilingAspect implements Ordered {
 
     private static final Logger logger = Logger.getLogger(ProfilingAspect.class);
 
@@ -26,6 +27,7 @@ public class ProfilingAspect {
     }
 
     //   M E T H O D S
+    @Override
     public int getOrder() {
         return this.order;
     }
@@ -35,13 +37,17 @@ public class ProfilingAspect {
     }
 
     public Object profile(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        MetricsRegistry.Timer timer = metrics.timer(proceedingJoinPoint.getSignature().getDeclaringType()
+                .getSimpleName() + "." + proceedingJoinPoint.getSignature().getName());
+        metrics.increment(MetricsRegistry.REMOTE_CALLS);
+        long start = System.nanoTime();
         try {
-            ForceIdeCorePlugin.stopWatch.start(proceedingJoinPoint.getSignature().getName());
             return proceedingJoinPoint.proceed();
         } finally {
-            ForceIdeCorePlugin.stopWatch.stop(proceedingJoinPoint.getSignature().getName());
+            timer.stop(start);
             if (logger.isDebugEnabled()) {
-                logger.debug(ForceIdeCorePlugin.stopWatch.prettyPrint(proceedingJoinPoint.getSignature().getName()));
+                logger.debug(timer);
             }
         }
     }
@@ -67,8 +67,12 @@ public class LayoutComponentController extends ComponentController {
 
             monitor.worked(1);
 
-            projectPackageList.generateComponents(retrieveResultHandler.getZipFile(), retrieveResultHandler
-                    .getFileMetadataHandler(), monitor);
+            try {
+                projectPackageList.generateComponents(retrieveResultHandler.spillZipFile(), retrieveResultHandler
+                        .getFileMetadataHandler(), monitor);
+            } finally {
+                retrieveResultHandler.dispose();
+            }
         } catch (RuntimeException | ForceConnectionException | ForceRemoteException | ServiceException | IOException e) {
             logger.error("Exception happened when trying to retrieve default layout component", e);
             throw new InvocationTargetException(e);
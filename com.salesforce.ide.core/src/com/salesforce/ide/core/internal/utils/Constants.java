@@ -362,6 +362,9 @@ public interface Constants {
     String SYS_SETTING_SKIP_COMPATIBILITY_CHECK = "force-ide-skip-compatibility-check";
     String SYS_SETTING_SKIP_COMPATIBILITY_CHECK_VALUE = "true";
     String SYS_SETTING_UPGRADE_ENABLE = "force-ide-upgrade-enable";
+    String SYS_SETTING_DEPLOY_COMPRESSION_LEVEL = "force-ide-deploy-compression-level";
+    String SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS = "force-ide-save-queue-window";
+    String SYS_SETTING_LAZY_COMPONENT_BODIES = "force-ide-lazy-bodies";
     
     // D E B U G G E R
     String SYS_SETTING_SFDC_DEBUGGER = "sfdc-debugger";
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.internal.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.log4j.Logger;
+
+import com.salesforce.ide.core.internal.utils.ZipUtils.ZipStats;
+
+/**
+ * Streams a deploy archive to an output stream, e.g. a file or an in-memory buffer sized once. Files are copied into
+ * the archive as they are read rather than loaded first.
+ *
+ * Each path is added once. Adding a path again with the same body is dropped quietly, with a different body it's
+ * dropped with a warning, as {@link ZipUtils} does for duplicate entries.
+ *
+ * @author nchen
+ */
+public class DeployPayloadWriter implements Closeable {
+    private static final Logger logger = Logger.getLogger(DeployPayloadWriter.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CountingOutputStream counter;
+    private final ZipOutputStream zos;
+    private final ZipStats stats = new ZipStats();
+    private final Map<String, Long> checksums = new HashMap<>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int duplicates;
+
+    /**
+     * @param compressionLevel
+     *            0-9 or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public DeployPayloadWriter(OutputStream out, int compressionLevel) {
+        counter = new CountingOutputStream(out);
+        zos = new ZipOutputStream(counter);
+        zos.setLevel(compressionLevel);
+    }
+
+    /**
+     * @return the compression level set by the {@link Constants#SYS_SETTING_DEPLOY_COMPRESSION_LEVEL} system property,
+     *         or the default one
+     */
+    public static int getConfiguredCompressionLevel() {
+        String level = System.getProperty(Constants.SYS_SETTING_DEPLOY_COMPRESSION_LEVEL);
+        if (Utils.isNotEmpty(level)) {
+            try {
+                int value = Integer.parseInt(level.trim());
+                if (value >= Deflater.NO_COMPRESSION && value <= Deflater.BEST_COMPRESSION) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            logger.warn("Ignoring invalid deploy compression level '" + level + "'");
+        }
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
+    /**
+     * Adds the file, or the folder with everything below it.
+     *
+     * @return whether the file was added
+     */
+    public boolean add(String path, File file) throws IOException {
+        if (file.isDirectory()) {
+            return addFolder(path, file);
+        }
+        if (isDuplicate(path, file)) {
+            return false;
+        }
+
+        ZipEntry entry = new ZipEntry(path);
+        entry.setTime(file.lastModified());
+        entry.setSize(file.length());
+        zos.putNextEntry(entry);
+        try (InputStream in = new FileInputStream(file)) {
+            int len;
+            while ((len = in.read(buffer)) >= 0) {
+                zos.write(buffer, 0, len);
+            }
+        }
+        closeEntry(path, entry);
+        return true;
+    }
+
+    private boolean addFolder(String path, File folder) throws IOException {
+        String folderPath = path + "/";
+        if (checksums.containsKey(folderPath)) {
+            duplicates++;
+            return false;
+        }
+
+        ZipEntry entry = new ZipEntry(folderPath);
+        entry.setTime(folder.lastModified());
+        zos.putNextEntry(entry);
+        closeEntry(folderPath, entry);
+
+        File[] children = folder.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                add(folderPath + child.getName(), child);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the bytes were added
+     */
+    public boolean add(String path, byte[] content) throws IOException {
+        if (isDuplicate(path, checksum(content))) {
+            return false;
+        }
+
+        ZipEntry entry = new ZipEntry(path);
+        entry.setTime(System.currentTimeMillis());
+        entry.setSize(content.length);
+        zos.putNextEntry(entry);
+        zos.write(content, 0, content.length);
+        closeEntry(path, entry);
+        return true;
+    }
+
+    /**
+     * @return whether the body was added
+     */
+    public boolean add(String path, String body) throws IOException {
+        return add(path, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void closeEntry(String path, ZipEntry entry) throws IOException {
+        zos.closeEntry();
+        checksums.put(path, entry.getCrc());
+        stats.addEntry(entry);
+    }
+
+    private boolean isDuplicate(String path, File file) throws IOException {
+        if (!checksums.containsKey(path)) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        try (InputStream in = new FileInputStream(file)) {
+            int len;
+            while ((len = in.read(buffer)) >= 0) {
+                checksum.update(buffer, 0, len);
+            }
+        }
+        return isDuplicate(path, checksum.getValue());
+    }
+
+    private boolean isDuplicate(String path, long checksum) {
+        Long existing = checksums.get(path);
+        if (existing == null) {
+            return false;
+        }
+
+        duplicates++;
+        if (existing.longValue() == checksum) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Zip already contains '" + path + "' - skipping identical duplicate");
+            }
+        } else {
+            logger.warn("Zip already contains '" + path + "' - skipping duplicate with different content");
+        }
+        return true;
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 checksum = new CRC32();
+        checksum.update(content, 0, content.length);
+        return checksum.getValue();
+    }
+
+    public boolean contains(String path) {
+        return checksums.containsKey(path);
+    }
+
+    /**
+     * @return the CRC32 of what was written for the path, or null if nothing was
+     */
+    public Long getChecksum(String path) {
+        return checksums.get(path);
+    }
+
+    public ZipStats getStats() {
+        return stats;
+    }
+
+    public int getDuplicateCount() {
+        return duplicates;
+    }
+
+    /**
+     * @return the size of the archive written so far
+     */
+    public long getBytesWritten() {
+        return counter.count;
+    }
+
+    /**
+     * Writes the archive's central directory and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        zos.close();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
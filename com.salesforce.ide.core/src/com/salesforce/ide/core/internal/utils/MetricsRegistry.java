@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Timers and counters of the IDE's operations, e.g. remote calls, bytes transferred, retries and cache hits. Unlike
+ * {@link StopWatch}, recording doesn't lock so it can be used from any number of jobs at once.
+ *
+ * Timers keep a histogram of the recorded latencies with buckets of at most 12.5% width, from which percentiles are
+ * estimated.
+ *
+ * @author nchen
+ */
+public class MetricsRegistry {
+    private static final Logger logger = Logger.getLogger(MetricsRegistry.class);
+
+    public static final String REMOTE_CALLS = "remote.calls";
+    public static final String REMOTE_RETRIES = "remote.retries";
+    public static final String BYTES_SENT = "remote.bytesSent";
+    public static final String BYTES_RECEIVED = "remote.bytesReceived";
+    public static final String DESCRIBE_METADATA_CACHE_HITS = "cache.describeMetadata.hits";
+    public static final String DESCRIBE_METADATA_CACHE_MISSES = "cache.describeMetadata.misses";
+    public static final String PACKAGE_MANIFEST_CACHE_HITS = "cache.packageManifest.hits";
+    public static final String PACKAGE_MANIFEST_CACHE_MISSES = "cache.packageManifest.misses";
+    public static final String DEPLOY_PAYLOAD_BUILD = "deploy.payload.build";
+    public static final String TOOLING_SAVE = "tooling.save";
+    public static final String TOOLING_SAVES_COALESCED = "tooling.saves.coalesced";
+    public static final String SAVE_QUEUE_SAVES = "save.queue.saves";
+    public static final String SAVE_QUEUE_BATCHES = "save.queue.batches";
+    public static final String SAVE_QUEUE_COMPONENTS = "save.queue.components";
+    public static final String SAVE_QUEUE_WAIT = "save.queue.wait";
+
+    public static final String EXPORT_FILE_NAME = "metrics.csv";
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {}
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the timer of the given name, created on first use
+     */
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, long delta) {
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, key -> new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    public long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public boolean isEmpty() {
+        return timers.isEmpty() && counters.isEmpty();
+    }
+
+    public void reset() {
+        timers.clear();
+        counters.clear();
+    }
+
+    public String prettyPrint() {
+        StringBuilder strBuilder = new StringBuilder();
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            strBuilder.append(timer).append("\n");
+        }
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet()) {
+            strBuilder.append(counter.getKey()).append(": ").append(counter.getValue().sum()).append("\n");
+        }
+        return strBuilder.toString();
+    }
+
+    /**
+     * Writes all timers and counters to the file as CSV, one per line. Times are in milliseconds.
+     */
+    public void exportCsv(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory '" + directory + "'");
+        }
+
+        try (PrintWriter out =
+                new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            out.println("type,name,count,total,mean,p50,p95,p99,max");
+            for (Timer timer : new TreeMap<>(timers).values()) {
+                out.println(String.format(Locale.ROOT, "timer,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", csv(timer.name),
+                    timer.getCount(), timer.getTotalMillis(), timer.getMeanMillis(), timer.getPercentileMillis(50),
+                    timer.getPercentileMillis(95), timer.getPercentileMillis(99), timer.getMaxMillis()));
+            }
+            for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet()) {
+                out.println("counter," + csv(counter.getKey()) + "," + counter.getValue().sum() + ",,,,,,");
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Exported metrics to '" + file + "'");
+        }
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    /**
+     * Latencies of an operation.
+     */
+    public static final class Timer {
+        // 8 sub-buckets per power of two of microseconds
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Records the time since the given {@link System#nanoTime()}.
+         */
+        public void stop(long startNanos) {
+            record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void record(long duration, TimeUnit unit) {
+            long nanos = Math.max(0, unit.toNanos(duration));
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1e6;
+        }
+
+        public double getMeanMillis() {
+            long n = getCount();
+            return n > 0 ? getTotalMillis() / n : 0;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        /**
+         * @param percentile
+         *            between 0 and 100
+         * @return the upper bound of the bucket holding the percentile, at most the longest recorded time
+         */
+        public double getPercentileMillis(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                n += counts[i];
+            }
+            if (n == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundMicros(i) / 1e3, getMaxMillis());
+                }
+            }
+            return getMaxMillis();
+        }
+
+        static int bucket(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long upperBoundMicros(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket + 1;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = bucket % SUB_BUCKETS;
+            return (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "%s: %d call(s), total %.1f ms, mean %.1f ms, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms", name,
+                getCount(), getTotalMillis(), getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95),
+                getPercentileMillis(99), getMaxMillis());
+        }
+    }
+}
@@ -572,6 +572,17 @@ public class Utils {
 				: true;
 	}
 
+	/**
+	 * @return whether components loaded from files read their bodies on
+	 *         demand; on unless the system property is set to false
+	 */
+	public static boolean isLazyComponentBodiesEnabled() {
+		String lazy = System
+				.getProperty(Constants.SYS_SETTING_LAZY_COMPONENT_BODIES);
+		return Utils.isNotEmpty(lazy) ? Boolean.parseBoolean(lazy.trim())
+				: true;
+	}
+
 	public static boolean hasDefaultProperties() {
 		String propFilePath = System
 				.getProperty(Constants.SYS_SETTING_PROPERTIES);
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 import javax.xml.bind.JAXBException;
@@ -30,6 +31,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.salesforce.ide.api.metadata.types.MetadataExt;
 import com.salesforce.ide.core.internal.utils.Constants;
@@ -47,6 +49,36 @@ public class Component extends ComponentResource {
     private static final Logger logger = Logger.getLogger(Component.class);
     private static final Charset UTF_8 = Charset.forName(Constants.UTF_8);
     
+    // FileProperties of listMetadata and retrieve results mapped onto the setters of the same name, which subclasses
+    // may override. Type and ManageableState have no such setter.
+    private static final Map<String, BiConsumer<Component, FileProperties>> FILE_PROPERTY_SETTERS =
+            ImmutableMap.<String, BiConsumer<Component, FileProperties>> builder()
+            .put("Id", (c, p) -> c.setId(p.getId()))
+            .put("FileName", (c, p) -> c.setFileName(p.getFileName()))
+            .put("FullName", (c, p) -> c.setFullName(p.getFullName()))
+            .put("NamespacePrefix", (c, p) -> c.setNamespacePrefix(p.getNamespacePrefix()))
+            .put("CreatedById", (c, p) -> c.setCreatedById(p.getCreatedById()))
+            .put("CreatedByName", (c, p) -> c.setCreatedByName(p.getCreatedByName()))
+            .put("CreatedDate", (c, p) -> c.setCreatedDate(p.getCreatedDate()))
+            .put("LastModifiedById", (c, p) -> c.setLastModifiedById(p.getLastModifiedById()))
+            .put("LastModifiedByName", (c, p) -> c.setLastModifiedByName(p.getLastModifiedByName()))
+            .put("LastModifiedDate", (c, p) -> c.setLastModifiedDate(p.getLastModifiedDate()))
+            .build();
+    
+    // public one-argument setters of each component class by property name, looked up once per class
+    private static final ClassValue<Map<String, Method>> SETTER_METHODS = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> componentClass) {
+            Map<String, Method> setters = new HashMap<>();
+            for (Method method : componentClass.getMethods()) {
+                if (method.getName().startsWith("set") && method.getParameterTypes().length == 1) {
+                    setters.putIfAbsent(method.getName().substring(3), method);
+                }
+            }
+            return setters;
+        }
+    };
+    
     protected String defaultFolder;
     protected String componentType;
     protected String componentTypeAlias;
@@ -914,14 +946,11 @@ public class Component extends ComponentResource {
             return;
         }
         
-        List<String> properties = Utils.getProperties(FileProperties.class);
-        for (String propertyName : properties) {
-            Object propertyValue = null;
+        for (Map.Entry<String, BiConsumer<Component, FileProperties>> mapping : FILE_PROPERTY_SETTERS.entrySet()) {
             try {
-                propertyValue = Utils.getPropertyValue(fileProperties, propertyName);
-                setProperty(propertyName, propertyValue);
+                mapping.getValue().accept(this, fileProperties);
             } catch (Exception e) {
-                logger.error("Unable to get property '" + propertyName + "' for file '" + fileName + "'", e);
+                logger.error("Unable to get property '" + mapping.getKey() + "' for file '" + fileName + "'", e);
             }
         }
         
@@ -932,7 +961,7 @@ public class Component extends ComponentResource {
     
     protected void setProperty(String propertyName, Object propertyValue) {
         try {
-            Method setterMethod = getSetterMethod(this, propertyName);
+            Method setterMethod = SETTER_METHODS.get(getClass()).get(propertyName);
             if (setterMethod != null) {
                 setterMethod.invoke(this, propertyValue);
             }
@@ -941,22 +970,6 @@ public class Component extends ComponentResource {
         }
     }
     
-    private static Method getSetterMethod(Component component, String methodName) throws ClassNotFoundException {
-        Method setterMethod = null;
-        Class<?> componentClass = Class.forName(component.getClass().getName());
-        Method[] methods = componentClass.getMethods();
-        if (Utils.isNotEmpty(methods)) {
-            for (int i = 0; i < methods.length; i++) {
-                Method method = methods[i];
-                if (method.getName().equals("set" + methodName)) {
-                    setterMethod = method;
-                    break;
-                }
-            }
-        }
-        return setterMethod;
-    }
-    
     public boolean hasRemoteChanged(Component anotherComponent, IProgressMonitor monitor) throws InterruptedException {
         return hasRemoteChanged(anotherComponent, true, monitor);
     }
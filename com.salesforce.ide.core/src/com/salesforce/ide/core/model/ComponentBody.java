@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.zip.CRC32;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+import com.salesforce.ide.core.internal.utils.Utils;
+
+/**
+ * The body of a component loaded from a file, read only when it's asked for. Content that has been read is held
+ * softly, so the collector can drop it under memory pressure and it's read again on the next use. Checksums are
+ * computed by streaming the file, without keeping its content.
+ *
+ * Both are remembered along with the file's modification stamp and computed again once the file changed.
+ *
+ * @author nchen
+ */
+final class ComponentBody {
+    private static final Logger logger = Logger.getLogger(ComponentBody.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final IFile file;
+
+    // guarded by this
+    private SoftReference<byte[]> content;
+    private long contentStamp = IResource.NULL_STAMP;
+    private long checksum;
+    private long checksumStamp = IResource.NULL_STAMP;
+
+    ComponentBody(IFile file) {
+        this.file = file;
+    }
+
+    /**
+     * For a file that was just written with content of the given checksum, so it isn't read back to compute it.
+     */
+    ComponentBody(IFile file, long checksum) {
+        this.file = file;
+        remember(checksum, file.getModificationStamp());
+    }
+
+    IFile getFileResource() {
+        return file;
+    }
+
+    /**
+     * @return the file's content, or null if it can't be read
+     */
+    synchronized byte[] getContent() {
+        long stamp = file.getModificationStamp();
+        byte[] cached = content != null ? content.get() : null;
+        if (cached != null && stamp == contentStamp && stamp != IResource.NULL_STAMP) {
+            return cached;
+        }
+
+        try {
+            byte[] read = Utils.getBytesFromFile(file);
+            if (read != null) {
+                content = new SoftReference<>(read);
+                contentStamp = stamp;
+            }
+            return read;
+        } catch (IOException | CoreException e) {
+            logger.warn("Unable to read body of '" + file.getProjectRelativePath().toPortableString() + "': "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the CRC32 of the file's content, or the given value if it can't be read
+     */
+    synchronized long getChecksum(long unknown) {
+        long stamp = file.getModificationStamp();
+        if (stamp == checksumStamp && stamp != IResource.NULL_STAMP) {
+            return checksum;
+        }
+
+        // hash the content in hand rather than reading it again
+        byte[] cached = content != null && stamp == contentStamp ? content.get() : null;
+        if (cached != null) {
+            CRC32 crc = new CRC32();
+            crc.update(cached, 0, cached.length);
+            return remember(crc.getValue(), stamp);
+        }
+
+        if (!file.exists()) {
+            return unknown;
+        }
+        try (InputStream in = file.getContents()) {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+            return remember(crc.getValue(), stamp);
+        } catch (IOException | CoreException e) {
+            logger.warn("Unable to compute checksum of '" + file.getProjectRelativePath().toPortableString()
+                    + "': " + e.getMessage());
+            return unknown;
+        }
+    }
+
+    private long remember(long value, long stamp) {
+        checksum = value;
+        checksumStamp = stamp;
+        return value;
+    }
+
+    /**
+     * @return whether the content is currently held in memory
+     */
+    synchronized boolean isLoaded() {
+        return content != null && content.get() != null;
+    }
+}
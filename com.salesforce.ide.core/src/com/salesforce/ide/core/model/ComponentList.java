@@ -14,7 +14,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
@@ -33,6 +36,10 @@ import com.salesforce.ide.core.services.ToolingService;
 /**
  * Contains a list of components.
  * 
+ * Lookups by file path, file name, id and name/type go through hash indices. The indices are kept up to date by the
+ * add and remove methods of this class and are rebuilt lazily after any other structural change to the list. They
+ * assume that the type, file path, file name, name and id of a component do not change while it is in the list.
+ * 
  * @author cwall
  */
 public class ComponentList extends ArrayList<Component> {
@@ -43,6 +50,97 @@ public class ComponentList extends ArrayList<Component> {
 
     protected transient ProjectService projectService = null;
 
+    private transient Index index = null;
+    private transient int indexedModCount = -1;
+
+    /*
+     * All lookup keys live in one map; each key is prefixed with the kind of lookup it serves. A key maps to the first
+     * component in the list that has it.
+     */
+    private static final class Index {
+        static final String TYPE_AND_PATH_IGNORE_CASE = "typeAndPathIgnoreCase:";
+        static final String PATH = "path:";
+        static final String PATH_IGNORE_CASE = "pathIgnoreCase:";
+        static final String SOURCE_RELATIVE_PATH = "sourceRelativePath:";
+        static final String FILE_NAME = "fileName:";
+        static final String FILE_NAME_IGNORE_CASE = "fileNameIgnoreCase:";
+        static final String ID = "id:";
+        static final String ID_IGNORE_CASE = "idIgnoreCase:";
+        static final String TYPE_AND_NAME = "typeAndName:";
+
+        private final Map<String, Component> components;
+        // Set once two components share a key; removals can then no longer be applied in place
+        private boolean shadowed = false;
+
+        Index(List<Component> components) {
+            this.components = new HashMap<>(components.size() * 8);
+            for (Component component : components) {
+                add(component);
+            }
+        }
+
+        void add(Component component) {
+            for (String key : keys(component)) {
+                if (components.putIfAbsent(key, component) != null) {
+                    shadowed = true;
+                }
+            }
+        }
+
+        /**
+         * @return false if another component may be hidden behind the removed one, in which case the index needs to be
+         *         rebuilt
+         */
+        boolean remove(Component component) {
+            if (shadowed) {
+                return false;
+            }
+            for (String key : keys(component)) {
+                components.remove(key, component);
+            }
+            return true;
+        }
+
+        Component get(String kind, String value) {
+            return Utils.isEmpty(value) ? null : components.get(kind + value);
+        }
+
+        private static List<String> keys(Component component) {
+            List<String> keys = new ArrayList<>(9);
+            String filePath = component.getMetadataFilePath();
+            // equals() compares the paths of components that aren't case sensitive ignoring case
+            keys.add(TYPE_AND_PATH_IGNORE_CASE + typeAndValue(component.getComponentType(), lowerCase(filePath)));
+            if (Utils.isNotEmpty(filePath)) {
+                keys.add(PATH + filePath);
+                keys.add(SOURCE_RELATIVE_PATH + Utils.stripSourceFolder(filePath));
+                if (!component.isCaseSensitive()) {
+                    keys.add(PATH_IGNORE_CASE + lowerCase(filePath));
+                }
+            }
+            String fileName = component.getFileName();
+            if (Utils.isNotEmpty(fileName)) {
+                keys.add(FILE_NAME + fileName);
+                keys.add(FILE_NAME_IGNORE_CASE + lowerCase(fileName));
+            }
+            if (Utils.isNotEmpty(component.getId())) {
+                keys.add(ID + component.getId());
+                keys.add(ID_IGNORE_CASE + lowerCase(component.getId()));
+            }
+            if (!component.isMetadataInstance() && Utils.isNotEmpty(component.getName())) {
+                keys.add(TYPE_AND_NAME + typeAndValue(component.getComponentType(), component.getName()));
+            }
+            return keys;
+        }
+
+        static String typeAndValue(String componentType, String value) {
+            return componentType + "|" + value;
+        }
+
+        static String lowerCase(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ENGLISH);
+        }
+    }
+
     public ProjectService getProjectService() {
         return projectService;
     }
@@ -83,6 +181,53 @@ public class ComponentList extends ArrayList<Component> {
         return names;
     }
 
+    private Index index() {
+        if (!isIndexCurrent()) {
+            index = new Index(this);
+            indexedModCount = modCount;
+        }
+        return index;
+    }
+
+    private boolean isIndexCurrent() {
+        return index != null && indexedModCount == modCount;
+    }
+
+    private int indexOfInstance(Component component) {
+        for (int i = 0; i < size(); i++) {
+            if (get(i) == component) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Same as indexOf(component) >= 0 ? get(indexOf(component)) : null, but without comparing against every element.
+     */
+    private Component findEqual(Component component) {
+        // Every component that can be equal has this key, and the one it maps to comes first in the list
+        Component candidate = index().get(Index.TYPE_AND_PATH_IGNORE_CASE,
+            Index.typeAndValue(component.getComponentType(), Index.lowerCase(component.getMetadataFilePath())));
+        if (candidate == null) {
+            return null;
+        }
+        if (component.equals(candidate)) {
+            return candidate;
+        }
+        // Rare: the first component with this type and path is of a different class, or its path differs in case
+        int position = super.indexOf(component);
+        return position < 0 ? null : get(position);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Component) {
+            return findEqual((Component) o) != null;
+        }
+        return super.contains(o);
+    }
+
     public Component get(Component component) {
         Component retComponent = null;
         if (!isEmpty()) {
@@ -96,19 +241,7 @@ public class ComponentList extends ArrayList<Component> {
     }
 
     public boolean hasComponentByFilePath(String componentFilePath) {
-        if (Utils.isEmpty(componentFilePath)) {
-            return false;
-        }
-
-        for (Component component : this) {
-            if (!component.isCaseSensitive() && component.getMetadataFilePath().equalsIgnoreCase(componentFilePath)) {
-                return true;
-            } else if (component.getMetadataFilePath().equals(componentFilePath)) {
-                return true;
-            }
-        }
-
-        return false;
+        return getComponentByFilePath(componentFilePath) != null;
     }
 
     public boolean hasFolderComponent(Component component) {
@@ -145,47 +278,47 @@ public class ComponentList extends ArrayList<Component> {
     }
 
     public Component getComponentByFileName(String fileName) {
-        if (Utils.isEmpty(fileName)) {
-            return null;
-        }
+        return index().get(Index.FILE_NAME_IGNORE_CASE, Index.lowerCase(fileName));
+    }
 
-        for (Component component : this) {
-            if (component.fileName.equalsIgnoreCase(fileName)) {
-                return component;
-            }
+    public Component getComponentById(String id) {
+        return index().get(Index.ID_IGNORE_CASE, Index.lowerCase(id));
+    }
+
+    // case insensitive for components that are not case sensitive
+    public Component getComponentByFilePath(String componentFilePath) {
+        Component exactMatch = index().get(Index.PATH, componentFilePath);
+        Component caseInsensitiveMatch = index().get(Index.PATH_IGNORE_CASE, Index.lowerCase(componentFilePath));
+        if (exactMatch == null || caseInsensitiveMatch == null || exactMatch == caseInsensitiveMatch) {
+            return exactMatch != null ? exactMatch : caseInsensitiveMatch;
         }
+        // Both differ; the one that comes first in the list wins
+        return indexOfInstance(exactMatch) < indexOfInstance(caseInsensitiveMatch) ? exactMatch : caseInsensitiveMatch;
+    }
 
-        return null;
+    Component getComponentByExactFileName(String fileName) {
+        return index().get(Index.FILE_NAME, fileName);
     }
 
-    public Component getComponentById(String id) {
-        if (Utils.isEmpty(id)) {
-            return null;
-        }
+    Component getComponentByExactId(String id) {
+        return index().get(Index.ID, id);
+    }
 
-        for (Component component : this) {
-            if (component.id.equalsIgnoreCase(id)) {
-                return component;
-            }
-        }
+    Component getComponentByMetadataFilePath(String metadataFilePath) {
+        return index().get(Index.PATH, metadataFilePath);
+    }
 
-        return null;
+    // compares file paths without the source or referenced packages folder prefix
+    Component getComponentBySourceRelativeFilePath(String filePath) {
+        return index().get(Index.SOURCE_RELATIVE_PATH, Utils.stripSourceFolder(filePath));
     }
 
-    public Component getComponentByFilePath(String componentFilePath) {
-        if (Utils.isEmpty(componentFilePath)) {
+    // metadata instances are not considered
+    Component getComponentByNameType(String name, String componentType) {
+        if (Utils.isEmpty(name) || Utils.isEmpty(componentType)) {
             return null;
         }
-
-        for (Component component : this) {
-            if (!component.isCaseSensitive() && component.getMetadataFilePath().equalsIgnoreCase(componentFilePath)) {
-                return component;
-            } else if (component.getMetadataFilePath().equals(componentFilePath)) {
-                return component;
-            }
-        }
-
-        return null;
+        return index().get(Index.TYPE_AND_NAME, Index.typeAndValue(componentType, name));
     }
 
     public Component getComponentByType(String componentType) {
@@ -304,6 +437,23 @@ public class ComponentList extends ArrayList<Component> {
             .build());
     }
 
+    /**
+     * Adds the components of the given lists in order, where a component replaces an equal one added before it, e.g.
+     * when several saves of the same files are sent together. The components end up in the order they were last
+     * added.
+     *
+     * @return this list
+     */
+    public ComponentList addAllLatest(List<ComponentList> componentLists) {
+        PackageConfiguration replacing = PackageConfiguration.builder().setRemoveComposite(true).build();
+        for (ComponentList componentList : componentLists) {
+            for (Component component : componentList) {
+                add(component, replacing);
+            }
+        }
+        return this;
+    }
+
     public boolean add(Component component, PackageConfiguration configuration) {
         if (component == null) {
             return false;
@@ -316,7 +466,7 @@ public class ComponentList extends ArrayList<Component> {
                 return false;
             } else {
                 Component replacement = component.preComponentListAddition(configuration);
-                return super.add(replacement);
+                return addIndexed(replacement);
             }
         }
         
@@ -328,7 +478,7 @@ public class ComponentList extends ArrayList<Component> {
             }
         }
 
-        boolean addSuccess = super.add(component);
+        boolean addSuccess = addIndexed(component);
 
         if (!configuration.includeComposite || !component.isMetadataComposite()) {
             return addSuccess;
@@ -375,7 +525,7 @@ public class ComponentList extends ArrayList<Component> {
             compositeComponent.setFilePath(compositeComponentFilePath);
 
             // save to component list
-            addSuccess = super.add(compositeComponent);
+            addSuccess = addIndexed(compositeComponent);
 
             if (!addSuccess) {
                 logger.error("Unable to add composite component '" + compositeComponentFilePath + "' to component list");
@@ -393,23 +543,39 @@ public class ComponentList extends ArrayList<Component> {
         return addSuccess;
     }
 
+    private boolean addIndexed(Component component) {
+        boolean current = isIndexCurrent();
+        boolean added = super.add(component);
+        if (current) {
+            index.add(component);
+            indexedModCount = modCount;
+        }
+        return added;
+    }
+
     public boolean remove(Component component) {
-        if (super.remove(component)) {
-            return true;
+        Component existing = component != null ? findEqual(component) : null;
+        if (existing == null) {
+            return false;
         }
-        return false;
+
+        super.remove(indexOfInstance(existing));
+        if (index.remove(existing)) {
+            indexedModCount = modCount;
+        }
+        return true;
     }
 
     public boolean removeByFilePath(String filePath) {
-        for (Component component : this) {
-            if (!component.isCaseSensitive() && filePath.equalsIgnoreCase(component.getMetadataFilePath())) {
-                return remove(component);
-            } else if (filePath.equals(component.getMetadataFilePath())) {
-                return remove(component);
-            }
-        }
+        Component component = getComponentByFilePath(filePath);
+        return component != null && remove(component);
+    }
 
-        return false;
+    @Override
+    public Object clone() {
+        ComponentList clone = (ComponentList) super.clone();
+        clone.index = null;
+        return clone;
     }
 
     public void sort() {
@@ -36,6 +36,8 @@ import com.salesforce.ide.core.internal.utils.QualifiedNames;
 import com.salesforce.ide.core.internal.utils.QuietCloseable;
 import com.salesforce.ide.core.internal.utils.ResourceProperties;
 import com.salesforce.ide.core.internal.utils.Utils;
+import com.salesforce.ide.core.project.ContentManifest;
+import com.salesforce.ide.core.project.ContentManifestTracker;
 import com.salesforce.ide.core.project.ForceProjectException;
 import com.salesforce.ide.core.project.MarkerUtils;
 
@@ -57,6 +59,8 @@ public abstract class ComponentResource implements IComponent {
     private IFile resource;
     private IFolder bundleFolder;
     private byte[] file;
+    private ComponentBody lazyBody;
+    private long payloadChecksum = INIT_CHECKSUM;
 
     protected ComponentResource() {
         super();
@@ -94,6 +98,9 @@ public abstract class ComponentResource implements IComponent {
 
     @Override
     public long getBodyChecksum() {
+        final ComponentBody body = this.lazyBody;
+        if (null != body) return body.getChecksum(INIT_CHECKSUM);
+
         final byte[] content = this.file;
         if (null == content) return INIT_CHECKSUM;
 
@@ -110,11 +117,44 @@ public abstract class ComponentResource implements IComponent {
 
     @Override
     public byte[] getFile() {
-        return file;
+        final ComponentBody body = this.lazyBody;
+        return null != body ? body.getContent() : file;
     }
 
     public void setFile(byte[] file) {
         this.file = file;
+        this.lazyBody = null;
+    }
+
+    /**
+     * @return the checksum of the body as it was last written to a deploy payload, or -1 if it wasn't. Unlike
+     *         {@link #getBodyChecksum()}, it doesn't change when the file is edited while the deploy runs.
+     */
+    public long getPayloadChecksum() {
+        return payloadChecksum;
+    }
+
+    public void setPayloadChecksum(long payloadChecksum) {
+        this.payloadChecksum = payloadChecksum;
+    }
+
+    /**
+     * Drops the body held by this component once it has been saved to its file resource, keeping its checksum. The
+     * body is then read from the file on demand, as for components loaded with lazy bodies.
+     */
+    public void releaseBody() {
+        final byte[] content = this.file;
+        if (null == content || null == resource || !resource.exists()) return;
+
+        this.lazyBody = new ComponentBody(resource, generateChecksum(content));
+        this.file = null;
+    }
+
+    /**
+     * @return whether the body is read from the file resource on demand rather than held by this component
+     */
+    public boolean isBodyLazy() {
+        return null != lazyBody;
     }
 
     @Override
@@ -179,8 +219,16 @@ public abstract class ComponentResource implements IComponent {
     }
 
     private static Long getOriginalBodyChecksum(IResource res) {
-        final String value = null == res ? null : ResourceProperties.getProperty(res, QN_ORIGINAL_BODY_CHECKSUM);
-        return null == value ? null : Long.valueOf(value);
+        if (null == res) return null;
+
+        final long recorded = ContentManifestTracker.getInstance().getServerChecksum(res);
+        if (recorded != ContentManifest.UNKNOWN_CHECKSUM) return recorded;
+
+        // saved before the project had a content manifest
+        final String value = ResourceProperties.getProperty(res, QN_ORIGINAL_BODY_CHECKSUM);
+        if (null == value) return null;
+        ContentManifestTracker.getInstance().setServerChecksum(res, Long.parseLong(value));
+        return Long.valueOf(value);
     }
 
     protected String getLastModifiedById(IResource res) {
@@ -283,6 +331,7 @@ public abstract class ComponentResource implements IComponent {
                 resource.create(stream, true, new SubProgressMonitor(monitor, 1));
             }
             resource.setPersistentProperty(QN_ORIGINAL_BODY_CHECKSUM, "" + getBodyChecksum());
+            ContentManifestTracker.getInstance().setServerChecksum(resource, getBodyChecksum());
 
             // create parallel folder for folder metadata
             if (Constants.FOLDER.equals(getComponentType())) {
@@ -432,7 +481,12 @@ public abstract class ComponentResource implements IComponent {
         }
 
         if (includeBody) {
-            loadBodyFromFile(getFileResource());
+            if (Utils.isLazyComponentBodiesEnabled()) {
+                this.file = null;
+                this.lazyBody = new ComponentBody(getFileResource());
+            } else {
+                loadBodyFromFile(getFileResource());
+            }
         }
 
         loadProperties(getFileResource());
@@ -452,6 +506,7 @@ public abstract class ComponentResource implements IComponent {
         final byte[] content = Utils.getBytesFromFile(file);
         if (null != content) {
             this.file = content;
+            this.lazyBody = null;
         }
     }
 
@@ -504,17 +559,7 @@ public abstract class ComponentResource implements IComponent {
     }
 
     protected final static long generateChecksum(IFile file) {
-        long checksumValue = INIT_CHECKSUM;
-        if (file != null) {
-            try {
-                byte[] fileBtyes;
-                fileBtyes = Utils.getBytesFromStream(file.getContents(), 1024);
-                checksumValue = generateChecksum(fileBtyes);
-            } catch (Exception e) {
-                logger.error("Unable to get bytes from stream");
-            }
-        }
-        return checksumValue;
+        return file != null ? new ComponentBody(file).getChecksum(INIT_CHECKSUM) : INIT_CHECKSUM;
     }
 
     protected final static long generateChecksum(byte[] file) {
@@ -578,6 +623,7 @@ public abstract class ComponentResource implements IComponent {
             .append("originalBodyChecksum=").append(getOriginalBodyChecksum()).append(TAB)
             .append("resource=").append(this.resource != null ? this.resource.getName() : null).append(TAB)
             .append("file size=").append(this.file != null ? this.file.length : 0)
+            .append(this.lazyBody != null ? " (lazy)" : "")
             .toString()
             ;
     }
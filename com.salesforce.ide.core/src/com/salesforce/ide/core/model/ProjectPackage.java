@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.zip.ZipOutputStream;
 
 import javax.xml.bind.JAXBException;
 
@@ -28,7 +27,6 @@ import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
@@ -37,9 +35,8 @@ import com.salesforce.ide.core.factories.ComponentFactory;
 import com.salesforce.ide.core.factories.FactoryException;
 import com.salesforce.ide.core.factories.PackageManifestFactory;
 import com.salesforce.ide.core.internal.utils.Constants;
-import com.salesforce.ide.core.internal.utils.QuietCloseable;
+import com.salesforce.ide.core.internal.utils.DeployPayloadWriter;
 import com.salesforce.ide.core.internal.utils.Utils;
-import com.salesforce.ide.core.internal.utils.ZipUtils;
 import com.salesforce.ide.core.internal.utils.ZipUtils.ZipStats;
 import com.salesforce.ide.core.project.ForceProjectException;
 import com.salesforce.ide.core.services.ProjectService;
@@ -429,35 +426,28 @@ public class ProjectPackage {
             return zipAsBytes;
         }
 
-        try (final QuietCloseable<ByteArrayOutputStream> c0 = QuietCloseable.make(new ByteArrayOutputStream())) {
-            final ByteArrayOutputStream bos = c0.get();
-
-            // new zip stats to gather info about zip
-            ZipStats stats = new ZipStats();
-
-            try (final QuietCloseable<ZipOutputStream> c = QuietCloseable.make(new ZipOutputStream(bos))) {
-                final ZipOutputStream zos = c.get();
-
-                // add each component in component list to zip
-                for (Component component : componentList) {
-                    if (manifestsOnly && !component.isPackageManifest()) {
-                        continue;
-                    }
-
-                    IFile file = component.getFileResource();
-                    IPath path = file.getFullPath();
-                    stats.addStats(ZipUtils.zipFile(file.getProjectRelativePath().toPortableString(), path.toFile(),
-                        zos, Integer.MAX_VALUE));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ZipStats stats;
+        try (DeployPayloadWriter payload =
+                new DeployPayloadWriter(bos, DeployPayloadWriter.getConfiguredCompressionLevel())) {
+            // add each component in component list to zip
+            for (Component component : componentList) {
+                if (manifestsOnly && !component.isPackageManifest()) {
+                    continue;
                 }
+
+                IFile file = component.getFileResource();
+                payload.add(file.getProjectRelativePath().toPortableString(), file.getFullPath().toFile());
             }
+            stats = payload.getStats();
+        }
 
-            zipAsBytes = bos.toByteArray();
+        zipAsBytes = bos.toByteArray();
 
-            if (logger.isDebugEnabled()) {
-                logger.debug(stats.toString());
-            }
-            return zipAsBytes;
+        if (logger.isDebugEnabled()) {
+            logger.debug(stats.toString());
         }
+        return zipAsBytes;
     }
 
     private static byte[] getZipRoot(boolean manifestsOnly) {
@@ -465,7 +455,10 @@ public class ProjectPackage {
         return zipAsBytes;
     }
 
-    public void addComponentsToZip(ZipStats stats, ZipOutputStream zos, boolean manifestsOnly) throws IOException {
+    /**
+     * Adds the package's components to the deploy archive.
+     */
+    public void addComponentsToPayload(DeployPayloadWriter payload, boolean manifestsOnly) throws IOException {
         if (Utils.isEmpty(componentList)) {
             return;
         }
@@ -475,8 +468,8 @@ public class ProjectPackage {
                 continue;
             }
 
-            ZipStats tmpStats = null;
             String filePath = Utils.stripSourceFolder(component.getMetadataFilePath());
+
             // retrieve component content from file first instead of component body, see bug
             // W-576656
             if (component.getFileResource() != null || component.getBundleFolder() != null) {
@@ -490,22 +483,25 @@ public class ProjectPackage {
                     logger.warn("File '" + file.getAbsolutePath() + "' does not exist");
                     continue;
                 }
-                // get zip and add to zip stats
-                tmpStats = ZipUtils.zipFile(filePath, file, zos, Integer.MAX_VALUE);
+                payload.add(filePath, file);
+
+                // what was deployed, should the file be edited before the deploy completes
+                Long checksum = payload.getChecksum(filePath);
+                if (checksum != null && component.getFileResource() != null) {
+                    component.setPayloadChecksum(checksum.longValue());
+                }
             } else if (component.getBody() != null) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Zipping content from component's body");
                 }
 
-                // get zip and add to zip stats
-                tmpStats = ZipUtils.zipFile(filePath, component.getBody(), zos, Integer.MAX_VALUE);
+                payload.add(filePath, component.getBody());
             } else if (Utils.isNotEmpty(component.getFile())) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("Zipping content from derived component file");
                 }
 
-                // get zip and add to zip stats
-                tmpStats = ZipUtils.zipFile(filePath, component.getFile(), zos, Integer.MAX_VALUE);
+                payload.add(filePath, component.getFile());
             } else {
                 logger.warn(
                     "Unable to zip '" 
@@ -514,18 +510,13 @@ public class ProjectPackage {
                     + component.getFullDisplayName() + " is null");
                 continue;
             }
-
-            if (stats != null) {
-                stats.addStats(tmpStats);
-                logger.debug("Updated zip stats:\n" + stats.toString());
-            }
         }
 
         // add delete manifest
-        addDeleteManifestToZip(stats, zos);
+        addDeleteManifestToPayload(payload);
     }
 
-    public void addDeleteManifestToZip(ZipStats stats, ZipOutputStream zos) throws IOException {
+    public void addDeleteManifestToPayload(DeployPayloadWriter payload) throws IOException {
         if (deleteManifest == null) {
             return;
         }
@@ -543,19 +534,9 @@ public class ProjectPackage {
             return;
         }
 
-        // get zip and add to zip stats
-        ZipStats tmpStats = ZipUtils.zipFile(Constants.DESTRUCTIVE_MANIFEST_FILE_NAME, deleteManifestStr, zos, Integer.MAX_VALUE);
+        payload.add(Constants.DESTRUCTIVE_MANIFEST_FILE_NAME, deleteManifestStr);
 
-        logger.debug(
-            "Added  '" 
-            + Constants.DESTRUCTIVE_MANIFEST_FILE_NAME 
-            + "' to zip with zip stats:\n "
-            + tmpStats.toString());
-
-        if (stats != null) {
-            stats.addStats(tmpStats);
-            logger.debug("Updated zip stats:\n" + stats.toString());
-        }
+        logger.debug("Added  '" + Constants.DESTRUCTIVE_MANIFEST_FILE_NAME + "' to zip");
     }
 
     public void addComponent(Component component) {
@@ -12,17 +12,23 @@ package com.salesforce.ide.core.model;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 import org.apache.log4j.Logger;
 import org.apache.log4j.lf5.util.StreamUtils;
@@ -42,9 +48,11 @@ import com.salesforce.ide.core.factories.FactoryException;
 import com.salesforce.ide.core.factories.PackageManifestFactory;
 import com.salesforce.ide.core.factories.ProjectPackageFactory;
 import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.DeployPayloadWriter;
 import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
 import com.salesforce.ide.core.internal.utils.MessageDialogRunnable;
 import com.salesforce.ide.core.internal.utils.Messages;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.QuietCloseable;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.internal.utils.ZipUtils;
@@ -308,28 +316,33 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
     }
 
     public byte[] getZip(boolean manifestsOnly) throws IOException {
-        try (final QuietCloseable<ByteArrayOutputStream> c0 = QuietCloseable.make(new ByteArrayOutputStream())) {
-            final ByteArrayOutputStream bos = c0.get();
-
-            try (final QuietCloseable<ZipOutputStream> c = QuietCloseable.make(new ZipOutputStream(bos))) {
-                final ZipOutputStream zos = c.get();
-    
-                // new zip stats to gather info about zip
-                ZipStats stats = new ZipStats();
-                for (ProjectPackage projectPackage : this) {
-                    projectPackage.addComponentsToZip(stats, zos, manifestsOnly);
-                }
-        
-                final byte[] zipAsBytes = bos.toByteArray();
-        
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Zip stats for entire project package list:\n" + stats.toString());
-                    ZipUtils.writeDeployZipToTempDir(zipAsBytes);
-                }
-        
-                return zipAsBytes;
+        final long start = System.nanoTime();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ZipStats stats;
+        try (DeployPayloadWriter payload =
+                new DeployPayloadWriter(bos, DeployPayloadWriter.getConfiguredCompressionLevel())) {
+            for (ProjectPackage projectPackage : this) {
+                projectPackage.addComponentsToPayload(payload, manifestsOnly);
             }
+            if (payload.getDuplicateCount() > 0 && logger.isInfoEnabled()) {
+                logger.info("Skipped " + payload.getDuplicateCount() + " duplicate entries in deploy payload");
+            }
+            stats = payload.getStats();
         }
+        final byte[] zipAsBytes = bos.toByteArray();
+        MetricsRegistry.getInstance().timer(MetricsRegistry.DEPLOY_PAYLOAD_BUILD).stop(start);
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Built deploy payload of " + stats.getNumEntries() + " entries, " + zipAsBytes.length
+                    + " bytes (" + stats.getTotalBytes() + " uncompressed) in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Zip stats for entire project package list:\n" + stats.toString());
+            ZipUtils.writeDeployZipToTempDir(zipAsBytes);
+        }
+
+        return zipAsBytes;
     }
 
     public void parseZip(byte[] zipFile, IProgressMonitor monitor) throws IOException {
@@ -360,20 +373,49 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
                     continue;
                 }
 
-                ProjectPackage projectPackage = null;
-                // path starts with package name
-                if (startsWithPackageName(folderNames, name)) {
-                    projectPackage = getProjectPackage(name.split("/")[0]);
-                } else if (size() > 0) {
-                    projectPackage = get(0);
-                } else {
-                    projectPackage = getProjectPackage(Constants.DEFAULT_PACKAGED_NAME);
+                ProjectPackage projectPackage = getProjectPackageForZipEntry(folderNames, name);
+                if (projectPackage == null) {
+                    continue;
                 }
 
+                projectPackage.addFilePathZipMapping(name, fileContent);
+            }
+        }
+
+        monitorWork(monitor);
+    }
+
+    /**
+     * Same as {@link #parseZip(byte[], IProgressMonitor)} for a zip on disk, such as one spilled by
+     * {@link com.salesforce.ide.core.remote.metadata.RetrieveResultExt#spillZipFile()}, so that the zip itself is
+     * never read into memory as a whole.
+     */
+    public void parseZip(File zipFile, IProgressMonitor monitor) throws IOException {
+        if (zipFile == null) {
+            throw new IllegalArgumentException("File zip cannot be null");
+        }
+
+        monitor.subTask("Parsing retrieved zip response...");
+
+        List<String> folderNames = projectService.getComponentFactory().getFolderNamesForFolderComponents();
+
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+                ZipEntry ze = e.nextElement();
+                if (ze.isDirectory()) {
+                    continue;
+                }
+
+                String name = ze.getName();
+                ProjectPackage projectPackage = getProjectPackageForZipEntry(folderNames, name);
                 if (projectPackage == null) {
                     continue;
                 }
 
+                byte[] fileContent;
+                try (InputStream in = zip.getInputStream(ze)) {
+                    fileContent = StreamUtils.getBytes(in);
+                }
                 projectPackage.addFilePathZipMapping(name, fileContent);
             }
         }
@@ -381,6 +423,17 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         monitorWork(monitor);
     }
 
+    private ProjectPackage getProjectPackageForZipEntry(List<String> folderNames, String name) {
+        // path starts with package name
+        if (startsWithPackageName(folderNames, name)) {
+            return getProjectPackage(name.split("/")[0]);
+        } else if (size() > 0) {
+            return get(0);
+        } else {
+            return getProjectPackage(Constants.DEFAULT_PACKAGED_NAME);
+        }
+    }
+
     // FIXME: this does not handle instances where the package name is the same name as the folder-based
     // component's default folder (<package>/<default-folder>/<customer-folder>/<component-full-name>).
     // for example "documents/documents/documents/doc.txt
@@ -427,21 +480,55 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         if (zipFile != null) {
             parseZip(zipFile, new SubProgressMonitor(monitor, 2));
         } else {
-            ProjectPackage projectPackage = getProjectPackage(Constants.DEFAULT_PACKAGED_NAME);
-            FileProperties[] filePropertiesArry = fileMetadataHandler.getFileProperties();
-            for (FileProperties fileProperties : filePropertiesArry) {
-                String filePath = fileProperties.getFileName();
-                if (Utils.isNotEmpty(filePath)) {
-                    projectPackage.addFilePathZipMapping(filePath, null);
-                }
-            }
+            addFilePropertiesPaths(fileMetadataHandler);
+        }
 
-            add(projectPackage);
+        generateComponents(fileMetadataHandler, componentTypes, monitor);
+    }
+
+    public void generateComponents(File zipFile, FileMetadataExt fileMetadataHandler) throws InterruptedException,
+            IOException {
+        generateComponents(zipFile, fileMetadataHandler, new NullProgressMonitor());
+    }
+
+    public void generateComponents(File zipFile, FileMetadataExt fileMetadataHandler, IProgressMonitor monitor)
+            throws InterruptedException, IOException {
+        generateComponentsForComponentTypes(zipFile, fileMetadataHandler, null, monitor);
+    }
+
+    /**
+     * Same as {@link #generateComponentsForComponentTypes(byte[], FileMetadataExt, String[], IProgressMonitor)} for
+     * a zip on disk, see {@link #parseZip(File, IProgressMonitor)}.
+     */
+    public void generateComponentsForComponentTypes(File zipFile, FileMetadataExt fileMetadataHandler,
+            String[] componentTypes, IProgressMonitor monitor) throws InterruptedException, IOException {
+        if (fileMetadataHandler == null) {
+            throw new IllegalArgumentException("FileMetadataHandler, zip, and/or object types cannot be null");
+        }
+
+        if (zipFile != null) {
+            parseZip(zipFile, new SubProgressMonitor(monitor, 2));
+        } else {
+            addFilePropertiesPaths(fileMetadataHandler);
         }
 
         generateComponents(fileMetadataHandler, componentTypes, monitor);
     }
 
+    // without a zip, components are generated from the listed file properties alone
+    private void addFilePropertiesPaths(FileMetadataExt fileMetadataHandler) {
+        ProjectPackage projectPackage = getProjectPackage(Constants.DEFAULT_PACKAGED_NAME);
+        FileProperties[] filePropertiesArry = fileMetadataHandler.getFileProperties();
+        for (FileProperties fileProperties : filePropertiesArry) {
+            String filePath = fileProperties.getFileName();
+            if (Utils.isNotEmpty(filePath)) {
+                projectPackage.addFilePathZipMapping(filePath, null);
+            }
+        }
+
+        add(projectPackage);
+    }
+
     private void generateComponents(
         FileMetadataExt fileMetadataHandler,
         String[] componentTypes,
@@ -650,12 +737,9 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         }
 
         for (ProjectPackage projectPackage : this) {
-            ComponentList componentList = projectPackage.getComponentList();
-            for (Component component : componentList) {
-                if (Utils.isNotEmpty(component.getMetadataFilePath())
-                        && isEqualStripSourcePrefix(filePath, component.getMetadataFilePath())) {
-                    return component;
-                }
+            Component component = projectPackage.getComponentList().getComponentBySourceRelativeFilePath(filePath);
+            if (component != null) {
+                return component;
             }
         }
 
@@ -669,11 +753,9 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         }
 
         for (ProjectPackage projectPackage : this) {
-            ComponentList componentList = projectPackage.getComponentsByComponentType(componentType);
-            for (Component component : componentList) {
-                if (Utils.isNotEmpty(component.getName()) && component.getName().equals(name)) {
-                    return component;
-                }
+            Component component = projectPackage.getComponentList().getComponentByNameType(name, componentType);
+            if (component != null) {
+                return component;
             }
         }
 
@@ -705,11 +787,9 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         }
 
         for (ProjectPackage projectPackage : this) {
-            ComponentList componentList = projectPackage.getComponentList();
-            for (Component component : componentList) {
-                if (Utils.isNotEmpty(component.getFileName()) && fileName.equals(component.getFileName())) {
-                    return component;
-                }
+            Component component = projectPackage.getComponentList().getComponentByExactFileName(fileName);
+            if (component != null) {
+                return component;
             }
         }
 
@@ -725,12 +805,9 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         }
 
         for (ProjectPackage projectPackage : this) {
-            ComponentList componentList = projectPackage.getComponentList();
-            for (Component component : componentList) {
-                if (Utils.isNotEmpty(component.getMetadataFilePath())
-                        && fileName.equals(component.getMetadataFilePath())) {
-                    return component;
-                }
+            Component component = projectPackage.getComponentList().getComponentByMetadataFilePath(fileName);
+            if (component != null) {
+                return component;
             }
         }
 
@@ -738,28 +815,14 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         return null;
     }
 
-    private static boolean isEqualStripSourcePrefix(String filepathA, String filepathB) {
-        if (Utils.isEmpty(filepathA) || Utils.isEmpty(filepathB)) {
-            return false;
-        }
-
-        filepathA = Utils.stripSourceFolder(filepathA);
-        filepathB = Utils.stripSourceFolder(filepathB);
-
-        return filepathA.equals(filepathB);
-
-    }
-
     public Component getComponentById(String id) {
         Component component = null;
         if (!isEmpty() && Utils.isNotEmpty(id)) {
+            // the last package that has the id wins
             for (ProjectPackage projectPackage : this) {
-                ComponentList componentList = projectPackage.getComponentList();
-                for (Component tmpComponent : componentList) {
-                    if (id.equals(tmpComponent.id)) {
-                        component = tmpComponent;
-                        break;
-                    }
+                Component tmpComponent = projectPackage.getComponentList().getComponentByExactId(id);
+                if (tmpComponent != null) {
+                    component = tmpComponent;
                 }
             }
         }
@@ -791,10 +854,6 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         boolean result = false;
         for (ProjectPackage projectPackage : this) {
             ComponentList componentList = projectPackage.getComponentList();
-            if (!componentList.contains(component)) {
-                continue;
-            }
-
             result = componentList.remove(component);
             if (result) {
                 if (logger.isDebugEnabled()) {
@@ -1068,6 +1127,113 @@ public class ProjectPackageList extends ArrayList<ProjectPackage> {
         
     }
 
+    /**
+     * Creates and saves the components of a retrieved zip one entry at a time, instead of unpacking the whole zip into
+     * memory first as {@link #generateComponents(byte[], FileMetadataExt)} does. Only the entry being saved is held in
+     * memory: once a component is saved, its body is dropped and read back from the saved file if it's needed again,
+     * so peak heap doesn't grow with the size of the zip. Components are added to their project package as with
+     * generateComponents, so retrieve messages can be applied afterwards.
+     * 
+     * Callers should run this inside a workspace operation.
+     */
+    public void saveResources(File zipFile, FileMetadataExt fileMetadataHandler, String[] componentTypes,
+            IProgressMonitor monitor) throws InterruptedException, IOException {
+        if (project == null || zipFile == null || fileMetadataHandler == null) {
+            throw new IllegalArgumentException("Project, zip file, and/or FileMetadataHandler cannot be null");
+        }
+
+        List<String> designatedSaveComponentTypes = null;
+        if (Utils.isNotEmpty(componentTypes)) {
+            designatedSaveComponentTypes = Arrays.asList(componentTypes);
+        }
+
+        List<String> folderNames = projectService.getComponentFactory().getFolderNamesForFolderComponents();
+        Set<ProjectPackage> savedProjectPackages = new LinkedHashSet<>();
+        boolean skipAllReadOnlyExceptions = false;
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            // save in file path order, as generateComponents does
+            List<ZipEntry> entries = new ArrayList<>(zip.size());
+            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+                ZipEntry ze = e.nextElement();
+                if (!ze.isDirectory()) {
+                    entries.add(ze);
+                }
+            }
+            Collections.sort(entries, (ze1, ze2) -> ze1.getName().compareTo(ze2.getName()));
+
+            int savedCount = 0;
+            int totalCount = entries.size();
+            monitor.beginTask(Messages.getString("Components.Generating"), totalCount);
+            for (ZipEntry ze : entries) {
+                monitorCheck(monitor);
+
+                String filePath = ze.getName();
+                ProjectPackage projectPackage = getProjectPackageForZipEntry(folderNames, filePath);
+                if (projectPackage == null) {
+                    continue;
+                }
+
+                byte[] fileBytes;
+                try (InputStream in = zip.getInputStream(ze)) {
+                    fileBytes = StreamUtils.getBytes(in);
+                }
+
+                // metadata components look up their own contents in the mapping while they are created
+                projectPackage.addFilePathZipMapping(filePath, fileBytes);
+                Component component = null;
+                try {
+                    component = getComponentFactory().createComponent(
+                        projectPackage,
+                        filePath,
+                        fileBytes,
+                        fileMetadataHandler);
+                } catch (Exception e) {
+                    logger.error("Unable to create component for file path '" + filePath + "'", e);
+                    continue;
+                } finally {
+                    projectPackage.addFilePathZipMapping(filePath, null);
+                }
+
+                if (component == null || !isDesiredComponentType(designatedSaveComponentTypes, component)) {
+                    continue;
+                }
+                projectPackage.addComponent(component);
+                savedProjectPackages.add(projectPackage);
+
+                // Do not save the packageManifest response since that is only for this particular deploy
+                if (component.getComponentType().equals(Constants.PACKAGE_MANIFEST)
+                        && (Utils.isEmpty(componentTypes)
+                                || !isDesignatedSaveComponentType(designatedSaveComponentTypes, component))) {
+                    continue;
+                }
+
+                try {
+                    monitor.setTaskName(
+                        Messages.getString("Components.Generating.Updating",
+                        new Object[] { savedCount++, totalCount }));
+                    monitor.worked(1);
+                    component.saveToFile(project, projectPackage, new SubProgressMonitor(monitor, 1));
+                    component.releaseBody();
+                } catch (OperationCanceledException e) {
+                    break;
+                } catch (CoreException e) {
+                    if (ForceExceptionUtils.isReadOnlyException(e)) {
+                        if (!skipAllReadOnlyExceptions) {
+                            skipAllReadOnlyExceptions = handleReadOnlyException(e, component);
+                        }
+                        component.handleReadOnlyFile();
+                    }
+                } catch (Exception e) {
+                    handleSaveException(e, component);
+                }
+            }
+        }
+
+        for (ProjectPackage projectPackage : savedProjectPackages) {
+            SyncServiceListenerBroadcaster.broadcast(projectPackage.getComponentList());
+        }
+    }
+
     private static boolean handleReadOnlyException(CoreException coreException, Component component) {
         boolean skipAllReadOnlyExceptions = false;
         if (ForceExceptionUtils.isReadOnlyException(coreException) && !skipAllReadOnlyExceptions) {
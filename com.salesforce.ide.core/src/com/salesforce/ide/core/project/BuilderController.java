@@ -81,7 +81,20 @@ public class BuilderController extends Controller {
         this.bubbleExceptions = bubbleExceptions;
     }
 
+    /**
+     * Queues the components to be saved together with the ones saved shortly after, see {@link SaveQueue}. Saves
+     * right away if the queue is turned off or exceptions are to be bubbled up to the caller.
+     */
     public void build(ComponentList saveComponentList, IProject project, IProgressMonitor monitor) throws Exception {
+        long window = SaveQueue.getConfiguredWindow();
+        if (window > 0 && !bubbleExceptions) {
+            SaveQueue.getInstance().submit(this, project, saveComponentList, window);
+        } else {
+            buildNow(saveComponentList, project, monitor);
+        }
+    }
+
+    void buildNow(ComponentList saveComponentList, IProject project, IProgressMonitor monitor) throws Exception {
         ForceProject forceProject =
                 ContainerDelegate.getInstance().getServiceLocator().getProjectService().getForceProject(project);
 
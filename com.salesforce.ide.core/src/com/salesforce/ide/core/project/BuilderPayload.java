@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.salesforce.ide.core.project;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 
@@ -214,6 +215,18 @@ public class BuilderPayload {
                 continue;
             }
 
+            // the server already has this body; neither check it for conflicts nor save it.  a body that failed
+            // to save, or was found in conflict, is saved again so that its markers are settled by the save.
+            IFile file = component.getFileResource();
+            if (!component.isPackageManifest() && file != null
+                    && !MarkerUtils.getInstance().hasMarker(file, MarkerUtils.MARKER_SAVE_ERROR)
+                    && !ContentManifestTracker.getInstance().hasLocalChanged(file)) {
+                logger.info("Skipping unchanged component, " + component.getFullDisplayName());
+                // nothing else clears the dirty marker the builder applied before the save
+                MarkerUtils.getInstance().clearDirty(file);
+                continue;
+            }
+
             projectPackageList.addComponent(component);
         }
     }
@@ -252,14 +265,20 @@ public class BuilderPayload {
             logger.warn(strBuff.toString());
         }
 
-        if (retrieveResultHandler.getZipFileCount() != projectPackageList.getComponentCount(false)) {
-            logger.warn("Remote retrieve result count [" + retrieveResultHandler.getZipFileCount() + "] does not equal request count [" + projectPackageList.getComponentCount(false) + "].");
-        }
+        ProjectPackageList remoteProjectPackageList = null;
+        try {
+            File zipFile = retrieveResultHandler.spillZipFile();
+            if (retrieveResultHandler.getZipFileCount() != projectPackageList.getComponentCount(false)) {
+                logger.warn("Remote retrieve result count [" + retrieveResultHandler.getZipFileCount() + "] does not equal request count [" + projectPackageList.getComponentCount(false) + "].");
+            }
 
-        ProjectPackageList remoteProjectPackageList = factoryLocator.getProjectPackageFactory().getProjectPackageListInstance(
-        		project,
-                retrieveResultHandler.getZipFile(),
+            remoteProjectPackageList = factoryLocator.getProjectPackageFactory().getProjectPackageListInstance(
+                project,
+                zipFile,
                 retrieveResultHandler.getFileMetadataHandler());
+        } finally {
+            retrieveResultHandler.dispose();
+        }
 
         // for each component in each package in build payload, check for conflict
         for (ProjectPackage projectPackage : projectPackageList) {
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Size, modification time and CRC32 of each file of a project, along with the CRC32 of the body last saved from the
+ * server. Checksums are only recomputed when a file's size or modification time changed or the file was invalidated,
+ * so finding the files that differ from the server doesn't read the ones that don't.
+ *
+ * Files are keyed by their project relative path. The checksums are the ones of
+ * {@link com.salesforce.ide.core.model.ComponentResource#getBodyChecksum()}.
+ *
+ * @author nchen
+ */
+public class ContentManifest {
+    private static final Logger logger = Logger.getLogger(ContentManifest.class);
+
+    public static final long UNKNOWN_CHECKSUM = -1;
+
+    private static final int MAGIC = 0x434d4e46; // "CMNF"
+    private static final int FORMAT_VERSION = 2;
+    private static final long UNKNOWN = -1;
+
+    static final class Entry {
+        final long size;
+        final long modified;
+        final long checksum;
+        final long serverChecksum;
+
+        Entry(long size, long modified, long checksum, long serverChecksum) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+            this.serverChecksum = serverChecksum;
+        }
+
+        boolean isCurrent(File file) {
+            return checksum != UNKNOWN && size == file.length() && modified == file.lastModified();
+        }
+
+        Entry withServerChecksum(long newServerChecksum) {
+            return new Entry(size, modified, checksum, newServerChecksum);
+        }
+
+        Entry invalidated() {
+            return new Entry(UNKNOWN, UNKNOWN, UNKNOWN, serverChecksum);
+        }
+    }
+
+    private final File store;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    /**
+     * @param store
+     *            where the manifest is persisted, or null to only keep it in memory
+     */
+    public ContentManifest(File store) {
+        this.store = store;
+        load();
+    }
+
+    /**
+     * @return the CRC32 of the file, or {@link #UNKNOWN_CHECKSUM} if it can't be read
+     */
+    public long getChecksum(String path, File file) {
+        Entry entry = getCurrentEntry(path, file);
+        return entry != null ? entry.checksum : UNKNOWN_CHECKSUM;
+    }
+
+    /**
+     * @return the checksum of the body last saved from the server, or {@link #UNKNOWN_CHECKSUM}
+     */
+    public long getServerChecksum(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.serverChecksum : UNKNOWN_CHECKSUM;
+    }
+
+    public void setServerChecksum(String path, long serverChecksum) {
+        Entry entry = entries.get(path);
+        entries.put(path, entry != null ? entry.withServerChecksum(serverChecksum)
+                : new Entry(UNKNOWN, UNKNOWN, UNKNOWN, serverChecksum));
+        dirty = true;
+    }
+
+    /**
+     * @return whether the file differs from the body last saved from the server, or nothing is known about it
+     */
+    public boolean hasLocalChanged(String path, File file) {
+        long serverChecksum = getServerChecksum(path);
+        return serverChecksum == UNKNOWN_CHECKSUM || getChecksum(path, file) != serverChecksum;
+    }
+
+    /**
+     * Makes the next lookup of the file read it again, e.g. after its contents changed within the resolution of its
+     * modification time.
+     */
+    public void invalidate(String path) {
+        Entry entry = entries.get(path);
+        if (entry != null && entry.checksum != UNKNOWN) {
+            entries.put(path, entry.invalidated());
+            dirty = true;
+        }
+    }
+
+    public void remove(String path) {
+        if (entries.remove(path) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Keeps the checksum of a moved file. What the server has at the new path isn't known.
+     */
+    public void move(String fromPath, String toPath) {
+        Entry entry = entries.remove(fromPath);
+        if (entry != null) {
+            entries.put(toPath, entry.withServerChecksum(UNKNOWN_CHECKSUM));
+            dirty = true;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    private Entry getCurrentEntry(String path, File file) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        Entry entry = entries.get(path);
+        if (entry != null && entry.isCurrent(file)) {
+            return entry;
+        }
+
+        long size = file.length();
+        long modified = file.lastModified();
+        CRC32 checksum = new CRC32();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = in.read(buffer)) >= 0) {
+                checksum.update(buffer, 0, len);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to read '" + path + "': " + e.getMessage());
+            return null;
+        }
+
+        Entry current = new Entry(size, modified, checksum.getValue(),
+                entry != null ? entry.serverChecksum : UNKNOWN_CHECKSUM);
+        entries.put(path, current);
+        dirty = true;
+        return current;
+    }
+
+    private void load() {
+        if (store == null || !store.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(store)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.info("Ignoring content manifest '" + store + "' written in an unknown format");
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long modified = in.readLong();
+                long checksum = in.readLong();
+                long serverChecksum = in.readLong();
+                entries.put(path, new Entry(size, modified, checksum, serverChecksum));
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to read content manifest '" + store + "': " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    public void save() {
+        if (store == null || !dirty) {
+            return;
+        }
+        dirty = false;
+
+        File temp = null;
+        try {
+            File directory = store.getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Unable to create directory '" + directory + "'");
+            }
+            temp = File.createTempFile(store.getName(), ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                Map<String, Entry> snapshot = new HashMap<>(entries);
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Entry> mapEntry : snapshot.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    out.writeUTF(mapEntry.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeLong(entry.checksum);
+                    out.writeLong(entry.serverChecksum);
+                }
+            }
+            Files.move(temp.toPath(), store.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            logger.warn("Unable to write content manifest '" + store + "': " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Forgets all files and deletes the persisted manifest.
+     */
+    public void delete() {
+        entries.clear();
+        dirty = false;
+        if (store != null && store.exists() && !store.delete()) {
+            logger.warn("Unable to delete content manifest '" + store + "'");
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import com.salesforce.ide.core.ForceIdeCorePlugin;
+import com.salesforce.ide.core.internal.utils.Utils;
+
+/**
+ * Keeps a {@link ContentManifest} per project and follows resource deltas to invalidate, move and drop its entries,
+ * so files are only read again when they changed. Manifests are loaded on first use and saved to the plugin's state
+ * location when their project is closed or the plugin stops.
+ *
+ * @author nchen
+ */
+public class ContentManifestTracker implements IResourceChangeListener {
+
+    private static final Logger logger = Logger.getLogger(ContentManifestTracker.class);
+
+    private static final String MANIFEST_DIRECTORY = "manifests";
+    private static final String MANIFEST_EXTENSION = ".manifest";
+
+    private static final ContentManifestTracker instance = new ContentManifestTracker();
+
+    private final ConcurrentMap<String, ContentManifest> manifests = new ConcurrentHashMap<>();
+
+    ContentManifestTracker() {}
+
+    public static ContentManifestTracker getInstance() {
+        return instance;
+    }
+
+    public void start() {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this,
+            IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Added " + getClass().getSimpleName() + " as workspace listener");
+        }
+    }
+
+    public void dispose() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        for (ContentManifest manifest : manifests.values()) {
+            manifest.save();
+        }
+        manifests.clear();
+    }
+
+    public ContentManifest getManifest(IProject project) {
+        ContentManifest manifest = manifests.get(project.getName());
+        return manifest != null ? manifest
+                : manifests.computeIfAbsent(project.getName(), name -> new ContentManifest(getStore(name)));
+    }
+
+    /**
+     * @return whether the file differs from the body last saved from the server; true if that isn't known
+     */
+    public boolean hasLocalChanged(IFile file) {
+        ContentManifest manifest = getManifest(file);
+        File location = toFile(file);
+        return manifest == null || location == null || manifest.hasLocalChanged(toKey(file), location);
+    }
+
+    /**
+     * @return the checksum of the body last saved from the server, or {@link ContentManifest#UNKNOWN_CHECKSUM}
+     */
+    public long getServerChecksum(IResource resource) {
+        ContentManifest manifest = getManifest(resource);
+        return manifest != null ? manifest.getServerChecksum(toKey(resource)) : ContentManifest.UNKNOWN_CHECKSUM;
+    }
+
+    public void setServerChecksum(IResource resource, long checksum) {
+        ContentManifest manifest = getManifest(resource);
+        if (manifest != null) {
+            manifest.setServerChecksum(toKey(resource), checksum);
+        }
+    }
+
+    private ContentManifest getManifest(IResource resource) {
+        IProject project = resource.getProject();
+        return project != null && project.getName() != null && resource.getProjectRelativePath() != null
+                ? getManifest(project) : null;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        switch (event.getType()) {
+        case IResourceChangeEvent.PRE_CLOSE:
+            ContentManifest closed = manifests.remove(event.getResource().getName());
+            if (closed != null) {
+                closed.save();
+            }
+            return;
+        case IResourceChangeEvent.PRE_DELETE:
+            String name = event.getResource().getName();
+            ContentManifest deleted = manifests.remove(name);
+            if (deleted != null) {
+                deleted.delete();
+            } else {
+                File store = getStore(name);
+                if (store != null && store.exists()) {
+                    store.delete();
+                }
+            }
+            return;
+        default:
+            break;
+        }
+
+        if (manifests.isEmpty() || event.getDelta() == null) {
+            return;
+        }
+
+        try {
+            event.getDelta().accept(new IResourceDeltaVisitor() {
+                @Override
+                public boolean visit(IResourceDelta delta) {
+                    IResource resource = delta.getResource();
+                    switch (resource.getType()) {
+                    case IResource.ROOT:
+                        return true;
+                    case IResource.PROJECT:
+                        // only follow projects whose manifest is in use
+                        return manifests.containsKey(resource.getName());
+                    case IResource.FILE:
+                        apply(manifests.get(resource.getProject().getName()), delta);
+                        return false;
+                    default:
+                        return true;
+                    }
+                }
+            });
+        } catch (CoreException e) {
+            String logMessage = Utils.generateCoreExceptionLog(e);
+            logger.warn("Unable to update content manifests: " + logMessage);
+        }
+    }
+
+    private static void apply(ContentManifest manifest, IResourceDelta delta) {
+        if (manifest == null) {
+            return;
+        }
+
+        String key = toKey(delta.getResource());
+        switch (delta.getKind()) {
+        case IResourceDelta.REMOVED:
+            IPath movedTo = delta.getMovedToPath();
+            if ((delta.getFlags() & IResourceDelta.MOVED_TO) != 0 && movedTo != null
+                    && movedTo.segmentCount() > 1
+                    && movedTo.segment(0).equals(delta.getResource().getProject().getName())) {
+                manifest.move(key, movedTo.removeFirstSegments(1).toPortableString());
+            } else {
+                manifest.remove(key);
+            }
+            break;
+        case IResourceDelta.CHANGED:
+            if ((delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+                manifest.invalidate(key);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static String toKey(IResource resource) {
+        return resource.getProjectRelativePath().toPortableString();
+    }
+
+    private static File toFile(IResource resource) {
+        IPath location = resource.getLocation();
+        return location != null ? location.toFile() : null;
+    }
+
+    private static File getStore(String projectName) {
+        ForceIdeCorePlugin plugin = ForceIdeCorePlugin.getDefault();
+        if (plugin == null || plugin.getBundle() == null) {
+            return null;
+        }
+        try {
+            return plugin.getStateLocation().append(MANIFEST_DIRECTORY).append(projectName + MANIFEST_EXTENSION)
+                    .toFile();
+        } catch (IllegalStateException e) {
+            logger.warn("Unable to locate content manifest of project '" + projectName + "': " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+
+import com.salesforce.ide.core.internal.utils.Utils;
+
+/**
+ * Marker creations and clears collected by {@link MarkerUtils#batch(MarkerUtils.MarkerUpdates)}, in the order they
+ * were made, to be applied in a single workspace operation.
+ *
+ * Updates are coalesced as they come in: a marker that a later clear would delete again is never created, the same
+ * marker isn't created twice on a resource and a clear that repeats an earlier clear with nothing in between is
+ * dropped.
+ *
+ * Clears are matched to creates by exact marker type, but the clear that is finally applied also deletes markers of
+ * its subtypes, e.g., clearing all problem markers deletes the dirty markers as well. So a create isn't dropped as a
+ * duplicate of one made before any clear of its resource, as that one may be gone by then.
+ *
+ * @author nchen
+ */
+class MarkerBatch {
+
+    static final class Update {
+        final IResource resource;
+        final String markerType;
+        // create only
+        final Map<String, Object> attributes;
+        final boolean unlessPresent;
+        // clear only
+        final String componentType;
+        final int depth;
+        final int sequence;
+        boolean canceled;
+        // a clear of the resource follows this create, so a later create is no duplicate of it
+        boolean clearedSince;
+
+        private Update(IResource resource, String markerType, Map<String, Object> attributes, boolean unlessPresent,
+                String componentType, int depth, int sequence) {
+            this.resource = resource;
+            this.markerType = markerType;
+            this.attributes = attributes;
+            this.unlessPresent = unlessPresent;
+            this.componentType = componentType;
+            this.depth = depth;
+            this.sequence = sequence;
+        }
+
+        boolean isCreate() {
+            return attributes != null;
+        }
+
+        // whether this clear deletes the markers the given create makes
+        boolean clears(Update create) {
+            if (!markerType.equals(create.markerType) || !covers(create.resource)) {
+                return false;
+            }
+            return Utils.isEmpty(componentType)
+                    || componentType.equals(create.attributes.get(MarkerUtils.MARKER_ATTR_OBJECT_TYPE));
+        }
+
+        boolean covers(IResource other) {
+            if (resource.equals(other)) {
+                return true;
+            }
+            switch (depth) {
+            case IResource.DEPTH_INFINITE:
+                return resource.getFullPath().isPrefixOf(other.getFullPath());
+            case IResource.DEPTH_ONE:
+                return resource.equals(other.getParent());
+            default:
+                return false;
+            }
+        }
+
+        boolean sameAs(Update other) {
+            return resource.equals(other.resource) && markerType.equals(other.markerType)
+                    && Objects.equals(attributes, other.attributes) && unlessPresent == other.unlessPresent
+                    && Objects.equals(componentType, other.componentType) && depth == other.depth;
+        }
+    }
+
+    private final List<Update> updates = new ArrayList<>();
+    private final Map<IResource, List<Update>> createsByResource = new HashMap<>();
+    private final Map<IResource, Update> lastClearByResource = new HashMap<>();
+
+    void create(IResource resource, String markerType, Map<String, Object> attributes, boolean unlessPresent) {
+        Update create =
+                new Update(resource, markerType, attributes, unlessPresent, null, IResource.DEPTH_ZERO, updates.size());
+        List<Update> creates = createsByResource.get(resource);
+        if (creates == null) {
+            creates = new ArrayList<>();
+            createsByResource.put(resource, creates);
+        }
+        for (Update pending : creates) {
+            if (!pending.canceled && !pending.clearedSince && pending.sameAs(create)) {
+                return;
+            }
+        }
+        creates.add(create);
+        updates.add(create);
+    }
+
+    void clear(IResource resource, String componentType, String markerType, int depth) {
+        Update clear = new Update(resource, markerType, null, false, componentType, depth, updates.size());
+
+        // markers this clear deletes again don't need to be created in the first place
+        if (depth == IResource.DEPTH_ZERO) {
+            cancelCreates(clear, createsByResource.get(resource));
+        } else {
+            for (List<Update> creates : createsByResource.values()) {
+                cancelCreates(clear, creates);
+            }
+        }
+
+        // nothing was created on the resource since the same clear
+        Update last = lastClearByResource.get(resource);
+        if (depth == IResource.DEPTH_ZERO && last != null && last.sameAs(clear)
+                && !hasCreateSince(resource, last.sequence)) {
+            return;
+        }
+        updates.add(clear);
+        lastClearByResource.put(resource, clear);
+    }
+
+    private static void cancelCreates(Update clear, List<Update> creates) {
+        if (creates != null) {
+            for (Update create : creates) {
+                if (!create.canceled && clear.clears(create)) {
+                    create.canceled = true;
+                } else if (clear.covers(create.resource)) {
+                    create.clearedSince = true;
+                }
+            }
+        }
+    }
+
+    private boolean hasCreateSince(IResource resource, int sequence) {
+        List<Update> creates = createsByResource.get(resource);
+        if (creates != null) {
+            for (Update create : creates) {
+                if (!create.canceled && create.sequence > sequence) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the updates to apply, in order
+     */
+    List<Update> getUpdates() {
+        List<Update> live = new ArrayList<>(updates.size());
+        for (Update update : updates) {
+            if (!update.canceled) {
+                live.add(update);
+            }
+        }
+        return live;
+    }
+
+    Set<IResource> getResources() {
+        Set<IResource> resources = new HashSet<>();
+        for (Update update : updates) {
+            resources.add(update.resource);
+        }
+        return Collections.unmodifiableSet(resources);
+    }
+
+    boolean isEmpty() {
+        return updates.isEmpty();
+    }
+}
@@ -11,19 +11,22 @@
 package com.salesforce.ide.core.project;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceRuleFactory;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 
 import com.salesforce.ide.core.ForceIdeCorePlugin;
 import com.salesforce.ide.core.internal.utils.Messages;
@@ -41,7 +44,7 @@ public class MarkerUtils {
     
     private static final Logger logger = Logger.getLogger(MarkerUtils.class);
     
-    private static final String MARKER_ATTR_OBJECT_TYPE = "ComponentType";
+    static final String MARKER_ATTR_OBJECT_TYPE = "ComponentType";
     
     // Superclass for all apex markers
     public static final String MARKER_PROBLEM = ForceIdeCorePlugin.getPluginId() + ".problem";
@@ -69,6 +72,16 @@ public class MarkerUtils {
     
     private static MarkerUtils instance = null;
     
+    // marker updates collected by the batch running on this thread, if any
+    private static final ThreadLocal<MarkerBatch> batches = new ThreadLocal<>();
+    
+    /**
+     * Marker updates to run in a batch
+     */
+    public interface MarkerUpdates<E extends Exception> {
+        void run() throws E;
+    }
+    
     protected MarkerUtils() {}
     
     public static MarkerUtils getInstance() {
@@ -78,6 +91,73 @@ public class MarkerUtils {
         return instance;
     }
     
+    /**
+     * Runs the updates, collecting every marker they apply or clear through this class on this thread, and then
+     * applies all of them in a single workspace operation. Resource change listeners get one notification for the
+     * whole batch instead of one per marker.
+     * 
+     * Markers aren't changed until the updates finished, so the updates shouldn't look up the markers they apply or
+     * clear. A batch started within a batch joins the outer one.
+     */
+    public <E extends Exception> void batch(MarkerUpdates<E> updates) throws E {
+        if (batches.get() != null) {
+            updates.run();
+            return;
+        }
+        
+        MarkerBatch batch = new MarkerBatch();
+        batches.set(batch);
+        try {
+            updates.run();
+        } finally {
+            batches.remove();
+            apply(batch);
+        }
+    }
+    
+    private void apply(final MarkerBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        final List<MarkerBatch.Update> updates = batch.getUpdates();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Applying batch of " + updates.size() + " marker update(s)");
+        }
+        
+        ISchedulingRule rule = null;
+        Set<IProject> projects = new HashSet<>();
+        IWorkspace workspace = null;
+        for (IResource resource : batch.getResources()) {
+            if (projects.add(resource.getProject())) {
+                rule = MultiRule.combine(rule, getRule(resource));
+            }
+            workspace = resource.getWorkspace();
+        }
+        
+        try {
+            IWorkspaceRunnable r = new IWorkspaceRunnable() {
+                @Override
+                public void run(IProgressMonitor monitor) throws CoreException {
+                    for (MarkerBatch.Update update : updates) {
+                        if (!update.resource.exists()) {
+                            continue;
+                        }
+                        if (!update.isCreate()) {
+                            deleteMarkers(update.resource, update.componentType, update.markerType, update.depth);
+                        } else if (!update.unlessPresent || !isDirty(update.resource, update.markerType)) {
+                            addMarker(update.resource, update.attributes, update.markerType);
+                        }
+                    }
+                }
+            };
+            workspace.run(r, rule, IWorkspace.AVOID_UPDATE, null);
+        } catch (CoreException e) {
+            String logMessage = Utils.generateCoreExceptionLog(e);
+            logger.warn("Unable to apply markers to resources: " + logMessage);
+        }
+    }
+    
     /**
      * Set a dirty resource marker on the resource
      * 
@@ -118,7 +198,9 @@ public class MarkerUtils {
      * @param resource
      */
     public void applyDirty(IResource resource, String markerId, String msg) {
-        if (isDirty(resource, markerId)) {
+        // a batch checks for the marker when it is applied, after the clears before it
+        MarkerBatch batch = batches.get();
+        if (batch == null && isDirty(resource, markerId)) {
             return;
         }
         Map<String, Object> attributes = new HashMap<>(4);
@@ -129,6 +211,12 @@ public class MarkerUtils {
         attributes.put(IMarker.SEVERITY, Integer.valueOf(IMarker.SEVERITY_WARNING));
         attributes.put(IMarker.PRIORITY, Integer.valueOf(IMarker.PRIORITY_HIGH));
         
+        if (batch != null) {
+            if (resource != null && resource.exists()) {
+                batch.create(resource, markerId, attributes, true);
+            }
+            return;
+        }
         createMarker(resource, attributes, markerId);
     }
     
@@ -474,13 +562,17 @@ public class MarkerUtils {
             return;
         }
         
+        MarkerBatch batch = batches.get();
+        if (batch != null) {
+            batch.create(resource, markerType, attributes, false);
+            return;
+        }
+        
         try {
             IWorkspaceRunnable r = new IWorkspaceRunnable() {
                 @Override
                 public void run(IProgressMonitor monitor) throws CoreException {
-                    // apply marker
-                    IMarker marker = resource.createMarker(markerType);
-                    marker.setAttributes(attributes);
+                    addMarker(resource, attributes, markerType);
                 }
             };
             ISchedulingRule sr = getRule(resource);
@@ -491,8 +583,14 @@ public class MarkerUtils {
         }
     }
     
+    private static void addMarker(IResource resource, Map<String, Object> attributes, String markerType)
+            throws CoreException {
+        IMarker marker = resource.createMarker(markerType);
+        marker.setAttributes(attributes);
+    }
+    
     private static ISchedulingRule getRule(IResource resource) {
-        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IWorkspace workspace = resource.getWorkspace();
         IResourceRuleFactory ruleFactory = workspace.getRuleFactory();
         ISchedulingRule rule = ruleFactory.markerRule(resource.getProject());
         return rule;
@@ -526,21 +624,32 @@ public class MarkerUtils {
             return;
         }
         
-        IMarker[] markers = getMarkers(resource, marker, depth);
+        MarkerBatch batch = batches.get();
+        if (batch != null) {
+            batch.clear(resource, componentType, marker, depth);
+            return;
+        }
+        
         try {
-            for (IMarker element : markers) {
-                if (Utils.isEmpty(componentType)
-                    || componentType.equals(element.getAttribute(MARKER_ATTR_OBJECT_TYPE))) {
-                    element.delete();
-                }
-                
-            }
+            deleteMarkers(resource, componentType, marker, depth);
         } catch (CoreException e) {
             String logMessage = Utils.generateCoreExceptionLog(e);
             logger.warn("Unable to clear marker: " + logMessage);
         }
     }
     
+    private void deleteMarkers(IResource resource, String componentType, String marker, int depth)
+            throws CoreException {
+        IMarker[] markers = getMarkers(resource, marker, depth);
+        for (IMarker element : markers) {
+            if (Utils.isEmpty(componentType)
+                || componentType.equals(element.getAttribute(MARKER_ATTR_OBJECT_TYPE))) {
+                element.delete();
+            }
+            
+        }
+    }
+    
     /*
      * Compile errors
      */
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.w3c.dom.Document;
+
+import com.salesforce.ide.api.metadata.types.Package;
+import com.salesforce.ide.api.metadata.types.PackageTypeMembers;
+
+/**
+ * A parsed package.xml with its members indexed by type, so lookups don't walk the manifest. The parsed manifest is
+ * never handed out, only copies of it, since callers tend to add to what they get.
+ *
+ * @author nchen
+ */
+public final class PackageManifestIndex {
+
+    static final String WILDCARD = "*";
+
+    private final Package packageManifest;
+    private final long lastModified;
+    private final long length;
+
+    private final Map<String, List<String>> membersByType;
+    private final Set<String> wildCardTypes;
+    private final Set<String> explicitMemberTypes;
+
+    // guarded by this
+    private Document document;
+
+    /**
+     * @param lastModified
+     *            and length of the file as it was before parsing, so a change while parsing is caught later on
+     */
+    public PackageManifestIndex(Package packageManifest, long lastModified, long length) {
+        this.packageManifest = copy(packageManifest);
+        this.lastModified = lastModified;
+        this.length = length;
+
+        Map<String, List<String>> members = new HashMap<>();
+        Set<String> wildCards = new HashSet<>();
+        Set<String> explicitMembers = new HashSet<>();
+        for (PackageTypeMembers type : this.packageManifest.getTypes()) {
+            if (type.getName() == null) {
+                continue;
+            }
+            List<String> typeMembers = members.get(type.getName());
+            if (typeMembers == null) {
+                typeMembers = new ArrayList<>();
+                members.put(type.getName(), typeMembers);
+            }
+            typeMembers.addAll(type.getMembers());
+            for (String member : type.getMembers()) {
+                if (WILDCARD.equals(member)) {
+                    wildCards.add(type.getName());
+                } else {
+                    explicitMembers.add(type.getName());
+                }
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : members.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        this.membersByType = members;
+        this.wildCardTypes = wildCards;
+        this.explicitMemberTypes = explicitMembers;
+    }
+
+    /**
+     * @return whether this index was built from the file as it is now
+     */
+    public boolean isCurrent(File file) {
+        return file != null && file.lastModified() == lastModified && file.length() == length;
+    }
+
+    /**
+     * @return a copy of the manifest, free to be changed
+     */
+    public Package getPackageManifest() {
+        return copy(packageManifest);
+    }
+
+    /**
+     * @return the members listed for the type, including any wildcard; empty if the type isn't listed
+     */
+    public List<String> getMembers(String componentType) {
+        List<String> members = membersByType.get(componentType);
+        return members != null ? members : Collections.<String> emptyList();
+    }
+
+    public boolean isWildCardUsed(String componentType) {
+        return wildCardTypes.contains(componentType);
+    }
+
+    public boolean hasExplicitMember(String componentType) {
+        return explicitMemberTypes.contains(componentType);
+    }
+
+    /**
+     * @return a copy of the DOM document parsed from the same file, or null if none has been set
+     */
+    public synchronized Document getDocument() {
+        // cloning only reads the source, but Xerces nodes cache lazily, so don't clone from two threads at once
+        return document != null ? (Document) document.cloneNode(true) : null;
+    }
+
+    public synchronized void setDocument(Document document) {
+        this.document = document != null ? (Document) document.cloneNode(true) : null;
+    }
+
+    static Package copy(Package source) {
+        Package copy = new Package();
+        copy.setFullName(source.getFullName());
+        copy.setApiAccessLevel(source.getApiAccessLevel());
+        copy.setDescription(source.getDescription());
+        copy.setNamespacePrefix(source.getNamespacePrefix());
+        copy.setPackageType(source.getPackageType());
+        copy.setPostInstallClass(source.getPostInstallClass());
+        copy.setSetupWeblink(source.getSetupWeblink());
+        copy.setUninstallClass(source.getUninstallClass());
+        copy.setVersion(source.getVersion());
+        copy.getObjectPermissions().addAll(source.getObjectPermissions());
+        for (PackageTypeMembers type : source.getTypes()) {
+            PackageTypeMembers typeCopy = new PackageTypeMembers();
+            typeCopy.setName(type.getName());
+            typeCopy.getMembers().addAll(type.getMembers());
+            copy.getTypes().add(typeCopy);
+        }
+        return copy;
+    }
+}
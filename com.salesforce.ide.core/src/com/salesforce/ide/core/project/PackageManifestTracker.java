@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.Utils;
+
+/**
+ * Keeps the parsed package.xml of each project, so it's only parsed again after it changed. Resource deltas drop an
+ * index as soon as its file is changed, and the file's timestamp and size catch changes made outside of the workspace.
+ *
+ * @author nchen
+ */
+public class PackageManifestTracker implements IResourceChangeListener {
+
+    private static final Logger logger = Logger.getLogger(PackageManifestTracker.class);
+
+    static final IPath MANIFEST_PATH = new Path(Constants.SOURCE_FOLDER_NAME + "/"
+            + Constants.PACKAGE_MANIFEST_FILE_NAME);
+
+    private static final PackageManifestTracker instance = new PackageManifestTracker();
+
+    private final ConcurrentMap<String, PackageManifestIndex> indexes = new ConcurrentHashMap<>();
+
+    PackageManifestTracker() {}
+
+    public static PackageManifestTracker getInstance() {
+        return instance;
+    }
+
+    public void start() {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this,
+            IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Added " + getClass().getSimpleName() + " as workspace listener");
+        }
+    }
+
+    public void dispose() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        indexes.clear();
+    }
+
+    /**
+     * @return the index of the project's manifest if it was built from the file as it is now, otherwise null
+     */
+    public PackageManifestIndex getIndex(IProject project, File manifestFile) {
+        PackageManifestIndex index = indexes.get(project.getName());
+        if (index == null) {
+            return null;
+        }
+        if (!index.isCurrent(manifestFile)) {
+            indexes.remove(project.getName(), index);
+            return null;
+        }
+        return index;
+    }
+
+    public void putIndex(IProject project, PackageManifestIndex index) {
+        indexes.put(project.getName(), index);
+    }
+
+    public void invalidate(IProject project) {
+        indexes.remove(project.getName());
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        switch (event.getType()) {
+        case IResourceChangeEvent.PRE_CLOSE:
+        case IResourceChangeEvent.PRE_DELETE:
+            indexes.remove(event.getResource().getName());
+            return;
+        default:
+            break;
+        }
+
+        if (indexes.isEmpty() || event.getDelta() == null) {
+            return;
+        }
+
+        try {
+            event.getDelta().accept(new IResourceDeltaVisitor() {
+                @Override
+                public boolean visit(IResourceDelta delta) {
+                    IResource resource = delta.getResource();
+                    switch (resource.getType()) {
+                    case IResource.ROOT:
+                        return true;
+                    case IResource.PROJECT:
+                        // only follow projects whose manifest is in use
+                        return indexes.containsKey(resource.getName());
+                    case IResource.FOLDER:
+                        return MANIFEST_PATH.segment(0).equals(resource.getProjectRelativePath().toPortableString());
+                    case IResource.FILE:
+                        if (MANIFEST_PATH.equals(resource.getProjectRelativePath())) {
+                            if (logger.isDebugEnabled()) {
+                                logger.debug("Package manifest of project '" + resource.getProject().getName()
+                                        + "' changed");
+                            }
+                            indexes.remove(resource.getProject().getName());
+                        }
+                        return false;
+                    default:
+                        return false;
+                    }
+                }
+            });
+        } catch (CoreException e) {
+            String logMessage = Utils.generateCoreExceptionLog(e);
+            logger.warn("Unable to update package manifest indexes: " + logMessage);
+        }
+    }
+}
@@ -706,8 +706,12 @@ public class ProjectController extends Controller {
         
         monitorCheckSubTask(monitor, Messages.getString("Components.Generating"));
         projectPackageList.setProject(getProjectModel().getProject());
-        projectPackageList
-            .generateComponents(retrieveResultHandler.getZipFile(), retrieveResultHandler.getFileMetadataHandler());
+        try {
+            projectPackageList.generateComponents(retrieveResultHandler.spillZipFile(),
+                retrieveResultHandler.getFileMetadataHandler());
+        } finally {
+            retrieveResultHandler.dispose();
+        }
             
         monitorCheckSubTask(monitor, Messages.getString("Components.Saving"));
         WorkspaceJob job =
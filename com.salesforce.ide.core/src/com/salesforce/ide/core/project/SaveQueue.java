@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.salesforce.ide.core.internal.context.ContainerDelegate;
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
+import com.salesforce.ide.core.internal.utils.Utils;
+import com.salesforce.ide.core.model.ComponentList;
+
+/**
+ * Collects the saves of a project for a short window and deploys them together, so saving many files at once, e.g.
+ * with Save All or a refactoring, costs one deploy instead of one per build.
+ *
+ * A later save of a file replaces the earlier one. Results are still applied per file, as with a single save.
+ *
+ * @author nchen
+ */
+public class SaveQueue {
+    private static final Logger logger = Logger.getLogger(SaveQueue.class);
+
+    public static final long DEFAULT_WINDOW_MILLIS = 250;
+
+    private static final SaveQueue instance = new SaveQueue();
+
+    private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    SaveQueue() {}
+
+    public static SaveQueue getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the window set by the {@link Constants#SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS} system property, or the
+     *         default one; 0 saves right away
+     */
+    public static long getConfiguredWindow() {
+        String window = System.getProperty(Constants.SYS_SETTING_SAVE_QUEUE_WINDOW_MILLIS);
+        if (Utils.isNotEmpty(window)) {
+            try {
+                long value = Long.parseLong(window.trim());
+                if (value >= 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            logger.warn("Ignoring invalid save queue window '" + window + "'");
+        }
+        return DEFAULT_WINDOW_MILLIS;
+    }
+
+    /**
+     * Queues the components to be saved by the controller once the window has passed.
+     */
+    public void submit(BuilderController controller, IProject project, ComponentList saveComponentList, long window) {
+        Batch batch = batches.computeIfAbsent(project.getName(), name -> new Batch(project));
+        int depth = batch.add(controller, saveComponentList);
+        MetricsRegistry.getInstance().increment(MetricsRegistry.SAVE_QUEUE_SAVES);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Queued " + saveComponentList.size() + " component(s) of project '" + project.getName()
+                    + "', " + depth + " save(s) pending");
+        }
+
+        // The first save since the last flush starts the window. A running flush picks it up when it's done.
+        if (depth == 1) {
+            batch.job.schedule(window);
+        }
+    }
+
+    /**
+     * @return the number of saves of the project waiting to be deployed
+     */
+    public int getDepth(IProject project) {
+        Batch batch = batches.get(project.getName());
+        return batch != null ? batch.getDepth() : 0;
+    }
+
+    Batch getBatch(IProject project) {
+        return batches.get(project.getName());
+    }
+
+    /**
+     * The pending saves of one project.
+     */
+    static final class Batch {
+        final IProject project;
+        final Job job;
+
+        // guarded by this
+        private final List<ComponentList> saves = new ArrayList<>();
+        private BuilderController controller;
+        private long firstNanos;
+
+        Batch(final IProject project) {
+            this.project = project;
+            this.job = new Job("Saving to server") {
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    return flush(monitor);
+                }
+            };
+            job.setRule(project);
+        }
+
+        synchronized int add(BuilderController controller, ComponentList saveComponentList) {
+            if (saves.isEmpty()) {
+                firstNanos = System.nanoTime();
+            }
+            this.controller = controller;
+            saves.add(saveComponentList);
+            return saves.size();
+        }
+
+        synchronized int getDepth() {
+            return saves.size();
+        }
+
+        IStatus flush(IProgressMonitor monitor) {
+            List<ComponentList> drained;
+            BuilderController flushController;
+            long start;
+            synchronized (this) {
+                drained = new ArrayList<>(saves);
+                flushController = controller;
+                start = firstNanos;
+                saves.clear();
+            }
+            if (drained.isEmpty() || !project.isAccessible()) {
+                return Status.OK_STATUS;
+            }
+
+            ComponentList saveComponentList = drained.size() == 1 ? drained.get(0)
+                    : ContainerDelegate.getInstance().getFactoryLocator().getComponentFactory()
+                            .getComponentListInstance().addAllLatest(drained);
+
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.timer(MetricsRegistry.SAVE_QUEUE_WAIT).stop(start);
+            metrics.increment(MetricsRegistry.SAVE_QUEUE_BATCHES);
+            metrics.add(MetricsRegistry.SAVE_QUEUE_COMPONENTS, saveComponentList.size());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Saving " + drained.size() + " queued save(s) of project '" + project.getName()
+                        + "' as one batch of " + saveComponentList.size() + " component(s)");
+            }
+
+            if (monitor.isCanceled()) {
+                ContainerDelegate.getInstance().getServiceLocator().getToolingDeployService()
+                        .createSaveLocallyOnlyMarkers(saveComponentList);
+                return Status.CANCEL_STATUS;
+            }
+
+            try {
+                flushController.buildNow(saveComponentList, project, monitor);
+            } catch (Exception e) {
+                logger.error("Unable to build project", e);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
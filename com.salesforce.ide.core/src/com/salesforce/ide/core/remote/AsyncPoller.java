@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * <p>
+ * Polls the status of asynchronous server operations (deploys, retrieves, container requests, test runs) for every
+ * project from a single timer thread, instead of each caller sleeping on its own thread between checks.
+ * </p>
+ * <p>
+ * Each operation gets a future that completes once a check reports it finished. Checks run on the shared
+ * {@link Connection#getCallExecutor() call executor} and every operation waits between checks as long as its own
+ * {@link Backoff} says. Operations whose status can be checked in a single call, e.g. several ids in one query, are
+ * polled through a {@link BatchCheck}: when one of them is due, the others of the same check that are nearly due are
+ * checked along with it.
+ * </p>
+ * <p>
+ * Cancelling the future stops polling the operation; {@link #await(Future, IProgressMonitor)} does that when the
+ * progress monitor is canceled.
+ * </p>
+ *
+ * @author nchen
+ */
+public class AsyncPoller {
+    private static final Logger logger = Logger.getLogger(AsyncPoller.class);
+
+    // How often a waiting caller looks at its progress monitor
+    private static final long MONITOR_CHECK_INTERVAL = 250;
+
+    // Operations of a batch due within this many milliseconds are checked together with the one that is due
+    @VisibleForTesting
+    static final long BATCH_WINDOW = 1000;
+
+    private static final AsyncPoller instance = new AsyncPoller();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Force.com async poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // guarded by this
+    private final Map<BatchCheck<?>, Batch<?>> batches = new HashMap<>();
+
+    /**
+     * Time to wait before a check.
+     */
+    public interface Backoff {
+        /**
+         * @param round
+         *            the check that is about to be scheduled, starting at 1 for the first check after submitting
+         * @return milliseconds to wait before that check
+         */
+        long getDelay(int round);
+    }
+
+    /**
+     * Checks the status of several operations in a single call. Operations are batched with each other when they are
+     * polled with equal checks.
+     */
+    public interface BatchCheck<T> {
+        /**
+         * @return the status of each of the ids; ids that are missing are checked again later
+         */
+        Map<String, T> check(Set<String> ids) throws Exception;
+
+        boolean isDone(T status);
+    }
+
+    @VisibleForTesting
+    AsyncPoller() {}
+
+    public static AsyncPoller getInstance() {
+        return instance;
+    }
+
+    /**
+     * Polls an operation until the check returns its outcome.
+     *
+     * @param check
+     *            checks the operation once, returning its outcome once it finished or null to check again later
+     */
+    public <T> CompletableFuture<T> poll(Callable<T> check, Backoff backoff) {
+        Operation<T> operation = new Operation<>(check, backoff);
+        schedule(operation, backoff.getDelay(operation.round));
+        return operation.future;
+    }
+
+    /**
+     * Polls an operation until the status the check reports for its id is done.
+     */
+    public <T> CompletableFuture<T> poll(BatchCheck<T> check, String id, Backoff backoff) {
+        BatchMember<T> member = new BatchMember<>(backoff);
+        synchronized (this) {
+            @SuppressWarnings("unchecked")
+            Batch<T> batch = (Batch<T>) batches.get(check);
+            if (batch == null) {
+                batch = new Batch<>(check);
+                batches.put(check, batch);
+            }
+            member.dueAt = now() + backoff.getDelay(member.round);
+            batch.members.put(id, member);
+            batch.reschedule();
+        }
+        return member.future;
+    }
+
+    /**
+     * Waits for a polled operation, giving up and cancelling it when the monitor is canceled.
+     *
+     * @throws MonitorCanceledException
+     *             if the monitor was canceled before the operation finished
+     * @throws ExecutionException
+     *             if a check failed, with the failure as cause
+     */
+    public static <T> T await(Future<T> future, IProgressMonitor monitor) throws MonitorCanceledException,
+            InterruptedException, ExecutionException {
+        for (;;) {
+            if (monitor != null && monitor.isCanceled()) {
+                future.cancel(false);
+                throw new MonitorCanceledException();
+            }
+            try {
+                return future.get(MONITOR_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {}
+        }
+    }
+
+    private void schedule(Runnable check, long delay) {
+        scheduler.schedule(() -> Connection.getCallExecutor().execute(check), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private class Operation<T> implements Runnable {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Callable<T> check;
+        final Backoff backoff;
+        int round = 1;
+
+        Operation(Callable<T> check, Backoff backoff) {
+            this.check = check;
+            this.backoff = backoff;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                T outcome = check.call();
+                if (outcome != null) {
+                    future.complete(outcome);
+                } else if (!future.isDone()) {
+                    schedule(this, backoff.getDelay(++round));
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static class BatchMember<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Backoff backoff;
+        int round = 1;
+        long dueAt;
+
+        BatchMember(Backoff backoff) {
+            this.backoff = backoff;
+        }
+    }
+
+    private class Batch<T> implements Runnable {
+        final BatchCheck<T> check;
+        final Map<String, BatchMember<T>> members = new LinkedHashMap<>();
+        ScheduledFuture<?> next;
+        long nextAt;
+        boolean running;
+
+        Batch(BatchCheck<T> check) {
+            this.check = check;
+        }
+
+        @Override
+        public void run() {
+            Map<String, BatchMember<T>> due = new LinkedHashMap<>();
+            synchronized (AsyncPoller.this) {
+                if (running) {
+                    // a check that was rescheduled too late to cancel; the running one reschedules the batch
+                    return;
+                }
+                next = null;
+                running = true;
+                long now = now();
+                for (Iterator<Map.Entry<String, BatchMember<T>>> it = members.entrySet().iterator(); it.hasNext();) {
+                    Map.Entry<String, BatchMember<T>> entry = it.next();
+                    if (entry.getValue().future.isDone()) {
+                        it.remove();
+                    } else if (entry.getValue().dueAt <= now + BATCH_WINDOW) {
+                        due.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            Map<String, T> statuses = null;
+            Throwable failure = null;
+            if (!due.isEmpty()) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Checking status of " + due.size() + " operation(s) in one call");
+                }
+                try {
+                    statuses = check.check(due.keySet());
+                } catch (Throwable t) {
+                    failure = t;
+                }
+            }
+
+            synchronized (AsyncPoller.this) {
+                running = false;
+                long now = now();
+                for (Map.Entry<String, BatchMember<T>> entry : due.entrySet()) {
+                    BatchMember<T> member = entry.getValue();
+                    T status = statuses != null ? statuses.get(entry.getKey()) : null;
+                    if (failure != null) {
+                        member.future.completeExceptionally(failure);
+                        members.remove(entry.getKey());
+                    } else if (status != null && check.isDone(status)) {
+                        member.future.complete(status);
+                        members.remove(entry.getKey());
+                    } else {
+                        member.dueAt = now + member.backoff.getDelay(++member.round);
+                    }
+                }
+                reschedule();
+            }
+        }
+
+        // Called holding the poller's lock
+        void reschedule() {
+            if (running) {
+                return;
+            }
+            if (members.isEmpty()) {
+                batches.remove(check);
+                return;
+            }
+
+            long dueAt = Long.MAX_VALUE;
+            for (BatchMember<T> member : members.values()) {
+                dueAt = Math.min(dueAt, member.dueAt);
+            }
+            if (next != null) {
+                if (nextAt <= dueAt) {
+                    return;
+                }
+                next.cancel(false);
+            }
+            nextAt = dueAt;
+            next = scheduler.schedule(() -> Connection.getCallExecutor().execute(this), Math.max(0, dueAt - now()),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+}
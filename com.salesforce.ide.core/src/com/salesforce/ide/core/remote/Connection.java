@@ -18,14 +18,24 @@ import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.salesforce.ide.api.metadata.MetadataDebuggingInfoHandler;
 import com.salesforce.ide.core.ForceIdeCorePlugin;
 import com.salesforce.ide.core.internal.preferences.proxy.IProxy;
 import com.salesforce.ide.core.internal.utils.Constants;
 import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
+import com.salesforce.ide.core.internal.utils.OperationStats;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.project.ForceProject;
 import com.sforce.soap.apex.SoapConnection;
@@ -41,6 +51,7 @@ import com.sforce.soap.partner.wsc.QueryResult;
 import com.sforce.soap.partner.wsc.SaveResult;
 import com.sforce.ws.ConnectionException;
 import com.sforce.ws.ConnectorConfig;
+import com.sforce.ws.SoapFaultException;
 
 /**
  * <p>
@@ -87,6 +98,27 @@ public class Connection {
     private String profileId;
     private SalesforceEndpoints salesforceEndpoints;
 
+    // Upper bound on the number of API calls that fan out over this connection at the same time
+    public static final int MAX_CONCURRENT_CALLS = 4;
+    private final Semaphore concurrentCalls = new Semaphore(MAX_CONCURRENT_CALLS, true);
+
+    // Shared by all connections for calls that are issued in parallel; idle threads go away after a minute
+    private static final int CALL_THREADS = 2 * MAX_CONCURRENT_CALLS;
+    private static final ThreadPoolExecutor callExecutor = new ThreadPoolExecutor(CALL_THREADS, CALL_THREADS, 60,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+                Thread thread = new Thread(runnable, "Force.com API call");
+                thread.setDaemon(true);
+                return thread;
+            });
+    static {
+        callExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    // we're limited to the number of types we can describe per call
+    private static final int DESCRIBE_SOBJECTS_BATCH_SIZE = 100;
+    private static final int DESCRIBE_SOBJECTS_RETRIES = 2;
+    private static final OperationStats describeStats = new OperationStats("DescribeSObjects");
+
     public Connection() {
         super();
         connectorConfig = new ConnectorConfig();
@@ -94,6 +126,26 @@ public class Connection {
         toolingConnectorConfig = new ConnectorConfig();
     }
 
+    /**
+     * Permits for API calls that are issued in parallel over this connection, e.g., listMetadata. Acquire one per call
+     * and release it when the call returns.
+     */
+    public Semaphore getConcurrentCalls() {
+        return concurrentCalls;
+    }
+
+    /**
+     * Executor for API calls that are issued in parallel. Shared by all connections, so callers still need to hold one
+     * of the {@link #getConcurrentCalls()} permits of their connection while a call is in flight.
+     */
+    public static ExecutorService getCallExecutor() {
+        return callExecutor;
+    }
+
+    public static OperationStats getDescribeStats() {
+        return describeStats;
+    }
+
     public ForceProject getForceProject() {
         return forceProject;
     }
@@ -666,6 +718,25 @@ public class Connection {
     public String[] retrieveTypes(boolean withClientId) throws ForceConnectionException,
             InsufficientPermissionsException {
         List<String> types = new ArrayList<>();
+        for (DescribeGlobalSObjectResult sobject : describeGlobalSObjects(withClientId)) {
+            types.add(sobject.getName());
+        }
+        return types.toArray(new String[types.size()]);
+    }
+
+    /**
+     * Equivalent of a describeGlobal() api call that keeps the per-type summaries, e.g., to tell which types changed
+     * since they were last described.
+     * 
+     * @param withClientId
+     *            . whether or not to use our eclipse specific client id.
+     * @return
+     * @throws ForceConnectionException
+     * @throws InsufficientPermissionsException
+     */
+    public DescribeGlobalSObjectResult[] describeGlobalSObjects(boolean withClientId)
+            throws ForceConnectionException, InsufficientPermissionsException {
+        DescribeGlobalSObjectResult[] sobjects = new DescribeGlobalSObjectResult[0];
 
         if (!withClientId) {
             setNonCallOptions();
@@ -673,17 +744,13 @@ public class Connection {
 
         try {
             logConnection();
-            DescribeGlobalSObjectResult[] sobjects = getPartnerConnection().describeGlobal().getSobjects();
-            for (DescribeGlobalSObjectResult sobject : sobjects) {
-                types.add(sobject.getName());
-            }
-
+            sobjects = getPartnerConnection().describeGlobal().getSobjects();
         } catch (ConnectionException e) {
             ForceExceptionUtils.handleConnectionException(this, e);
         } finally {
             setClientCallOptions();
         }
-        return types.toArray(new String[types.size()]);
+        return sobjects;
     }
 
     public DescribeSObjectResult describeSObject(String sComponentType) throws ForceConnectionException,
@@ -716,68 +783,123 @@ public class Connection {
         return describeSObjects(sComponentType, true);
     }
 
+    /**
+     * Describes the given types, at most 100 per call as the api requires. The calls are issued in parallel on the
+     * shared call executor, bounded by {@link #getConcurrentCalls()}, each with its own call options so that the call
+     * options of the shared partner connection are left alone. Results are returned in the order of the given types.
+     */
     public DescribeSObjectResult[] describeSObjects(String[] sComponentType, boolean withClientId)
             throws ForceConnectionException, InsufficientPermissionsException {
-
-        if (!withClientId) {
-            setNonCallOptions();
+        if (Utils.isEmpty(sComponentType)) {
+            return null;
         }
 
         logConnection();
+        long start = System.currentTimeMillis();
 
-        DescribeSObjectResult[] result;
+        List<Future<DescribeSObjectResult[]>> batches = new ArrayList<>();
+        for (List<String> batch : Lists.partition(Arrays.asList(sComponentType), DESCRIBE_SOBJECTS_BATCH_SIZE)) {
+            batches.add(callExecutor.submit(() -> describeSObjects(batch, withClientId)));
+        }
+
+        List<DescribeSObjectResult> describeSObjectResultList = new ArrayList<>(sComponentType.length);
         try {
-            result = null;
-            if (Utils.isNotEmpty(sComponentType)) {
-                // we're limited to the number of types we can send
-                if (sComponentType.length > 100) {
-                    List<DescribeSObjectResult> describeSObjectResultList = new ArrayList<>();
-                    DescribeSObjectResult[] tmpResult = null;
-                    List<String> sComponentTypeList = Arrays.asList(sComponentType);
-                    int numOfTimes = 1 + (sComponentTypeList.size() / 100 > 0 ? sComponentTypeList.size() / 100 : 0);
-                    int start = 0;
-                    int end = 100;
-                    for (int i = 0; i < numOfTimes; i++) {
-                        List<String> tmpSComponentTypeList = null;
-                        try {
-                            tmpSComponentTypeList = sComponentTypeList.subList(start, end);
-                        } catch (IndexOutOfBoundsException e) {
-                            tmpSComponentTypeList = sComponentTypeList.subList(start, sComponentTypeList.size());
-                        }
-                        tmpResult = describeSObjects(tmpSComponentTypeList);
-                        describeSObjectResultList.addAll(Arrays.asList(tmpResult));
-                        start += 100;
-                        end += 100;
-                    }
-                    result =
-                            describeSObjectResultList.toArray(new DescribeSObjectResult[describeSObjectResultList
-                                    .size()]);
-                } else {
-                    try {
-                        result = getPartnerConnection().describeSObjects(sComponentType);
-                    } catch (ConnectionException e) {
-                        ForceExceptionUtils.handleConnectionException(this, e);
-                    }
-                }
+            for (Future<DescribeSObjectResult[]> batch : batches) {
+                describeSObjectResultList.addAll(Arrays.asList(batch.get()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ForceExceptionUtils.throwNewConnectionException(this, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause instanceof ForceConnectionException) {
+                throw (ForceConnectionException) cause;
             }
+            ForceExceptionUtils.handleConnectionException(this, cause);
         } finally {
-            setClientCallOptions();
+            for (Future<DescribeSObjectResult[]> batch : batches) {
+                batch.cancel(true);
+            }
         }
 
-        return result;
+        long elapsed = System.currentTimeMillis() - start;
+        synchronized (describeStats) {
+            describeStats.addPollingTime(elapsed);
+            describeStats.incrementOperationCount();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Described [" + sComponentType.length + "] sobjects in " + batches.size()
+                        + " call(s) in " + elapsed + " ms");
+                describeStats.logStats();
+            }
+        }
+
+        return describeSObjectResultList.toArray(new DescribeSObjectResult[describeSObjectResultList.size()]);
     }
 
-    private DescribeSObjectResult[] describeSObjects(List<String> subSComponentTypeList)
-            throws ForceConnectionException, InsufficientPermissionsException {
-        DescribeSObjectResult[] result = null;
-        try {
-            result =
-                    getPartnerConnection().describeSObjects(
-                        subSComponentTypeList.toArray(new String[subSComponentTypeList.size()]));
-        } catch (ConnectionException e) {
-            ForceExceptionUtils.handleConnectionException(this, e);
+    /*
+     * Runs on the call executor. Calls that fail before reaching the server, e.g., on a dropped connection or a read
+     * timeout, are retried; faults returned by the server are not.
+     */
+    private DescribeSObjectResult[] describeSObjects(List<String> subSComponentTypeList, boolean withClientId)
+            throws ForceConnectionException, ConnectionException, InterruptedException {
+        PartnerConnection batchConnection = createSessionPartnerConnection(withClientId);
+        String[] types = subSComponentTypeList.toArray(new String[subSComponentTypeList.size()]);
+        for (int attempt = 0;; attempt++) {
+            concurrentCalls.acquire();
+            try {
+                return batchConnection.describeSObjects(types);
+            } catch (ConnectionException e) {
+                if (e instanceof SoapFaultException || attempt >= DESCRIBE_SOBJECTS_RETRIES) {
+                    throw e;
+                }
+                logger.warn("Retrying describe of [" + types.length + "] sobjects after failed call: "
+                        + e.getMessage());
+            } finally {
+                concurrentCalls.release();
+            }
         }
-        return result;
+    }
+
+    /**
+     * Create a new partner connection that shares the session of this connection but has call options of its own, so
+     * that it can be used from another thread while this connection is in use.
+     * 
+     * @throws ForceConnectionException
+     */
+    @VisibleForTesting
+    PartnerConnection createSessionPartnerConnection(boolean withClientId) throws ForceConnectionException,
+            ConnectionException {
+        PartnerConnection sharedConnection = getPartnerConnection();
+        ConnectorConfig sharedConfig = sharedConnection.getConfig();
+        ConnectorConfig config = new ConnectorConfig();
+        config.setServiceEndpoint(sharedConfig.getServiceEndpoint());
+        config.setSessionId(sharedConnection.getSessionHeader() != null ? sharedConnection.getSessionHeader()
+                .getSessionId() : sharedConfig.getSessionId());
+        config.setCompression(sharedConfig.isCompression());
+        config.setReadTimeout(sharedConfig.getReadTimeout());
+        config.setConnectionTimeout(sharedConfig.getConnectionTimeout());
+        if (sharedConfig.getProxy() != null) {
+            config.setProxy(sharedConfig.getProxy());
+            config.setProxyUsername(sharedConfig.getProxyUsername());
+            config.setProxyPassword(sharedConfig.getProxyPassword());
+        }
+
+        PartnerConnection connection = new PartnerConnection(config);
+        connection.setCallOptions(
+            withClientId ? getClientId() : "",
+            null,
+            false,
+            null,
+            debugExceptions,
+            getPlatform(),
+            getApplication(),
+            null,
+            null);
+        return connection;
     }
 
     public QueryResult query(String queryString) throws ForceConnectionException, InsufficientPermissionsException {
@@ -11,12 +11,20 @@
 package com.salesforce.ide.core.remote;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -29,6 +37,7 @@ import com.salesforce.ide.core.internal.utils.Constants;
 import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.model.Component;
+import com.salesforce.ide.core.remote.metadata.FileMetadataExt;
 import com.sforce.soap.metadata.AsyncResult;
 import com.sforce.soap.metadata.DebuggingHeader_element;
 import com.sforce.soap.metadata.DeployOptions;
@@ -48,6 +57,10 @@ public class MetadataStubExt {
 
     private static final Logger logger = Logger.getLogger(MetadataStubExt.class);
 
+    // break request into 3 queries per api call (api constraint)
+    private static final int QUERIES_PER_CALL = 3;
+    private static final long CANCEL_CHECK_INTERVAL_MILLIS = 250;
+
     private Connection connection;
     private MetadataConnection metadataConnection;
 
@@ -65,6 +78,10 @@ public class MetadataStubExt {
         return metadataConnection;
     }
 
+    public void setConnection(Connection connection) {
+        this.connection = connection;
+    }
+
     public void setMetadataConnection(MetadataConnection mc) {
         metadataConnection = mc;
     }
@@ -261,8 +278,51 @@ public class MetadataStubExt {
         return describeMetadata(apiVersion);
     }
 
+    /**
+     * Lists the metadata for the given queries. The queries are sent in batches, several batches at a time; the result
+     * keeps the order of the queries.
+     */
     public FileProperties[] listMetadata(ListMetadataQuery[] allQueriesArray, IProgressMonitor monitor)
             throws ForceRemoteException {
+        final Map<List<ListMetadataQuery>, List<FileProperties>> resultsByQueries = new IdentityHashMap<>();
+        List<List<ListMetadataQuery>> batches = listMetadata(allQueriesArray, (queries, properties) -> {
+            resultsByQueries.put(queries, properties);
+        }, monitor);
+
+        List<FileProperties> filePropertiesList = new ArrayList<>();
+        for (List<ListMetadataQuery> queries : batches) {
+            List<FileProperties> properties = resultsByQueries.get(queries);
+            if (properties != null) {
+                filePropertiesList.addAll(properties);
+            }
+        }
+        return filePropertiesList.toArray(new FileProperties[filePropertiesList.size()]);
+    }
+
+    /**
+     * Same as {@link #listMetadata(ListMetadataQuery[], IProgressMonitor)}, but adds the results to the given
+     * FileMetadataExt. The batches are collected into one list that is added once all of them are in, so the
+     * FileMetadataExt isn't copied for every batch.
+     */
+    public void listMetadata(ListMetadataQuery[] allQueriesArray, FileMetadataExt fileMetadataExt,
+            IProgressMonitor monitor) throws ForceRemoteException {
+        FileProperties[] fileProperties = listMetadata(allQueriesArray, monitor);
+        if (Utils.isNotEmpty(fileProperties)) {
+            fileMetadataExt.addFileProperties(fileProperties);
+        }
+    }
+
+    private interface ListMetadataResultHandler {
+        void handle(List<ListMetadataQuery> queries, List<FileProperties> properties);
+    }
+
+    /*
+     * Issues the listMetadata calls on the shared executor, keeping at most Connection.MAX_CONCURRENT_CALLS of them in
+     * flight for this call. Results, progress and fallbacks are all handled on the calling thread, in the order the
+     * calls complete. Returns the batches in query order.
+     */
+    private List<List<ListMetadataQuery>> listMetadata(ListMetadataQuery[] allQueriesArray,
+            ListMetadataResultHandler handler, IProgressMonitor monitor) throws ForceRemoteException {
     	if (monitor==null) {
     		monitor = new NullProgressMonitor();
     	}
@@ -275,7 +335,7 @@ public class MetadataStubExt {
         }
 
         if (Utils.isEmpty(allQueriesArray)) {
-        	return new FileProperties[] {};
+        	return new ArrayList<>();
         }
 
         // Remove unsupported components from queries.
@@ -288,28 +348,96 @@ public class MetadataStubExt {
         		it.remove();
         	}
         }
-        
-        //break request into 3 queries per api call (api constraint)
-        final int QUERIES_PER_CALL = 3;
-        List<FileProperties> filePropertiesList = new ArrayList<>();
+
+        List<List<ListMetadataQuery>> batches = new ArrayList<>(Lists.partition(allQueries, QUERIES_PER_CALL));
+        List<List<ListMetadataQuery>> pending = new ArrayList<>(batches);
+        CompletionService<List<FileProperties>> completionService =
+                new ExecutorCompletionService<>(Connection.getCallExecutor());
+        Map<Future<List<FileProperties>>, List<ListMetadataQuery>> inFlight = new IdentityHashMap<>();
         try {
-	        for (List<ListMetadataQuery> queries : Lists.partition(allQueries, QUERIES_PER_CALL)) {
-	            try {
-	                filePropertiesList.addAll(getFileProperties(queries, monitor));
-	            } catch (ConnectionException e) {
-	            	//Invalid type or timeout
-	                if (ForceExceptionUtils.isReadTimeoutException(e) || e instanceof SoapFaultException) {
-		            	filePropertiesList.addAll(tryOneByOne(queries, monitor));
-	                } else {
-	                    ForceExceptionUtils.throwTranslatedException(e, connection);
-	                }
-	            }
-	        }
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                while (!pending.isEmpty() && inFlight.size() < Connection.MAX_CONCURRENT_CALLS) {
+                    List<ListMetadataQuery> queries = pending.remove(0);
+                    logQueries(queries);
+                    inFlight.put(completionService.submit(() -> getFileProperties(queries)), queries);
+                }
+
+                checkMonitorIsCanceled(monitor);
+                Future<List<FileProperties>> done =
+                        completionService.poll(CANCEL_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    continue;
+                }
+
+                List<ListMetadataQuery> queries = inFlight.remove(done);
+                try {
+                    List<FileProperties> properties = done.get();
+                    logger.debug("Got [" + properties.size() + "] file properties for component types");
+                    handler.handle(queries, properties);
+                    reportProgress(queries, monitor);
+                } catch (ExecutionException e) {
+                    handleFailedCall(queries, e, batches, pending, monitor);
+                }
+            }
         } catch (MonitorCanceledException e) {
-			// nothing to do, just return
-		}
+			// nothing to do, just return what we have so far
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Future<List<FileProperties>> future : inFlight.keySet()) {
+                future.cancel(true);
+            }
+        }
 
-        return filePropertiesList.toArray(new FileProperties[filePropertiesList.size()]);
+        return batches;
+    }
+
+    /*
+     * An invalid type or a timeout fails the whole batch, so the queries of a failed batch are retried one by one. A
+     * single query that still fails is skipped.
+     */
+    private void handleFailedCall(List<ListMetadataQuery> queries, ExecutionException failure,
+            List<List<ListMetadataQuery>> batches, List<List<ListMetadataQuery>> pending, IProgressMonitor monitor)
+            throws ForceRemoteException {
+        Throwable cause = failure.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (!(cause instanceof ConnectionException)) {
+            throw new ForceRemoteException(cause, connection);
+        }
+
+        ConnectionException e = (ConnectionException) cause;
+        boolean retryable = ForceExceptionUtils.isReadTimeoutException(e) || e instanceof SoapFaultException;
+        if (!retryable) {
+            ForceExceptionUtils.throwTranslatedException(e, connection);
+        } else if (queries.size() > 1) {
+            int position = 0;
+            while (batches.get(position) != queries) {
+                position++;
+            }
+            batches.remove(position);
+            for (List<ListMetadataQuery> listofOneQuery : Lists.partition(queries, 1)) {
+                batches.add(position++, listofOneQuery);
+                pending.add(listofOneQuery);
+            }
+        } else {
+            if (e instanceof SoapFaultException) {
+                logger.warn(e.getLocalizedMessage());
+            } else {
+                logTimeout(queries.get(0));
+            }
+            reportProgress(queries, monitor);
+        }
+    }
+
+    // One unit of work per type, so a batch of three types moves the progress bar in three steps
+    private static void reportProgress(List<ListMetadataQuery> queries, IProgressMonitor monitor) {
+        for (ListMetadataQuery query : queries) {
+            monitor.subTask(getMonitorMessage(Collections.singletonList(query)));
+            monitor.worked(1);
+        }
     }
 
     public Set<String> getSupportedMetadataComponents2() throws ForceRemoteException {
@@ -346,27 +474,6 @@ public class MetadataStubExt {
 		return supportedNames;
     }
 
-	private List<FileProperties> tryOneByOne(List<ListMetadataQuery> queries,
-			IProgressMonitor monitor) throws MonitorCanceledException,
-			ForceRemoteException {
-		List<FileProperties> filePropertiesSubList = new ArrayList<>();
-		for (List<ListMetadataQuery> listofOneQuery : Lists.partition(Lists.newArrayList(queries), 1)) {
-			try {
-				filePropertiesSubList.addAll(getFileProperties(listofOneQuery, monitor));
-			} catch (ConnectionException e) {
-		        if (e instanceof SoapFaultException) {
-		        	logger.warn(e.getLocalizedMessage());
-				} else 
-				if (ForceExceptionUtils.isReadTimeoutException(e)) {
-		            logTimeout(listofOneQuery.get(0));
-		        } else {
-		            ForceExceptionUtils.throwTranslatedException(e, connection);
-		        }
-			}
-		}
-		return filePropertiesSubList;
-	}
-
 	private static void logTimeout(ListMetadataQuery query) {
 		logger.warn("Timeout while retrying to retrieve listMetadata for for component type "
 		                + query.getType()
@@ -375,30 +482,25 @@ public class MetadataStubExt {
 	}
 
     /**
-     * Get FileProperties for all queries.
-     * @return a non-null array of FileProperties
-     * @throws MonitorCanceledException
+     * Get FileProperties for all queries. Runs on the shared call executor, holding one of the connection's call
+     * permits while the call is in flight.
+     * @return a non-null list of FileProperties
      * @throws ConnectionException
+     * @throws InterruptedException
      */
-	private List<FileProperties> getFileProperties(List<ListMetadataQuery> queries,
-			IProgressMonitor monitor) throws MonitorCanceledException, ConnectionException {
-
-		checkMonitorIsCanceled(monitor);
-		logQueries(queries);
-		monitor.subTask(getMonitorMessage(queries));
-
-		FileProperties[] tmpFileProperties = null;
-            tmpFileProperties = metadataConnection.listMetadata(
-            		queries.toArray(new ListMetadataQuery[queries.size()]),
-                    getDefaultApiVersion()
-            );
-		List<FileProperties> properties = arrayToList(tmpFileProperties);
-
-	    logger.debug("Got [" + properties.size() + "] file properties for component types");
-		checkMonitorIsCanceled(monitor);
-		monitor.worked(queries.size());
-
-		return properties;
+	private List<FileProperties> getFileProperties(List<ListMetadataQuery> queries)
+			throws ConnectionException, InterruptedException {
+		Semaphore permits = connection.getConcurrentCalls();
+		permits.acquire();
+		try {
+			FileProperties[] tmpFileProperties = metadataConnection.listMetadata(
+					queries.toArray(new ListMetadataQuery[queries.size()]),
+					getDefaultApiVersion()
+			);
+			return arrayToList(tmpFileProperties);
+		} finally {
+			permits.release();
+		}
 	}
 
 	private Double getDefaultApiVersion() {
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote.metadata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.xml.namespace.QName;
+
+import org.apache.log4j.Logger;
+
+import com.salesforce.ide.core.ForceIdeCorePlugin;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
+import com.salesforce.ide.core.internal.utils.Utils;
+import com.sforce.soap.metadata.DescribeMetadataResult;
+import com.sforce.ws.ConnectionException;
+import com.sforce.ws.bind.TypeMapper;
+import com.sforce.ws.parser.PullParserException;
+import com.sforce.ws.parser.XmlInputStream;
+import com.sforce.ws.parser.XmlOutputStream;
+
+/**
+ * Keeps the describeMetadata result of each org and API version for a while, in memory and in the plugin's state
+ * location, so that deploys, wizards and the package manifest don't describe the org over and over again. Entries
+ * expire after the time to live and can be invalidated explicitly, e.g. when a project's connection changes.
+ *
+ * @author nchen
+ */
+public class DescribeMetadataCache {
+    private static final Logger logger = Logger.getLogger(DescribeMetadataCache.class);
+
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+    private static final String CACHE_DIRECTORY = "describe";
+    private static final String FILE_EXTENSION = ".describemetadata";
+    private static final int MAGIC = 0x444d4554; // "DMET"
+    private static final int FORMAT_VERSION = 1;
+    private static final QName ELEMENT = new QName("http://soap.sforce.com/2006/04/metadata", "result");
+
+    private static final DescribeMetadataCache instance = new DescribeMetadataCache(null, DEFAULT_TIME_TO_LIVE);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private File directory;
+    private final long timeToLive;
+
+    private static final class Entry {
+        final DescribeMetadataResult describeMetadataResult;
+        final long describedAt;
+
+        Entry(DescribeMetadataResult describeMetadataResult, long describedAt) {
+            this.describeMetadataResult = describeMetadataResult;
+            this.describedAt = describedAt;
+        }
+    }
+
+    /**
+     * @param directory
+     *            where to persist describes, or null for the plugin's state location
+     */
+    public DescribeMetadataCache(File directory, long timeToLive) {
+        this.directory = directory;
+        this.timeToLive = timeToLive;
+    }
+
+    public static DescribeMetadataCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the cached describe of the org at the API version, or null if there is none or it expired
+     */
+    public DescribeMetadataResult get(String orgId, String apiVersion) {
+        String key = key(orgId, apiVersion);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = read(key);
+            if (entry != null) {
+                entries.putIfAbsent(key, entry);
+            }
+        }
+
+        if (entry != null && isExpired(entry)) {
+            entries.remove(key, entry);
+            delete(key);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            MetricsRegistry.getInstance().increment(MetricsRegistry.DESCRIBE_METADATA_CACHE_MISSES);
+        } else {
+            hits.incrementAndGet();
+            MetricsRegistry.getInstance().increment(MetricsRegistry.DESCRIBE_METADATA_CACHE_HITS);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Describe metadata for " + key + (entry != null ? " found in cache" : " not cached")
+                    + ", hit rate " + Math.round(getHitRate() * 100) + "% (" + getHits() + " hits, " + getMisses()
+                    + " misses)");
+        }
+        return entry != null ? entry.describeMetadataResult : null;
+    }
+
+    public void put(String orgId, String apiVersion, DescribeMetadataResult describeMetadataResult) {
+        String key = key(orgId, apiVersion);
+        Entry entry = new Entry(describeMetadataResult, System.currentTimeMillis());
+        entries.put(key, entry);
+        write(key, entry);
+    }
+
+    /**
+     * Drops the describes of the org at all API versions.
+     */
+    public void invalidate(String orgId) {
+        if (Utils.isEmpty(orgId)) {
+            return;
+        }
+
+        String prefix = orgId + "_";
+        for (Iterator<String> it = entries.keySet().iterator(); it.hasNext();) {
+            if (it.next().startsWith(prefix)) {
+                it.remove();
+            }
+        }
+
+        File cacheDirectory = getDirectory();
+        File[] files = cacheDirectory != null ? cacheDirectory.listFiles() : null;
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().startsWith(prefix) && file.getName().endsWith(FILE_EXTENSION)) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (String key : entries.keySet()) {
+            delete(key);
+        }
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups > 0 ? (double) getHits() / lookups : 0;
+    }
+
+    private boolean isExpired(Entry entry) {
+        long age = System.currentTimeMillis() - entry.describedAt;
+        return age < 0 || age > timeToLive;
+    }
+
+    private static String key(String orgId, String apiVersion) {
+        return orgId + "_" + apiVersion;
+    }
+
+    private File getDirectory() {
+        if (directory == null) {
+            try {
+                directory = ForceIdeCorePlugin.getDefault().getStateLocation().append(CACHE_DIRECTORY).toFile();
+            } catch (Exception e) {
+                logger.warn("Unable to get describe metadata cache directory: " + e.getMessage());
+            }
+        }
+        return directory;
+    }
+
+    private File getFile(String key) {
+        File cacheDirectory = getDirectory();
+        return cacheDirectory != null ? new File(cacheDirectory, key + FILE_EXTENSION) : null;
+    }
+
+    private Entry read(String key) {
+        File file = getFile(key);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.info("Ignoring describe metadata cache '" + file + "' written in an unknown format");
+                return null;
+            }
+            long describedAt = in.readLong();
+            XmlInputStream xml = new XmlInputStream();
+            xml.setInput(new InflaterInputStream(in), "UTF-8");
+            DescribeMetadataResult describeMetadataResult = new DescribeMetadataResult();
+            describeMetadataResult.load(xml, new TypeMapper());
+            return new Entry(describeMetadataResult, describedAt);
+        } catch (IOException | ConnectionException | PullParserException e) {
+            logger.warn("Unable to read describe metadata cache '" + file + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, Entry entry) {
+        File file = getFile(key);
+        if (file == null) {
+            return;
+        }
+
+        File temp = null;
+        try {
+            File cacheDirectory = file.getParentFile();
+            if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+                throw new IOException("Unable to create directory '" + cacheDirectory + "'");
+            }
+            temp = File.createTempFile(file.getName(), ".tmp", cacheDirectory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(entry.describedAt);
+                XmlOutputStream xml = new XmlOutputStream(new DeflaterOutputStream(out), false);
+                xml.setPrefix("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+                xml.setPrefix("xsd", "http://www.w3.org/2001/XMLSchema");
+                xml.startDocument();
+                entry.describeMetadataResult.write(ELEMENT, xml, new TypeMapper());
+                xml.endDocument();
+                xml.close();
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Unable to write describe metadata cache '" + file + "': " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private void delete(String key) {
+        File file = getFile(key);
+        if (file != null && file.exists() && !file.delete()) {
+            logger.warn("Unable to delete describe metadata cache '" + file + "'");
+        }
+    }
+}
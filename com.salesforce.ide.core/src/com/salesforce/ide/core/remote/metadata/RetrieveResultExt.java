@@ -11,13 +11,24 @@
 package com.salesforce.ide.core.remote.metadata;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.apache.log4j.Logger;
 
 import com.salesforce.ide.core.internal.utils.QuietCloseable;
 import com.salesforce.ide.core.internal.utils.Utils;
+import com.salesforce.ide.core.internal.utils.ZipUtils;
 import com.salesforce.ide.core.model.ProjectPackageList;
 import com.sforce.soap.metadata.RetrieveResult;
 
@@ -28,6 +39,8 @@ public class RetrieveResultExt implements IMetadataResultExt {
 	private RetrieveResult retrieveResult = null;
 	private RetrieveMessageExt messageHandler = null;
 	private FileMetadataExt fileMetadataHandler = null;
+	private File spilledZipFile = null;
+	private int zipFileSize = 0;
 
 	public RetrieveResultExt() {
 	}
@@ -37,6 +50,7 @@ public class RetrieveResultExt implements IMetadataResultExt {
 	}
 
 	public void setRetrieveResult(RetrieveResult retrieveResult) {
+		dispose();
 		this.retrieveResult = retrieveResult;
 	}
 
@@ -82,10 +96,78 @@ public class RetrieveResultExt implements IMetadataResultExt {
 		return getMessageCount() > 0;
 	}
 
+    /**
+     * @return the retrieved zip. Once the zip has been spilled to disk, it is read back from there on every call.
+     */
     public byte[] getZipFile() {
+        if (spilledZipFile != null) {
+            try {
+                return Files.readAllBytes(spilledZipFile.toPath());
+            } catch (IOException e) {
+                logger.error("Unable to read spilled zip file '" + spilledZipFile + "': " + e.getMessage());
+                return null;
+            }
+        }
     	return (retrieveResult != null ? retrieveResult.getZipFile() : null);
     }
 
+    /**
+     * @return the size of the retrieved zip in bytes, without reading it back if it has been spilled to disk
+     */
+    public int getZipFileSize() {
+        if (spilledZipFile != null) {
+            return zipFileSize;
+        }
+        return (retrieveResult != null && retrieveResult.getZipFile() != null ? retrieveResult.getZipFile().length : 0);
+    }
+
+    /**
+     * Writes the retrieved zip to a temp file and drops it from the retrieve result, so that large retrieves are not
+     * held in memory while their entries are saved one by one. The file is deleted on {@link #dispose()}, when a new
+     * retrieve result is set, or on exit.
+     * 
+     * @return the temp file, or null if there is no zip
+     */
+    public File spillZipFile() throws IOException {
+        if (spilledZipFile != null || retrieveResult == null || retrieveResult.getZipFile() == null) {
+            return spilledZipFile;
+        }
+
+        byte[] zipFile = retrieveResult.getZipFile();
+        File file = File.createTempFile("force-retrieve", ".zip");
+        file.deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(zipFile);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            file.delete();
+            throw e;
+        }
+
+        spilledZipFile = file;
+        zipFileSize = zipFile.length;
+        retrieveResult.setZipFile(null);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Spilled retrieved zip of size [" + zipFileSize + "] to '" + file + "'");
+        }
+        return spilledZipFile;
+    }
+
+    /**
+     * Deletes the spilled zip file, if any, which also drops the retrieved zip.
+     */
+    public void dispose() {
+        if (spilledZipFile != null) {
+            if (!spilledZipFile.delete()) {
+                logger.warn("Unable to delete spilled zip file '" + spilledZipFile + "'");
+            }
+            spilledZipFile = null;
+            zipFileSize = 0;
+        }
+    }
+
     public boolean containsFilePath(String filePath) {
     	return containsFilePath(filePath, false);
     }
@@ -96,6 +178,13 @@ public class RetrieveResultExt implements IMetadataResultExt {
     	}
 
     	try {
+            if (spilledZipFile != null) {
+                try (ZipFile zip = new ZipFile(spilledZipFile)) {
+                    ZipEntry ze = ignoreCase ? findEntryIgnoreCase(zip, filePath) : zip.getEntry(filePath);
+                    return ze != null && !ze.isDirectory();
+                }
+            }
+
 			final byte[] zipFile = getZipFile();
             if (zipFile != null) {
                 try (final QuietCloseable<ZipInputStream> c = QuietCloseable.make(new ZipInputStream(new ByteArrayInputStream(zipFile)))) {
@@ -123,6 +212,37 @@ public class RetrieveResultExt implements IMetadataResultExt {
 		return false;
     }
 
+    private static ZipEntry findEntryIgnoreCase(ZipFile zip, String filePath) {
+        for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+            ZipEntry ze = entries.nextElement();
+            if (!ze.isDirectory() && filePath.equalsIgnoreCase(ze.getName())) {
+                return ze;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the file paths in the retrieved zip, read from the central directory once the zip has been spilled
+     */
+    public List<String> getFilePaths() throws IOException {
+        if (spilledZipFile != null) {
+            List<String> filePaths = new ArrayList<>();
+            try (ZipFile zip = new ZipFile(spilledZipFile)) {
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+                    ZipEntry ze = entries.nextElement();
+                    if (!ze.isDirectory()) {
+                        filePaths.add(ze.getName());
+                    }
+                }
+            }
+            return filePaths;
+        }
+
+        byte[] zipFile = getZipFile();
+        return (zipFile != null ? ZipUtils.getFilePaths(zipFile) : new ArrayList<String>());
+    }
+
     public FileMetadataExt getFileMetadataHandler() {
         if (retrieveResult != null && fileMetadataHandler == null) {
 			fileMetadataHandler = new FileMetadataExt(getRetrieveResult().getFileProperties());
@@ -133,6 +253,18 @@ public class RetrieveResultExt implements IMetadataResultExt {
     public int getZipFileCount() {
     	int fileCount = 0;
     	try {
+            if (spilledZipFile != null) {
+                // the central directory lists every entry, no need to inflate them
+                try (ZipFile zip = new ZipFile(spilledZipFile)) {
+                    for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+                        if (!entries.nextElement().isDirectory()) {
+                            fileCount++;
+                        }
+                    }
+                }
+                return fileCount;
+            }
+
 			final byte[] zipFile = getZipFile();
             if (zipFile != null) {
                 try (final QuietCloseable<ZipInputStream> c = QuietCloseable.make(new ZipInputStream(new ByteArrayInputStream(zipFile)))) {
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote.registries;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import com.sforce.soap.partner.wsc.DescribeSObjectResult;
+
+/**
+ * The sobject describes of a project, keyed by sobject name. Describes that are still current in the on-disk cache are
+ * only indexed when the cache is loaded and decoded from the file the first time they're asked for, so a project
+ * doesn't pay for decoding the objects it never touches. Asking for all values decodes the remaining ones.
+ *
+ * @author nchen
+ */
+class DescribeCache extends AbstractMap<String, DescribeSObjectResult> {
+    private static final Logger logger = Logger.getLogger(DescribeCache.class);
+
+    private final DescribeObjectCacheFile cacheFile;
+    private final Map<String, DescribeSObjectResult> describes = new Hashtable<>();
+    // guarded by this; names whose describe is still only in the cache file
+    private final Set<String> pending = new HashSet<>();
+
+    DescribeCache(DescribeObjectCacheFile cacheFile, Collection<String> cachedNames) {
+        this.cacheFile = cacheFile;
+        if (cacheFile != null) {
+            pending.addAll(cachedNames);
+        }
+    }
+
+    @Override
+    public synchronized DescribeSObjectResult get(Object key) {
+        DescribeSObjectResult describe = describes.get(key);
+        if (describe == null && pending.remove(key)) {
+            describe = decode((String) key);
+            if (describe != null) {
+                describes.put((String) key, describe);
+            }
+        }
+        return describe;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return describes.containsKey(key) || pending.contains(key);
+    }
+
+    @Override
+    public synchronized DescribeSObjectResult put(String key, DescribeSObjectResult value) {
+        pending.remove(key);
+        return describes.put(key, value);
+    }
+
+    @Override
+    public synchronized DescribeSObjectResult remove(Object key) {
+        pending.remove(key);
+        return describes.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        pending.clear();
+        describes.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        return describes.size() + pending.size();
+    }
+
+    /**
+     * @return the names of all sobjects, without decoding their describes
+     */
+    @Override
+    public synchronized Set<String> keySet() {
+        Set<String> names = new HashSet<>(describes.keySet());
+        names.addAll(pending);
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public Collection<DescribeSObjectResult> values() {
+        decodeAll();
+        return describes.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, DescribeSObjectResult>> entrySet() {
+        decodeAll();
+        return describes.entrySet();
+    }
+
+    /**
+     * @return whether the describe of the sobject is still to be decoded from the cache file
+     */
+    synchronized boolean isPending(String name) {
+        return pending.contains(name);
+    }
+
+    private synchronized void decodeAll() {
+        for (String name : new HashSet<>(pending)) {
+            get(name);
+        }
+    }
+
+    /*
+     * The file may have been rewritten by a load for another project of the same org since its index was read, so the
+     * index is read again if the entry doesn't hold the describe asked for.
+     */
+    private DescribeSObjectResult decode(String name) {
+        DescribeSObjectResult describe = cacheFile.read(name);
+        if (describe == null || !name.equals(describe.getName())) {
+            cacheFile.load();
+            describe = cacheFile.read(name);
+        }
+        if (describe == null || !name.equals(describe.getName())) {
+            logger.warn("Unable to read '" + name + "' from describe cache '" + cacheFile.getFile() + "'");
+            return null;
+        }
+        return describe;
+    }
+}
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.remote.registries;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.xml.namespace.QName;
+
+import org.apache.log4j.Logger;
+
+import com.sforce.soap.partner.wsc.DescribeGlobalSObjectResult;
+import com.sforce.soap.partner.wsc.DescribeSObjectResult;
+import com.sforce.ws.ConnectionException;
+import com.sforce.ws.bind.TypeMapper;
+import com.sforce.ws.parser.PullParserException;
+import com.sforce.ws.parser.XmlInputStream;
+import com.sforce.ws.parser.XmlOutputStream;
+
+/**
+ * On-disk copy of the sobject describes of one org at one API version, so that they survive restarts and only types
+ * that changed need to be described again.
+ *
+ * The file starts with an index of every type's name, the fingerprint of its global describe, the time it was described
+ * and the position of its describe in the file, followed by the describes themselves, each serialized as SOAP xml and compressed on its own.
+ * A single describe can therefore be read without decoding the others, and unchanged describes are copied as is when
+ * the file is rewritten.
+ *
+ * @author nchen
+ */
+public class DescribeObjectCacheFile {
+    private static final Logger logger = Logger.getLogger(DescribeObjectCacheFile.class);
+
+    private static final int MAGIC = 0x44455343; // "DESC"
+    private static final int FORMAT_VERSION = 2;
+    private static final QName ELEMENT = new QName("urn:partner.soap.sforce.com", "result");
+
+    private final File file;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private long dataOffset;
+
+    private static final class Entry {
+        final String fingerprint;
+        final long describedAt;
+        final long offset;
+        final int length;
+
+        Entry(String fingerprint, long describedAt, long offset, int length) {
+            this.fingerprint = fingerprint;
+            this.describedAt = describedAt;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    public DescribeObjectCacheFile(File directory, String orgId, String apiVersion) {
+        this.file = new File(directory, orgId + "_" + apiVersion + ".describe");
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the index of the file. A missing, unreadable or outdated file leaves the cache empty.
+     *
+     * @return whether the index was read
+     */
+    public boolean load() {
+        entries.clear();
+        if (!file.exists()) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.info("Ignoring describe cache '" + file + "' written in an unknown format");
+                return false;
+            }
+            int count = in.readInt();
+            long offset = 0;
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                String fingerprint = in.readUTF();
+                long describedAt = in.readLong();
+                int length = in.readInt();
+                entries.put(name, new Entry(fingerprint, describedAt, offset, length));
+                offset += length;
+            }
+            dataOffset = file.length() - offset;
+            return true;
+        } catch (IOException e) {
+            logger.warn("Unable to read describe cache '" + file + "': " + e.getMessage());
+            entries.clear();
+            return false;
+        }
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * @return the fingerprint the type had when it was described, or null if the type is not cached
+     */
+    public String getFingerprint(String name) {
+        Entry entry = entries.get(name);
+        return entry != null ? entry.fingerprint : null;
+    }
+
+    /**
+     * @return when the type was last described, in milliseconds since the epoch, or 0 if the type is not cached
+     */
+    public long getDescribedAt(String name) {
+        Entry entry = entries.get(name);
+        return entry != null ? entry.describedAt : 0;
+    }
+
+    /**
+     * The fingerprint misses changes that describeGlobal doesn't report, such as fields added to a standard object, so
+     * a describe is only trusted for a limited time.
+     *
+     * @return whether the cached describe of the type can be used instead of describing it again
+     */
+    public boolean isCurrent(String name, String fingerprint, long maxAgeMillis) {
+        Entry entry = entries.get(name);
+        return entry != null && entry.fingerprint.equals(fingerprint)
+                && System.currentTimeMillis() - entry.describedAt < maxAgeMillis;
+    }
+
+    /**
+     * Decodes the cached describe of a single type.
+     *
+     * @return the describe, or null if the type is not cached or its describe cannot be read
+     */
+    public DescribeSObjectResult read(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return decode(readRaw(entry));
+        } catch (IOException | ConnectionException | PullParserException e) {
+            logger.warn("Unable to read '" + name + "' from describe cache '" + file + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rewrites the file with the given types. Types that were described again are taken from the describes and stamped
+     * with the current time, all others are copied from the current file along with the time they were described.
+     *
+     * @param fingerprints
+     *            fingerprint of every type to keep, in the order to store them
+     * @param describes
+     *            fresh describes of the types that changed
+     */
+    public void save(Map<String, String> fingerprints, Map<String, DescribeSObjectResult> describes)
+            throws IOException {
+        long now = System.currentTimeMillis();
+        Map<String, byte[]> data = new LinkedHashMap<>();
+        Map<String, Long> describedAt = new LinkedHashMap<>();
+        for (String name : fingerprints.keySet()) {
+            DescribeSObjectResult describe = describes.get(name);
+            if (describe != null) {
+                data.put(name, encode(describe));
+                describedAt.put(name, now);
+            } else if (entries.containsKey(name)) {
+                data.put(name, readRaw(entries.get(name)));
+                describedAt.put(name, entries.get(name).describedAt);
+            }
+        }
+
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory '" + directory + "'");
+        }
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(data.size());
+                for (Map.Entry<String, byte[]> entry : data.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(fingerprints.get(entry.getKey()));
+                    out.writeLong(describedAt.get(entry.getKey()));
+                    out.writeInt(entry.getValue().length);
+                }
+                for (byte[] bytes : data.values()) {
+                    out.write(bytes);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            temp.delete();
+        }
+
+        load();
+    }
+
+    public void delete() {
+        entries.clear();
+        if (file.exists() && !file.delete()) {
+            logger.warn("Unable to delete describe cache '" + file + "'");
+        }
+    }
+
+    /**
+     * Summarizes everything describeGlobal reports about a type. describeGlobal has no change stamp, so a type is
+     * considered changed when any of these attributes changed.
+     */
+    public static String fingerprint(DescribeGlobalSObjectResult sobject) {
+        boolean[] flags =
+                { sobject.isActivateable(), sobject.isCreateable(), sobject.isCustom(), sobject.isCustomSetting(),
+                        sobject.isDeletable(), sobject.isDeprecatedAndHidden(), sobject.isFeedEnabled(),
+                        sobject.isHasSubtypes(), sobject.isIdEnabled(), sobject.isIsSubtype(), sobject.isLayoutable(),
+                        sobject.isMergeable(), sobject.isMruEnabled(), sobject.isQueryable(),
+                        sobject.isReplicateable(), sobject.isRetrieveable(), sobject.isSearchable(),
+                        sobject.isTriggerable(), sobject.isUndeletable(), sobject.isUpdateable() };
+        StringBuilder fingerprint = new StringBuilder();
+        for (boolean flag : flags) {
+            fingerprint.append(flag ? '1' : '0');
+        }
+        fingerprint.append('|').append(sobject.getKeyPrefix()).append('|').append(sobject.getLabel()).append('|')
+                .append(sobject.getLabelPlural());
+        return fingerprint.toString();
+    }
+
+    private byte[] readRaw(Entry entry) throws IOException {
+        byte[] bytes = new byte[entry.length];
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(dataOffset + entry.offset);
+            in.readFully(bytes);
+        }
+        return bytes;
+    }
+
+    static byte[] encode(DescribeSObjectResult describe) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        XmlOutputStream out = new XmlOutputStream(new DeflaterOutputStream(bytes), false);
+        out.setPrefix("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        out.setPrefix("xsd", "http://www.w3.org/2001/XMLSchema");
+        out.startDocument();
+        describe.write(ELEMENT, out, new TypeMapper());
+        out.endDocument();
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    static DescribeSObjectResult decode(byte[] bytes) throws IOException, ConnectionException, PullParserException {
+        XmlInputStream in = new XmlInputStream();
+        in.setInput(new InflaterInputStream(new ByteArrayInputStream(bytes)), "UTF-8");
+        DescribeSObjectResult describe = new DescribeSObjectResult();
+        describe.load(in, new TypeMapper());
+        return describe;
+    }
+}
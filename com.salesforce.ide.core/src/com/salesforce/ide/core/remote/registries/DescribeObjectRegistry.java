@@ -10,11 +10,14 @@
  ******************************************************************************/
 package com.salesforce.ide.core.remote.registries;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Hashtable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,15 +25,18 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IProject;
 
+import com.salesforce.ide.core.ForceIdeCorePlugin;
 import com.salesforce.ide.core.internal.utils.Constants;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.remote.Connection;
 import com.salesforce.ide.core.remote.ForceConnectionException;
 import com.salesforce.ide.core.remote.ForceRemoteException;
+import com.sforce.soap.partner.wsc.DescribeGlobalSObjectResult;
 import com.sforce.soap.partner.wsc.DescribeSObjectResult;
 
 /**
@@ -40,7 +46,11 @@ import com.sforce.soap.partner.wsc.DescribeSObjectResult;
 public class DescribeObjectRegistry extends BaseRegistry {
     private static final Logger logger = Logger.getLogger(DescribeObjectRegistry.class);
 
-    private static ConcurrentMap<String, Hashtable<String, DescribeSObjectResult>> describeCaches =
+    private static final String DESCRIBE_CACHE_DIRECTORY = "describe";
+    // describes from disk that are older than this are described again even if their global describe didn't change
+    private static final long DESCRIBE_CACHE_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static ConcurrentMap<String, Map<String, DescribeSObjectResult>> describeCaches =
             new ConcurrentHashMap<>();
 
     protected List<String> workflowableObjectNames = null;
@@ -111,7 +121,7 @@ public class DescribeObjectRegistry extends BaseRegistry {
         }
 
         SortedSet<String> types = null;
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isNotEmpty(describeCache)) {
             types = getSortedDescribeSObjectResult(describeCache.keySet());
@@ -154,10 +164,10 @@ public class DescribeObjectRegistry extends BaseRegistry {
         }
 
         SortedSet<String> customTypes = new TreeSet<>();
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isEmpty(describeCache) || refresh) {
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         }
 
         if (Utils.isEmpty(describeCache)) {
@@ -196,10 +206,10 @@ public class DescribeObjectRegistry extends BaseRegistry {
 
         SortedSet<String> workflowableTypes = new TreeSet<>();
         workflowableTypes.addAll(getWorkflowableObjectNames());
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isEmpty(describeCache) || refresh) {
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         }
 
         if (Utils.isEmpty(describeCache)) {
@@ -222,8 +232,8 @@ public class DescribeObjectRegistry extends BaseRegistry {
         return workflowableTypes;
     }
 
-    protected Hashtable<String, DescribeSObjectResult> getDescribeCacheForProject(String projectName) {
-        Hashtable<String, DescribeSObjectResult> describeCache = describeCaches.get(projectName);
+    protected Map<String, DescribeSObjectResult> getDescribeCacheForProject(String projectName) {
+        Map<String, DescribeSObjectResult> describeCache = describeCaches.get(projectName);
         return describeCache;
     }
 
@@ -270,10 +280,10 @@ public class DescribeObjectRegistry extends BaseRegistry {
         }
 
         SortedSet<String> layoutableTypes = new TreeSet<>();
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isEmpty(describeCache) || refresh) {
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         }
 
         if (Utils.isEmpty(describeCache)) {
@@ -341,10 +351,10 @@ public class DescribeObjectRegistry extends BaseRegistry {
                 removeObjectNotSupportedByDescribeSObject(crtableObjectNames, connection, projectName);
         SortedSet<String> crtableTypePluralLabels = new TreeSet<>();
         crtableTypePluralLabels.addAll(crtableObjectNamesInPlural);
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isEmpty(describeCache) || refresh) {
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         }
 
         if (Utils.isEmpty(describeCache)) {
@@ -402,10 +412,10 @@ public class DescribeObjectRegistry extends BaseRegistry {
         }
 
         TreeSet<String> triggerableTypes = new TreeSet<>();
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isEmpty(describeCache) || refresh) {
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         }
 
         if (Utils.isEmpty(describeCache)) {
@@ -444,7 +454,7 @@ public class DescribeObjectRegistry extends BaseRegistry {
         }
 
         DescribeSObjectResult describeSObjectResult = null;
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isNotEmpty(describeCache)) {
             String type = componentType.toLowerCase();
@@ -453,7 +463,11 @@ public class DescribeObjectRegistry extends BaseRegistry {
                 logger.debug("Got existing '" + componentType + "' sobject");
             }
 
-            describeSObjectResult = describeCache.get(type);
+            // cached describes are keyed by their name, types described on demand by their lower case name
+            describeSObjectResult = describeCache.get(componentType);
+            if (describeSObjectResult == null) {
+                describeSObjectResult = describeCache.get(type);
+            }
             if (describeSObjectResult == null) {
                 if (logger.isDebugEnabled()) {
                     logger.debug("'" + componentType + "' sobject not found.  Query Salesforce");
@@ -461,7 +475,6 @@ public class DescribeObjectRegistry extends BaseRegistry {
                 describeSObjectResult = connection.describeSObject(componentType);
                 describeCache.put(type, describeSObjectResult);
             }
-            describeSObjectResult = describeCache.get(type);
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("Initial fetch or refreshing sobjects");
@@ -492,13 +505,25 @@ public class DescribeObjectRegistry extends BaseRegistry {
     // This method will not load the sobjects if it has not already been loaded. Instead it can return null.
     // Useful in the case of ApexCodeScanner.java where it's better to proceed to load the editor first.
     public Collection<DescribeSObjectResult> getCachedDescribeSObjectResultsIfAny(IProject project) {
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(project.getName());
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(project.getName());
         if (Utils.isNotEmpty(describeCache)) {
             return describeCache.values();
         }
         return null;
     }
 
+    /**
+     * Like {@link #getCachedDescribeSObjectResultsIfAny(IProject)}, but only the names, so describes that are still on
+     * disk aren't decoded.
+     */
+    public Set<String> getCachedDescribeSObjectNamesIfAny(IProject project) {
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(project.getName());
+        if (Utils.isNotEmpty(describeCache)) {
+            return describeCache.keySet();
+        }
+        return null;
+    }
+
     public Collection<DescribeSObjectResult> getCachedDescribeSObjects(IProject project)
             throws ForceConnectionException, ForceRemoteException {
         if (project == null) {
@@ -517,13 +542,13 @@ public class DescribeObjectRegistry extends BaseRegistry {
     public Collection<DescribeSObjectResult> getCachedDescribeSObjects(Connection connection, String projectName,
             boolean refresh) throws ForceConnectionException, ForceRemoteException {
         Collection<DescribeSObjectResult> describeSObjectResults = null;
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (describeCache == null || refresh) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Initial fetch or refreshing sobjects");
             }
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("Got existing sobjects");
@@ -540,10 +565,10 @@ public class DescribeObjectRegistry extends BaseRegistry {
             throws ForceConnectionException, ForceRemoteException {
         SortedSet<String> describeSObjectNames = new TreeSet<>();
 
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (describeCache == null || refresh) {
-            describeCache = loadDescribeCaches(connection, projectName);
+            describeCache = loadDescribeCaches(connection, projectName, refresh);
         }
 
         if (Utils.isNotEmpty(describeCache)) {
@@ -559,7 +584,7 @@ public class DescribeObjectRegistry extends BaseRegistry {
     }
 
     public DescribeSObjectResult getCachedDescribeSObjectByApiName(String projectName, String apiName) {
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isNotEmpty(describeCache)) {
             Collection<DescribeSObjectResult> describeSObjectResults = describeCache.values();
@@ -577,17 +602,27 @@ public class DescribeObjectRegistry extends BaseRegistry {
         return null;
     }
 
-    private Hashtable<String, DescribeSObjectResult> loadDescribeCaches(IProject project)
+    private Map<String, DescribeSObjectResult> loadDescribeCaches(IProject project, boolean reDescribe)
             throws ForceConnectionException, ForceRemoteException {
         if (project == null) {
             return null;
         }
         Connection connection = connectionFactory.getConnection(project);
-        return loadDescribeCaches(connection, project.getName());
+        return loadDescribeCaches(connection, project.getName(), reDescribe);
     }
 
-    protected Hashtable<String, DescribeSObjectResult> loadDescribeCaches(Connection connection, String projectName)
+    protected Map<String, DescribeSObjectResult> loadDescribeCaches(Connection connection, String projectName)
             throws ForceConnectionException, ForceRemoteException {
+        return loadDescribeCaches(connection, projectName, false);
+    }
+
+    /**
+     * @param reDescribe
+     *            describe every type again instead of reusing the describes cached on disk, e.g. when the user asked
+     *            for a refresh
+     */
+    protected Map<String, DescribeSObjectResult> loadDescribeCaches(Connection connection, String projectName,
+            boolean reDescribe) throws ForceConnectionException, ForceRemoteException {
         if (Utils.isEmpty(projectName) || connection == null) {
             logger.warn("Unable to load sobjects - project name and/or connection is null or empty");
             return null;
@@ -597,24 +632,60 @@ public class DescribeObjectRegistry extends BaseRegistry {
             logger.debug("Load sobjects for project " + projectName);
         }
 
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isNotEmpty(describeCache)) {
             describeCaches.remove(projectName);
         }
 
-        String[] types = connection.retrieveTypes();
-        if (Utils.isNotEmpty(types)) {
-            DescribeSObjectResult[] describeSObjectResults = connection.describeSObjects(types, false);
+        DescribeGlobalSObjectResult[] sobjects = connection.describeGlobalSObjects(false);
+        if (Utils.isNotEmpty(sobjects)) {
+            DescribeObjectCacheFile cacheFile = getDescribeCacheFile(connection);
+            List<DescribeSObjectResult> describeSObjectResults = new ArrayList<>(sobjects.length);
+            Map<String, String> fingerprints = new LinkedHashMap<>();
+            List<String> cachedTypes = new ArrayList<>();
+            List<String> changedTypes = new ArrayList<>();
+            DescribeCache loaded = null;
+            for (DescribeGlobalSObjectResult sobject : sobjects) {
+                String fingerprint = DescribeObjectCacheFile.fingerprint(sobject);
+                fingerprints.put(sobject.getName(), fingerprint);
+
+                // custom objects gain and lose fields without their global describe changing, so always describe them;
+                // standard objects gain custom fields the same way, which the maximum age catches up with; cached
+                // describes are only decoded when first asked for
+                if (cacheFile != null && !reDescribe && !sobject.isCustom()
+                        && cacheFile.isCurrent(sobject.getName(), fingerprint, getDescribeCacheMaxAgeMillis())) {
+                    cachedTypes.add(sobject.getName());
+                } else {
+                    changedTypes.add(sobject.getName());
+                }
+            }
 
-            if (Utils.isNotEmpty(describeSObjectResults)) {
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Got [" + describeSObjectResults.length + "] sobjects");
+            if (logger.isDebugEnabled()) {
+                logger.debug("Reusing [" + cachedTypes.size() + "] cached sobjects, describing ["
+                        + changedTypes.size() + "] new, changed or custom sobjects");
+            }
+
+            Map<String, DescribeSObjectResult> described = new HashMap<>();
+            if (!changedTypes.isEmpty()) {
+                DescribeSObjectResult[] changedResults =
+                        connection.describeSObjects(changedTypes.toArray(new String[changedTypes.size()]), false);
+                if (Utils.isNotEmpty(changedResults)) {
+                    for (DescribeSObjectResult describeSObjectResult : changedResults) {
+                        described.put(describeSObjectResult.getName(), describeSObjectResult);
+                    }
+                    describeSObjectResults.addAll(described.values());
                 }
+            }
 
-                Arrays.sort(describeSObjectResults, describeSObjectResultComparator);
+            if (Utils.isNotEmpty(describeSObjectResults) || Utils.isNotEmpty(cachedTypes)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Got [" + (describeSObjectResults.size() + cachedTypes.size()) + "] sobjects");
+                }
 
-                describeCache = new Hashtable<>();
+                List<String> includedCachedTypes = new ArrayList<>(cachedTypes);
+                includedCachedTypes.removeAll(excludedTypes);
+                loaded = new DescribeCache(cacheFile, includedCachedTypes);
                 for (DescribeSObjectResult describeSObjectResult : describeSObjectResults) {
                     if (excludedTypes.contains(describeSObjectResult.getName())) {
                         if (logger.isDebugEnabled()) {
@@ -622,9 +693,26 @@ public class DescribeObjectRegistry extends BaseRegistry {
                         }
                         continue;
                     }
-                    describeCache.put(describeSObjectResult.getName(), describeSObjectResult);
+                    loaded.put(describeSObjectResult.getName(), describeSObjectResult);
                 }
-                describeCaches.put(projectName, describeCache);
+            }
+
+            if (cacheFile != null) {
+                // types that could not be described are left out, so they are described again next time
+                Set<String> names = getNames(describeSObjectResults);
+                names.addAll(cachedTypes);
+                fingerprints.keySet().retainAll(names);
+                try {
+                    cacheFile.save(fingerprints, described);
+                } catch (IOException e) {
+                    logger.warn("Unable to save describe cache '" + cacheFile.getFile() + "': " + e.getMessage());
+                }
+            }
+
+            // published once the file is saved, as the describe cache reads it from then on
+            if (loaded != null) {
+                describeCaches.put(projectName, loaded);
+                describeCache = loaded;
             }
         }
 
@@ -633,17 +721,56 @@ public class DescribeObjectRegistry extends BaseRegistry {
         return describeCache;
     }
 
-    public Hashtable<String, DescribeSObjectResult> refresh(IProject project) throws ForceConnectionException,
+    private static Set<String> getNames(List<DescribeSObjectResult> describeSObjectResults) {
+        Set<String> names = new HashSet<>();
+        for (DescribeSObjectResult describeSObjectResult : describeSObjectResults) {
+            names.add(describeSObjectResult.getName());
+        }
+        return names;
+    }
+
+    /**
+     * @return the on-disk describe cache for the org and API version of the connection, or null if it is unavailable
+     */
+    protected DescribeObjectCacheFile getDescribeCacheFile(Connection connection) {
+        File directory = getDescribeCacheDirectory();
+        if (directory == null || Utils.isEmpty(connection.getOrgId()) || connection.getSalesforceEndpoints() == null) {
+            return null;
+        }
+
+        DescribeObjectCacheFile cacheFile = new DescribeObjectCacheFile(directory, connection.getOrgId(),
+                connection.getSalesforceEndpoints().getDefaultApiVersion());
+        cacheFile.load();
+        return cacheFile;
+    }
+
+    protected long getDescribeCacheMaxAgeMillis() {
+        return DESCRIBE_CACHE_MAX_AGE_MILLIS;
+    }
+
+    protected File getDescribeCacheDirectory() {
+        try {
+            return ForceIdeCorePlugin.getDefault().getStateLocation().append(DESCRIBE_CACHE_DIRECTORY).toFile();
+        } catch (Exception e) {
+            logger.warn("Unable to get describe cache directory: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Describes every type of the project's org again, replacing both the describes in memory and those on disk.
+     */
+    public Map<String, DescribeSObjectResult> refresh(IProject project) throws ForceConnectionException,
             ForceRemoteException {
-        return loadDescribeCaches(project);
+        return loadDescribeCaches(project, true);
     }
 
-    public Hashtable<String, DescribeSObjectResult> remove(String projectName) {
+    public Map<String, DescribeSObjectResult> remove(String projectName) {
         return describeCaches.remove(projectName);
     }
 
     public DescribeSObjectResult removeObject(String projectName, String objectName) {
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
 
         if (Utils.isNotEmpty(describeCache)) {
             if (logger.isDebugEnabled()) {
@@ -677,23 +804,19 @@ public class DescribeObjectRegistry extends BaseRegistry {
             return;
         }
 
-        Hashtable<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
+        Map<String, DescribeSObjectResult> describeCache = getDescribeCacheForProject(projectName);
         if (Utils.isEmpty(describeCache)) {
             logger.debug("No cached describe objects");
             return;
         }
 
-        TreeSet<DescribeSObjectResult> describeSObjectResults =
-                new TreeSet<>(describeSObjectResultComparator);
-        describeSObjectResults.addAll(describeCache.values());
+        // only the names, so logging doesn't decode the describes that are still on disk
+        TreeSet<String> names = new TreeSet<>(describeCache.keySet());
         StringBuffer strBuffer = new StringBuffer();
-        strBuffer.append("Cached describe objects [" + describeSObjectResults.size() + "] are:");
+        strBuffer.append("Cached describe objects [" + names.size() + "] are:");
         int describeCnt = 0;
-        for (DescribeSObjectResult describeSObjectResult : describeSObjectResults) {
-            strBuffer.append("\n (").append(++describeCnt).append(") ").append(describeSObjectResult.getName())
-                    .append(", custom object = ").append(describeSObjectResult.isCustom()).append(", triggerable = ")
-                    .append(describeSObjectResult.isTriggerable()).append(", layoutable = ")
-                    .append(describeSObjectResult.isLayoutable()).append(", workflowable = ").append("n/a");
+        for (String name : names) {
+            strBuffer.append("\n (").append(++describeCnt).append(") ").append(name);
         }
         logger.debug(strBuffer.toString());
     }
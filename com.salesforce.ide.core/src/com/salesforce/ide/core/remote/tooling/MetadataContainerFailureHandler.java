@@ -15,6 +15,7 @@ import org.apache.log4j.Logger;
 import com.salesforce.ide.core.project.ForceProject;
 import com.salesforce.ide.core.remote.ForceRemoteException;
 import com.salesforce.ide.core.remote.ToolingStubExt;
+import com.sforce.soap.tooling.DeleteResult;
 import com.sforce.soap.tooling.Error;
 import com.sforce.soap.tooling.sobject.MetadataContainer;
 import com.sforce.soap.tooling.QueryResult;
@@ -38,25 +39,31 @@ public class MetadataContainerFailureHandler {
         this.stub = stub;
     }
 
-    public void handleCreationFailure(SaveResult[] containerResults) {
+    /**
+     * @return whether a container left behind with the same name was deleted, so creating it again may succeed
+     */
+    public boolean handleCreationFailure(SaveResult[] containerResults) {
         assert containerResults.length == 1; // We only deal with one MetadataContainer at a time
         for (Error error : containerResults[0].getErrors()) {
             if (error.getStatusCode() == StatusCode.DUPLICATE_VALUE) {
-                attemptToDeleteDuplicate();
+                return attemptToDeleteDuplicate();
             }
         }
+        return false;
     }
 
-    private void attemptToDeleteDuplicate() {
+    private boolean attemptToDeleteDuplicate() {
         try {
             String projectIdentifier = forceProject.getProjectIdentifier();
             String soql = String.format("SELECT Id FROM MetadataContainer WHERE name = '%s'", projectIdentifier);
             QueryResult queryResult = stub.query(soql);
             MetadataContainer duplicateContainer = (MetadataContainer) queryResult.getRecords()[0];
-            stub.delete(new String[] { duplicateContainer.getId() });
+            DeleteResult[] results = stub.delete(new String[] { duplicateContainer.getId() });
+            return results != null && results.length == 1 && results[0].isSuccess();
         } catch (ForceRemoteException e) {
             // Let's not try to do nested recovery from a failure handler. Log it.
             logger.debug(e);
+            return false;
         }
     }
 
@@ -16,17 +16,23 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.OperationStats;
 import com.salesforce.ide.core.internal.utils.QuietCloseable;
 import com.salesforce.ide.core.internal.utils.Utils;
+import com.salesforce.ide.core.remote.AsyncPoller;
 import com.salesforce.ide.core.remote.ForceRemoteException;
 import com.salesforce.ide.core.remote.MetadataStubExt;
+import com.salesforce.ide.core.remote.MonitorCanceledException;
 import com.sforce.soap.metadata.AsyncResult;
 
 public abstract class BasePackageService extends BaseService {
@@ -103,6 +109,8 @@ public abstract class BasePackageService extends BaseService {
         if (operationStats != null) {
             operationStats.addPollingTime(timeSoFar);
             operationStats.incrementOperationCount();
+            MetricsRegistry.getInstance().timer("poll." + operationStats.getOperationName()).record(timeSoFar,
+                TimeUnit.MILLISECONDS);
 
             if (logger.isDebugEnabled()) {
                 operationStats.logStats();
@@ -111,22 +119,26 @@ public abstract class BasePackageService extends BaseService {
     }
 
     protected String getFilePathLog(String message, byte[] zipFile) {
-        String filePathsStr = "No filePaths found";
         try {
-            List<String> filePaths = getFilePaths(zipFile);
-            if (Utils.isNotEmpty(filePaths)) {
-                StringBuffer strBuff = new StringBuffer();
-                strBuff.append(message).append(" [").append(filePaths.size()).append("]: ");
-                int fileCnt = 0;
-                Collections.sort(filePaths);
-                for (String filePath : filePaths) {
-                    strBuff.append("\n (").append(++fileCnt).append(") ").append(filePath);
-                }
-                filePathsStr = "\n" + strBuff.toString();
-            }
+            return getFilePathLog(message, getFilePaths(zipFile));
         } catch (IOException e) {
             logger.debug("Unable to retrieve file paths from zip", e);
         }
+        return "No filePaths found";
+    }
+
+    protected String getFilePathLog(String message, List<String> filePaths) {
+        String filePathsStr = "No filePaths found";
+        if (Utils.isNotEmpty(filePaths)) {
+            StringBuffer strBuff = new StringBuffer();
+            strBuff.append(message).append(" [").append(filePaths.size()).append("]: ");
+            int fileCnt = 0;
+            Collections.sort(filePaths);
+            for (String filePath : filePaths) {
+                strBuff.append("\n (").append(++fileCnt).append(") ").append(filePath);
+            }
+            filePathsStr = "\n" + strBuff.toString();
+        }
         return filePathsStr;
     }
 
@@ -171,25 +183,88 @@ public abstract class BasePackageService extends BaseService {
             throw new IllegalArgumentException("Metadata stub cannot be null");
         }
 
-        AsyncResult asyncResult = result.getAsyncResult();
-        long timeSoFarMillis = getTimeSoFarInitMillis();
-        long pollingInternal = getInitialPollingInterval();
-        int applyMultipleAtCycle = getApplyMultipleRound();
-        int maxPollingTime = metadataStubExt.getReadTimeout();
+        ResultPoll poll = new ResultPoll(result, metadataStubExt, operationStats, monitor);
 
         if (logger.isDebugEnabled()) {
             logger.debug("Start polling for response " + Calendar.getInstance().getTime().toString());
-            logger.debug("Initial polling interval will be " + pollingInternal + " milliseconds for "
-                    + applyMultipleAtCycle + " rounds");
+            logger.debug("Initial polling interval will be " + poll.pollingInterval + " milliseconds for "
+                    + poll.applyMultipleAtCycle + " rounds");
             logger.debug("Metadata API timeout set to " + Utils.timeoutToSecs(metadataStubExt.getReadTimeout()));
 
         }
 
-        for (int i = 0;; i++) {
+        // the checks run on the shared poller, this thread only waits for the outcome
+        try {
+            return AsyncPoller.await(AsyncPoller.getInstance().poll(poll, poll), monitor);
+        } catch (MonitorCanceledException e) {
+            logger.warn("Polling canceled by user after " + (poll.timeSoFarMillis / 1000) + " secs for id '"
+                    + result.getAsyncResult().getId() + "'");
+            throw new InterruptedException("Operation cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ForceRemoteException) {
+                throw (ForceRemoteException) cause;
+            } else if (cause instanceof ServiceException) {
+                throw (ServiceException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ServiceException(cause);
+        }
+    }
+
+    /**
+     * Checks the status of a deploy or retrieve once per round, waiting longer between rounds as polling goes on, and
+     * gives up once polling took longer than the max polling time.
+     */
+    private class ResultPoll implements Callable<IFileBasedResultAdapter>, AsyncPoller.Backoff {
+        private final IFileBasedResultAdapter result;
+        private final MetadataStubExt metadataStubExt;
+        private final OperationStats operationStats;
+        private final IProgressMonitor monitor;
+        private final int maxPollingTime;
+        private long pollingInterval;
+        private int applyMultipleAtCycle;
+        private volatile long timeSoFarMillis;
+        private int round;
+
+        ResultPoll(IFileBasedResultAdapter result, MetadataStubExt metadataStubExt, OperationStats operationStats,
+                IProgressMonitor monitor) {
+            this.result = result;
+            this.metadataStubExt = metadataStubExt;
+            this.operationStats = operationStats;
+            this.monitor = monitor;
+            this.maxPollingTime = metadataStubExt.getReadTimeout();
+            this.pollingInterval = getInitialPollingInterval();
+            this.applyMultipleAtCycle = getApplyMultipleRound();
+            this.timeSoFarMillis = getTimeSoFarInitMillis();
+        }
+
+        @Override
+        public IFileBasedResultAdapter call() throws ForceRemoteException, ServiceException {
+            AsyncResult asyncResult = result.getAsyncResult();
+
+            // record polling time to this point and evaluate base on limit
+            if (round > 0 && timeSoFarMillis > getMaxPollingTime()) {
+                logger.warn("Polling aborted after " + (timeSoFarMillis / 1000) + " secs for id '"
+                        + asyncResult.getId() + "'");
+
+                if (logger.isDebugEnabled()) {
+                    addToCumulative(operationStats, timeSoFarMillis);
+                }
+
+                throw new ServiceTimeoutException("Server processing time has exceeded limit ("
+                        + Utils.timeoutToSecs(getMaxPollingTime()) + ")", metadataStubExt, result.getAsyncResult(),
+                        operationStats);
+            }
+
             if (logger.isDebugEnabled()) {
                 logger.debug("");
-                logger.debug("####  Polling cycle round " + (i + 1) + "  ####");
+                logger.debug("####  Polling cycle round " + (round + 1) + "  ####");
             }
+            round++;
 
             monitorSubTask(monitor, result.retrieveRealTimeStatusUpdatesIfAny());
 
@@ -200,75 +275,59 @@ public abstract class BasePackageService extends BaseService {
                 result.logStatus(logger);
             }
 
-            if (result.isDone()) {
-                if (logger.isDebugEnabled()) {
-                    addToCumulative(operationStats, timeSoFarMillis);
-                    result.logResult(logger, operationStats);
-                }
-
-                // failed
-                if (result.isFailure()) {
-                    String failureString = result.logFailure(logger);
-                    if (logger.isDebugEnabled()) {
+            if (!result.isDone()) {
+                return null;
+            }
 
-                        logger.debug("Polling failed after " + (timeSoFarMillis / 1000) + " secs for id '"
-                                + asyncResult.getId() + "'");
-                    }
-                    throw new ServiceException(failureString, result.getAsyncResult());
-                }
+            if (logger.isDebugEnabled()) {
+                addToCumulative(operationStats, timeSoFarMillis);
+                result.logResult(logger, operationStats);
+            }
 
+            // failed
+            if (result.isFailure()) {
+                String failureString = result.logFailure(logger);
                 if (logger.isDebugEnabled()) {
-                    logger.debug("Polling complete for operation id '" + asyncResult.getId() + "' after "
-                            + (timeSoFarMillis / 1000) + " secs");
-                }
 
-                // success
-                break;
+                    logger.debug("Polling failed after " + (timeSoFarMillis / 1000) + " secs for id '"
+                            + asyncResult.getId() + "'");
+                }
+                throw new ServiceException(failureString, result.getAsyncResult());
             }
 
-            try {
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Next poll will be in ~" + (double) pollingInternal / 1000 + " secs");
-                }
-                Thread.sleep(pollingInternal);
-            } catch (InterruptedException e) {} finally {
-                timeSoFarMillis += pollingInternal;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Polling complete for operation id '" + asyncResult.getId() + "' after "
+                        + (timeSoFarMillis / 1000) + " secs");
             }
 
-            // record polling time to this point and evaluate base on limit
-            if (timeSoFarMillis > getMaxPollingTime()) {
-                logger.warn("Polling aborted after " + (timeSoFarMillis / 1000) + " secs for id '"
-                        + asyncResult.getId() + "'");
+            // success
+            return result;
+        }
 
-                if (logger.isDebugEnabled()) {
-                    addToCumulative(operationStats, timeSoFarMillis);
-                }
+        @Override
+        public long getDelay(int checkRound) {
+            // first check goes out right away
+            if (checkRound == 1) {
+                return 0;
+            }
 
-                throw new ServiceTimeoutException("Server processing time has exceeded limit ("
-                        + Utils.timeoutToSecs(getMaxPollingTime()) + ")", metadataStubExt, result.getAsyncResult(),
-                        operationStats);
+            long delay = pollingInterval;
+            timeSoFarMillis += delay;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Next poll will be in ~" + (double) delay / 1000 + " secs");
             }
 
             // determine if polling multiple is to be applied
-            if (pollingInternal < maxPollingTime && i == (applyMultipleAtCycle - 1)) {
-                pollingInternal = pollingInternal * getPollingMultiple();
+            if (pollingInterval < maxPollingTime && checkRound - 1 == applyMultipleAtCycle) {
+                pollingInterval = pollingInterval * getPollingMultiple();
                 applyMultipleAtCycle += getApplyMultipleRound();
                 if (logger.isDebugEnabled()) {
                     logger.debug("Adjusted polling multiple, next application will be after round "
                             + applyMultipleAtCycle);
                 }
             }
-
-            try {
-                monitorCheck(monitor);
-            } catch (InterruptedException e) {
-                logger.warn("Polling canceled by user after " + (timeSoFarMillis / 1000) + " secs for id '"
-                        + asyncResult.getId() + "'");
-                throw e;
-            }
+            return delay;
         }
-
-        return result;
     }
 
     public static Logger getLogger() {
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.CoreException;
+
+import com.salesforce.ide.core.factories.FactoryException;
+import com.salesforce.ide.core.model.ComponentList;
+
+/**
+ * Scans component folders concurrently on a small shared pool and hands back their components in the order the
+ * folders were given, so the result is the same as scanning them one after another.
+ *
+ * Scans only read resources and their properties, which needs no scheduling rule. The pool threads therefore never
+ * wait on a rule held by the calling thread, which blocks until all folders are done.
+ *
+ * @author nchen
+ */
+final class ComponentFolderScanner {
+    private static final Logger logger = Logger.getLogger(ComponentFolderScanner.class);
+
+    private static final String THREAD_NAME = "Force.com component scan";
+
+    // scanning is mostly waiting on the disk and the properties store, so a few threads are enough
+    static final int SCAN_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final ThreadPoolExecutor scanExecutor = new ThreadPoolExecutor(SCAN_THREADS, SCAN_THREADS, 60,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+    static {
+        scanExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    interface FolderScan {
+        ComponentList scan(IFolder folder) throws CoreException, FactoryException;
+    }
+
+    private ComponentFolderScanner() {}
+
+    /**
+     * @return the components of each folder, in the order of the folders; null where a folder had none
+     */
+    static List<ComponentList> scan(List<IFolder> folders, final FolderScan folderScan) throws CoreException,
+            FactoryException {
+        List<ComponentList> results = new ArrayList<>(folders.size());
+
+        // nothing to overlap, or already on a scan thread, which mustn't wait on its own pool
+        if (folders.size() < 2 || Thread.currentThread().getName().equals(THREAD_NAME)) {
+            for (IFolder folder : folders) {
+                results.add(folderScan.scan(folder));
+            }
+            return results;
+        }
+
+        List<Future<ComponentList>> futures = new ArrayList<>(folders.size());
+        for (final IFolder folder : folders) {
+            futures.add(scanExecutor.submit(() -> folderScan.scan(folder)));
+        }
+
+        try {
+            for (Future<ComponentList> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FactoryException("Interrupted while scanning component folders", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CoreException) {
+                throw (CoreException) cause;
+            } else if (cause instanceof FactoryException) {
+                throw (FactoryException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FactoryException(cause);
+        } finally {
+            // stop whatever is left after a failure
+            for (Future<ComponentList> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Scanned " + folders.size() + " component folders on " + SCAN_THREADS + " threads");
+        }
+        return results;
+    }
+}
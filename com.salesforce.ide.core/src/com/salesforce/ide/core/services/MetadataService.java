@@ -36,6 +36,7 @@ import com.salesforce.ide.core.remote.ForceConnectionException;
 import com.salesforce.ide.core.remote.ForceRemoteException;
 import com.salesforce.ide.core.remote.MetadataStubExt;
 import com.salesforce.ide.core.remote.metadata.CustomObjectNameResolver;
+import com.salesforce.ide.core.remote.metadata.DescribeMetadataCache;
 import com.salesforce.ide.core.remote.metadata.DescribeMetadataObjectExt;
 import com.salesforce.ide.core.remote.metadata.DescribeMetadataResultExt;
 import com.salesforce.ide.core.remote.metadata.FileMetadataExt;
@@ -50,19 +51,46 @@ import com.sforce.soap.metadata.ListMetadataQuery;
 public class MetadataService extends BaseService {
     private static final Logger logger = Logger.getLogger(MetadataService.class);
 
+    private DescribeMetadataCache describeMetadataCache = DescribeMetadataCache.getInstance();
+
     public MetadataService() {}
 
+    public DescribeMetadataCache getDescribeMetadataCache() {
+        return describeMetadataCache;
+    }
+
+    public void setDescribeMetadataCache(DescribeMetadataCache describeMetadataCache) {
+        this.describeMetadataCache = describeMetadataCache;
+    }
+
+    /**
+     * Describes the metadata of the stub's org, reusing a cached describe of the same org and API version when there is
+     * one that hasn't expired yet.
+     */
     public DescribeMetadataResultExt getDescribeMetadata(MetadataStubExt metadataStubExt, IProgressMonitor monitor)
             throws ForceRemoteException, InterruptedException {
         if (metadataStubExt == null) {
             throw new IllegalArgumentException("MetadataStubExt cannot be null");
         }
         monitorCheck(monitor);
-        DescribeMetadataResult describeMetadataResult = metadataStubExt.describeMetadata();
+
+        String orgId = metadataStubExt.getConnection() != null ? metadataStubExt.getConnection().getOrgId() : null;
+        String apiVersion = String.valueOf(metadataStubExt.getApiVersion());
+        DescribeMetadataResult describeMetadataResult =
+                Utils.isNotEmpty(orgId) ? describeMetadataCache.get(orgId, apiVersion) : null;
+        if (describeMetadataResult != null) {
+            return new DescribeMetadataResultExt(describeMetadataResult);
+        }
+
+        describeMetadataResult = metadataStubExt.describeMetadata();
         if (describeMetadataResult == null) {
             logger.warn("Returned DescribeMetadataResult is null");
             return null;
         }
+        if (Utils.isNotEmpty(orgId)) {
+            describeMetadataCache.put(orgId, apiVersion, describeMetadataResult);
+        }
+
         DescribeMetadataResultExt describeMetadataResultExt = new DescribeMetadataResultExt(describeMetadataResult);
         if (logger.isDebugEnabled()) {
             logger.debug("Got describe metadata:\n  " + describeMetadataResultExt.toString());
@@ -70,6 +98,15 @@ public class MetadataService extends BaseService {
         return describeMetadataResultExt;
     }
 
+    /**
+     * Forgets the cached describes of the connection's org so that the next describe goes to the server.
+     */
+    public void invalidateDescribeMetadata(Connection connection) {
+        if (connection != null) {
+            describeMetadataCache.invalidate(connection.getOrgId());
+        }
+    }
+
     public boolean isApexClassEnabled(Connection connection) throws ForceConnectionException, ForceRemoteException,
             InterruptedException {
         return isComponentTypeEnabled(connection, Constants.APEX_CLASS);
@@ -379,7 +416,9 @@ public class MetadataService extends BaseService {
             queries = getListMetadataQueryArray(connection, true, monitor);
         }
 
-        return new FileMetadataExt(metadataStubExt.listMetadata(queries, monitor));
+        FileMetadataExt fileMetadataExt = new FileMetadataExt();
+        metadataStubExt.listMetadata(queries, fileMetadataExt, monitor);
+        return fileMetadataExt;
     }
 
     public ListMetadataQuery[] getListMetadataQueryArray(Connection connection, boolean filter, IProgressMonitor monitor)
@@ -20,9 +20,9 @@ import com.salesforce.ide.api.metadata.MetadataDebuggingInfoHandler;
 import com.salesforce.ide.core.internal.utils.DialogUtils;
 import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
 import com.salesforce.ide.core.internal.utils.Messages;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.OperationStats;
 import com.salesforce.ide.core.internal.utils.Utils;
-import com.salesforce.ide.core.internal.utils.ZipUtils;
 import com.salesforce.ide.core.model.ProjectPackage;
 import com.salesforce.ide.core.model.ProjectPackageList;
 import com.salesforce.ide.core.remote.Connection;
@@ -33,6 +33,7 @@ import com.salesforce.ide.core.remote.MetadataStubExt;
 import com.salesforce.ide.core.remote.metadata.DeployMessageExt;
 import com.salesforce.ide.core.remote.metadata.DeployResultExt;
 import com.salesforce.ide.core.remote.metadata.DescribeMetadataResultExt;
+import com.salesforce.ide.core.remote.metadata.RetrieveResultExt;
 import com.sforce.soap.metadata.AsyncResult;
 import com.sforce.soap.metadata.DeployOptions;
 import com.sforce.soap.metadata.DeployResult;
@@ -311,6 +312,7 @@ public class PackageDeployService extends BasePackageService {
             }
 
             AsyncResult asyncResult = metadataStubExt.deploy(zipFile, deployOptions);
+            MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_SENT, zipFile.length);
             monitorWork(monitor);
 
             // get async result
@@ -417,11 +419,16 @@ public class PackageDeployService extends BasePackageService {
         if (logger.isDebugEnabled()) {
             // write zip to f/s
             String filePathLog = null;
-            if (deployResultHandler.getRetrieveResultHandler() != null) {
-                byte[] zipFile = deployResultHandler.getRetrieveResultHandler().getZipFile();
-                filePathLog = getFilePathLog("Deployed returned the following components:", zipFile);
-                if (Utils.isNotEmpty(zipFile)) {
-                    ZipUtils.writeRetrieveZipToTempDir(zipFile);
+            RetrieveResultExt retrieveResultHandler = deployResultHandler.getRetrieveResultHandler();
+            if (retrieveResultHandler != null) {
+                // the spilled zip is kept on disk until the result is handled, no need for another copy
+                try {
+                    retrieveResultHandler.spillZipFile();
+                    filePathLog =
+                            getFilePathLog("Deployed returned the following components:",
+                                retrieveResultHandler.getFilePaths());
+                } catch (IOException e) {
+                    logger.debug("Unable to retrieve file paths from zip", e);
                 }
             }
             logger.debug(filePathLog);
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.salesforce.ide.core.services;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -34,6 +35,7 @@ import com.salesforce.ide.core.internal.utils.Constants;
 import com.salesforce.ide.core.internal.utils.DialogUtils;
 import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
 import com.salesforce.ide.core.internal.utils.Messages;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.OperationStats;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.model.Component;
@@ -762,6 +764,7 @@ public class PackageRetrieveService extends BasePackageService {
         }
 
         retrieveResultExt.setRetrieveResult(retrieveResult);
+        MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_RECEIVED, retrieveResultExt.getZipFileSize());
 
         // log result
         logResult(retrieveResultExt);
@@ -928,7 +931,7 @@ public class PackageRetrieveService extends BasePackageService {
         if (logger.isDebugEnabled()) {
             logger.debug(
                 "Retrieve result contains zip of size ["
-                + (resultExt.getZipFile() != null ? resultExt.getZipFile().length : 0) 
+                + resultExt.getZipFileSize()
                 + "]");
             StringBuffer strBuff = new StringBuffer("Retrieved the following components in package(s) '");
             if (resultExt.getProjectPackageList() != null) {
@@ -941,18 +944,18 @@ public class PackageRetrieveService extends BasePackageService {
                 }
             }
             strBuff.append("'");
-            logger.debug(getFilePathLog(strBuff.toString(), resultExt.getZipFile()));
+            try {
+                logger.debug(getFilePathLog(strBuff.toString(), resultExt.getFilePaths()));
+            } catch (IOException e) {
+                logger.debug("Unable to retrieve file paths from zip", e);
+            }
 
             RetrieveMessageExt messageHandler = resultExt.getMessageHandler();
             if (messageHandler != null) {
                 messageHandler.logMessage();
             }
         } else if (logger.isInfoEnabled()) {
-            int zipFileSize = 0;
-            if (Utils.isNotEmpty(resultExt.getZipFile())) {
-                zipFileSize = resultExt.getZipFile().length;
-            }
-
+            int zipFileSize = resultExt.getZipFileSize();
             int fileCount = resultExt.getZipFileCount();
             logger.info("Retrieved zip file of size [" + zipFileSize + "] containing [" + fileCount + "] files");
 
@@ -11,6 +11,7 @@
 package com.salesforce.ide.core.services;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
@@ -19,9 +20,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -57,6 +61,7 @@ import com.salesforce.ide.core.internal.components.lightning.AuraDefinitionBundl
 import com.salesforce.ide.core.internal.context.ContainerDelegate;
 import com.salesforce.ide.core.internal.utils.Constants;
 import com.salesforce.ide.core.internal.utils.DeployMessageExtractor;
+import com.salesforce.ide.core.internal.utils.ForceExceptionUtils;
 import com.salesforce.ide.core.internal.utils.Messages;
 import com.salesforce.ide.core.internal.utils.QualifiedNames;
 import com.salesforce.ide.core.internal.utils.QuietCloseable;
@@ -69,6 +74,8 @@ import com.salesforce.ide.core.model.PackageConfiguration;
 import com.salesforce.ide.core.model.ProjectPackage;
 import com.salesforce.ide.core.model.ProjectPackageList;
 import com.salesforce.ide.core.project.BaseNature;
+import com.salesforce.ide.core.project.ContentManifest;
+import com.salesforce.ide.core.project.ContentManifestTracker;
 import com.salesforce.ide.core.project.DefaultNature;
 import com.salesforce.ide.core.project.ForceProject;
 import com.salesforce.ide.core.project.MarkerUtils;
@@ -79,10 +86,12 @@ import com.salesforce.ide.core.remote.ICodeCoverageWarningExt;
 import com.salesforce.ide.core.remote.IRunTestFailureExt;
 import com.salesforce.ide.core.remote.SalesforceEndpoints;
 import com.salesforce.ide.core.remote.metadata.DeployResultExt;
+import com.salesforce.ide.core.remote.metadata.FileMetadataExt;
 import com.salesforce.ide.core.remote.metadata.RetrieveMessageExt;
 import com.salesforce.ide.core.remote.metadata.RetrieveResultExt;
 import com.salesforce.ide.core.remote.metadata.RunTestsResultExt;
 import com.sforce.soap.metadata.DeployMessage;
+import com.sforce.soap.metadata.FileProperties;
 import com.sforce.soap.metadata.RetrieveMessage;
 
 /**
@@ -641,6 +650,7 @@ public class ProjectService extends BaseService {
             // loop thru registered component list inspecting respective folder and folder contents
             ComponentList registeredComponents =
                     getComponentFactory().getEnabledRegisteredComponents(enabledComponentTypes);
+            List<IFolder> componentFolders = new ArrayList<>();
             for (IComponent registeredComponent : registeredComponents) {
                 if (null != enabledComponentTypesList
                         && !enabledComponentTypesList.contains(registeredComponent.getComponentType())) {
@@ -658,7 +668,14 @@ public class ProjectService extends BaseService {
                     continue;
                 }
 
-                ComponentList tmpComponentList = getComponentsForComponentFolder(componentFolder, traverse, true);
+                componentFolders.add(componentFolder);
+            }
+
+            // folders are scanned concurrently, but merged in registration order as before
+            List<ComponentList> folderComponentLists =
+                    ComponentFolderScanner.scan(componentFolders,
+                        componentFolder -> getComponentsForComponentFolder(componentFolder, traverse, true));
+            for (ComponentList tmpComponentList : folderComponentLists) {
                 if (Utils.isNotEmpty(tmpComponentList)) {
                     componentList.addAll(tmpComponentList);
                 }
@@ -1934,17 +1951,22 @@ public class ProjectService extends BaseService {
 
         List<IResource> resources = projectPackageList.getAllComponentResources(false);
         if (deployResultHandler.isSuccess()) {
-            if (logger.isInfoEnabled()) {
-                logger.info("Save succeeded!");
-            }
-            MarkerUtils.getInstance().clearDirty(resources.toArray(new IResource[resources.size()]));
-        } else {
-            logger.warn("Save failed!");
-            MarkerUtils.getInstance().applyDirty(resources.toArray(new IResource[resources.size()]));
+            recordDeployedChecksums(projectPackageList);
         }
+        MarkerUtils.getInstance().batch(() -> {
+            if (deployResultHandler.isSuccess()) {
+                if (logger.isInfoEnabled()) {
+                    logger.info("Save succeeded!");
+                }
+                MarkerUtils.getInstance().clearDirty(resources.toArray(new IResource[resources.size()]));
+            } else {
+                logger.warn("Save failed!");
+                MarkerUtils.getInstance().applyDirty(resources.toArray(new IResource[resources.size()]));
+            }
 
-        // clear all existing save markers on deployed resources
-        MarkerUtils.getInstance().clearSaveMarkers(projectPackageList.getAllComponentResources(false).toArray(new IResource[0]));
+            // clear all existing save markers on deployed resources
+            MarkerUtils.getInstance().clearSaveMarkers(resources.toArray(new IResource[resources.size()]));
+        });
 
         DeployMessageExtractor messageExtractor = new DeployMessageExtractor(deployResultHandler);
 
@@ -1964,8 +1986,25 @@ public class ProjectService extends BaseService {
         return deployResultHandler.isSuccess();
     }
 
+    // the server now has the deployed bodies, so saving them again unchanged needn't deploy them. Record what went
+    // into the payload rather than what's on disk now, which may already hold the next edit.
+    private static void recordDeployedChecksums(ProjectPackageList projectPackageList) {
+        for (Component component : projectPackageList.getAllComponents(false)) {
+            long checksum = component.getPayloadChecksum();
+            if (checksum != ContentManifest.UNKNOWN_CHECKSUM && component.getFileResource() != null
+                    && component.getFileResource().exists()) {
+                ContentManifestTracker.getInstance().setServerChecksum(component.getFileResource(), checksum);
+            }
+        }
+    }
+
     public void handleDeployWarningMessages(ProjectPackageList projectPackageList,
             Collection<DeployMessage> deployWarnings, IProgressMonitor monitor) throws InterruptedException {
+        MarkerUtils.getInstance().batch(() -> applyDeployWarningMessages(projectPackageList, deployWarnings, monitor));
+    }
+
+    private void applyDeployWarningMessages(ProjectPackageList projectPackageList,
+            Collection<DeployMessage> deployWarnings, IProgressMonitor monitor) throws InterruptedException {
         if (deployWarnings.size() == 0) {
             if (logger.isInfoEnabled()) {
                 logger.info("No deploy warnings found");
@@ -1982,7 +2021,18 @@ public class ProjectService extends BaseService {
         }
     }
 
+    /**
+     * Marks the resources with the deploy's errors. The markers of all messages are applied together, so a deploy
+     * that fails with thousands of errors changes the workspace once.
+     */
     public void handleDeployErrorMessages(
+        ProjectPackageList projectPackageList,
+        Collection<DeployMessage> errorMessages,
+        IProgressMonitor monitor) throws InterruptedException {
+        MarkerUtils.getInstance().batch(() -> applyDeployErrorMessages(projectPackageList, errorMessages, monitor));
+    }
+
+    private void applyDeployErrorMessages(
         ProjectPackageList projectPackageList,
         Collection<DeployMessage> errorMessages,
         IProgressMonitor monitor) throws InterruptedException {
@@ -2125,40 +2175,14 @@ public class ProjectService extends BaseService {
 
         // save results to project
         if (save) {
-            if (retrieveResultHandler.getZipFileCount() == 0) {
-                logger.warn("Nothing to save to project - retrieve result is empty");
-                return true;
-            }
-
-            monitorCheckSubTask(monitor, Messages.getString("Components.Generating"));
-
-            // clean then load clean project package list to be saved to project
-            projectPackageList.removeAllComponents();
-            projectPackageList.generateComponentsForComponentTypes(
-                retrieveResultHandler.getZipFile(),
-                retrieveResultHandler.getFileMetadataHandler(),
-                toSaveComponentTypes,
-                monitor);
-            retrieveResultHandler.setProjectPackageList(projectPackageList);
-            monitorWork(monitor);
-
-            // flag builder to not build and save
-            flagSkipBuilder(projectPackageList.getProject());
-            monitorCheckSubTask(monitor, Messages.getString("Components.Saving"));
-
-            ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
-                @Override
-                public void run(IProgressMonitor monitor) throws CoreException {
-                    try {
-                        projectPackageList.saveResources(toSaveComponentTypes, monitor);
-                    } catch (Exception e) {
-                        throw new CoreException(
-                            new Status(IStatus.ERROR, Constants.FORCE_PLUGIN_PREFIX, 0, e.getMessage(), e));
-                    }
+            try {
+                if (!saveRetrieveResult(projectPackageList, retrieveResultHandler, toSaveComponentTypes, monitor)) {
+                    return true;
                 }
-            }, null, IResource.NONE, monitor);
-
-            monitorWork(monitor);
+            } finally {
+                // the components hold what they need, the spilled zip isn't read again
+                retrieveResultHandler.dispose();
+            }
         } else {
             logger.warn("Save intentionally skipped; may be handled later downstream by client");
         }
@@ -2176,6 +2200,49 @@ public class ProjectService extends BaseService {
         return true;
     }
 
+    /**
+     * @return false if the retrieve result was empty and there was nothing to save
+     */
+    private boolean saveRetrieveResult(
+        final ProjectPackageList projectPackageList,
+        RetrieveResultExt retrieveResultHandler,
+        final String[] toSaveComponentTypes,
+        IProgressMonitor monitor) throws InterruptedException, CoreException, IOException {
+        // the file's central directory lets the count below skip inflating every entry
+        final File zipFile = retrieveResultHandler.spillZipFile();
+        if (retrieveResultHandler.getZipFileCount() == 0) {
+            logger.warn("Nothing to save to project - retrieve result is empty");
+            return false;
+        }
+
+        monitorCheckSubTask(monitor, Messages.getString("Components.Generating"));
+
+        // clean project package list, then create and save components entry by entry from the spilled zip
+        projectPackageList.removeAllComponents();
+        final FileMetadataExt fileMetadataHandler = retrieveResultHandler.getFileMetadataHandler();
+        retrieveResultHandler.setProjectPackageList(projectPackageList);
+        monitorWork(monitor);
+
+        // flag builder to not build and save
+        flagSkipBuilder(projectPackageList.getProject());
+        monitorCheckSubTask(monitor, Messages.getString("Components.Saving"));
+
+        ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+            @Override
+            public void run(IProgressMonitor monitor) throws CoreException {
+                try {
+                    projectPackageList.saveResources(zipFile, fileMetadataHandler, toSaveComponentTypes, monitor);
+                } catch (Exception e) {
+                    throw new CoreException(
+                        new Status(IStatus.ERROR, Constants.FORCE_PLUGIN_PREFIX, 0, e.getMessage(), e));
+                }
+            }
+        }, null, IResource.NONE, monitor);
+
+        monitorWork(monitor);
+        return true;
+    }
+
     /**
      * @param projectPackageList
      * @param messageHandler
@@ -2284,6 +2351,11 @@ public class ProjectService extends BaseService {
 
     public void handleRunTestMessages(ProjectPackageList projectPackageList, RunTestsResultExt runTestResultHandler,
             IProgressMonitor monitor) throws InterruptedException {
+        MarkerUtils.getInstance().batch(() -> applyRunTestMessages(projectPackageList, runTestResultHandler, monitor));
+    }
+
+    private void applyRunTestMessages(ProjectPackageList projectPackageList, RunTestsResultExt runTestResultHandler,
+            IProgressMonitor monitor) throws InterruptedException {
         if (Utils.isEmpty(projectPackageList)) {
             throw new IllegalArgumentException("Project package list cannot be null");
         }
@@ -2396,6 +2468,12 @@ public class ProjectService extends BaseService {
 
     public void handleCodeCoverageWarnings(ProjectPackageList projectPackageList,
             RunTestsResultExt runTestResultHandler, IProgressMonitor monitor) throws InterruptedException {
+        MarkerUtils.getInstance().batch(
+            () -> applyCodeCoverageWarnings(projectPackageList, runTestResultHandler, monitor));
+    }
+
+    private void applyCodeCoverageWarnings(ProjectPackageList projectPackageList,
+            RunTestsResultExt runTestResultHandler, IProgressMonitor monitor) throws InterruptedException {
         if (Utils.isEmpty(projectPackageList)) {
             throw new IllegalArgumentException("Project package list cannot be null");
         }
@@ -2533,6 +2611,11 @@ public class ProjectService extends BaseService {
             return true;
         }
 
+        localProjectPackageList = getComponentsChangedRemotely(localProjectPackageList, monitor);
+        if (!localProjectPackageList.hasComponents(false)) {
+            return true;
+        }
+
         monitorCheck(monitor);
         monitor.subTask("Retrieving remote compontents...");
         RetrieveResultExt retrieveResultExt =
@@ -2577,6 +2660,10 @@ public class ProjectService extends BaseService {
         }
 
         localProjectPackageList.setProject(folder.getProject());
+        localProjectPackageList = getComponentsChangedRemotely(localProjectPackageList, monitor);
+        if (!localProjectPackageList.hasComponents(false)) {
+            return true;
+        }
 
         monitorCheck(monitor);
         monitor.subTask("Retrieving remote contents...");
@@ -2620,6 +2707,10 @@ public class ProjectService extends BaseService {
         localProjectPackageList = getProjectPackageListInstance();
         localProjectPackageList.setProject(file.getProject());
         localProjectPackageList.addComponent(component, true);
+        localProjectPackageList = getComponentsChangedRemotely(localProjectPackageList, monitor);
+        if (!localProjectPackageList.hasComponents(false)) {
+            return true;
+        }
 
         monitorWorkCheck(monitor, "Retrieving remote contents...");
         RetrieveResultExt retrieveResultExt = getPackageRetrieveService().retrieveSelective(localProjectPackageList, true, monitor);
@@ -2632,16 +2723,103 @@ public class ProjectService extends BaseService {
         return evaluateLocalAndRemote(localProjectPackageList, retrieveResultExt, monitor);
     }
 
+    /**
+     * Narrows the local components down to the ones that may have changed remotely, so that an in sync check only
+     * needs to retrieve those. A component is kept unless listMetadata reports it with the same last modified date and
+     * last modified by as when it was last retrieved. If listMetadata fails, all components are kept.
+     */
+    ProjectPackageList getComponentsChangedRemotely(ProjectPackageList localProjectPackageList,
+            IProgressMonitor monitor) throws InterruptedException {
+        String[] componentTypes = localProjectPackageList.getComponentTypes(false);
+        if (Utils.isEmpty(componentTypes)) {
+            return localProjectPackageList;
+        }
+
+        FileMetadataExt fileMetadataExt = null;
+        try {
+            monitorSubTask(monitor, "Checking remote components for changes...");
+            fileMetadataExt =
+                    getMetadataService().listMetadata(
+                        getConnectionFactory().getConnection(localProjectPackageList.getProject()), componentTypes,
+                        monitor);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.warn("Unable to list remote components - retrieving all components to check if in sync: "
+                    + ForceExceptionUtils.getRootCauseMessage(e));
+            return localProjectPackageList;
+        }
+
+        ComponentList localComponents = localProjectPackageList.getAllComponents(false);
+        Set<String> changedFilePaths = getRemotelyChangedFilePaths(localComponents, fileMetadataExt);
+
+        ProjectPackageList changedProjectPackageList = getProjectPackageListInstance();
+        changedProjectPackageList.setProject(localProjectPackageList.getProject());
+        for (Component component : localComponents) {
+            if (changedFilePaths.contains(getRemoteFilePath(component))) {
+                changedProjectPackageList.addComponent(component, false);
+            }
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info(changedFilePaths.size() + " of " + localComponents.size()
+                    + " local component(s) may have changed remotely");
+        }
+        return changedProjectPackageList;
+    }
+
+    /*
+     * Remote file paths of the components that listMetadata doesn't report with the last modified date and last
+     * modified by saved on them.
+     */
+    static Set<String> getRemotelyChangedFilePaths(Collection<Component> components, FileMetadataExt fileMetadataExt) {
+        Map<String, FileProperties> filePropertiesByFilePath = new HashMap<>();
+        if (fileMetadataExt != null && fileMetadataExt.hasFileProperties()) {
+            for (FileProperties fileProperties : fileMetadataExt.getFileProperties()) {
+                filePropertiesByFilePath.put(fileProperties.getFileName(), fileProperties);
+            }
+        }
+
+        Set<String> changedFilePaths = new HashSet<>();
+        for (Component component : components) {
+            String filePath = getRemoteFilePath(component);
+            FileProperties fileProperties = filePropertiesByFilePath.get(filePath);
+            if (fileProperties == null || fileProperties.getLastModifiedDate() == null
+                    || component.getLastModifiedDate() == null
+                    || fileProperties.getLastModifiedDate().getTimeInMillis() != component.getLastModifiedDate()
+                            .getTimeInMillis()
+                    || !Objects.equals(fileProperties.getLastModifiedById(), component.getLastModifiedById())) {
+                changedFilePaths.add(filePath);
+            }
+        }
+        return changedFilePaths;
+    }
+
+    // a metadata file shares the file path of its component's body remotely
+    private static String getRemoteFilePath(Component component) {
+        String filePath = component.getMetadataFilePath();
+        if (filePath != null && component.isMetadataInstance()
+                && filePath.endsWith(Constants.DEFAULT_METADATA_FILE_EXTENSION)) {
+            filePath = filePath.substring(0, filePath.length() - Constants.DEFAULT_METADATA_FILE_EXTENSION.length());
+        }
+        return filePath;
+    }
+
     private boolean evaluateLocalAndRemote(
     		ProjectPackageList localProjectPackageList,
             RetrieveResultExt retrieveResultExt,
             IProgressMonitor monitor) throws InterruptedException, IOException {
 
         // get remote package list to evaluate
-        ProjectPackageList remoteProjectPackageList = factoryLocator.getProjectPackageFactory().getProjectPackageListInstance(
-        		localProjectPackageList.getProject(),
-                retrieveResultExt.getZipFile(),
+        ProjectPackageList remoteProjectPackageList = null;
+        try {
+            remoteProjectPackageList = factoryLocator.getProjectPackageFactory().getProjectPackageListInstance(
+                localProjectPackageList.getProject(),
+                retrieveResultExt.spillZipFile(),
                 retrieveResultExt.getFileMetadataHandler());
+        } finally {
+            retrieveResultExt.dispose();
+        }
 
         monitorWork(monitor);
         monitorCheck(monitor);
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.core.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+
+import com.salesforce.ide.core.model.ComponentList;
+import com.salesforce.ide.core.remote.AsyncPoller;
+import com.salesforce.ide.core.remote.Connection;
+import com.salesforce.ide.core.remote.ToolingStubExt;
+import com.sforce.soap.tooling.DeleteResult;
+
+/**
+ * The MetadataContainer a project saves through with the Tooling API, kept from one save to the next instead of being
+ * created and deleted on each one.
+ *
+ * Saves that come in while one is running are queued and sent together as the next ContainerAsyncRequest. The
+ * container members of a request are deleted in the background once it finished, so the next request only compiles
+ * its own members.
+ *
+ * @author nchen
+ */
+final class ToolingContainerSession {
+    private static final Logger logger = Logger.getLogger(ToolingContainerSession.class);
+
+    static final long MIN_POLL_INTERVAL = 100;
+    static final long MAX_POLL_INTERVAL = 5000;
+    static final double BACKOFF_FACTOR = 1.5;
+    // weight of the latest request in the expected request duration
+    private static final double SMOOTHING = 0.3;
+
+    /**
+     * A save waiting for its turn.
+     */
+    static final class PendingSave {
+        final ComponentList list;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingSave(ComponentList list) {
+            this.list = list;
+        }
+    }
+
+    // held while a request of this session is sent and polled
+    final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by this
+    private final List<PendingSave> pending = new ArrayList<>();
+
+    // guarded by lock, except for being dropped by a failed clean up
+    private volatile String containerId;
+    private final List<String> memberIds = new ArrayList<>();
+    private CompletableFuture<Void> cleanup = CompletableFuture.completedFuture(null);
+    private double expectedMillis;
+
+    ToolingContainerSession(long expectedMillis) {
+        this.expectedMillis = expectedMillis;
+    }
+
+    synchronized PendingSave enqueue(ComponentList list) {
+        PendingSave save = new PendingSave(list);
+        pending.add(save);
+        return save;
+    }
+
+    /**
+     * @return the saves queued so far, oldest first
+     */
+    synchronized List<PendingSave> drain() {
+        List<PendingSave> saves = new ArrayList<>(pending);
+        pending.clear();
+        return saves;
+    }
+
+    /**
+     * @return the components of all saves, where a later save of a file replaces an earlier one
+     */
+    static ComponentList merge(List<PendingSave> saves) {
+        if (saves.size() == 1) {
+            return saves.get(0).list;
+        }
+
+        List<ComponentList> lists = new ArrayList<>(saves.size());
+        for (PendingSave save : saves) {
+            lists.add(save.list);
+        }
+        return new ComponentList().addAllLatest(lists);
+    }
+
+    String getContainerId() {
+        return containerId;
+    }
+
+    synchronized void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
+    void addMember(String id) {
+        memberIds.add(id);
+    }
+
+    /**
+     * Forgets the container, e.g. after it was deleted on the server.
+     */
+    synchronized void reset() {
+        containerId = null;
+        memberIds.clear();
+    }
+
+    /**
+     * Deletes the members of the last request without waiting for it.
+     */
+    void cleanUpMembers(final ToolingStubExt stub) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+
+        final String[] ids = memberIds.toArray(new String[memberIds.size()]);
+        final String container = containerId;
+        memberIds.clear();
+        cleanup = CompletableFuture.runAsync(() -> {
+            boolean deleted = false;
+            try {
+                DeleteResult[] results = stub.delete(ids);
+                deleted = results != null && Arrays.stream(results).allMatch(DeleteResult::isSuccess);
+            } catch (Exception e) {
+                logger.debug("Unable to delete container members", e);
+            }
+            if (!deleted) {
+                // a member left behind would be compiled again with the next request, so use a new container
+                dropContainer(container);
+            }
+        }, Connection.getCallExecutor());
+    }
+
+    private synchronized void dropContainer(String container) {
+        if (container != null && container.equals(containerId)) {
+            containerId = null;
+        }
+    }
+
+    /**
+     * Waits for the members of the last request to be deleted.
+     */
+    void awaitCleanUp() {
+        try {
+            cleanup.get();
+        } catch (InterruptedException e) {
+            // not knowing whether the members are gone, don't use the container again
+            Thread.currentThread().interrupt();
+            dropContainer(containerId);
+        } catch (ExecutionException e) {
+            logger.debug("Unable to delete container members", e.getCause());
+            dropContainer(containerId);
+        }
+    }
+
+    void recordDuration(long millis) {
+        expectedMillis = SMOOTHING * millis + (1 - SMOOTHING) * expectedMillis;
+    }
+
+    long getExpectedMillis() {
+        return (long) expectedMillis;
+    }
+
+    /**
+     * @return polls that start around the time requests of this session have been taking and back off from there
+     */
+    AsyncPoller.Backoff getBackoff() {
+        final long first = Math.max(MIN_POLL_INTERVAL, Math.min(MAX_POLL_INTERVAL, getExpectedMillis()));
+        return round -> Math.min(MAX_POLL_INTERVAL, (long) (first * Math.pow(BACKOFF_FACTOR, round - 1)));
+    }
+}
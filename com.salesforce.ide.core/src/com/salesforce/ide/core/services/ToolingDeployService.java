@@ -10,23 +10,34 @@
  ******************************************************************************/
 package com.salesforce.ide.core.services;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import com.google.common.base.Function;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
+import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.salesforce.ide.core.internal.utils.MetricsRegistry;
 import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.model.Component;
 import com.salesforce.ide.core.model.ComponentList;
 import com.salesforce.ide.core.project.ForceProject;
 import com.salesforce.ide.core.project.MarkerUtils;
+import com.salesforce.ide.core.remote.AsyncPoller;
+import com.salesforce.ide.core.remote.Connection;
 import com.salesforce.ide.core.remote.ForceException;
 import com.salesforce.ide.core.remote.ForceRemoteException;
+import com.salesforce.ide.core.remote.MonitorCanceledException;
 import com.salesforce.ide.core.remote.ToolingStubExt;
 import com.salesforce.ide.core.remote.tooling.ContainerAsyncRequestMessageHandler;
 import com.salesforce.ide.core.remote.tooling.ContainerMemberFactory;
@@ -34,7 +45,6 @@ import com.salesforce.ide.core.remote.tooling.MetadataContainerFailureHandler;
 import com.sforce.soap.tooling.sobject.ContainerAsyncRequest;
 import com.sforce.soap.tooling.ContainerAsyncRequestState;
 import com.sforce.soap.tooling.sobject.MetadataContainer;
-import com.sforce.soap.tooling.QueryResult;
 import com.sforce.soap.tooling.sobject.SObject;
 import com.sforce.soap.tooling.SaveResult;
 
@@ -42,7 +52,8 @@ import com.sforce.soap.tooling.SaveResult;
  * A service for deploying via ContainerAsyncRequest through the Tooling API. This class takes care of creating the
  * necessary container member from the components in the workspace, when possible.
  * 
- * This service might be run for multiple projects concurrently. Ensure it is threadsafe by making it stateless.
+ * This service might be run for multiple projects concurrently. Ensure it is threadsafe: the only state is the
+ * {@link ToolingContainerSession} of each project, which serializes the saves of its project.
  * 
  * @author nchen
  * 
@@ -50,18 +61,23 @@ import com.sforce.soap.tooling.SaveResult;
 public class ToolingDeployService extends BaseService {
 
     private static final int POLL_INTERVAL = 1000;
+    private static final String QUERY_REQUEST =
+            "SELECT Id, State, ErrorMsg, DeployDetails FROM ContainerAsyncRequest WHERE Id IN (%s)";
     private static final Logger logger = Logger.getLogger(ToolingDeployService.class);
 
+    private static final ConcurrentMap<ForceProject, ToolingContainerSession> sessions = new ConcurrentHashMap<>();
+
     /**
      * <p>
      * Deploys the list of components through the Tooling API. It will attempt to compile and save. If there are
      * compilation errors, it will notify the user.
      * </p>
      * <p>
-     * We create a fresh MetadataContainer each time (but with the same name). This is cleaner in case we wind up in
-     * some weird state with partially created ContainerMember. This is different from the Dev Console, because we have
-     * a local file system when we can store intermediate state. We don't need to exploit ContainerMembers to store
-     * intermediate state.
+     * Each project keeps its MetadataContainer from one save to the next (see {@link ToolingContainerSession}), so a
+     * save usually takes three calls: creating the container members, creating the ContainerAsyncRequest and polling
+     * it. The members are deleted in the background once the request finished, so the container never compiles a
+     * stale body. Saves of the same project that come in while one is running are sent together with the next
+     * request.
      * </p>
      * 
      * @param list
@@ -70,63 +86,153 @@ public class ToolingDeployService extends BaseService {
      *            Monitor to provide feedback to the user.
      */
     public void deploy(ForceProject project, ComponentList list, IProgressMonitor monitor) {
-        //TODO: Optimize for the case of a single save, where we can just use the ContainerAsyncRequest without MetadataContainer
+        clearSaveLocallyOnlyMarkers(list);
+
+        ToolingContainerSession session =
+                sessions.computeIfAbsent(project, p -> new ToolingContainerSession(POLL_INTERVAL));
+        ToolingContainerSession.PendingSave save = session.enqueue(list);
+        session.lock.lock();
         try {
-            clearSaveLocallyOnlyMarkers(list);
+            if (save.done.isDone()) {
+                // Sent along with the save that held the session before us
+                return;
+            }
 
+            List<ToolingContainerSession.PendingSave> saves = session.drain();
+            if (saves.size() > 1) {
+                MetricsRegistry.getInstance().add(MetricsRegistry.TOOLING_SAVES_COALESCED, saves.size() - 1);
+            }
+            try {
+                deploy(project, session, ToolingContainerSession.merge(saves), monitor);
+            } finally {
+                for (ToolingContainerSession.PendingSave pending : saves) {
+                    pending.done.complete(null);
+                }
+            }
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private void deploy(ForceProject project, ToolingContainerSession session, ComponentList list,
+            IProgressMonitor monitor) {
+        long start = System.nanoTime();
+        try {
             ToolingStubExt stub = factoryLocator.getToolingFactory().getToolingStubExt(project);
+            session.awaitCleanUp();
 
-            MetadataContainer container = new MetadataContainer();
-            container.setName(constructProjectIdentifier(project));
-            SaveResult[] containerResults = stub.create(new SObject[] { container });
-
-            if (containerResults[0].isSuccess()) {
-                String containerId = containerResults[0].getId();
-                SObject[] classMembers = createContainerMembers(containerId, list);
-
-                SaveResult[] classMemberResults = stub.create(classMembers);
-                boolean allClassMembersCreatedSuccessfully =
-                        Iterables.all(Lists.newArrayList(classMemberResults), new Predicate<SaveResult>() {
-
-                            @Override
-                            public boolean apply(SaveResult result) {
-                                return result.isSuccess();
-                            }
-                        });
-
-                if (allClassMembersCreatedSuccessfully) {
-                    ContainerAsyncRequest request = new ContainerAsyncRequest();
-                    request.setIsCheckOnly(false);
-                    request.setMetadataContainerId(containerId);
-                    SaveResult[] requestResults = stub.create(new SObject[] { request });
-
-                    if (requestResults[0].isSuccess()) {
-                        ContainerAsyncRequest onGoingRequest = pollForStatus(stub, requestResults, monitor);
-                        handleContainerAsyncMessages(list, onGoingRequest);
-                    } else {
-                        handleContainerAsyncRequestCreationFailure(list, requestResults);
-                    }
-                } else {
-                    handleClassMembersCreationFailure(list, classMemberResults);
+            boolean reused = session.getContainerId() != null;
+            if (!reused && !createContainer(project, stub, session, list)) {
+                return;
+            }
+
+            if (!deployThroughContainer(stub, session, list, monitor, !reused) && reused) {
+                // The container may be gone on the server, e.g. deleted from another client: start over once
+                logger.debug("Unable to save through existing MetadataContainer, creating a new one");
+                session.awaitCleanUp();
+                deleteContainer(stub, session);
+                if (createContainer(project, stub, session, list)) {
+                    deployThroughContainer(stub, session, list, monitor, true);
                 }
+            }
+        } catch (ForceException e) {
+            session.reset();
+            handleToolingDeployException(e);
+        } finally {
+            MetricsRegistry.getInstance().timer(MetricsRegistry.TOOLING_SAVE).stop(start);
+        }
+    }
 
-                // Clean up and delete the container member (this also deletes any ContainerMembers still referencing it)
-                // If deletion fails, we will see a duplicate container error the next time we deploy and handle it there.
-                stub.delete(new String[] { containerResults[0].getId() });
+    private boolean createContainer(ForceProject project, ToolingStubExt stub, ToolingContainerSession session,
+            ComponentList list) throws ForceRemoteException {
+        MetadataContainer container = new MetadataContainer();
+        container.setName(constructProjectIdentifier(project));
+        SaveResult[] containerResults = stub.create(new SObject[] { container });
 
+        if (!containerResults[0].isSuccess()
+                && new MetadataContainerFailureHandler(project, stub).handleCreationFailure(containerResults)) {
+            // A container of an earlier session was left behind and has been deleted
+            containerResults = stub.create(new SObject[] { container });
+        }
+
+        if (containerResults[0].isSuccess()) {
+            session.setContainerId(containerResults[0].getId());
+            return true;
+        }
+        handleMetadataContainerCreationFailure(list, containerResults);
+        return false;
+    }
+
+    /**
+     * @return false if the container could not take the save, leaving the markers to the caller when it may retry
+     */
+    private boolean deployThroughContainer(ToolingStubExt stub, ToolingContainerSession session, ComponentList list,
+            IProgressMonitor monitor, boolean lastAttempt) throws ForceRemoteException {
+        SObject[] classMembers = createContainerMembers(session.getContainerId(), list);
+        SaveResult[] classMemberResults = stub.create(classMembers);
+        boolean allClassMembersCreatedSuccessfully = true;
+        for (SaveResult result : classMemberResults) {
+            if (result.isSuccess()) {
+                session.addMember(result.getId());
             } else {
-                handleMetadataContainerCreationFailure(project, stub, list, containerResults);
+                allClassMembersCreatedSuccessfully = false;
             }
+        }
 
-        } catch (ForceException e) {
-            handleToolingDeployException(e);
+        try {
+            if (!allClassMembersCreatedSuccessfully) {
+                if (lastAttempt) {
+                    handleClassMembersCreationFailure(list, classMemberResults);
+                }
+                return false;
+            }
+
+            ContainerAsyncRequest request = new ContainerAsyncRequest();
+            request.setIsCheckOnly(false);
+            request.setMetadataContainerId(session.getContainerId());
+            long start = System.currentTimeMillis();
+            SaveResult[] requestResults = stub.create(new SObject[] { request });
+
+            if (!requestResults[0].isSuccess()) {
+                if (lastAttempt) {
+                    handleContainerAsyncRequestCreationFailure(list, requestResults);
+                }
+                return false;
+            }
+
+            // A request is never done right after its creation, so go straight to polling it
+            ContainerAsyncRequest queuedRequest = new ContainerAsyncRequest();
+            queuedRequest.setId(requestResults[0].getId());
+            queuedRequest.setState(ContainerAsyncRequestState.Queued);
+            ContainerAsyncRequest onGoingRequest =
+                    pollUntilUnqueuedOrCancelled(stub, monitor, queuedRequest, session.getBackoff());
+            if (onGoingRequest.getState() != ContainerAsyncRequestState.Aborted) {
+                session.recordDuration(System.currentTimeMillis() - start);
+            }
+            handleContainerAsyncMessages(list, onGoingRequest);
+            return true;
+        } finally {
+            session.cleanUpMembers(stub);
         }
+    }
 
+    private static void deleteContainer(ToolingStubExt stub, ToolingContainerSession session) {
+        String containerId = session.getContainerId();
+        session.reset();
+        if (containerId == null) {
+            return;
+        }
+        try {
+            // This also deletes any ContainerMembers still referencing it
+            stub.delete(new String[] { containerId });
+        } catch (ForceRemoteException e) {
+            // If deletion fails, we will see a duplicate container error when creating the next one and handle it there
+            logger.debug("Unable to delete MetadataContainer " + containerId, e);
+        }
     }
 
-    private void handleMetadataContainerCreationFailure(ForceProject project, ToolingStubExt stub, ComponentList list,
-            SaveResult[] containerResults) {
-        new MetadataContainerFailureHandler(project, stub).handleCreationFailure(containerResults);
+    private void handleMetadataContainerCreationFailure(ComponentList list, SaveResult[] containerResults) {
+        logger.debug("Failed to create MetadataContainer for deployment: " + containerResults[0]);
         createSaveLocallyOnlyMarkers(list);
     }
 
@@ -156,42 +262,88 @@ public class ToolingDeployService extends BaseService {
         return resources;
     }
 
-    ContainerAsyncRequest pollForStatus(ToolingStubExt stub, SaveResult[] requestResults, IProgressMonitor monitor)
-            throws ForceRemoteException {
-        String requestId = requestResults[0].getId();
-        String soql =
-                String.format("SELECT Id, State, ErrorMsg, DeployDetails FROM ContainerAsyncRequest where id = '%s'",
-                    requestId);
-        QueryResult queryResult = stub.query(soql);
+    ContainerAsyncRequest pollUntilUnqueuedOrCancelled(ToolingStubExt stub, IProgressMonitor monitor,
+            ContainerAsyncRequest onGoingRequest) throws ForceRemoteException {
+        return pollUntilUnqueuedOrCancelled(stub, monitor, onGoingRequest, round -> POLL_INTERVAL * round);
+    }
 
-        ContainerAsyncRequest onGoingRequest = (ContainerAsyncRequest) queryResult.getRecords()[0];
+    ContainerAsyncRequest pollUntilUnqueuedOrCancelled(ToolingStubExt stub, IProgressMonitor monitor,
+            ContainerAsyncRequest onGoingRequest, AsyncPoller.Backoff backoff) throws ForceRemoteException {
+        if (onGoingRequest.getState() != ContainerAsyncRequestState.Queued) {
+            return onGoingRequest;
+        }
 
-        return pollUntilUnqueuedOrCancelled(stub, monitor, soql, onGoingRequest);
+        // Requests of all projects logged in to the same org as the same user are checked together, each one backing
+        // off on its own
+        Future<ContainerAsyncRequest> request =
+                AsyncPoller.getInstance().poll(new ContainerAsyncRequestCheck(stub), onGoingRequest.getId(), backoff);
+        try {
+            return AsyncPoller.await(request, monitor);
+        } catch (MonitorCanceledException e) { // The user has canceled the task
+            ContainerAsyncRequest abortedRequest = new ContainerAsyncRequest();
+            abortedRequest.setId(onGoingRequest.getId());
+            abortedRequest.setState(ContainerAsyncRequestState.Aborted);
+            stub.update(new SObject[] { abortedRequest });
+            return abortedRequest;
+        } catch (InterruptedException e) {
+            logger.debug("Exception while polling for ContainerAsyncRequest: ", e);
+            request.cancel(false);
+            Thread.currentThread().interrupt();
+            return onGoingRequest;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ForceRemoteException) {
+                throw (ForceRemoteException) e.getCause();
+            }
+            throw Throwables.propagate(e.getCause());
+        }
     }
 
-    ContainerAsyncRequest pollUntilUnqueuedOrCancelled(ToolingStubExt stub, IProgressMonitor monitor, String soql,
-            ContainerAsyncRequest onGoingRequest) throws ForceRemoteException {
-        QueryResult queryResult;
-        int delayMultipler = 1;
-        while (onGoingRequest.getState() == ContainerAsyncRequestState.Queued) {
-            try {
-                Thread.sleep(POLL_INTERVAL * delayMultipler++);
-                if (monitor.isCanceled()) { // The user has canceled the task
-                    ContainerAsyncRequest abortedRequest = new ContainerAsyncRequest();
-                    abortedRequest.setId(onGoingRequest.getId());
-                    abortedRequest.setState(ContainerAsyncRequestState.Aborted);
-                    stub.update(new SObject[] { abortedRequest });
-                    return abortedRequest;
+    /**
+     * Queries the state of several ContainerAsyncRequests of one org and user at once.
+     */
+    private static final class ContainerAsyncRequestCheck implements AsyncPoller.BatchCheck<ContainerAsyncRequest> {
+        private final ToolingStubExt stub;
+        // the org and user the stub is logged in as, who can see the requests of every project logged in as them
+        private final String key;
+
+        ContainerAsyncRequestCheck(ToolingStubExt stub) {
+            this.stub = stub;
+            Connection connection = stub.getConnection();
+            this.key = connection != null && connection.getUsername() != null
+                    ? stub.getServerName() + "|" + connection.getUsername() : null;
+        }
+
+        @Override
+        public Map<String, ContainerAsyncRequest> check(Set<String> ids) throws ForceRemoteException {
+            String idList = "'" + Joiner.on("','").useForNull("").join(ids) + "'";
+            SObject[] records = stub.query(String.format(QUERY_REQUEST, idList)).getRecords();
+            Map<String, ContainerAsyncRequest> requests = new HashMap<>();
+            if (records != null) {
+                for (SObject record : records) {
+                    requests.put(record.getId(), (ContainerAsyncRequest) record);
                 }
-            } catch (InterruptedException e) {
-                logger.debug("Exception while polling for ContainerAsyncRequest: ", e);
             }
+            return requests;
+        }
 
-            queryResult = stub.query(soql);
-            onGoingRequest = (ContainerAsyncRequest) queryResult.getRecords()[0];
+        @Override
+        public boolean isDone(ContainerAsyncRequest request) {
+            return request.getState() != ContainerAsyncRequestState.Queued;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ContainerAsyncRequestCheck)) {
+                return false;
+            }
+            ContainerAsyncRequestCheck other = (ContainerAsyncRequestCheck) obj;
+            return key != null ? key.equals(other.key) : other.stub == stub;
+        }
 
+        @Override
+        public int hashCode() {
+            return key != null ? key.hashCode() : System.identityHashCode(stub);
         }
-        return onGoingRequest;
     }
 
     private static void handleContainerAsyncMessages(ComponentList list, ContainerAsyncRequest onGoingRequest) {
@@ -437,9 +437,7 @@ public class DeploymentController extends Controller {
 
             monitorWork(monitor);
 
-            remoteProjectPackageList.generateComponents(
-                retrieveResultHandler.getZipFile(),
-                retrieveResultHandler.getFileMetadataHandler());
+            generateRemoteComponents(retrieveResultHandler);
         }
     }
 
@@ -490,9 +488,7 @@ public class DeploymentController extends Controller {
 
                 monitorWork(monitor);
 
-                remoteProjectPackageList.generateComponents(
-                    retrieveResultHandler.getZipFile(),
-                    retrieveResultHandler.getFileMetadataHandler());
+                generateRemoteComponents(retrieveResultHandler);
             }
         }
     }
@@ -545,9 +541,7 @@ public class DeploymentController extends Controller {
             
             monitorWork(monitor);
             
-            remoteProjectPackageList.generateComponents(
-                retrieveResultHandler.getZipFile(),
-                retrieveResultHandler.getFileMetadataHandler());
+            generateRemoteComponents(retrieveResultHandler);
         }
     }
     
@@ -578,9 +572,19 @@ public class DeploymentController extends Controller {
             
             monitorWork(monitor);
             
+            generateRemoteComponents(retrieveResultHandler);
+        }
+    }
+    
+    // the remote components hold their bodies, the retrieved zip isn't needed once they are generated
+    private void generateRemoteComponents(RetrieveResultExt retrieveResultHandler) throws InterruptedException,
+            IOException {
+        try {
             remoteProjectPackageList.generateComponents(
-                retrieveResultHandler.getZipFile(),
+                retrieveResultHandler.spillZipFile(),
                 retrieveResultHandler.getFileMetadataHandler());
+        } finally {
+            retrieveResultHandler.dispose();
         }
     }
     
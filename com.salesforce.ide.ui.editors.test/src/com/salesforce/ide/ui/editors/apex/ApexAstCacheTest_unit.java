@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.ui.editors.apex;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.junit.Test;
+
+import com.salesforce.ide.apex.internal.core.CompiledAst;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nchen
+ * 
+ */
+public class ApexAstCacheTest_unit extends TestCase {
+    private static final String SOURCE = "public class MyClass {}";
+
+    private static class CountingCache extends ApexAstCache {
+        int parses;
+
+        @Override
+        protected CompiledAst parse(String text) {
+            parses++;
+            return null;
+        }
+    }
+
+    private static class BlockingCache extends ApexAstCache {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected CompiledAst parse(String text) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+
+    private static IDocument mockDocument(long stamp) {
+        IDocument document = mock(IDocument.class, withSettings().extraInterfaces(IDocumentExtension4.class));
+        when(document.get()).thenReturn(SOURCE);
+        when(((IDocumentExtension4) document).getModificationStamp()).thenReturn(stamp);
+        return document;
+    }
+
+    @Test
+    public void testSameVersionIsParsedOnce() throws Exception {
+        CountingCache cache = new CountingCache();
+        IDocument document = mockDocument(1L);
+
+        cache.getAst(document);
+        cache.getAst(document);
+        cache.getAst(document);
+
+        assertEquals(1, cache.parses);
+        assertEquals(3, cache.getRequestCount());
+        assertEquals(1, cache.getEditCount());
+    }
+
+    @Test
+    public void testNewVersionIsParsedAgain() throws Exception {
+        CountingCache cache = new CountingCache();
+        IDocument document = mockDocument(1L);
+
+        cache.getAst(document);
+        when(((IDocumentExtension4) document).getModificationStamp()).thenReturn(2L);
+        cache.getAst(document);
+        cache.getAst(document);
+
+        assertEquals(2, cache.parses);
+        assertEquals(2, cache.getEditCount());
+    }
+
+    @Test
+    public void testInvalidateDropsCachedVersion() throws Exception {
+        CountingCache cache = new CountingCache();
+        IDocument document = mockDocument(1L);
+
+        cache.getAst(document);
+        cache.invalidate(document);
+        cache.getAst(document);
+
+        assertEquals(2, cache.parses);
+    }
+
+    @Test
+    public void testDocumentWithoutStampIsAlwaysParsed() throws Exception {
+        CountingCache cache = new CountingCache();
+        IDocument document = mock(IDocument.class);
+        when(document.get()).thenReturn(SOURCE);
+
+        cache.getAst(document);
+        cache.getAst(document);
+
+        assertEquals(2, cache.parses);
+    }
+
+    @Test
+    public void testBudgetedRequestGivesUpWhenOutOfTime() throws Exception {
+        BlockingCache cache = new BlockingCache();
+        try {
+            assertNull(cache.getAst(mockDocument(1L), 10, () -> false));
+        } finally {
+            cache.release.countDown();
+        }
+    }
+
+    @Test
+    public void testBudgetedRequestGivesUpWhenCancelled() throws Exception {
+        BlockingCache cache = new BlockingCache();
+        try {
+            assertNull(cache.getAst(mockDocument(1L), 60000, () -> true));
+        } finally {
+            cache.release.countDown();
+        }
+    }
+
+    @Test
+    public void testAbandonedParseIsReusedByNextRequest() throws Exception {
+        BlockingCache cache = new BlockingCache();
+        IDocument document = mockDocument(1L);
+
+        assertNull(cache.getAst(document, 10, () -> false));
+        cache.release.countDown();
+        cache.getAst(document);
+
+        assertEquals(1, cache.getEditCount());
+    }
+
+    @Test
+    public void testLateParseIsPublished() throws Exception {
+        BlockingCache cache = new BlockingCache();
+        CountDownLatch published = new CountDownLatch(1);
+
+        assertNull(cache.getAst(mockDocument(1L), 10, () -> false, ast -> published.countDown()));
+        cache.release.countDown();
+
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSupersededLateParseIsNotPublished() throws Exception {
+        BlockingCache cache = new BlockingCache();
+        IDocument document = mockDocument(1L);
+        AtomicInteger published = new AtomicInteger();
+
+        assertNull(cache.getAst(document, 10, () -> false, ast -> published.incrementAndGet()));
+        when(((IDocumentExtension4) document).getModificationStamp()).thenReturn(2L);
+        assertNull(cache.getAst(document, 10, () -> true));
+        cache.release.countDown();
+        cache.getAst(document);
+
+        assertEquals(0, published.get());
+    }
+
+    @Test
+    public void testLateParseOfEditedDocumentIsNotPublished() throws Exception {
+        BlockingCache cache = new BlockingCache();
+        IDocument document = mockDocument(1L);
+        AtomicInteger published = new AtomicInteger();
+
+        assertNull(cache.getAst(document, 10, () -> false, ast -> published.incrementAndGet()));
+        when(((IDocumentExtension4) document).getModificationStamp()).thenReturn(2L);
+        cache.release.countDown();
+        // Parses run one at a time, so once another document is parsed the late parse has completed
+        cache.getAst(mockDocument(1L));
+
+        assertEquals(0, published.get());
+    }
+}
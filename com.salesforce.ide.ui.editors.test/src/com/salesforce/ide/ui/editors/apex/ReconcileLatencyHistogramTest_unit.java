@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.ui.editors.apex;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+/**
+ * @author nchen
+ * 
+ */
+public class ReconcileLatencyHistogramTest_unit extends TestCase {
+
+    @Test
+    public void testLatenciesAreBucketedByUpperBound() throws Exception {
+        ReconcileLatencyHistogram histogram = new ReconcileLatencyHistogram();
+        histogram.record(0);
+        histogram.record(100);
+        histogram.record(101);
+        histogram.record(60000);
+
+        assertEquals(2, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(1));
+        assertEquals(1, histogram.getCount(histogram.getBucketCount() - 1));
+        assertEquals(4, histogram.getTotalCount());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        ReconcileLatencyHistogram histogram = new ReconcileLatencyHistogram();
+        histogram.record(300);
+        histogram.reset();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertTrue(histogram.toString().startsWith("<=100ms: 0"));
+    }
+}
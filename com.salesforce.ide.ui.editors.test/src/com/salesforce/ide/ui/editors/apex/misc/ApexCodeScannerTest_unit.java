@@ -39,12 +39,12 @@ public class ApexCodeScannerTest_unit extends TestCase {
 
         spiedApexCodeScanner.init(mockProject);
         when(mockProject.getName()).thenReturn("SampleProject");
-        when(mockDescribeObjectRegistry.getCachedDescribeSObjectResultsIfAny(mockProject)).thenReturn(null);
+        when(mockDescribeObjectRegistry.getCachedDescribeSObjectNamesIfAny(mockProject)).thenReturn(null);
         when(spiedApexCodeScanner.getDescribeObjectRegistry()).thenReturn(mockDescribeObjectRegistry);
 
         spiedApexCodeScanner.generateKeywordRule(mockProject);
 
         verify(mockDescribeObjectRegistry, never()).getCachedDescribeSObjects(mockProject);
-        verify(mockDescribeObjectRegistry, times(1)).getCachedDescribeSObjectResultsIfAny(mockProject);
+        verify(mockDescribeObjectRegistry, times(1)).getCachedDescribeSObjectNamesIfAny(mockProject);
     }
 }
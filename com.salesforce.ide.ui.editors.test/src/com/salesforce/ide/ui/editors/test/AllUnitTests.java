@@ -28,6 +28,7 @@ public class AllUnitTests extends SimpleTestSuite {
 
     public AllUnitTests() {
         logStart(getClass().getName());
+        addTest(new com.salesforce.ide.ui.editors.apex.AllUnitTests());
         addTest(new com.salesforce.ide.ui.editors.apex.outline.AllUnitTests());
         addTest(new com.salesforce.ide.ui.editors.apex.misc.AllUnitTests());
         addTest(new com.salesforce.ide.ui.editors.lightning.misc.AllUnitTests());
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.ui.editors.apex;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.salesforce.ide.apex.internal.core.CompiledAst;
+import com.salesforce.ide.apex.internal.core.CompilerService;
+
+/**
+ * Shares one parse of an editor document between the reconciler, the outline, the error markers and the completion
+ * processors. Entries are keyed by the document and are valid for as long as its modification stamp does not change,
+ * so each burst of keystrokes is parsed once no matter how many consumers ask for it.
+ *
+ * Parses run on a background thread. When a newer version of a document is requested, a parse of an older version
+ * that has not started yet is cancelled, so a burst of edits does not queue up stale parses.
+ *
+ * A caller whose time budget runs out can ask to be handed the result once the parse finishes, so the work isn't lost
+ * when the document stays the same and no further request comes. The result is only handed over if the document still
+ * has the modification stamp it was parsed at; an edit that hasn't been reconciled yet drops it.
+ *
+ * Documents without a modification stamp are parsed on every request.
+ *
+ * @author nchen
+ *
+ */
+public class ApexAstCache {
+    private static final Logger logger = Logger.getLogger(ApexAstCache.class);
+
+    public static final ApexAstCache INSTANCE = new ApexAstCache();
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final ExecutorService parser = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Apex Parser");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<IDocument, Entry> entries = new WeakHashMap<>();
+    private final AtomicLong parses = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong edits = new AtomicLong();
+
+    private static final class Entry {
+        final long stamp;
+        final ParseTask ast;
+
+        Entry(long stamp, ParseTask ast) {
+            this.stamp = stamp;
+            this.ast = ast;
+        }
+    }
+
+    /**
+     * A parse that notifies the listeners waiting for it when it completes, unless it was cancelled because a newer
+     * version of the document superseded it or the document has been edited since it was read.
+     */
+    private static final class ParseTask extends FutureTask<CompiledAst> {
+        private final List<Consumer<CompiledAst>> listeners = new ArrayList<>();
+        // Weak, as the entries map holds the task and must not keep its document key alive
+        private final WeakReference<IDocument> document;
+        private final long stamp;
+        private final String text;
+
+        ParseTask(IDocument document, long stamp, String text, ApexAstCache cache) {
+            super(() -> cache.parse(text));
+            this.document = new WeakReference<>(document);
+            this.stamp = stamp;
+            this.text = text;
+        }
+
+        void whenParsed(Consumer<CompiledAst> listener) {
+            synchronized (listeners) {
+                if (!isDone()) {
+                    listeners.add(listener);
+                    return;
+                }
+            }
+            notify(listener);
+        }
+
+        @Override
+        protected void done() {
+            List<Consumer<CompiledAst>> toNotify;
+            synchronized (listeners) {
+                toNotify = new ArrayList<>(listeners);
+                listeners.clear();
+            }
+            toNotify.forEach(this::notify);
+        }
+
+        private void notify(Consumer<CompiledAst> listener) {
+            if (isCancelled() || !isCurrent()) {
+                return;
+            }
+            try {
+                listener.accept(get());
+            } catch (ExecutionException e) {
+                logger.debug("Apex parse failed, nothing to publish", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /*
+         * The next request would cancel this task, but it only comes after the reconciler's delay, so an edit made in
+         * the meantime is detected here.
+         */
+        private boolean isCurrent() {
+            IDocument current = document.get();
+            if (current == null) {
+                return false;
+            }
+            if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+                return text.equals(current.get());
+            }
+            return getModificationStamp(current) == stamp;
+        }
+    }
+
+    @VisibleForTesting
+    ApexAstCache() {}
+
+    /**
+     * @return the compiled AST for the current contents of the document. Concurrent callers for the same version of
+     *         the document wait for the same parse. If the document changes while waiting, the newest version is
+     *         returned instead.
+     */
+    public CompiledAst getAst(IDocument document) throws InterruptedException, ExecutionException {
+        requests.incrementAndGet();
+        while (true) {
+            ParseTask ast = submit(document);
+            try {
+                return ast.get();
+            } catch (CancellationException e) {
+                // A newer version of the document replaced the one we were waiting for
+            }
+        }
+    }
+
+    /**
+     * Waits at most the given time for the AST of the current contents of the document, checking periodically whether
+     * the caller is still interested.
+     *
+     * @return the compiled AST, or <code>null</code> if the time budget ran out, the caller cancelled, or a newer
+     *         version of the document superseded this one. A parse that ran out of time keeps running and is picked
+     *         up by the next request for the same version.
+     */
+    public CompiledAst getAst(IDocument document, long budgetMillis, BooleanSupplier isCancelled)
+            throws InterruptedException, ExecutionException {
+        return getAst(document, budgetMillis, isCancelled, null);
+    }
+
+    /**
+     * Like {@link #getAst(IDocument, long, BooleanSupplier)}, but if the time budget runs out the given listener is
+     * called with the AST once the parse completes. The listener runs on the parser thread, and isn't called if a newer
+     * version of the document supersedes this one first, the document has been edited since it was read, or the parse
+     * fails.
+     */
+    public CompiledAst getAst(IDocument document, long budgetMillis, BooleanSupplier isCancelled,
+            Consumer<CompiledAst> lateResultListener) throws InterruptedException, ExecutionException {
+        requests.incrementAndGet();
+        ParseTask ast = submit(document);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        while (!isCancelled.getAsBoolean()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                logger.debug("Time budget of " + budgetMillis + " ms exceeded while parsing Apex document");
+                if (lateResultListener != null) {
+                    ast.whenParsed(lateResultListener);
+                }
+                return null;
+            }
+            try {
+                return ast.get(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS)),
+                    TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Check for cancellation and the budget again
+            } catch (CancellationException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private ParseTask submit(IDocument document) {
+        long stamp = getModificationStamp(document);
+        ParseTask ast;
+        if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+            ast = new ParseTask(document, stamp, document.get(), this);
+            parser.execute(ast);
+            return ast;
+        }
+
+        synchronized (entries) {
+            Entry entry = entries.get(document);
+            if (entry != null && entry.stamp == stamp) {
+                return entry.ast;
+            }
+            if (entry != null) {
+                // A queued parse of the older version never starts; a running one finishes but its result is dropped
+                entry.ast.cancel(false);
+            }
+            ast = new ParseTask(document, stamp, document.get(), this);
+            entries.put(document, new Entry(stamp, ast));
+            edits.incrementAndGet();
+        }
+        parser.execute(ast);
+        return ast;
+    }
+
+    /**
+     * Drops the cached parse for the document, e.g., when its editor is closed.
+     */
+    public void invalidate(IDocument document) {
+        synchronized (entries) {
+            entries.remove(document);
+        }
+    }
+
+    protected CompiledAst parse(String text) {
+        long count = parses.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Parsing Apex document: %d parse(s) for %d edit(s), %d request(s) so far", count,
+                edits.get(), requests.get()));
+        }
+        return CompilerService.INSTANCE.compileString(text);
+    }
+
+    private static long getModificationStamp(IDocument document) {
+        return document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp()
+                : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+    }
+
+    /**
+     * @return the number of times a document has actually been parsed.
+     */
+    public long getParseCount() {
+        return parses.get();
+    }
+
+    /**
+     * @return the number of times an AST has been asked for.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of distinct document versions that have been seen.
+     */
+    public long getEditCount() {
+        return edits.get();
+    }
+}
@@ -207,6 +207,10 @@ public class ApexCodeEditor extends TextEditor implements IShowInSource {
         if (getSourceViewer() instanceof ITextViewerExtension)
             ((ITextViewerExtension) getSourceViewer()).removeVerifyKeyListener(fBracketInserter);
 
+        if (getDocumentProvider() != null) {
+            ApexAstCache.INSTANCE.invalidate(getDocument());
+        }
+
         super.dispose();
     }
 
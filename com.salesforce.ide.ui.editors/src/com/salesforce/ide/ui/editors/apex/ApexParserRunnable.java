@@ -14,14 +14,11 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IFileEditorInput;
-import org.eclipse.ui.views.contentoutline.IContentOutlinePage;
 
-import com.salesforce.ide.apex.internal.core.CompilerService;
+import com.salesforce.ide.apex.internal.core.CompiledAst;
 import com.salesforce.ide.ui.editors.ForceIdeEditorsPlugin;
 import com.salesforce.ide.ui.editors.apex.errors.ApexErrorMarkerHandler;
-import com.salesforce.ide.ui.editors.apex.outline.ApexContentOutlinePage;
 import com.salesforce.ide.ui.editors.apex.outline.OutlineViewVisitor;
 import com.salesforce.ide.ui.editors.apex.preferences.PreferenceConstants;
 
@@ -30,6 +27,13 @@ import apex.jorje.semantic.compiler.ApexCompiler;
 /**
  * The runnable that is called each time the reconciler needs to run.
  * 
+ * If the document changes while we wait for the parse, the cycle is abandoned and the markers and outline are left
+ * untouched until the next reconcile. If the parse takes longer than the configured time budget, the cycle stops
+ * waiting and the result is published once the parse completes, provided the document still has the modification
+ * stamp it was parsed at; {@link ApexAstCache} checks the stamp before handing the result over, so an edit that the
+ * reconciler hasn't picked up yet drops it. Otherwise the markers are replaced in one workspace operation and a single
+ * outline update is posted.
+ * 
  * @author nchen
  *         
  */
@@ -53,11 +57,34 @@ public class ApexParserRunnable implements ISafeRunnable {
     
     @Override
     public void run() throws Exception {
-        clearExistingErrorMarkers();
-        if (checkShouldUpdate()) {
-            parseCurrentEditorContents();
-            reportParseErrors();
-            updateOutlineViewIfPossible();
+        if (!checkShouldUpdate()) {
+            clearExistingErrorMarkers();
+            return;
+        }
+        if (parseCurrentEditorContents() && !apexReconcilingStrategy.isCancelled()) {
+            publish();
+        }
+    }
+    
+    private void publish() {
+        reportParseErrors();
+        apexReconcilingStrategy.markersUpdated();
+        updateOutlineViewIfPossible();
+    }
+    
+    /*
+     * Called on the parser thread when a parse that ran out of time completes and the document still has the
+     * modification stamp the parse was read at. The reconcile cycle that asked for it is over by then, so it is published from here.
+     */
+    private void publishLateResult(CompiledAst ast) {
+        if (ast == null) {
+            return;
+        }
+        try {
+            useAst(ast);
+            publish();
+        } catch (RuntimeException e) {
+            handleException(e);
         }
     }
     
@@ -70,24 +97,39 @@ public class ApexParserRunnable implements ISafeRunnable {
         fMarkerHandler.clearExistingMarkers();
     }
     
-    protected void parseCurrentEditorContents() throws Exception {
-        // This uses the current contents of the file (before it is saved)
-        String text = this.apexReconcilingStrategy.fTextEditor.getText();
+    protected int getTimeBudget() {
+        IPreferenceStore preferenceStore = ForceIdeEditorsPlugin.getDefault().getPreferenceStore();
+        return preferenceStore.getInt(PreferenceConstants.EDITOR_RECONCILE_TIME_BUDGET);
+    }
+    
+    /**
+     * @return <code>false</code> if the parse was abandoned because it was superseded or ran out of time
+     */
+    protected boolean parseCurrentEditorContents() throws Exception {
+        // This uses the current contents of the file (before it is saved), parsed once per version of the document
+        IDocument doc = this.apexReconcilingStrategy.fTextEditor.getDocument();
+        CompiledAst ast = ApexAstCache.INSTANCE.getAst(doc, getTimeBudget(),
+            () -> apexReconcilingStrategy.isCancelled(), this::publishLateResult);
+        if (ast == null) {
+            return false;
+        }
+        useAst(ast);
+        return true;
+    }
+    
+    private void useAst(CompiledAst ast) {
         outlineViewVisitor = new OutlineViewVisitor();
-        compiler = CompilerService.INSTANCE.visitAstFromString(text, outlineViewVisitor);
+        ast.accept(outlineViewVisitor);
+        compiler = ast.getCompiler();
     }
     
     protected void reportParseErrors() {
-        fMarkerHandler.handleSyntaxErrors(compiler.getErrors());
+        fMarkerHandler.updateMarkers(compiler.getErrors());
     }
     
     protected void updateOutlineViewIfPossible() {
         if (outlineViewVisitor.hasValidTopLevel()) {
-            Display.getDefault().asyncExec(() -> {
-                ApexContentOutlinePage outline =
-                    (ApexContentOutlinePage) apexReconcilingStrategy.fTextEditor.getAdapter(IContentOutlinePage.class);
-                outline.update(outlineViewVisitor);
-            });
+            apexReconcilingStrategy.updateOutline(outlineViewVisitor);
         }
     }
     
@@ -10,26 +10,58 @@
  ******************************************************************************/
 package com.salesforce.ide.ui.editors.apex;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.views.contentoutline.IContentOutlinePage;
+
+import com.salesforce.ide.ui.editors.apex.outline.ApexContentOutlinePage;
+import com.salesforce.ide.ui.editors.apex.outline.OutlineViewVisitor;
 
 /**
  * This is the actual strategy used for doing the reconciling for the current text in the editor. For now, it will
  * reparse the whole thing again each time there is a change. We can try to optimize when we have an incremental parser.
  * 
+ * The reconciler cancels our progress monitor when the document changes during a reconcile, which lets the parser
+ * runnable abandon a parse that is already out of date. Outline updates are coalesced so that at most one is pending on
+ * the UI thread at any time.
+ * 
  * @author nchen
  * 
  */
 public class ApexReconcilingStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension {
     static final Logger logger = Logger.getLogger(ApexReconcilingStrategy.class);
 
+    private static final long NO_PENDING_EDIT = 0;
+
     ApexCodeEditor fTextEditor;
+    private IProgressMonitor fProgressMonitor = new NullProgressMonitor();
+    private IDocument fDocument;
+    private final AtomicLong firstEditNanos = new AtomicLong(NO_PENDING_EDIT);
+    private final AtomicReference<OutlineViewVisitor> pendingOutline = new AtomicReference<>();
+
+    private final IDocumentListener editListener = new IDocumentListener() {
+        @Override
+        public void documentAboutToBeChanged(DocumentEvent event) {}
+
+        @Override
+        public void documentChanged(DocumentEvent event) {
+            firstEditNanos.compareAndSet(NO_PENDING_EDIT, System.nanoTime());
+        }
+    };
 
     public ApexReconcilingStrategy(ApexCodeEditor fTextEditor) {
         this.fTextEditor = fTextEditor;
@@ -37,7 +69,7 @@ public class ApexReconcilingStrategy implements IReconcilingStrategy, IReconcili
 
     @Override
     public void setProgressMonitor(IProgressMonitor fProgressMonitor) {
-        /* nothing to do */
+        this.fProgressMonitor = fProgressMonitor != null ? fProgressMonitor : new NullProgressMonitor();
     }
 
     @Override
@@ -46,7 +78,15 @@ public class ApexReconcilingStrategy implements IReconcilingStrategy, IReconcili
     }
 
     @Override
-    public void setDocument(IDocument document) {}
+    public void setDocument(IDocument document) {
+        if (fDocument != null) {
+            fDocument.removeDocumentListener(editListener);
+        }
+        fDocument = document;
+        if (fDocument != null) {
+            fDocument.addDocumentListener(editListener);
+        }
+    }
 
     @Override
     public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
@@ -61,4 +101,37 @@ public class ApexReconcilingStrategy implements IReconcilingStrategy, IReconcili
     private void reconcile() {
         SafeRunner.run(new ApexParserRunnable(this));
     }
+
+    boolean isCancelled() {
+        return fProgressMonitor.isCanceled();
+    }
+
+    /**
+     * Called once the markers reflect the current document. Records the time since the first edit that was not yet
+     * reflected, if any.
+     */
+    void markersUpdated() {
+        long start = firstEditNanos.getAndSet(NO_PENDING_EDIT);
+        if (start != NO_PENDING_EDIT) {
+            ReconcileLatencyHistogram.INSTANCE.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Schedules an update of the outline. If an update is already waiting for the UI thread, it picks up this visitor
+     * instead of scheduling another one.
+     */
+    void updateOutline(OutlineViewVisitor visitor) {
+        if (pendingOutline.getAndSet(visitor) != null) {
+            return;
+        }
+        Display.getDefault().asyncExec(() -> {
+            OutlineViewVisitor latest = pendingOutline.getAndSet(null);
+            ApexContentOutlinePage outline =
+                    (ApexContentOutlinePage) fTextEditor.getAdapter(IContentOutlinePage.class);
+            if (latest != null && outline != null) {
+                outline.update(latest);
+            }
+        });
+    }
 }
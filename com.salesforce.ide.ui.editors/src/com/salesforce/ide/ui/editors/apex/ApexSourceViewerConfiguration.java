@@ -51,6 +51,7 @@ import com.salesforce.ide.ui.editors.apex.assistance.ApexAutoIndentStrategy;
 import com.salesforce.ide.ui.editors.apex.assistance.ApexCodeScanner;
 import com.salesforce.ide.ui.editors.apex.assistance.ApexDocScanner;
 import com.salesforce.ide.ui.editors.apex.assistance.ApexDoubleClickSelector;
+import com.salesforce.ide.ui.editors.apex.preferences.PreferenceConstants;
 import com.salesforce.ide.ui.editors.apex.util.ApexCodeColorProvider;
 import com.salesforce.ide.ui.editors.internal.apex.completions.ApexCompletionCollector;
 
@@ -273,7 +274,8 @@ public class ApexSourceViewerConfiguration extends TextSourceViewerConfiguration
             ApexReconcilingStrategy strategy = new ApexReconcilingStrategy((ApexCodeEditor) fTextEditor);
             ApexReconciler reconciler = new ApexReconciler(fTextEditor, strategy, false);
             reconciler.setIsAllowedToModifyDocument(false);
-            reconciler.setDelay(500);
+            reconciler.setDelay(ForceIdeEditorsPlugin.getDefault().getPreferenceStore()
+                    .getInt(PreferenceConstants.EDITOR_RECONCILE_DELAY));
 
             return reconciler;
         }
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.ui.editors.apex;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Histogram of the time between the first keystroke of an edit and the moment the error markers for that edit are
+ * updated. Shared by all Apex editors and shown on the Apex editor preference page.
+ *
+ * @author nchen
+ *
+ */
+public class ReconcileLatencyHistogram {
+    public static final ReconcileLatencyHistogram INSTANCE = new ReconcileLatencyHistogram();
+
+    // Upper bounds (inclusive) of each bucket in milliseconds; the last bucket holds everything slower
+    private static final long[] BOUNDS = { 100, 250, 500, 1000, 2500, 5000 };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+
+    @VisibleForTesting
+    ReconcileLatencyHistogram() {}
+
+    public void record(long latencyMillis) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && latencyMillis > BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+    }
+
+    public long getCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    public int getBucketCount() {
+        return counts.length();
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * @return a one line summary, e.g., "<=100ms: 12, <=250ms: 3, ..., >5000ms: 0"
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            summary.append("<=").append(BOUNDS[i]).append("ms: ").append(counts.get(i)).append(", ");
+        }
+        summary.append('>').append(BOUNDS[BOUNDS.length - 1]).append("ms: ").append(counts.get(BOUNDS.length));
+        return summary.toString();
+    }
+}
@@ -11,8 +11,8 @@
 package com.salesforce.ide.ui.editors.apex.assistance;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IProject;
@@ -36,7 +36,6 @@ import com.salesforce.ide.ui.editors.ForceIdeEditorsPlugin;
 import com.salesforce.ide.ui.editors.apex.util.ApexCodeColorProvider;
 import com.salesforce.ide.ui.editors.apex.util.ApexCodeWhitespaceDetector;
 import com.salesforce.ide.ui.editors.apex.util.ApexCodeWordDetector;
-import com.sforce.soap.partner.wsc.DescribeSObjectResult;
 
 public class ApexCodeScanner extends RuleBasedScanner {
 
@@ -129,16 +128,16 @@ public class ApexCodeScanner extends RuleBasedScanner {
 
         if (project != null) {
             try {
-                Collection<DescribeSObjectResult> describeSObjectResults =
-                        getDescribeObjectRegistry().getCachedDescribeSObjectResultsIfAny(project);
-                if (Utils.isNotEmpty(describeSObjectResults)) {
+                Set<String> describeSObjectNames =
+                        getDescribeObjectRegistry().getCachedDescribeSObjectNamesIfAny(project);
+                if (Utils.isNotEmpty(describeSObjectNames)) {
                     IToken sobjects =
                             new Token(new TextAttribute(
                                     apexCodeColorProvider.getColor(ApexCodeColorProvider.SOBJECTS_SPECIFIC)));
 
                     // Add word rule for keywords, types, and constants.
-                    for (DescribeSObjectResult describeSObjectResult : describeSObjectResults) {
-                        wordRule.addWord(describeSObjectResult.getName(), sobjects);
+                    for (String describeSObjectName : describeSObjectNames) {
+                        wordRule.addWord(describeSObjectName, sobjects);
                     }
                 }
             } catch (Exception e) {
@@ -17,6 +17,9 @@ import java.util.Map;
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.ui.texteditor.MarkerUtilities;
@@ -29,6 +32,7 @@ import apex.jorje.services.exception.ParseException;
 import apex.jorje.services.printers.PrintContext;
 import apex.jorje.services.printers.PrinterUtil;
 
+import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.project.MarkerUtils;
 
 /**
@@ -54,6 +58,26 @@ public class ApexErrorMarkerHandler {
         MarkerUtils.getInstance().clearMarkers(fFile, null, MarkerUtils.MARKER_COMPILE_ERROR);
     }
 
+    /**
+     * Replaces the existing markers with markers for the given errors as a single workspace operation, so the editor
+     * sees one marker change per reconcile instead of one per marker.
+     */
+    public void updateMarkers(final List<CompilationException> errors) {
+        if (!fFile.exists()) {
+            return;
+        }
+        IWorkspaceRunnable update = monitor -> {
+            clearExistingMarkers();
+            handleSyntaxErrors(errors);
+        };
+        try {
+            fFile.getWorkspace().run(update, fFile.getWorkspace().getRuleFactory().markerRule(fFile.getProject()),
+                IWorkspace.AVOID_UPDATE, null);
+        } catch (CoreException e) {
+            logger.warn("Unable to update markers: " + Utils.generateCoreExceptionLog(e));
+        }
+    }
+
     public void handleSyntaxErrors(List<CompilationException> errors) {
         errors.stream()
         .filter(exception -> exception instanceof ParseException)
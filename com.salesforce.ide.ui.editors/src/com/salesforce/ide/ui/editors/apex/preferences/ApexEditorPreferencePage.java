@@ -11,6 +11,7 @@
 package com.salesforce.ide.ui.editors.apex.preferences;
 
 import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.PreferencePage;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -22,10 +23,12 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 
 import com.salesforce.ide.ui.editors.ForceIdeEditorsPlugin;
+import com.salesforce.ide.ui.editors.apex.ReconcileLatencyHistogram;
 import com.salesforce.ide.ui.editors.internal.utils.EditorMessages;
 import com.salesforce.ide.ui.internal.utils.UIUtils;
 
@@ -45,6 +48,8 @@ public class ApexEditorPreferencePage extends PreferencePage implements IWorkben
     BooleanFieldEditor enableNewParser;
     // This has a dependency with the new parser so toggling that one should also toggle this one
     BooleanFieldEditorExtension enableAutoCompletion;
+    IntegerFieldEditor reconcileDelay;
+    IntegerFieldEditor reconcileTimeBudget;
     Group compilerGroup;
 
     public ApexEditorPreferencePage() {}
@@ -81,6 +86,20 @@ public class ApexEditorPreferencePage extends PreferencePage implements IWorkben
         enableAutoCompletion.setPreferenceStore(getPreferenceStore());
         enableAutoCompletion.load();
 
+        Composite reconcileComposite = new Composite(compilerGroup, SWT.NONE);
+        reconcileComposite.setLayoutData(new GridData(768));
+
+        reconcileDelay = instantiateReconcileIntegerField(PreferenceConstants.EDITOR_RECONCILE_DELAY,
+            "ApexEditorPreferencePage.ReconcileDelay", reconcileComposite); //$NON-NLS-1$
+        reconcileTimeBudget = instantiateReconcileIntegerField(PreferenceConstants.EDITOR_RECONCILE_TIME_BUDGET,
+            "ApexEditorPreferencePage.ReconcileTimeBudget", reconcileComposite); //$NON-NLS-1$
+
+        // Read-only; shows how long it takes for the markers to catch up with typing in this session
+        Label latency = new Label(compilerGroup, SWT.WRAP);
+        latency.setText(EditorMessages.getString("ApexEditorPreferencePage.ReconcileLatency") //$NON-NLS-1$
+                + " " + ReconcileLatencyHistogram.INSTANCE);
+        latency.setLayoutData(new GridData(768));
+
         enableNewParser.setPropertyChangeListener(new IPropertyChangeListener() {
 
             @Override
@@ -111,6 +130,15 @@ public class ApexEditorPreferencePage extends PreferencePage implements IWorkben
                 parent);
     }
 
+    protected IntegerFieldEditor instantiateReconcileIntegerField(String name, String labelKey, Composite parent) {
+        IntegerFieldEditor field = new IntegerFieldEditor(name, EditorMessages.getString(labelKey), parent);
+        field.setValidRange(0, Integer.MAX_VALUE);
+        field.setPage(this);
+        field.setPreferenceStore(getPreferenceStore());
+        field.load();
+        return field;
+    }
+
     @Override
     public void init(IWorkbench workbench) {
         setPreferenceStore(ForceIdeEditorsPlugin.getDefault().getPreferenceStore());
@@ -126,12 +154,16 @@ public class ApexEditorPreferencePage extends PreferencePage implements IWorkben
     protected void performDefaults() {
         enableNewParser.loadDefault();
         enableAutoCompletion.loadDefault();
+        reconcileDelay.loadDefault();
+        reconcileTimeBudget.loadDefault();
     }
 
     @Override
     public boolean performOk() {
         enableNewParser.store();
         enableAutoCompletion.store();
+        reconcileDelay.store();
+        reconcileTimeBudget.store();
         return super.performOk();
     }
 }
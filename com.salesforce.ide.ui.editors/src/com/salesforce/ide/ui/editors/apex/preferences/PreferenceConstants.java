@@ -80,4 +80,21 @@ public class PreferenceConstants {
      * Controls whether we are going to display auto-completion
      */
     public final static String EDITOR_AUTOCOMPLETION = "editorAutoCompletion"; //$NON-NLS-1$
+
+    /**
+     * The time in milliseconds that the editor waits after the last keystroke before it reparses the document.
+     * <p>
+     * Value is of type <code>Integer</code>.
+     * </p>
+     */
+    public final static String EDITOR_RECONCILE_DELAY = "reconcileDelay"; //$NON-NLS-1$
+
+    /**
+     * The maximum time in milliseconds that a single reparse may take before the editor stops waiting for it and
+     * leaves the markers and outline as they are until the next edit.
+     * <p>
+     * Value is of type <code>Integer</code>.
+     * </p>
+     */
+    public final static String EDITOR_RECONCILE_TIME_BUDGET = "reconcileTimeBudget"; //$NON-NLS-1$
 }
@@ -31,5 +31,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
         store.setDefault(PreferenceConstants.EDITOR_CLOSE_STRINGS, true);
         store.setDefault(PreferenceConstants.EDITOR_PARSE_WITH_NEW_COMPILER, true);
         store.setDefault(PreferenceConstants.EDITOR_AUTOCOMPLETION, true);
+        store.setDefault(PreferenceConstants.EDITOR_RECONCILE_DELAY, 500);
+        store.setDefault(PreferenceConstants.EDITOR_RECONCILE_TIME_BUDGET, 5000);
     }
 }
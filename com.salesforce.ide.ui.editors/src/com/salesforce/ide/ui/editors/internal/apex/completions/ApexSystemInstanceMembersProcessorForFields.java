@@ -12,12 +12,13 @@ package com.salesforce.ide.ui.editors.internal.apex.completions;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
-import org.eclipse.core.resources.IFile;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaElementImageProvider;
 import org.eclipse.jdt.ui.JavaElementImageDescriptor;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.contentassist.IContentAssistProcessor;
@@ -29,9 +30,9 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.salesforce.ide.apex.internal.core.CompilerService;
 import com.salesforce.ide.apex.internal.core.tooling.systemcompletions.model.AbstractCompletionProposalDisplayable;
 import com.salesforce.ide.apex.internal.core.tooling.systemcompletions.model.Completions;
+import com.salesforce.ide.ui.editors.apex.ApexAstCache;
 import com.salesforce.ide.ui.editors.internal.apex.completions.ApexSystemInstanceMembersProcessorForFields.VariablesVisitor.FieldInfoWrapper;
 import com.salesforce.ide.ui.internal.ForceImages;
 import com.salesforce.ide.ui.internal.editor.imagesupport.ApexElementImageDescriptor;
@@ -87,8 +88,7 @@ public class ApexSystemInstanceMembersProcessorForFields extends ApexCompletionP
         Collection<AbstractCompletionProposalDisplayable> suggestions = Lists.newArrayList();
         ApexCompletionUtils.CompletionPrefix completionPrefix = null;
 
-        IFile file =  (IFile) editor.getEditorInput().getAdapter(IFile.class);
-        visitVariables(file);
+        visitVariables(viewer.getDocument());
 
         try {
             if (!getUtil().hasInvokedNewOnSameLine(viewer, offset)) {
@@ -151,9 +151,15 @@ public class ApexSystemInstanceMembersProcessorForFields extends ApexCompletionP
         return ForceImages.get(ForceImages.APEX_GLOBAL_METHOD, accessorFlags_JVM, decoratedDesc);
     }
 
-    protected void visitVariables(IFile file) {
+    protected void visitVariables(IDocument document) {
         visitor = new VariablesVisitor();
-        CompilerService.INSTANCE.visitAstFromFile(file, visitor);
+        try {
+            ApexAstCache.INSTANCE.getAst(document).accept(visitor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Error trying to parse the editor contents", e.getCause());
+        }
     }
 
     /**
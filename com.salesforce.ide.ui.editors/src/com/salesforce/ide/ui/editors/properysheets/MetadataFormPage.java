@@ -13,15 +13,11 @@ package com.salesforce.ide.ui.editors.properysheets;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -39,6 +35,7 @@ import org.eclipse.ui.forms.widgets.ScrolledForm;
 import org.eclipse.ui.texteditor.AbstractDecoratedTextEditor;
 import org.eclipse.wst.sse.ui.StructuredTextEditor;
 
+import com.salesforce.ide.api.metadata.JAXBContextPool;
 import com.salesforce.ide.ui.editors.internal.BaseComponentMultiPageEditorPart;
 
 /**
@@ -169,15 +166,11 @@ public abstract class MetadataFormPage extends FormPage implements IMetadataSync
     }
 
     public static <T> T unmarshall(String rawXML, Class<T> type) throws JAXBException, XMLStreamException {
-        XMLInputFactory factory = XMLInputFactory.newInstance();
-        JAXBContext context = JAXBContext.newInstance(type);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
-        XMLStreamReader createXMLStreamReader = factory.createXMLStreamReader(new StringReader(rawXML));
-        return unmarshaller.unmarshal(createXMLStreamReader, type).getValue();
+        return JAXBContextPool.unmarshal(type, new StringReader(rawXML));
     }
 
     public static <T> String marshall(T object) throws JAXBException {
-        Marshaller marshaller = JAXBContext.newInstance(object.getClass()).createMarshaller();
+        Marshaller marshaller = JAXBContextPool.getMarshaller(object.getClass());
 
         if (marshaller == null) {
             logger.error("Unable to get marshaller for class '" + object.getClass().getName() + "'");
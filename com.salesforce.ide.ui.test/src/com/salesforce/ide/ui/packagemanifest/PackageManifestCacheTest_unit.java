@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.ui.packagemanifest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.PackageManifestDocumentUtils;
+
+public class PackageManifestCacheTest_unit extends TestCase {
+
+    public void testNewCacheIsChanged() throws Exception {
+        PackageManifestCache cache = new PackageManifestCache(null);
+        assertTrue(cache.isChanged());
+        assertEquals(Constants.PACKAGE_MANIFEST_TYPES, cache.getDocument().getDocumentElement().getNodeName());
+    }
+
+    public void testUnchangedTypesAreKept() throws Exception {
+        Document document = createCache();
+        Node apexClass = findType(document, "ApexClass");
+
+        PackageManifestCache cache = new PackageManifestCache(document);
+        assertFalse(cache.isChanged());
+        assertEquals(Arrays.asList("Bar", "Foo"), cache.getMembers("ApexClass"));
+
+        assertFalse(cache.updateType("ApexClass", false, null, Arrays.asList("Bar", "Foo")));
+        assertFalse(cache.updateType("WorkflowAlert", true, "Workflow", Arrays.asList("Account.Alert")));
+        assertFalse(cache.isChanged());
+        assertSame(apexClass, findType(document, "ApexClass"));
+    }
+
+    public void testChangedTypesAreReplaced() throws Exception {
+        Document document = createCache();
+        Node apexPage = findType(document, "ApexPage");
+        PackageManifestCache cache = new PackageManifestCache(document);
+
+        assertTrue(cache.updateType("ApexClass", false, null, Arrays.asList("Bar", "Baz", "Foo")));
+        assertTrue(cache.updateType("WorkflowAlert", true, "CustomObject", Arrays.asList("Account.Alert")));
+        assertTrue(cache.isChanged());
+
+        assertSame(apexPage, findType(document, "ApexPage"));
+        assertEquals(3, getMemberNames(findType(document, "ApexClass")).size());
+        Element workflowAlert = (Element) findType(document, "WorkflowAlert");
+        assertEquals("CustomObject", workflowAlert.getAttribute(PackageManifestController.CACHE_PARENT));
+        assertEquals(Arrays.asList("ApexClass", "ApexPage", "WorkflowAlert"), getTypeNames(document));
+    }
+
+    public void testTypesStaySorted() throws Exception {
+        Document document = createCache();
+        PackageManifestCache cache = new PackageManifestCache(document);
+
+        cache.updateType("ApexComponent", false, null, Arrays.asList("Foo"));
+        cache.updateType("Zeta", false, null, new ArrayList<String>());
+        cache.updateType("Aardvark", false, null, new ArrayList<String>());
+        assertEquals(Arrays.asList("Aardvark", "ApexClass", "ApexComponent", "ApexPage", "WorkflowAlert", "Zeta"),
+            getTypeNames(document));
+
+        // a cache read back from the document finds them in place
+        assertEquals(Arrays.asList("Foo"), new PackageManifestCache(document).getMembers("ApexComponent"));
+    }
+
+    public void testRemovedTypesAreDropped() throws Exception {
+        Document document = createCache();
+        PackageManifestCache cache = new PackageManifestCache(document);
+
+        assertFalse(cache.retainTypes(Arrays.asList("ApexClass", "ApexPage", "WorkflowAlert")));
+        assertTrue(cache.retainTypes(Arrays.asList("ApexPage")));
+        assertTrue(cache.isChanged());
+        assertEquals(Arrays.asList("ApexPage"), getTypeNames(document));
+        assertNull(cache.getMembers("ApexClass"));
+    }
+
+    private static Document createCache() throws Exception {
+        PackageManifestCache cache = new PackageManifestCache(null);
+        cache.updateType("ApexClass", false, null, Arrays.asList("Bar", "Foo"));
+        cache.updateType("ApexPage", false, null, Arrays.asList("Page"));
+        cache.updateType("WorkflowAlert", true, "Workflow", Arrays.asList("Account.Alert"));
+
+        // indented like packageCache.xml
+        Document document = cache.getDocument();
+        Node root = document.getDocumentElement();
+        for (Node type : getTypes(document)) {
+            root.insertBefore(document.createTextNode("\n  "), type);
+        }
+        return document;
+    }
+
+    private static List<Node> getTypes(Document document) {
+        List<Node> types = new ArrayList<>();
+        NodeList nodeList = document.getDocumentElement().getChildNodes();
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            if (nodeList.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                types.add(nodeList.item(i));
+            }
+        }
+        return types;
+    }
+
+    private static List<String> getTypeNames(Document document) {
+        List<String> names = new ArrayList<>();
+        for (Node type : getTypes(document)) {
+            names.add(PackageManifestDocumentUtils.getComponentName(type));
+        }
+        return names;
+    }
+
+    private static Node findType(Document document, String name) {
+        for (Node type : getTypes(document)) {
+            if (name.equals(PackageManifestDocumentUtils.getComponentName(type))) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> getMemberNames(Node type) {
+        List<String> names = new ArrayList<>();
+        for (Node member : PackageManifestDocumentUtils.getComponentMembers(type)) {
+            names.add(PackageManifestDocumentUtils.getMemberName(member));
+        }
+        return names;
+    }
+}
@@ -109,6 +109,10 @@ public class RefreshResourceActionController extends ActionController {
         monitorCheck(monitor);
         monitorSubTask(monitor, "Retrieving remote components...");
 
+        // the user asked for what's on the server, so don't serve a describe metadata that may be an hour old
+        getServiceLocator().getMetadataService().invalidateDescribeMetadata(
+            getConnectionFactory().getConnection(project));
+
         monitorCheck(monitor);
         
         //
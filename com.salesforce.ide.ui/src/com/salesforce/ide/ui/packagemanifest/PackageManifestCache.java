@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Salesforce.com, inc..
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Salesforce.com, inc. - initial API and implementation
+ ******************************************************************************/
+package com.salesforce.ide.ui.packagemanifest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+
+import org.apache.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.salesforce.ide.core.internal.utils.Constants;
+import com.salesforce.ide.core.internal.utils.Utils;
+
+/**
+ * The package manifest editor's cache of an org's components, as kept in packageCache.xml: one types element per
+ * component type holding its members. The elements are indexed by type, so an update only replaces the types whose
+ * members changed, and the document only needs to be saved when one did.
+ *
+ * @author nchen
+ */
+class PackageManifestCache {
+    private static final Logger logger = Logger.getLogger(PackageManifestCache.class);
+
+    private final Document document;
+    private final Element root;
+    private final Map<String, Element> types = new HashMap<>();
+    private final Map<String, List<String>> members = new HashMap<>();
+    private boolean changed;
+
+    /**
+     * @param existing
+     *            the cache loaded from packageCache.xml, or null to start an empty one
+     */
+    PackageManifestCache(Document existing) throws ParserConfigurationException {
+        if (existing != null && existing.getDocumentElement() != null) {
+            document = existing;
+            root = existing.getDocumentElement();
+            index();
+        } else {
+            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            root = document.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI, Constants.PACKAGE_MANIFEST_TYPES);
+            document.appendChild(root);
+            changed = true;
+        }
+    }
+
+    private void index() {
+        NodeList nodeList = root.getChildNodes();
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node item = nodeList.item(i);
+            if (item.getNodeType() != Node.ELEMENT_NODE
+                    || !item.getNodeName().equals(Constants.PACKAGE_MANIFEST_TYPES)) {
+                continue;
+            }
+
+            String name = null;
+            List<String> typeMembers = new ArrayList<>();
+            NodeList children = item.getChildNodes();
+            for (int j = 0; j < children.getLength(); j++) {
+                Node child = children.item(j);
+                if (child.getNodeName().equals(Constants.PACKAGE_MANIFEST_TYPE_NAME)) {
+                    name = child.getTextContent();
+                } else if (child.getNodeName().equals(Constants.PACKAGE_MANIFEST_TYPE_MEMBERS)) {
+                    typeMembers.add(child.getTextContent());
+                }
+            }
+
+            if (name != null) {
+                types.put(name, (Element) item);
+                members.put(name, typeMembers);
+            }
+        }
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * @return whether the document changed since it was loaded
+     */
+    public boolean isChanged() {
+        return changed;
+    }
+
+    public List<String> getMembers(String type) {
+        return members.get(type);
+    }
+
+    /**
+     * Replaces the element of the given type if its members or parent differ, or adds one in sorted order if the type
+     * isn't cached yet.
+     *
+     * @return whether the cache changed
+     */
+    public boolean updateType(String type, boolean isSubType, String parent, List<String> typeMembers) {
+        Element existing = types.get(type);
+        if (existing != null && typeMembers.equals(members.get(type))
+                && Boolean.toString(isSubType).equals(existing.getAttribute(PackageManifestController.CACHE_ISSUBTYPE))
+                && (!isSubType || Utils.isEqual(parent, existing.getAttribute(PackageManifestController.CACHE_PARENT)))) {
+            return false;
+        }
+
+        Element element = createType(type, isSubType, parent, typeMembers);
+        if (existing != null) {
+            root.replaceChild(element, existing);
+        } else {
+            root.insertBefore(element, findSuccessor(type));
+        }
+        types.put(type, element);
+        members.put(type, new ArrayList<>(typeMembers));
+        changed = true;
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updated " + typeMembers.size() + " cached members of type '" + type + "'");
+        }
+        return true;
+    }
+
+    /**
+     * Removes the types that are no longer in the org.
+     *
+     * @return whether the cache changed
+     */
+    public boolean retainTypes(Collection<String> typeNames) {
+        boolean removed = false;
+        for (Iterator<Map.Entry<String, Element>> iterator = types.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<String, Element> entry = iterator.next();
+            if (!typeNames.contains(entry.getKey())) {
+                root.removeChild(entry.getValue());
+                members.remove(entry.getKey());
+                iterator.remove();
+                removed = true;
+            }
+        }
+        changed |= removed;
+        return removed;
+    }
+
+    /**
+     * Writes the document to the given path if it changed.
+     */
+    public void save(String path) throws IOException, TransformerException {
+        if (!changed) {
+            return;
+        }
+        Utils.saveDocument(document, path);
+        changed = false;
+    }
+
+    private Element createType(String type, boolean isSubType, String parent, List<String> typeMembers) {
+        Element element =
+                document.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI, Constants.PACKAGE_MANIFEST_TYPES);
+        element.setAttribute(PackageManifestController.CACHE_ISSUBTYPE, Boolean.toString(isSubType));
+        if (isSubType) {
+            element.setAttribute(PackageManifestController.CACHE_PARENT, parent);
+        }
+
+        Node name =
+                document.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI, Constants.PACKAGE_MANIFEST_TYPE_NAME);
+        name.setTextContent(type);
+        element.appendChild(name);
+
+        for (String member : typeMembers) {
+            Node node =
+                    document.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI,
+                        Constants.PACKAGE_MANIFEST_TYPE_MEMBERS);
+            node.setTextContent(member);
+            element.appendChild(node);
+        }
+        return element;
+    }
+
+    // the types are written in sorted order, keep it for the ones added later
+    private Node findSuccessor(String type) {
+        Element successor = null;
+        String successorName = null;
+        for (Map.Entry<String, Element> entry : types.entrySet()) {
+            String name = entry.getKey();
+            if (name.compareTo(type) > 0 && (successorName == null || name.compareTo(successorName) < 0)) {
+                successor = entry.getValue();
+                successorName = name;
+            }
+        }
+        return successor;
+    }
+}
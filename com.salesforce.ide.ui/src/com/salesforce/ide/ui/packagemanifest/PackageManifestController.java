@@ -21,13 +21,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 
@@ -36,10 +35,10 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.operation.IRunnableWithProgress;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.progress.IProgressService;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -78,14 +77,15 @@ public class PackageManifestController extends Controller {
     public static final String CUSTOM_OBJECT_NODE_NAME = "objects - custom"; //$NON-NLS-1$
 
     private static final String CACHE_TYPES = "types"; //$NON-NLS-1$
-    private static final String CACHE_ISSUBTYPE = "isSubType"; //$NON-NLS-1$
-    private static final String CACHE_PARENT = "parent"; //$NON-NLS-1$
+    static final String CACHE_ISSUBTYPE = "isSubType"; //$NON-NLS-1$
+    static final String CACHE_PARENT = "parent"; //$NON-NLS-1$
 
     private final Map<String, PackageTreeNode> map = new HashMap<>();
     private PackageTreeNode root;
     private FileMetadataExt ext;
     private Connection connection;
     private Document cache;
+    private PackageManifestCache packageCache;
     private Document manifestDoc;
 
     private final List<String> typeList = new ArrayList<>();
@@ -185,8 +185,21 @@ public class PackageManifestController extends Controller {
         subTypes.clear();
     }
 
+    /**
+     * Makes the next describe of the org's metadata go to the server instead of the describe cache.
+     */
+    public void invalidateDescribeMetadata() {
+        try {
+            ContainerDelegate.getInstance().getServiceLocator().getMetadataService()
+                    .invalidateDescribeMetadata(getConnection());
+        } catch (ForceConnectionException | InsufficientPermissionsException e) {
+            logger.warn("Unable to invalidate describe metadata: " + e.getMessage()); //$NON-NLS-1$
+        }
+    }
+
     public void clearCache() {
         cache = null;
+        packageCache = null;
         URL url = Utils.getCacheUrl(getProject());
         if (url != null) {
             File file = new File(url.getFile());
@@ -290,16 +303,21 @@ public class PackageManifestController extends Controller {
         }
     }
 
+    /**
+     * Updates the cache off the UI thread while a cancellable progress dialog is shown. The tree is built from the
+     * cache once it returns.
+     */
     public void updateCache(final URL cacheUrl) throws InvocationTargetException, InterruptedException {
+        // without file metadata every type would look gone, keep the cache as it is
+        if (ext == null || !ext.hasFileProperties()) {
+            logger.debug("No file metadata loaded - keeping manifest cache"); //$NON-NLS-1$
+            return;
+        }
+
         final IProgressService service = PlatformUI.getWorkbench().getProgressService();
-        service.run(false, false, new IRunnableWithProgress() {
+        service.run(true, true, new IRunnableWithProgress() {
             @Override
             public void run(final IProgressMonitor monitor) throws InvocationTargetException {
-                Set<String> keySet = ext.getFilePropertiesMap(typeList).keySet();
-
-                monitor.beginTask("Updating project cache...", Utils.isNotEmpty(keySet) ? keySet.size() + 4 : 4);
-                monitor.worked(1);
-
                 try {
                     updateCacheWork(cacheUrl, monitor);
                 } catch (InterruptedException e) {
@@ -314,7 +332,9 @@ public class PackageManifestController extends Controller {
     }
 
     /**
-     * Building PME cache DOM document then persist in packageCache.xml.
+     * Brings the PME cache DOM document up to date with the org's file metadata, then persists it in
+     * packageCache.xml. Only the types whose members changed are rewritten and the file is only saved if one did. When
+     * cancelled, the types updated so far are kept.
      *
      * @param cacheUrl
      * @param monitor
@@ -328,20 +348,21 @@ public class PackageManifestController extends Controller {
     protected void updateCacheWork(URL cacheUrl, IProgressMonitor monitor) throws ParserConfigurationException,
     TransformerException, IOException, ForceConnectionException, ForceRemoteException,
     InterruptedException, URISyntaxException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        cache = builder.newDocument();
-        monitor.worked(1);
+        constructTypeToSubTypeCompMap();
 
-        Node root = cache.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI, Constants.PACKAGE_MANIFEST_TYPES);
-        cache.appendChild(root);
+        // building the map sorts all file properties, so only do it once
+        Map<String, List<FileProperties>> filePropertiesMap = ext.getFilePropertiesMap(typeList);
+        String[] keys = filePropertiesMap.keySet().toArray(new String[filePropertiesMap.size()]);
+        Arrays.sort(keys);
 
-        constructTypeToSubTypeCompMap();
+        monitor.beginTask("Updating project cache...", keys.length + 2);
         monitor.worked(1);
 
-        Set<String> keySet = ext.getFilePropertiesMap(typeList).keySet();
-        String[] keys = keySet.toArray(new String[keySet.size()]);
-        Arrays.sort(keys);
+        if (packageCache == null || packageCache.getDocument() != cache) {
+            packageCache = new PackageManifestCache(cache);
+            cache = packageCache.getDocument();
+        }
+        monitor.worked(1);
 
         // query describe metadata for organization namespace - don't get from
         // ForceProject due to project might not be created yet.
@@ -353,80 +374,78 @@ public class PackageManifestController extends Controller {
                     metadataStubExt, new NullProgressMonitor());
         String organizationNamespace = describeMetadataResultExt.getOrganizationNamespace();
 
-        for (String key : keys) {
-            if (Constants.ABSTRACT_SHARING_RULE_TYPES.contains(key) || Constants.RULE_TYPES.contains(key)) {
-                continue;
-            }
+        Set<String> cachedTypes = new HashSet<>();
+        int updatedTypes = 0;
+        try {
+            for (String key : keys) {
+                if (monitor.isCanceled()) {
+                    throw new InterruptedException("Updated " + updatedTypes + " of " + keys.length //$NON-NLS-1$
+                            + " cached component types"); //$NON-NLS-1$
+                }
+                if (Constants.ABSTRACT_SHARING_RULE_TYPES.contains(key) || Constants.RULE_TYPES.contains(key)) {
+                    continue;
+                }
+                monitor.subTask(key);
 
-            Element type =
-                    cache.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI, Constants.PACKAGE_MANIFEST_TYPES);
-            root.appendChild(type);
+                List<String> members = new ArrayList<>();
 
-            if (subTypes.contains(key)) {
-                type.setAttribute(CACHE_ISSUBTYPE, Boolean.TRUE.toString());
-                type.setAttribute(CACHE_PARENT, parentTypes.get(key));
-            } else {
-                type.setAttribute(CACHE_ISSUBTYPE, Boolean.FALSE.toString());
-            }
+                Component component =
+                        ContainerDelegate.getInstance().getFactoryLocator().getComponentFactory()
+                        .getComponentByComponentType(key);
+                if (component != null && component.isWithinFolder()) {
+                    ListMetadataQuery folderQuery = new ListMetadataQuery();
+                    folderQuery.setType(component.getFolderNameIfFolderTypeMdComponent());
+                    FileMetadataExt ext =
+                            ContainerDelegate.getInstance().getServiceLocator().getMetadataService().listMetadata(
+                                connection, new ListMetadataQuery[] { folderQuery }, new NullProgressMonitor());
 
-            Node name =
-                    cache.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI,
-                        Constants.PACKAGE_MANIFEST_TYPE_NAME);
-            type.appendChild(name);
-            name.setTextContent(key);
-
-            Component component =
-                    ContainerDelegate.getInstance().getFactoryLocator().getComponentFactory()
-                    .getComponentByComponentType(key);
-            if (component != null && component.isWithinFolder()) {
-                ListMetadataQuery folderQuery = new ListMetadataQuery();
-                folderQuery.setType(component.getFolderNameIfFolderTypeMdComponent());
-                FileMetadataExt ext =
-                        ContainerDelegate.getInstance().getServiceLocator().getMetadataService().listMetadata(
-                            connection, new ListMetadataQuery[] { folderQuery }, new NullProgressMonitor());
-
-                if (ext != null && Utils.isNotEmpty(ext.getFileProperties())) {
-                    for (FileProperties file : Utils
-                            .removePackagedFiles(ext.getFileProperties(), organizationNamespace)) {
-                        Node members =
-                                cache.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI,
-                                    Constants.PACKAGE_MANIFEST_TYPE_MEMBERS);
-                        type.appendChild(members);
-                        members.setTextContent(file.getFullName());
+                    if (ext != null && Utils.isNotEmpty(ext.getFileProperties())) {
+                        for (FileProperties file : Utils.removePackagedFiles(ext.getFileProperties(),
+                            organizationNamespace)) {
+                            members.add(file.getFullName());
+                        }
                     }
                 }
-            }
 
-            List<FileProperties> files = ext.getFilePropertiesMap(typeList).get(key);
-            if (Utils.isEmpty(files)) {
-                continue;
-            }
+                List<FileProperties> files = filePropertiesMap.get(key);
+                if (Utils.isNotEmpty(files)) {
+                    Collections.sort(files, new Comparator<FileProperties>() {
+                        @Override
+                        public int compare(FileProperties o1, FileProperties o2) {
+                            // To guard against component names being returned from the server as 'null'
+                            // W-1150256
+                            if (o1.getFullName() == null || o2.getFullName() == null) {
+                                return 0;
+                            }
+                            return String.CASE_INSENSITIVE_ORDER.compare(o1.getFullName(), o2.getFullName());
+                        }
+                    });
 
-            Collections.sort(files, new Comparator<FileProperties>() {
-                @Override
-                public int compare(FileProperties o1, FileProperties o2) {
-                    // To guard against component names being returned from the server as 'null'
-                    // W-1150256
-                    if (o1.getFullName() == null || o2.getFullName() == null) {
-                        return 0;
+                    for (FileProperties file : Utils.removePackagedFiles(
+                        files.toArray(new FileProperties[files.size()]), organizationNamespace)) {
+                        members.add(file.getFullName());
                     }
-                    return String.CASE_INSENSITIVE_ORDER.compare(o1.getFullName(), o2.getFullName());
                 }
-            });
-
-            for (FileProperties file : Utils.removePackagedFiles(files.toArray(new FileProperties[files.size()]),
-                organizationNamespace)) {
-                Node members =
-                        cache.createElementNS(Constants.PACKAGE_MANIFEST_NAMESPACE_URI,
-                            Constants.PACKAGE_MANIFEST_TYPE_MEMBERS);
-                type.appendChild(members);
-                members.setTextContent(file.getFullName());
+
+                boolean isSubType = subTypes.contains(key);
+                if (packageCache.updateType(key, isSubType, isSubType ? parentTypes.get(key) : null, members)) {
+                    updatedTypes++;
+                }
+                cachedTypes.add(key);
+                monitor.worked(1);
             }
 
-            monitor.worked(1);
+            // only a complete sweep knows which types are gone
+            if (!cachedTypes.isEmpty()) {
+                packageCache.retainTypes(cachedTypes);
+            }
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Updated " + updatedTypes + " of " + cachedTypes.size() //$NON-NLS-1$
+                        + " cached component types"); //$NON-NLS-1$
+            }
+            packageCache.save(cacheUrl.toURI().getPath());
         }
-
-        Utils.saveDocument(cache, cacheUrl.toURI().getPath());
     }
 
     /**
@@ -517,9 +536,9 @@ public class PackageManifestController extends Controller {
 
     private void loadFileMetadata() throws InvocationTargetException, InterruptedException {
         final IProgressService service = PlatformUI.getWorkbench().getProgressService();
-        service.run(false, false, new IRunnableWithProgress() {
+        service.run(true, true, new IRunnableWithProgress() {
             @Override
-            public void run(final IProgressMonitor monitor) throws InvocationTargetException {
+            public void run(final IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
                 monitor.beginTask("Fetching organization details...", 3);
                 monitor.worked(1);
 
@@ -555,6 +574,9 @@ public class PackageManifestController extends Controller {
                     FileMetadataExt tmpFileMetadataExt =
                             ContainerDelegate.getInstance().getServiceLocator().getMetadataService().listMetadata(
                                 getConnection(), listMetadataQueries, monitor);
+                    if (monitor.isCanceled()) {
+                        throw new InterruptedException("Fetching component metadata cancelled"); //$NON-NLS-1$
+                    }
 
                     // query describe metadata for organization namespace -
                     // don't get from ForceProject due to project might not be
@@ -586,7 +608,8 @@ public class PackageManifestController extends Controller {
                     }
 
                 } catch (InterruptedException e) {
-                    logger.warn("Operation cancelled: " + e.getMessage()); //$NON-NLS-1$
+                    // the caller mustn't go on to update the cache from what little was fetched
+                    throw e;
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 } finally {
@@ -740,7 +763,20 @@ public class PackageManifestController extends Controller {
 
             }
             warningDialogMsg.append("See log for detailed messages.");
-            Utils.openWarn(Messages.PackageManifest_content_Warning_text, warningDialogMsg.toString());
+
+            // the cache is updated off the UI thread
+            final String message = warningDialogMsg.toString();
+            Display display = PlatformUI.getWorkbench().getDisplay();
+            if (Display.getCurrent() == display) {
+                Utils.openWarn(Messages.PackageManifest_content_Warning_text, message);
+            } else {
+                display.syncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        Utils.openWarn(Messages.PackageManifest_content_Warning_text, message);
+                    }
+                });
+            }
         }
     }
 
@@ -1544,8 +1544,10 @@ public class PackageManifestTree extends FilteredTree {
                     @Override
                     public IStatus runInUIThread(IProgressMonitor monitor) {
                         if (!monitor.isCanceled()) {
+                            // the org's metadata types are described again; the cache is brought up to date
+                            // type by type, no need to drop it
+                            controller.invalidateDescribeMetadata();
                             controller.clearModel();
-                            controller.clearCache();
                             updateTree();
                         }
                         return Status.OK_STATUS;
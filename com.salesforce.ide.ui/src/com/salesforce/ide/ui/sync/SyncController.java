@@ -131,7 +131,7 @@ public class SyncController extends Controller {
         }
 
         monitorWork(monitor);
-        remoteProjectPackageList.generateComponents(result.getZipFile(), result.getFileMetadataHandler(), new SubProgressMonitor(monitor, 3));
+        generateRemoteComponents(result, monitor);
     }
 
     private void handleComponentFolderRefresh(IProgressMonitor monitor) throws InterruptedException,
@@ -178,7 +178,7 @@ public class SyncController extends Controller {
                     return;
                 }
 
-                remoteProjectPackageList.generateComponents(result.getZipFile(), result.getFileMetadataHandler(), new SubProgressMonitor(monitor, 3));
+                generateRemoteComponents(result, monitor);
             }
         }
     }
@@ -218,7 +218,18 @@ public class SyncController extends Controller {
                 return;
             }
 
-            remoteProjectPackageList.generateComponents(result.getZipFile(), result.getFileMetadataHandler(), new SubProgressMonitor(monitor, 3));
+            generateRemoteComponents(result, monitor);
+        }
+    }
+
+    // the remote components hold their bodies, the retrieved zip isn't needed once they are generated
+    private void generateRemoteComponents(RetrieveResultExt result, IProgressMonitor monitor)
+            throws InterruptedException, IOException {
+        try {
+            remoteProjectPackageList.generateComponents(result.spillZipFile(), result.getFileMetadataHandler(),
+                new SubProgressMonitor(monitor, 3));
+        } finally {
+            result.dispose();
         }
     }
 
@@ -16,6 +16,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.log4j.Logger;
@@ -62,6 +64,7 @@ import com.salesforce.ide.core.internal.utils.Utils;
 import com.salesforce.ide.core.model.ApexCodeLocation;
 import com.salesforce.ide.core.project.ForceProject;
 import com.salesforce.ide.core.project.MarkerUtils;
+import com.salesforce.ide.core.remote.AsyncPoller;
 import com.salesforce.ide.core.remote.ForceConnectionException;
 import com.salesforce.ide.core.remote.ForceRemoteException;
 import com.salesforce.ide.core.remote.HTTPAdapter;
@@ -418,10 +421,15 @@ public class RunTestsView extends BaseViewPart {
 			// If user wants to exit, then they can cancel the launch config.
 			Integer totalItems = queryTotalQueueItems(testRunId);
 			
-			int processedItems = 0;
-			while (processedItems < totalItems) {
-				processedItems = queryProcessedQueueItem(testRunId);
-				List<ApexTestResult> testResults = queryTestResults(testRunId);
+			if (totalItems <= 0) return;
+			
+			// The checks run on the shared poller, each one deciding how long to wait until the next
+			final String runId = testRunId;
+			final float requestsRemaining = apiRequestsRemaining;
+			final int[] nextWait = { 0 };
+			Future<Boolean> testRun = AsyncPoller.getInstance().poll(() -> {
+				int processedItems = queryProcessedQueueItem(runId);
+				List<ApexTestResult> testResults = queryTestResults(runId);
 				
 				// Update progress bar and results view if new results came in
 				updateProgress(0, totalItems, processedItems);
@@ -433,14 +441,19 @@ public class RunTestsView extends BaseViewPart {
 				// and stop polling for test results. There may be some finished test results
 				// so try to query those and update UI if necessary.
 				if (monitor.isCanceled()) {
-					abortTestRun(testRunId);
-					break;
+					abortTestRun(runId);
+					return Boolean.TRUE;
 				}
 				
 				// Wait according to the interval
-				int wait = getPollInterval(totalItems - processedItems, apiRequestsRemaining);
-				Thread.sleep(wait);
-			}
+				nextWait[0] = getPollInterval(totalItems - processedItems, requestsRemaining);
+				return processedItems < totalItems ? null : Boolean.TRUE;
+			}, round -> round == 1 ? 0 : nextWait[0]);
+			AsyncPoller.await(testRun, null);
+		} catch (ExecutionException e) {
+			logger.error("Failed to get test results", e.getCause());
+			throwErrorMsg(Messages.View_ErrorGetAsyncTestResultsTitle, 
+					Messages.View_ErrorGetAsyncTestResultsSolution);
 		} catch (Exception e) {
 			logger.error("Failed to get test results", e);
 			throwErrorMsg(Messages.View_ErrorGetAsyncTestResultsTitle, 
@@ -428,8 +428,12 @@ public class UpgradeController extends Controller {
 
         remoteProjectPackageList = ContainerDelegate.getInstance().getServiceLocator().getProjectService().getProjectPackageFactory().getProjectPackageListInstance();
         remoteProjectPackageList.setProject(model.getProject());
-        remoteProjectPackageList.generateComponents(retrieveResultHandler.getZipFile(), retrieveResultHandler
-                .getFileMetadataHandler(), monitor);
+        try {
+            remoteProjectPackageList.generateComponents(retrieveResultHandler.spillZipFile(), retrieveResultHandler
+                    .getFileMetadataHandler(), monitor);
+        } finally {
+            retrieveResultHandler.dispose();
+        }
 
         return remoteProjectPackageList;
     }